@@ -181,11 +181,36 @@ public interface ConfigurationKeys {
      */
     String CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT = CLIENT_RM_LOCK_PREFIX + "retryPolicyBranchRollbackOnConflict";
 
+    /**
+     * The constant CLIENT_LOCK_STRUCTURED_LOCK_KEY.
+     */
+    String CLIENT_LOCK_STRUCTURED_LOCK_KEY = CLIENT_RM_LOCK_PREFIX + "structuredLockKey";
+
+    /**
+     * The constant CLIENT_LOCK_ESCALATION_THRESHOLD.
+     */
+    String CLIENT_LOCK_ESCALATION_THRESHOLD = CLIENT_RM_LOCK_PREFIX + "escalationThreshold";
+
     /**
      * The constant SERVICE_SESSION_RELOAD_READ_SIZE
      */
     String SERVICE_SESSION_RELOAD_READ_SIZE = STORE_FILE_PREFIX + "sessionReloadReadSize";
 
+    /**
+     * The constant STORE_FILE_SESSION_SPILL_ENABLED
+     */
+    String STORE_FILE_SESSION_SPILL_ENABLED = STORE_FILE_PREFIX + "sessionSpillEnabled";
+
+    /**
+     * The constant STORE_FILE_SESSION_SPILL_IDLE_TIME
+     */
+    String STORE_FILE_SESSION_SPILL_IDLE_TIME = STORE_FILE_PREFIX + "sessionSpillIdleTime";
+
+    /**
+     * The constant STORE_FILE_SESSION_SPILL_READ_SIZE
+     */
+    String STORE_FILE_SESSION_SPILL_READ_SIZE = STORE_FILE_PREFIX + "sessionSpillReadSize";
+
     /**
      * The constant CLIENT_REPORT_SUCCESS_ENABLE.
      */
@@ -231,6 +256,11 @@ public interface ConfigurationKeys {
      */
     String TCC_ACTION_INTERCEPTOR_ORDER = CLIENT_RM_PREFIX + "tccActionInterceptorOrder";
 
+    /**
+     * The constant TCC_ACTION_CONTEXT_CODEC.
+     */
+    String TCC_ACTION_CONTEXT_CODEC = CLIENT_RM_PREFIX + "tccActionContextCodec";
+
     /**
      * The constant CLIENT_TM_PREFIX.
      */
@@ -382,6 +412,11 @@ public interface ConfigurationKeys {
      */
     String TIMEOUT_RETRY_PERIOD = RECOVERY_PREFIX + "timeoutRetryPeriod";
 
+    /**
+     * The constant RECOVERY_SHARD_COUNT.
+     */
+    String RECOVERY_SHARD_COUNT = RECOVERY_PREFIX + "shardCount";
+
     /**
      * The constant CLIENT_UNDO_PREFIX.
      */
@@ -809,6 +844,11 @@ public interface ConfigurationKeys {
      */
     String TCC_FENCE_LOG_TABLE_NAME = TCC_FENCE_PREFIX + "logTableName";
 
+    /**
+     * The constant TCC_FENCE_LOG_DELETE_DELAY
+     */
+    String TCC_FENCE_LOG_DELETE_DELAY = TCC_FENCE_PREFIX + "logDeleteDelay";
+
     /**
      * The constant rpcRmRequestTimeout
      */
@@ -824,6 +864,36 @@ public interface ConfigurationKeys {
      */
     String RPC_TC_REQUEST_TIMEOUT = TRANSPORT_PREFIX + "rpcTcRequestTimeout";
 
+    /**
+     * The constant TRANSPORT_MAX_PENDING_WRITES
+     */
+    String TRANSPORT_MAX_PENDING_WRITES = TRANSPORT_PREFIX + "maxPendingWrites";
+
+    /**
+     * The constant TRANSPORT_CONNECTIONS_PER_SERVER
+     */
+    String TRANSPORT_CONNECTIONS_PER_SERVER = TRANSPORT_PREFIX + "connectionsPerServer";
+
+    /**
+     * The constant TRANSPORT_DOMAIN_SOCKET_PATH
+     */
+    String TRANSPORT_DOMAIN_SOCKET_PATH = TRANSPORT_PREFIX + "domainSocketPath";
+
+    /**
+     * The constant TRANSPORT_BUSY_POLL_MICROS
+     */
+    String TRANSPORT_BUSY_POLL_MICROS = TRANSPORT_PREFIX + "busyPollMicros";
+
+    /**
+     * The constant TRANSPORT_SERVER_REUSE_PORT
+     */
+    String TRANSPORT_SERVER_REUSE_PORT = TRANSPORT_PREFIX + "serverReusePort";
+
+    /**
+     * The constant TRANSPORT_ENABLE_HEAD_DICTIONARY
+     */
+    String TRANSPORT_ENABLE_HEAD_DICTIONARY = TRANSPORT_PREFIX + "enableHeadDictionary";
+
     /**
      * The constant SESSION_BRANCH_ASYNC_QUEUE_SIZE
      */
@@ -864,4 +934,79 @@ public interface ConfigurationKeys {
      */
     String ENABLE_PARALLEL_REQUEST_HANDLE_KEY = SERVER_PREFIX + "enableParallelRequestHandle";
 
+    /**
+     * The constant PARALLEL_REQUEST_HANDLE_THREADS
+     */
+    String PARALLEL_REQUEST_HANDLE_THREADS = SERVER_PREFIX + "parallelRequestHandleThreads";
+
+    /**
+     * The constant PARALLEL_REQUEST_HANDLE_QUEUE_SIZE
+     */
+    String PARALLEL_REQUEST_HANDLE_QUEUE_SIZE = SERVER_PREFIX + "parallelRequestHandleQueueSize";
+
+    /**
+     * The constant SERVER_AUDIT_ENABLED
+     */
+    String SERVER_AUDIT_ENABLED = SERVER_PREFIX + "audit.enabled";
+
+    /**
+     * The constant SERVER_AUDIT_SAMPLE_RATE
+     */
+    String SERVER_AUDIT_SAMPLE_RATE = SERVER_PREFIX + "audit.sampleRate";
+
+    /**
+     * The constant SERVER_AUDIT_BUFFER_SIZE
+     */
+    String SERVER_AUDIT_BUFFER_SIZE = SERVER_PREFIX + "audit.bufferSize";
+
+    /**
+     * The constant SERVER_AUDIT_SINK
+     */
+    String SERVER_AUDIT_SINK = SERVER_PREFIX + "audit.sink";
+
+    /**
+     * The constant SERVER_EXECUTOR_ENABLED
+     */
+    String SERVER_EXECUTOR_ENABLED = SERVER_PREFIX + "executor.enabled";
+
+    /**
+     * The constant SERVER_EXECUTOR_GLOBAL_TX_POOL_SIZE
+     */
+    String SERVER_EXECUTOR_GLOBAL_TX_POOL_SIZE = SERVER_PREFIX + "executor.globalTxPoolSize";
+
+    /**
+     * The constant SERVER_EXECUTOR_GLOBAL_TX_QUEUE_SIZE
+     */
+    String SERVER_EXECUTOR_GLOBAL_TX_QUEUE_SIZE = SERVER_PREFIX + "executor.globalTxQueueSize";
+
+    /**
+     * The constant SERVER_EXECUTOR_BRANCH_POOL_SIZE
+     */
+    String SERVER_EXECUTOR_BRANCH_POOL_SIZE = SERVER_PREFIX + "executor.branchPoolSize";
+
+    /**
+     * The constant SERVER_EXECUTOR_BRANCH_QUEUE_SIZE
+     */
+    String SERVER_EXECUTOR_BRANCH_QUEUE_SIZE = SERVER_PREFIX + "executor.branchQueueSize";
+
+    /**
+     * The constant SERVER_EXECUTOR_LOCK_QUERY_POOL_SIZE
+     */
+    String SERVER_EXECUTOR_LOCK_QUERY_POOL_SIZE = SERVER_PREFIX + "executor.lockQueryPoolSize";
+
+    /**
+     * The constant SERVER_EXECUTOR_LOCK_QUERY_QUEUE_SIZE
+     */
+    String SERVER_EXECUTOR_LOCK_QUERY_QUEUE_SIZE = SERVER_PREFIX + "executor.lockQueryQueueSize";
+
+    /**
+     * The constant SERVER_EXECUTOR_STATUS_POOL_SIZE
+     */
+    String SERVER_EXECUTOR_STATUS_POOL_SIZE = SERVER_PREFIX + "executor.statusPoolSize";
+
+    /**
+     * The constant SERVER_EXECUTOR_STATUS_QUEUE_SIZE
+     */
+    String SERVER_EXECUTOR_STATUS_QUEUE_SIZE = SERVER_PREFIX + "executor.statusQueueSize";
+
 }
@@ -25,6 +25,8 @@ public interface DefaultValues {
     int DEFAULT_TM_DEGRADE_CHECK_ALLOW_TIMES = 10;
     int DEFAULT_CLIENT_LOCK_RETRY_TIMES = 30;
     boolean DEFAULT_CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT = true;
+    boolean DEFAULT_CLIENT_LOCK_STRUCTURED_LOCK_KEY = false;
+    int DEFAULT_CLIENT_LOCK_ESCALATION_THRESHOLD = 0;
     int DEFAULT_LOG_EXCEPTION_RATE = 100;
     int DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT = 10000;
     int DEFAULT_TM_DEGRADE_CHECK_PERIOD = 2000;
@@ -147,6 +149,11 @@ public interface DefaultValues {
      */
     int TCC_ACTION_INTERCEPTOR_ORDER = Integer.MIN_VALUE + 1000;
 
+    /**
+     * the constant DEFAULT_TCC_ACTION_CONTEXT_CODEC, json is what the RMs before the codecs can decode
+     */
+    String DEFAULT_TCC_ACTION_CONTEXT_CODEC = "json";
+
     /**
      * the constant DEFAULT_DISTRIBUTED_LOCK_EXPIRE
      */
@@ -180,6 +187,36 @@ public interface DefaultValues {
      */
     long DEFAULT_RPC_TC_REQUEST_TIMEOUT = Duration.ofSeconds(30).toMillis();
 
+    /**
+     * the constant DEFAULT_TRANSPORT_MAX_PENDING_WRITES
+     */
+    int DEFAULT_TRANSPORT_MAX_PENDING_WRITES = 1024;
+
+    /**
+     * the constant DEFAULT_TRANSPORT_CONNECTIONS_PER_SERVER
+     */
+    int DEFAULT_TRANSPORT_CONNECTIONS_PER_SERVER = 1;
+
+    /**
+     * the constant DEFAULT_TRANSPORT_DOMAIN_SOCKET_PATH
+     */
+    String DEFAULT_TRANSPORT_DOMAIN_SOCKET_PATH = "/tmp/seata.sock";
+
+    /**
+     * the constant DEFAULT_TRANSPORT_BUSY_POLL_MICROS
+     */
+    int DEFAULT_TRANSPORT_BUSY_POLL_MICROS = 0;
+
+    /**
+     * the constant DEFAULT_TRANSPORT_SERVER_REUSE_PORT
+     */
+    boolean DEFAULT_TRANSPORT_SERVER_REUSE_PORT = false;
+
+    /**
+     * the constant DEFAULT_TRANSPORT_ENABLE_HEAD_DICTIONARY
+     */
+    boolean DEFAULT_TRANSPORT_ENABLE_HEAD_DICTIONARY = true;
+
     /**
      * the constant DEFAULT_XAER_NOTA_RETRY_TIMEOUT
      */
@@ -215,6 +252,11 @@ public interface DefaultValues {
      */
     int DEFAULT_TIMEOUT_RETRY_PERIOD = 1000;
 
+    /**
+     * the constant DEFAULT_RECOVERY_SHARD_COUNT
+     */
+    int DEFAULT_RECOVERY_SHARD_COUNT = 1;
+
     /**
      * the constant DEFAULT_UNDO_LOG_DELETE_PERIOD
      */
@@ -225,6 +267,21 @@ public interface DefaultValues {
      */
     int DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE = 100;
 
+    /**
+     * the constant DEFAULT_STORE_FILE_SESSION_SPILL_ENABLED
+     */
+    boolean DEFAULT_STORE_FILE_SESSION_SPILL_ENABLED = false;
+
+    /**
+     * the constant DEFAULT_STORE_FILE_SESSION_SPILL_IDLE_TIME
+     */
+    long DEFAULT_STORE_FILE_SESSION_SPILL_IDLE_TIME = 60 * 1000;
+
+    /**
+     * the constant DEFAULT_STORE_FILE_SESSION_SPILL_READ_SIZE
+     */
+    int DEFAULT_STORE_FILE_SESSION_SPILL_READ_SIZE = 100;
+
     /**
      *the constant DEFAULT_PROMETHEUS_PORT
      */
@@ -269,4 +326,79 @@ public interface DefaultValues {
      * DEFAULT_ENABLE_BRANCH_ASYNC_REMOVE
      */
     boolean DEFAULT_ENABLE_BRANCH_ASYNC_REMOVE = false;
+
+    /**
+     * the const DEFAULT_SERVER_AUDIT_ENABLED
+     */
+    boolean DEFAULT_SERVER_AUDIT_ENABLED = true;
+
+    /**
+     * the const DEFAULT_SERVER_AUDIT_SAMPLE_RATE
+     */
+    double DEFAULT_SERVER_AUDIT_SAMPLE_RATE = 1.0D;
+
+    /**
+     * the const DEFAULT_SERVER_AUDIT_BUFFER_SIZE
+     */
+    int DEFAULT_SERVER_AUDIT_BUFFER_SIZE = 8192;
+
+    /**
+     * the const DEFAULT_SERVER_AUDIT_SINK
+     */
+    String DEFAULT_SERVER_AUDIT_SINK = "log";
+
+    /**
+     * the const DEFAULT_PARALLEL_REQUEST_HANDLE_THREADS
+     */
+    int DEFAULT_PARALLEL_REQUEST_HANDLE_THREADS = 16;
+
+    /**
+     * the const DEFAULT_PARALLEL_REQUEST_HANDLE_QUEUE_SIZE
+     */
+    int DEFAULT_PARALLEL_REQUEST_HANDLE_QUEUE_SIZE = 2048;
+
+    /**
+     * the const DEFAULT_SERVER_EXECUTOR_ENABLED
+     */
+    boolean DEFAULT_SERVER_EXECUTOR_ENABLED = false;
+
+    /**
+     * the const DEFAULT_SERVER_EXECUTOR_GLOBAL_TX_POOL_SIZE
+     */
+    int DEFAULT_SERVER_EXECUTOR_GLOBAL_TX_POOL_SIZE = 100;
+
+    /**
+     * the const DEFAULT_SERVER_EXECUTOR_GLOBAL_TX_QUEUE_SIZE
+     */
+    int DEFAULT_SERVER_EXECUTOR_GLOBAL_TX_QUEUE_SIZE = 10000;
+
+    /**
+     * the const DEFAULT_SERVER_EXECUTOR_BRANCH_POOL_SIZE
+     */
+    int DEFAULT_SERVER_EXECUTOR_BRANCH_POOL_SIZE = 200;
+
+    /**
+     * the const DEFAULT_SERVER_EXECUTOR_BRANCH_QUEUE_SIZE
+     */
+    int DEFAULT_SERVER_EXECUTOR_BRANCH_QUEUE_SIZE = 20000;
+
+    /**
+     * the const DEFAULT_SERVER_EXECUTOR_LOCK_QUERY_POOL_SIZE
+     */
+    int DEFAULT_SERVER_EXECUTOR_LOCK_QUERY_POOL_SIZE = 50;
+
+    /**
+     * the const DEFAULT_SERVER_EXECUTOR_LOCK_QUERY_QUEUE_SIZE
+     */
+    int DEFAULT_SERVER_EXECUTOR_LOCK_QUERY_QUEUE_SIZE = 5000;
+
+    /**
+     * the const DEFAULT_SERVER_EXECUTOR_STATUS_POOL_SIZE
+     */
+    int DEFAULT_SERVER_EXECUTOR_STATUS_POOL_SIZE = 20;
+
+    /**
+     * the const DEFAULT_SERVER_EXECUTOR_STATUS_QUEUE_SIZE
+     */
+    int DEFAULT_SERVER_EXECUTOR_STATUS_QUEUE_SIZE = 5000;
 }
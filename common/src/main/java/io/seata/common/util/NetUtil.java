@@ -52,6 +52,10 @@ public class NetUtil {
         if (address == null) {
             return StringUtils.EMPTY;
         }
+        if (!(address instanceof InetSocketAddress)) {
+            // e.g. the address of a unix domain socket
+            return address.toString();
+        }
         return toStringAddress((InetSocketAddress) address);
     }
 
@@ -62,6 +66,9 @@ public class NetUtil {
      * @return the string
      */
     public static String toIpAddress(SocketAddress address) {
+        if (!(address instanceof InetSocketAddress)) {
+            return String.valueOf(address);
+        }
         InetSocketAddress inetSocketAddress = (InetSocketAddress) address;
         return inetSocketAddress.getAddress().getHostAddress();
     }
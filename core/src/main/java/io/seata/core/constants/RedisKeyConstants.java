@@ -151,6 +151,11 @@ public class RedisKeyConstants {
      */
     public static final String DEFAULT_REDIS_SEATA_ROW_LOCK_PREFIX = "SEATA_ROW_LOCK_";
 
+    /**
+     * The set of the row lock keys of a table
+     */
+    public static final String DEFAULT_REDIS_SEATA_TABLE_ROW_LOCK_PREFIX = "SEATA_TABLE_ROW_LOCK_";
+
     /**
      * The split
      */
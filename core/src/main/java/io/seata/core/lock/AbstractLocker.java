@@ -58,12 +58,20 @@ public abstract class AbstractLocker implements Locker {
         return lockDOs;
     }
 
+    /**
+     * Convert to lock do, a range lock is stored as the table lock of its table since the stores can only
+     * find the locks by row key.
+     *
+     * @param rowLock the row lock
+     * @return the lock do
+     */
     protected LockDO convertToLockDO(RowLock rowLock) {
+        String pk = LockEscalation.isRangeLock(rowLock.getPk()) ? LockEscalation.TABLE_LOCK_PK : rowLock.getPk();
         LockDO lockDO = new LockDO();
         lockDO.setBranchId(rowLock.getBranchId());
-        lockDO.setPk(rowLock.getPk());
+        lockDO.setPk(pk);
         lockDO.setResourceId(rowLock.getResourceId());
-        lockDO.setRowKey(getRowKey(rowLock.getResourceId(), rowLock.getTableName(), rowLock.getPk()));
+        lockDO.setRowKey(getRowKey(rowLock.getResourceId(), rowLock.getTableName(), pk));
         lockDO.setXid(rowLock.getXid());
         lockDO.setTransactionId(rowLock.getTransactionId());
         lockDO.setTableName(rowLock.getTableName());
@@ -0,0 +1,181 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.lock;
+
+import java.util.Collection;
+
+/**
+ * The escalated locks of a bulk branch. Instead of locking every row, a branch touching many rows of a
+ * table locks the whole table, or the range of its primary key when the key is a single numeric column.
+ * <p>
+ * An escalated lock travels in the lock key like a row lock, with a reserved pk: {@code table:*} locks the
+ * table and {@code table:*1~500} locks the rows whose pk is between 1 and 500 inclusive. A row lock conflicts
+ * with the escalated locks of other transactions covering its pk, an escalated lock conflicts with the row
+ * locks it covers and the escalated locks it overlaps.
+ *
+ * @author hongyan
+ */
+public final class LockEscalation {
+
+    /**
+     * The pk of a table lock.
+     */
+    public static final String TABLE_LOCK_PK = "*";
+
+    private static final char ESCALATED_PREFIX = '*';
+
+    private static final char RANGE_SEPARATOR = '~';
+
+    private LockEscalation() {
+    }
+
+    /**
+     * Whether the pk is the pk of a table or a range lock.
+     *
+     * @param pk the pk
+     * @return the boolean
+     */
+    public static boolean isEscalated(String pk) {
+        return pk != null && !pk.isEmpty() && pk.charAt(0) == ESCALATED_PREFIX;
+    }
+
+    /**
+     * Whether the pk is the pk of a table lock.
+     *
+     * @param pk the pk
+     * @return the boolean
+     */
+    public static boolean isTableLock(String pk) {
+        return TABLE_LOCK_PK.equals(pk);
+    }
+
+    /**
+     * Whether the pk is the pk of a range lock.
+     *
+     * @param pk the pk
+     * @return the boolean
+     */
+    public static boolean isRangeLock(String pk) {
+        return isEscalated(pk) && pk.indexOf(RANGE_SEPARATOR, 1) > 0;
+    }
+
+    /**
+     * Build the pk of a range lock.
+     *
+     * @param from the lowest pk, inclusive
+     * @param to   the highest pk, inclusive
+     * @return the pk
+     */
+    public static String rangeLockPk(long from, long to) {
+        if (from > to) {
+            throw new IllegalArgumentException("illegal pk range: " + from + RANGE_SEPARATOR + to);
+        }
+        return ESCALATED_PREFIX + Long.toString(from) + RANGE_SEPARATOR + to;
+    }
+
+    /**
+     * Build the escalated lock of the rows, the range of the pks when every pk is a number, otherwise the
+     * table.
+     *
+     * @param pks the pks of the rows, the values of a composite pk joined by {@code _}
+     * @return the pk of the escalated lock
+     */
+    public static String escalate(Collection<String> pks) {
+        long from = Long.MAX_VALUE;
+        long to = Long.MIN_VALUE;
+        for (String pk : pks) {
+            Long value = parseLong(pk);
+            if (value == null) {
+                return TABLE_LOCK_PK;
+            }
+            from = Math.min(from, value);
+            to = Math.max(to, value);
+        }
+        return from > to ? TABLE_LOCK_PK : rangeLockPk(from, to);
+    }
+
+    /**
+     * Whether the escalated lock covers the row.
+     *
+     * @param escalatedPk the pk of the escalated lock
+     * @param pk          the pk of the row
+     * @return the boolean
+     */
+    public static boolean covers(String escalatedPk, String pk) {
+        if (!isRangeLock(escalatedPk)) {
+            return true;
+        }
+        Long value = parseLong(pk);
+        // a pk which is not a number can't be ordered against the range, treat it as covered
+        return value == null || (value >= rangeFrom(escalatedPk) && value <= rangeTo(escalatedPk));
+    }
+
+    /**
+     * Whether two locks of the same table overlap, either of them may be a row lock or an escalated lock.
+     *
+     * @param pk      the pk of one lock
+     * @param otherPk the pk of the other lock
+     * @return the boolean
+     */
+    public static boolean overlaps(String pk, String otherPk) {
+        boolean escalated = isEscalated(pk);
+        boolean otherEscalated = isEscalated(otherPk);
+        if (!escalated && !otherEscalated) {
+            return pk.equals(otherPk);
+        }
+        if (!otherEscalated) {
+            return covers(pk, otherPk);
+        }
+        if (!escalated) {
+            return covers(otherPk, pk);
+        }
+        if (!isRangeLock(pk) || !isRangeLock(otherPk)) {
+            return true;
+        }
+        return rangeFrom(pk) <= rangeTo(otherPk) && rangeFrom(otherPk) <= rangeTo(pk);
+    }
+
+    private static long rangeFrom(String rangePk) {
+        return Long.parseLong(rangePk.substring(1, rangePk.indexOf(RANGE_SEPARATOR, 1)));
+    }
+
+    private static long rangeTo(String rangePk) {
+        return Long.parseLong(rangePk.substring(rangePk.indexOf(RANGE_SEPARATOR, 1) + 1));
+    }
+
+    private static Long parseLong(String pk) {
+        int length = pk.length();
+        if (length == 0 || length > 20) {
+            return null;
+        }
+        int start = pk.charAt(0) == '-' ? 1 : 0;
+        if (start == length) {
+            return null;
+        }
+        for (int i = start; i < length; i++) {
+            char c = pk.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        try {
+            return Long.parseLong(pk);
+        } catch (NumberFormatException e) {
+            // out of the range of long
+            return null;
+        }
+    }
+}
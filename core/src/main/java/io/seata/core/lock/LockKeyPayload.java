@@ -0,0 +1,321 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.lock;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The structured lock keys of a branch, the binary counterpart of the lock key string
+ * {@code table1:pk1,pk2;table2:pk3}.
+ * <p>
+ * The table names are kept once in a dictionary, each row refers to its table by index and keeps the
+ * values of the primary key columns of the table packed in one array. A row of a table with a composite
+ * primary key has one value per column, its pk is the values joined by {@code _} like the string form.
+ *
+ * @author hongyan
+ */
+public class LockKeyPayload implements Serializable {
+
+    private static final long serialVersionUID = 3470519487236051472L;
+
+    /**
+     * The version of the payload format.
+     */
+    public static final byte VERSION = 1;
+
+    private static final String TABLE_SEPARATOR = ";";
+
+    private static final char TABLE_PK_SEPARATOR = ':';
+
+    private static final char PK_SEPARATOR = ',';
+
+    private static final char PK_COLUMN_SEPARATOR = '_';
+
+    private String[] tables = new String[4];
+
+    private int[] tablePkColumns = new int[4];
+
+    private int tableCount;
+
+    private int[] rowTables = new int[16];
+
+    private int[] rowOffsets = new int[16];
+
+    private int rowCount;
+
+    private String[] values = new String[16];
+
+    private int valueCount;
+
+    /**
+     * Add a table to the dictionary.
+     *
+     * @param table     the table name
+     * @param pkColumns the primary key columns of the table
+     * @return the index of the table
+     */
+    public int addTable(String table, int pkColumns) {
+        if (pkColumns <= 0) {
+            throw new IllegalArgumentException("pkColumns must be positive: " + pkColumns);
+        }
+        for (int i = 0; i < tableCount; i++) {
+            if (tablePkColumns[i] == pkColumns && tables[i].equals(table)) {
+                return i;
+            }
+        }
+        if (tableCount == tables.length) {
+            tables = Arrays.copyOf(tables, tableCount << 1);
+            tablePkColumns = Arrays.copyOf(tablePkColumns, tableCount << 1);
+        }
+        tables[tableCount] = table;
+        tablePkColumns[tableCount] = pkColumns;
+        return tableCount++;
+    }
+
+    /**
+     * Add a row of a table whose primary key has one column.
+     *
+     * @param table the index of the table
+     * @param pk    the primary key value
+     */
+    public void addRow(int table, String pk) {
+        checkPkColumns(table, 1);
+        addRowIndex(table, 1);
+        values[valueCount++] = pk;
+    }
+
+    /**
+     * Add a row.
+     *
+     * @param table    the index of the table
+     * @param pkValues the values of the primary key columns
+     */
+    public void addRow(int table, String... pkValues) {
+        checkPkColumns(table, pkValues.length);
+        addRowIndex(table, pkValues.length);
+        System.arraycopy(pkValues, 0, values, valueCount, pkValues.length);
+        valueCount += pkValues.length;
+    }
+
+    private void checkPkColumns(int table, int pkColumns) {
+        if (table < 0 || table >= tableCount) {
+            throw new IllegalArgumentException("Unknown table index: " + table);
+        }
+        if (tablePkColumns[table] != pkColumns) {
+            throw new IllegalArgumentException("Table " + tables[table] + " has " + tablePkColumns[table]
+                + " primary key columns, but got " + pkColumns);
+        }
+    }
+
+    private void addRowIndex(int table, int pkColumns) {
+        if (rowCount == rowTables.length) {
+            rowTables = Arrays.copyOf(rowTables, rowCount << 1);
+            rowOffsets = Arrays.copyOf(rowOffsets, rowCount << 1);
+        }
+        if (valueCount + pkColumns > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length << 1, valueCount + pkColumns));
+        }
+        rowTables[rowCount] = table;
+        rowOffsets[rowCount] = valueCount;
+        rowCount++;
+    }
+
+    /**
+     * Gets the table count of the dictionary.
+     *
+     * @return the table count
+     */
+    public int getTableCount() {
+        return tableCount;
+    }
+
+    /**
+     * Gets a table of the dictionary.
+     *
+     * @param table the index of the table
+     * @return the table name
+     */
+    public String getTable(int table) {
+        return tables[table];
+    }
+
+    /**
+     * Gets the primary key columns of a table.
+     *
+     * @param table the index of the table
+     * @return the primary key columns
+     */
+    public int getPkColumns(int table) {
+        return tablePkColumns[table];
+    }
+
+    /**
+     * Gets the row count.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * Whether there is no row.
+     *
+     * @return true if there is no row
+     */
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    /**
+     * Gets the table index of a row.
+     *
+     * @param row the row
+     * @return the index of the table
+     */
+    public int getRowTable(int row) {
+        return rowTables[row];
+    }
+
+    /**
+     * Gets the table name of a row.
+     *
+     * @param row the row
+     * @return the table name
+     */
+    public String getTableName(int row) {
+        return tables[rowTables[row]];
+    }
+
+    /**
+     * Gets a primary key column value of a row.
+     *
+     * @param row    the row
+     * @param column the primary key column
+     * @return the value
+     */
+    public String getPkValue(int row, int column) {
+        return values[rowOffsets[row] + column];
+    }
+
+    /**
+     * Gets the pk of a row as it is in the lock key string, the values of a composite primary key are
+     * joined by {@code _}.
+     *
+     * @param row the row
+     * @return the pk
+     */
+    public String getPk(int row) {
+        int pkColumns = tablePkColumns[rowTables[row]];
+        int offset = rowOffsets[row];
+        if (pkColumns == 1) {
+            return values[offset];
+        }
+        StringBuilder sb = new StringBuilder();
+        appendPk(sb, offset, pkColumns);
+        return sb.toString();
+    }
+
+    private void appendPk(StringBuilder sb, int offset, int pkColumns) {
+        for (int i = 0; i < pkColumns; i++) {
+            if (i > 0) {
+                sb.append(PK_COLUMN_SEPARATOR);
+            }
+            sb.append(values[offset + i]);
+        }
+    }
+
+    /**
+     * Build the lock key string, rows are grouped by table in the order of the dictionary.
+     *
+     * @return the lock key string
+     */
+    public String toLockKey() {
+        StringBuilder sb = new StringBuilder();
+        for (int table = 0; table < tableCount; table++) {
+            boolean first = true;
+            for (int row = 0; row < rowCount; row++) {
+                if (rowTables[row] != table) {
+                    continue;
+                }
+                if (first) {
+                    if (sb.length() > 0) {
+                        sb.append(TABLE_SEPARATOR);
+                    }
+                    sb.append(tables[table]).append(TABLE_PK_SEPARATOR);
+                    first = false;
+                } else {
+                    sb.append(PK_SEPARATOR);
+                }
+                appendPk(sb, rowOffsets[row], tablePkColumns[table]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parse the lock key string, each pk is kept as one value since the values of a composite primary key
+     * can't be told apart from an {@code _} in a value. Like the row locks collected from the string, parsing
+     * stops at a table without pk.
+     *
+     * @param lockKey the lock key string
+     * @return the payload
+     */
+    public static LockKeyPayload fromLockKey(String lockKey) {
+        LockKeyPayload payload = new LockKeyPayload();
+        int length = lockKey.length();
+        int start = 0;
+        while (start < length) {
+            int end = lockKey.indexOf(TABLE_SEPARATOR, start);
+            if (end < 0) {
+                end = length;
+            }
+            int idx = lockKey.indexOf(TABLE_PK_SEPARATOR, start);
+            if (idx < 0 || idx > end || isBlank(lockKey, idx + 1, end)) {
+                break;
+            }
+            int table = payload.addTable(lockKey.substring(start, idx), 1);
+            int pkStart = idx + 1;
+            while (pkStart <= end) {
+                int pkEnd = lockKey.indexOf(PK_SEPARATOR, pkStart);
+                if (pkEnd < 0 || pkEnd > end) {
+                    pkEnd = end;
+                }
+                if (!isBlank(lockKey, pkStart, pkEnd)) {
+                    payload.addRow(table, lockKey.substring(pkStart, pkEnd));
+                }
+                pkStart = pkEnd + 1;
+            }
+            start = end + 1;
+        }
+        return payload;
+    }
+
+    private static boolean isBlank(String str, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "LockKeyPayload{tables=" + tableCount + ", rows=" + rowCount + "}";
+    }
+}
@@ -15,6 +15,9 @@
  */
 package io.seata.core.model;
 
+import java.util.concurrent.CompletableFuture;
+
+import io.seata.common.util.FutureUtils;
 import io.seata.core.exception.TransactionException;
 
 /**
@@ -63,4 +66,64 @@ public interface ResourceManagerOutbound {
      */
     boolean lockQuery(BranchType branchType, String resourceId, String xid, String lockKeys)
         throws TransactionException;
+
+    /**
+     * Branch register without blocking the caller.
+     * The default implementation delegates to the blocking {@link #branchRegister}.
+     *
+     * @param branchType the branch type
+     * @param resourceId the resource id
+     * @param clientId   the client id
+     * @param xid        the xid
+     * @param applicationData the context
+     * @param lockKeys   the lock keys
+     * @return future of the branch id, completed exceptionally with TransactionException on failure
+     */
+    default CompletableFuture<Long> branchRegisterAsync(BranchType branchType, String resourceId, String clientId,
+                                                        String xid, String applicationData, String lockKeys) {
+        try {
+            return CompletableFuture.completedFuture(
+                branchRegister(branchType, resourceId, clientId, xid, applicationData, lockKeys));
+        } catch (TransactionException | RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
+
+    /**
+     * Branch report without blocking the caller.
+     *
+     * @param branchType      the branch type
+     * @param xid             the xid
+     * @param branchId        the branch id
+     * @param status          the status
+     * @param applicationData the application data
+     * @return future completed once the TC accepted the report
+     */
+    default CompletableFuture<Void> branchReportAsync(BranchType branchType, String xid, long branchId,
+                                                      BranchStatus status, String applicationData) {
+        try {
+            branchReport(branchType, xid, branchId, status, applicationData);
+            return CompletableFuture.completedFuture(null);
+        } catch (TransactionException | RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
+
+    /**
+     * Lock query without blocking the caller.
+     *
+     * @param branchType the branch type
+     * @param resourceId the resource id
+     * @param xid        the xid
+     * @param lockKeys   the lock keys
+     * @return future of the lockable result
+     */
+    default CompletableFuture<Boolean> lockQueryAsync(BranchType branchType, String resourceId, String xid,
+                                                      String lockKeys) {
+        try {
+            return CompletableFuture.completedFuture(lockQuery(branchType, resourceId, xid, lockKeys));
+        } catch (TransactionException | RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
 }
@@ -15,6 +15,9 @@
  */
 package io.seata.core.model;
 
+import java.util.concurrent.CompletableFuture;
+
+import io.seata.common.util.FutureUtils;
 import io.seata.core.exception.TransactionException;
 
 /**
@@ -80,4 +83,80 @@ public interface TransactionManager {
      * out.
      */
     GlobalStatus globalReport(String xid, GlobalStatus globalStatus) throws TransactionException;
+
+    /**
+     * Begin a new global transaction without blocking the caller.
+     * The default implementation delegates to the blocking {@link #begin}.
+     *
+     * @param applicationId           ID of the application who begins this transaction.
+     * @param transactionServiceGroup ID of the transaction service group.
+     * @param name                    Give a name to the global transaction.
+     * @param timeout                 Timeout of the global transaction.
+     * @return future of the XID, completed exceptionally with TransactionException on failure.
+     */
+    default CompletableFuture<String> beginAsync(String applicationId, String transactionServiceGroup, String name,
+                                                 int timeout) {
+        try {
+            return CompletableFuture.completedFuture(begin(applicationId, transactionServiceGroup, name, timeout));
+        } catch (TransactionException | RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
+
+    /**
+     * Global commit without blocking the caller.
+     *
+     * @param xid XID of the global transaction.
+     * @return future of the status after committing.
+     */
+    default CompletableFuture<GlobalStatus> commitAsync(String xid) {
+        try {
+            return CompletableFuture.completedFuture(commit(xid));
+        } catch (TransactionException | RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
+
+    /**
+     * Global rollback without blocking the caller.
+     *
+     * @param xid XID of the global transaction.
+     * @return future of the status after rollbacking.
+     */
+    default CompletableFuture<GlobalStatus> rollbackAsync(String xid) {
+        try {
+            return CompletableFuture.completedFuture(rollback(xid));
+        } catch (TransactionException | RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
+
+    /**
+     * Get current status of the give transaction without blocking the caller.
+     *
+     * @param xid XID of the global transaction.
+     * @return future of the current status.
+     */
+    default CompletableFuture<GlobalStatus> getStatusAsync(String xid) {
+        try {
+            return CompletableFuture.completedFuture(getStatus(xid));
+        } catch (TransactionException | RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
+
+    /**
+     * Global report without blocking the caller.
+     *
+     * @param xid XID of the global transaction.
+     * @param globalStatus Status of the global transaction.
+     * @return future of the status.
+     */
+    default CompletableFuture<GlobalStatus> globalReportAsync(String xid, GlobalStatus globalStatus) {
+        try {
+            return CompletableFuture.completedFuture(globalReport(xid, globalStatus));
+        } catch (TransactionException | RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
 }
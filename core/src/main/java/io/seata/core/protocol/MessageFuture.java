@@ -74,6 +74,36 @@ public class MessageFuture {
         return result;
     }
 
+    /**
+     * Gets a future completed from the response path instead of blocking the caller.
+     * A {@link Throwable} result, such as a timeout or a write failure, completes it exceptionally.
+     * Dependent stages run on the thread that delivers the response unless an executor is given.
+     *
+     * @return the completable future
+     */
+    public CompletableFuture<Object> toCompletableFuture() {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        origin.whenComplete((result, ex) -> {
+            if (ex != null) {
+                future.completeExceptionally(ex);
+            } else if (result instanceof Throwable) {
+                future.completeExceptionally((Throwable)result);
+            } else {
+                future.complete(result);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Run the action once this future is completed, whatever the result.
+     *
+     * @param action the action
+     */
+    public void whenComplete(Runnable action) {
+        origin.whenComplete((result, ex) -> action.run());
+    }
+
     /**
      * Sets result message.
      *
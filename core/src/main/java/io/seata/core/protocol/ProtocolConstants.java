@@ -36,6 +36,12 @@ public interface ProtocolConstants {
      */
     byte VERSION = 1;
 
+    /**
+     * Protocol version of a peer which understands the head map dictionary references,
+     * the frames stay readable by a {@link #VERSION} peer until it answers with this version.
+     */
+    byte VERSION_HEAD_DICTIONARY = 2;
+
     /**
      * Max frame length
      */
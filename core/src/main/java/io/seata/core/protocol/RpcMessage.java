@@ -15,6 +15,7 @@
  */
 package io.seata.core.protocol;
 
+import io.netty.util.Recycler;
 import io.seata.common.util.StringUtils;
 
 import java.util.HashMap;
@@ -22,6 +23,9 @@ import java.util.Map;
 
 /**
  * The type Rpc message.
+ * <p>
+ * The head map is only created once a head is put. Messages obtained from {@link #newInstance()} are pooled and
+ * must be {@link #recycle() recycled} by whoever owns them last, messages created by the constructor are not.
  *
  * @author slievrly
  */
@@ -31,9 +35,55 @@ public class RpcMessage {
     private byte messageType;
     private byte codec;
     private byte compressor;
-    private Map<String, String> headMap = new HashMap<>();
+    private Map<String, String> headMap;
     private Object body;
 
+    private final Recycler.Handle<RpcMessage> handle;
+
+    private static final Recycler<RpcMessage> RECYCLER = new Recycler<RpcMessage>() {
+        @Override
+        protected RpcMessage newObject(Handle<RpcMessage> handle) {
+            return new RpcMessage(handle);
+        }
+    };
+
+    /**
+     * Instantiates a new rpc message that is not pooled.
+     */
+    public RpcMessage() {
+        this(null);
+    }
+
+    private RpcMessage(Recycler.Handle<RpcMessage> handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Get a pooled rpc message.
+     *
+     * @return the rpc message
+     */
+    public static RpcMessage newInstance() {
+        return RECYCLER.get();
+    }
+
+    /**
+     * Clear the message and return it to the pool, does nothing if it is not pooled.
+     * The message must not be used after being recycled.
+     */
+    public void recycle() {
+        if (handle == null) {
+            return;
+        }
+        id = 0;
+        messageType = 0;
+        codec = 0;
+        compressor = 0;
+        headMap = null;
+        body = null;
+        handle.recycle(this);
+    }
+
     /**
      * Gets id.
      *
@@ -116,6 +166,9 @@ public class RpcMessage {
      * @return the head map
      */
     public Map<String, String> getHeadMap() {
+        if (headMap == null) {
+            headMap = new HashMap<>();
+        }
         return headMap;
     }
 
@@ -137,7 +190,16 @@ public class RpcMessage {
      * @return the head
      */
     public String getHead(String headKey) {
-        return headMap.get(headKey);
+        return headMap == null ? null : headMap.get(headKey);
+    }
+
+    /**
+     * Whether any head is set, unlike {@link #getHeadMap()} it never creates the head map.
+     *
+     * @return true if there are heads
+     */
+    public boolean hasHead() {
+        return headMap != null && !headMap.isEmpty();
     }
 
     /**
@@ -147,7 +209,7 @@ public class RpcMessage {
      * @param headValue the head value
      */
     public void putHead(String headKey, String headValue) {
-        headMap.put(headKey, headValue);
+        getHeadMap().put(headKey, headValue);
     }
 
     /**
@@ -170,6 +232,7 @@ public class RpcMessage {
 
     @Override
     public String toString() {
-        return StringUtils.toString(this);
+        return "RpcMessage(id=" + id + ", messageType=" + messageType + ", codec=" + codec + ", compressor="
+            + compressor + ", headMap=" + StringUtils.toString(headMap) + ", body=" + StringUtils.toString(body) + ")";
     }
 }
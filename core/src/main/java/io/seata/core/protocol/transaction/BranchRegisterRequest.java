@@ -15,6 +15,7 @@
  */
 package io.seata.core.protocol.transaction;
 
+import io.seata.core.lock.LockKeyPayload;
 import io.seata.core.model.BranchType;
 import io.seata.core.protocol.MessageType;
 import io.seata.core.rpc.RpcContext;
@@ -34,6 +35,8 @@ public class BranchRegisterRequest extends AbstractTransactionRequestToTC  {
 
     private String lockKey;
 
+    private LockKeyPayload lockKeyPayload;
+
     private String applicationData;
 
     /**
@@ -90,6 +93,24 @@ public class BranchRegisterRequest extends AbstractTransactionRequestToTC  {
         this.lockKey = lockKey;
     }
 
+    /**
+     * Gets the structured lock keys, sent instead of the lock key string to a server which decodes them.
+     *
+     * @return the lock key payload
+     */
+    public LockKeyPayload getLockKeyPayload() {
+        return lockKeyPayload;
+    }
+
+    /**
+     * Sets the structured lock keys.
+     *
+     * @param lockKeyPayload the lock key payload
+     */
+    public void setLockKeyPayload(LockKeyPayload lockKeyPayload) {
+        this.lockKeyPayload = lockKeyPayload;
+    }
+
     /**
      * Gets resource id.
      *
@@ -149,7 +170,7 @@ public class BranchRegisterRequest extends AbstractTransactionRequestToTC  {
         result.append(resourceId);
         result.append(",");
         result.append("lockKey=");
-        result.append(lockKey);
+        result.append(lockKey != null || lockKeyPayload == null ? lockKey : lockKeyPayload);
 
         return result.toString();
     }
@@ -22,6 +22,7 @@ import io.seata.core.rpc.netty.RmNettyRemotingClient;
 import io.seata.core.rpc.netty.TmNettyRemotingClient;
 import io.seata.core.rpc.processor.RemotingProcessor;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
 
@@ -57,6 +58,16 @@ public interface RemotingClient {
      */
     Object sendSyncRequest(Channel channel, Object msg) throws TimeoutException;
 
+    /**
+     * client send request and get the response through a future, without blocking the calling thread.
+     * The batch mode is honoured the same way as {@link #sendSyncRequest(Object)}.
+     * A timeout completes the future exceptionally with {@link TimeoutException}.
+     *
+     * @param msg transaction message {@code io.seata.core.protocol}
+     * @return future of the server result message
+     */
+    CompletableFuture<Object> sendAsyncRequestWithResponse(Object msg);
+
     /**
      * client send async request.
      *
@@ -0,0 +1,121 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.audit;
+
+import io.seata.core.protocol.ResultCode;
+
+/**
+ * One slot of the request audit ring buffer.
+ * <p>
+ * Slots are allocated once and overwritten in place, the fields only hold primitives and references to strings that
+ * already exist on the request path, so recording an entry allocates nothing.
+ *
+ * @author hongyan
+ */
+public final class RequestAuditRecord {
+
+    /**
+     * the sequence of the entry held by this slot, published last by the producer
+     */
+    volatile long sequence = -1;
+
+    private long timestamp;
+
+    private short typeCode;
+
+    private boolean response;
+
+    private String xid;
+
+    private String clientId;
+
+    private long costNanos;
+
+    private ResultCode resultCode;
+
+    void set(long timestamp, short typeCode, boolean response, String xid, String clientId, long costNanos,
+             ResultCode resultCode) {
+        this.timestamp = timestamp;
+        this.typeCode = typeCode;
+        this.response = response;
+        this.xid = xid;
+        this.clientId = clientId;
+        this.costNanos = costNanos;
+        this.resultCode = resultCode;
+    }
+
+    /**
+     * Gets the time the entry was recorded.
+     *
+     * @return the timestamp in milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the message type code.
+     *
+     * @return the type code, see {@link io.seata.core.protocol.MessageType}
+     */
+    public short getTypeCode() {
+        return typeCode;
+    }
+
+    /**
+     * Whether the entry is a response received from a client, e.g. a phase two result.
+     *
+     * @return true for responses, false for requests
+     */
+    public boolean isResponse() {
+        return response;
+    }
+
+    public String getXid() {
+        return xid;
+    }
+
+    /**
+     * Gets the hash of the xid, 0 if the message carries no xid.
+     *
+     * @return the xid hash
+     */
+    public int getXidHash() {
+        return xid == null ? 0 : xid.hashCode();
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Gets the time spent handling the message.
+     *
+     * @return the cost in nanoseconds
+     */
+    public long getCostNanos() {
+        return costNanos;
+    }
+
+    /**
+     * Gets the result code, null if the handler returned no result.
+     *
+     * @return the result code
+     */
+    public ResultCode getResultCode() {
+        return resultCode;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.audit;
+
+/**
+ * The sink request audit records are handed to, loaded by name through SPI.
+ * <p>
+ * Sinks are only called from the single audit consumer thread. The record is reused once
+ * {@link #write(RequestAuditRecord)} returns, so a sink must copy whatever it keeps.
+ *
+ * @author hongyan
+ */
+public interface RequestAuditSink {
+
+    /**
+     * Write one record.
+     *
+     * @param record the record
+     */
+    void write(RequestAuditRecord record);
+
+    /**
+     * Called after each drained batch.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.audit;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.seata.common.ConfigurationKeys;
+import io.seata.common.loader.EnhancedServiceLoader;
+import io.seata.common.thread.NamedThreadFactory;
+import io.seata.config.Configuration;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.protocol.AbstractMessage;
+import io.seata.core.protocol.AbstractResultMessage;
+import io.seata.core.protocol.transaction.AbstractBranchEndRequest;
+import io.seata.core.protocol.transaction.AbstractBranchEndResponse;
+import io.seata.core.protocol.transaction.AbstractGlobalEndRequest;
+import io.seata.core.protocol.transaction.BranchRegisterRequest;
+import io.seata.core.protocol.transaction.BranchReportRequest;
+import io.seata.core.protocol.transaction.GlobalBeginResponse;
+import io.seata.core.rpc.RpcContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_AUDIT_BUFFER_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_AUDIT_ENABLED;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_AUDIT_SAMPLE_RATE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_AUDIT_SINK;
+
+/**
+ * Audit of the requests and responses handled by the TC.
+ * <p>
+ * Handler threads copy a few fields into a preallocated slot of a bounded ring buffer, a single consumer thread
+ * hands the slots to the configured {@link RequestAuditSink}, so formatting and IO stay off the request path.
+ * When the buffer is full the entry is dropped and counted instead of blocking the handler.
+ * Entries can be sampled, and nothing is allocated per request when the audit is disabled.
+ *
+ * @author hongyan
+ */
+public class RequestAuditor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestAuditor.class);
+
+    private static final int MAX_DRAIN_SIZE = 1024;
+    private static final long BUSY_SLEEP_MILLS = 5L;
+    private static final String THREAD_PREFIX = "requestAuditPrint";
+
+    private static volatile RequestAuditor instance;
+
+    private final boolean enabled;
+
+    private final int sampleBound;
+
+    private final RequestAuditRecord[] records;
+
+    private final int mask;
+
+    private final RequestAuditSink sink;
+
+    /**
+     * the next sequence to claim by producers
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * the next sequence to consume
+     */
+    private volatile long head;
+
+    private final LongAdder recorded = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Instantiates a new request auditor.
+     *
+     * @param enabled    whether the audit is enabled
+     * @param sampleRate the rate of entries recorded, in (0, 1]
+     * @param bufferSize the capacity of the ring buffer, rounded up to a power of two
+     * @param sink       the sink
+     */
+    public RequestAuditor(boolean enabled, double sampleRate, int bufferSize, RequestAuditSink sink) {
+        this.enabled = enabled && sampleRate > 0 && sink != null;
+        this.sampleBound = sampleRate >= 1 ? 1 : (int)Math.round(1 / sampleRate);
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+        this.mask = capacity - 1;
+        this.sink = sink;
+        if (this.enabled) {
+            records = new RequestAuditRecord[capacity];
+            for (int i = 0; i < capacity; i++) {
+                records[i] = new RequestAuditRecord();
+            }
+        } else {
+            records = null;
+        }
+    }
+
+    /**
+     * Gets the auditor configured by {@code server.audit.*}, its consumer thread is started on first use.
+     *
+     * @return the request auditor
+     */
+    public static RequestAuditor getInstance() {
+        if (instance == null) {
+            synchronized (RequestAuditor.class) {
+                if (instance == null) {
+                    Configuration config = ConfigurationFactory.getInstance();
+                    boolean enabled = config.getBoolean(ConfigurationKeys.SERVER_AUDIT_ENABLED,
+                        DEFAULT_SERVER_AUDIT_ENABLED);
+                    double sampleRate = DEFAULT_SERVER_AUDIT_SAMPLE_RATE;
+                    try {
+                        sampleRate = Double.parseDouble(config.getConfig(ConfigurationKeys.SERVER_AUDIT_SAMPLE_RATE,
+                            String.valueOf(DEFAULT_SERVER_AUDIT_SAMPLE_RATE)));
+                    } catch (NumberFormatException e) {
+                        LOGGER.warn("invalid {}, use default: {}", ConfigurationKeys.SERVER_AUDIT_SAMPLE_RATE,
+                            DEFAULT_SERVER_AUDIT_SAMPLE_RATE);
+                    }
+                    int bufferSize = config.getInt(ConfigurationKeys.SERVER_AUDIT_BUFFER_SIZE,
+                        DEFAULT_SERVER_AUDIT_BUFFER_SIZE);
+                    RequestAuditSink sink = enabled ? EnhancedServiceLoader.load(RequestAuditSink.class,
+                        config.getConfig(ConfigurationKeys.SERVER_AUDIT_SINK, DEFAULT_SERVER_AUDIT_SINK)) : null;
+                    RequestAuditor auditor = new RequestAuditor(enabled, sampleRate, bufferSize, sink);
+                    auditor.start();
+                    instance = auditor;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Start the consumer thread.
+     */
+    public void start() {
+        if (enabled) {
+            new NamedThreadFactory(THREAD_PREFIX, 1, true).newThread(this::consume).start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record a request handled by the TC.
+     *
+     * @param request    the request
+     * @param result     the result, may be null
+     * @param rpcContext the rpc context of the client
+     * @param costNanos  the time spent handling it
+     */
+    public void auditRequest(AbstractMessage request, AbstractResultMessage result, RpcContext rpcContext,
+                             long costNanos) {
+        record(request, result, false, rpcContext, costNanos);
+    }
+
+    /**
+     * Record a response received from a client.
+     *
+     * @param response   the response
+     * @param rpcContext the rpc context of the client
+     * @param costNanos  the time spent handling it
+     */
+    public void auditResponse(AbstractResultMessage response, RpcContext rpcContext, long costNanos) {
+        record(response, response, true, rpcContext, costNanos);
+    }
+
+    private void record(AbstractMessage message, AbstractResultMessage result, boolean response,
+                        RpcContext rpcContext, long costNanos) {
+        if (!enabled || (sampleBound > 1 && ThreadLocalRandom.current().nextInt(sampleBound) != 0)) {
+            return;
+        }
+        long seq;
+        do {
+            seq = tail.get();
+            if (seq - head >= records.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(seq, seq + 1));
+
+        RequestAuditRecord record = records[(int)(seq & mask)];
+        record.set(System.currentTimeMillis(), message.getTypeCode(), response, xidOf(message),
+            rpcContext == null ? null : rpcContext.getClientId(), costNanos,
+            result == null ? null : result.getResultCode());
+        record.sequence = seq;
+        recorded.increment();
+    }
+
+    /**
+     * Drain the published records to the sink.
+     *
+     * @return the number of records drained
+     */
+    int drain() {
+        long next = head;
+        int count = 0;
+        while (count < MAX_DRAIN_SIZE) {
+            RequestAuditRecord record = records[(int)(next & mask)];
+            if (record.sequence != next) {
+                break;
+            }
+            try {
+                sink.write(record);
+            } catch (Throwable t) {
+                LOGGER.error("write request audit record error: {}", t.getMessage(), t);
+            }
+            next++;
+            count++;
+            head = next;
+        }
+        if (count > 0) {
+            sink.flush();
+        }
+        return count;
+    }
+
+    private void consume() {
+        while (true) {
+            try {
+                if (drain() == 0) {
+                    TimeUnit.MILLISECONDS.sleep(BUSY_SLEEP_MILLS);
+                }
+            } catch (InterruptedException exx) {
+                LOGGER.error("request audit busy sleep error:{}", exx.getMessage(), exx);
+            } catch (Throwable t) {
+                LOGGER.error("request audit consume error:{}", t.getMessage(), t);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of records written into the buffer.
+     *
+     * @return the recorded count
+     */
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    /**
+     * Gets the number of records dropped because the buffer was full.
+     *
+     * @return the dropped count
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private static String xidOf(AbstractMessage message) {
+        if (message instanceof AbstractGlobalEndRequest) {
+            return ((AbstractGlobalEndRequest)message).getXid();
+        } else if (message instanceof BranchRegisterRequest) {
+            return ((BranchRegisterRequest)message).getXid();
+        } else if (message instanceof BranchReportRequest) {
+            return ((BranchReportRequest)message).getXid();
+        } else if (message instanceof AbstractBranchEndRequest) {
+            return ((AbstractBranchEndRequest)message).getXid();
+        } else if (message instanceof AbstractBranchEndResponse) {
+            return ((AbstractBranchEndResponse)message).getXid();
+        } else if (message instanceof GlobalBeginResponse) {
+            return ((GlobalBeginResponse)message).getXid();
+        }
+        return null;
+    }
+}
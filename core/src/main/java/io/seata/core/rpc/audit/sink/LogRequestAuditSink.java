@@ -0,0 +1,44 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.audit.sink;
+
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.loader.LoadLevel;
+import io.seata.core.rpc.audit.RequestAuditRecord;
+import io.seata.core.rpc.audit.RequestAuditSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prints the request audit records with the logger.
+ *
+ * @author hongyan
+ */
+@LoadLevel(name = "log")
+public class LogRequestAuditSink implements RequestAuditSink {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogRequestAuditSink.class);
+
+    @Override
+    public void write(RequestAuditRecord record) {
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("{} type:{},xid:{},clientId:{},cost:{}us,result:{}",
+                record.isResponse() ? "response" : "request", record.getTypeCode(), record.getXid(),
+                record.getClientId(), TimeUnit.NANOSECONDS.toMicros(record.getCostNanos()), record.getResultCode());
+        }
+    }
+}
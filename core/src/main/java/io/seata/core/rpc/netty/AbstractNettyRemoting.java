@@ -16,13 +16,17 @@
 package io.seata.core.rpc.netty;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
 import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.loader.EnhancedServiceLoader;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.thread.PositiveAtomicCounter;
+import io.seata.common.util.FutureUtils;
 import io.seata.core.protocol.MessageFuture;
 import io.seata.core.protocol.MessageType;
 import io.seata.core.protocol.MessageTypeAware;
@@ -38,10 +42,11 @@ import org.slf4j.MDC;
 
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
-import java.net.SocketAddress;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -50,6 +55,7 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * The abstract netty remoting.
@@ -82,14 +88,25 @@ public abstract class AbstractNettyRemoting implements Disposable {
      */
     protected final ConcurrentHashMap<Integer, MessageFuture> futures = new ConcurrentHashMap<>();
 
-    private static final long NOT_WRITEABLE_CHECK_MILLS = 10L;
+    /**
+     * Fires the deadline of each registered MessageFuture, the pending timeout is cancelled on response.
+     *
+     * @see AbstractNettyRemoting#registerFuture
+     */
+    protected final HashedWheelTimer timeoutTimer = new HashedWheelTimer(
+        new NamedThreadFactory("rpcTimeoutChecker", 1, true), TIMEOUT_TICK_MILLS, TimeUnit.MILLISECONDS,
+        TIMEOUT_TICKS_PER_WHEEL);
 
     /**
-     * The Now mills.
+     * Request counters per statistics key of the remote address, see {@link #getStatisticsKey(String)}.
      */
-    protected volatile long nowMills = 0;
-    private static final int TIMEOUT_CHECK_INTERVAL = 3000;
-    protected final Object lock = new Object();
+    protected final ConcurrentHashMap<String, RequestStatistics> requestStatistics = new ConcurrentHashMap<>();
+
+    private volatile Consumer<RequestStatistics> requestStatisticsListener;
+
+    private static final long NOT_WRITEABLE_CHECK_MILLS = 10L;
+    private static final long TIMEOUT_TICK_MILLS = 10L;
+    private static final int TIMEOUT_TICKS_PER_WHEEL = 512;
     /**
      * The Is sending.
      */
@@ -105,25 +122,7 @@ public abstract class AbstractNettyRemoting implements Disposable {
     protected final List<RpcHook> rpcHooks = EnhancedServiceLoader.loadAll(RpcHook.class);
 
     public void init() {
-        timerExecutor.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                for (Map.Entry<Integer, MessageFuture> entry : futures.entrySet()) {
-                    MessageFuture future = entry.getValue();
-                    if (future.isTimeout()) {
-                        futures.remove(entry.getKey());
-                        RpcMessage rpcMessage = future.getRequestMessage();
-                        future.setResultMessage(new TimeoutException(String
-                            .format("msgId: %s ,msgType: %s ,msg: %s ,request timeout", rpcMessage.getId(), String.valueOf(rpcMessage.getMessageType()), rpcMessage.getBody().toString())));
-                        if (LOGGER.isDebugEnabled()) {
-                            LOGGER.debug("timeout clear future: {}", entry.getValue().getRequestMessage().getBody());
-                        }
-                    }
-                }
-
-                nowMills = System.currentTimeMillis();
-            }
-        }, TIMEOUT_CHECK_INTERVAL, TIMEOUT_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        timeoutTimer.start();
     }
 
     public AbstractNettyRemoting(ThreadPoolExecutor messageExecutor) {
@@ -138,6 +137,27 @@ public abstract class AbstractNettyRemoting implements Disposable {
         return futures;
     }
 
+    /**
+     * Gets the request counters keyed by the statistics key of the remote address.
+     *
+     * @return the request statistics
+     */
+    public Map<String, RequestStatistics> getRequestStatistics() {
+        return Collections.unmodifiableMap(requestStatistics);
+    }
+
+    /**
+     * Sets a listener notified once for every statistics key seen, e.g. to register metrics.
+     *
+     * @param listener the listener
+     */
+    public void setRequestStatisticsListener(Consumer<RequestStatistics> listener) {
+        this.requestStatisticsListener = listener;
+        if (listener != null) {
+            requestStatistics.values().forEach(listener);
+        }
+    }
+
     public String getGroup() {
         return group;
     }
@@ -152,6 +172,7 @@ public abstract class AbstractNettyRemoting implements Disposable {
 
     @Override
     public void destroy() {
+        timeoutTimer.stop();
         timerExecutor.shutdown();
         messageExecutor.shutdown();
     }
@@ -175,19 +196,20 @@ public abstract class AbstractNettyRemoting implements Disposable {
             return null;
         }
 
+        String remoteAddr = ChannelUtil.getAddressFromChannel(channel);
         MessageFuture messageFuture = new MessageFuture();
         messageFuture.setRequestMessage(rpcMessage);
         messageFuture.setTimeout(timeoutMillis);
-        futures.put(rpcMessage.getId(), messageFuture);
+        registerFuture(remoteAddr, messageFuture);
 
         channelWritableCheck(channel, rpcMessage.getBody());
 
-        String remoteAddr = ChannelUtil.getAddressFromChannel(channel);
         doBeforeRpcHooks(remoteAddr, rpcMessage);
 
-        channel.writeAndFlush(rpcMessage).addListener((ChannelFutureListener) future -> {
+        int msgId = rpcMessage.getId();
+        ChannelFuture writeFuture = channel.writeAndFlush(rpcMessage).addListener((ChannelFutureListener) future -> {
             if (!future.isSuccess()) {
-                MessageFuture messageFuture1 = futures.remove(rpcMessage.getId());
+                MessageFuture messageFuture1 = futures.remove(msgId);
                 if (messageFuture1 != null) {
                     messageFuture1.setResultMessage(future.cause());
                 }
@@ -207,17 +229,81 @@ public abstract class AbstractNettyRemoting implements Disposable {
             } else {
                 throw new RuntimeException(exx);
             }
+        } finally {
+            recycleAfterWrite(rpcMessage, writeFuture);
         }
     }
 
+    /**
+     * rpc request whose response is delivered through a future instead of blocking the caller.
+     * The future is completed by the response processor, by the timeout checker or by a write failure.
+     * The channel writability is not waited on here, the message is queued in the netty outbound buffer.
+     *
+     * @param channel       netty channel
+     * @param rpcMessage    rpc message
+     * @param timeoutMillis rpc communication timeout
+     * @return future of the response message
+     */
+    protected CompletableFuture<Object> sendAsyncWithResponse(Channel channel, RpcMessage rpcMessage,
+                                                              long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            return FutureUtils.failedFuture(new FrameworkException("timeout should more than 0ms"));
+        }
+        if (channel == null) {
+            LOGGER.warn("sendAsyncWithResponse nothing, caused by null channel.");
+            return FutureUtils.failedFuture(new FrameworkException("send nothing, caused by null channel",
+                FrameworkErrorCode.NetConnect));
+        }
+
+        ChannelBackpressure backpressure;
+        try {
+            backpressure = acquirePendingWrite(channel, rpcMessage.getBody());
+        } catch (FrameworkException e) {
+            return FutureUtils.failedFuture(e);
+        }
+
+        String remoteAddr = ChannelUtil.getAddressFromChannel(channel);
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(rpcMessage);
+        messageFuture.setTimeout(timeoutMillis);
+        registerFuture(remoteAddr, messageFuture);
+
+        doBeforeRpcHooks(remoteAddr, rpcMessage);
+
+        int msgId = rpcMessage.getId();
+        ChannelFuture writeFuture = channel.writeAndFlush(rpcMessage).addListener((ChannelFutureListener) future -> {
+            if (backpressure != null) {
+                backpressure.releasePendingWrite();
+            }
+            if (!future.isSuccess()) {
+                MessageFuture messageFuture1 = futures.remove(msgId);
+                if (messageFuture1 != null) {
+                    messageFuture1.setResultMessage(future.cause());
+                }
+                destroyChannel(future.channel());
+            }
+        });
+
+        return messageFuture.toCompletableFuture().whenComplete((result, ex) -> {
+            if (ex == null) {
+                doAfterRpcHooks(remoteAddr, rpcMessage, result);
+            } else {
+                LOGGER.error("wait response error:{},ip:{},request:{}", ex.getMessage(), remoteAddr,
+                    rpcMessage.getBody());
+            }
+            recycleAfterWrite(rpcMessage, writeFuture);
+        });
+    }
+
     /**
      * rpc async request.
+     * The sender never waits for writability, a bounded number of messages may be queued on an unwritable channel.
      *
      * @param channel    netty channel
      * @param rpcMessage rpc message
      */
     protected void sendAsync(Channel channel, RpcMessage rpcMessage) {
-        channelWritableCheck(channel, rpcMessage.getBody());
+        ChannelBackpressure backpressure = acquirePendingWrite(channel, rpcMessage.getBody());
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("write message:" + rpcMessage.getBody() + ", channel:" + channel + ",active?"
                 + channel.isActive() + ",writable?" + channel.isWritable() + ",isopen?" + channel.isOpen());
@@ -226,14 +312,94 @@ public abstract class AbstractNettyRemoting implements Disposable {
         doBeforeRpcHooks(ChannelUtil.getAddressFromChannel(channel), rpcMessage);
 
         channel.writeAndFlush(rpcMessage).addListener((ChannelFutureListener) future -> {
+            if (backpressure != null) {
+                backpressure.releasePendingWrite();
+            }
+            rpcMessage.recycle();
             if (!future.isSuccess()) {
                 destroyChannel(future.channel());
             }
         });
     }
 
+    /**
+     * Recycle a request message once both its response and its write are done, the encoder may still be reading
+     * it when the response future is completed by a timeout.
+     *
+     * @param rpcMessage  the request message
+     * @param writeFuture the write future of the message
+     */
+    private static void recycleAfterWrite(RpcMessage rpcMessage, ChannelFuture writeFuture) {
+        if (writeFuture.isDone()) {
+            rpcMessage.recycle();
+        } else {
+            writeFuture.addListener(future -> rpcMessage.recycle());
+        }
+    }
+
+    /**
+     * Register the future of a request waiting for its response and arm its deadline on the timing wheel.
+     * The deadline is cancelled as soon as the future is completed by any other path.
+     *
+     * @param remoteAddr    the remote address
+     * @param messageFuture the message future, with request message and timeout set
+     */
+    protected void registerFuture(String remoteAddr, MessageFuture messageFuture) {
+        RpcMessage rpcMessage = messageFuture.getRequestMessage();
+        RequestStatistics statistics = getOrCreateStatistics(remoteAddr);
+        statistics.onSend();
+        // the request message may be recycled before the timeout task is cancelled, so it is not read from the task
+        int msgId = rpcMessage.getId();
+        byte msgType = rpcMessage.getMessageType();
+        Object body = rpcMessage.getBody();
+        futures.put(msgId, messageFuture);
+        Timeout timeout = timeoutTimer.newTimeout(t -> {
+            MessageFuture future = futures.remove(msgId);
+            if (future != null) {
+                statistics.onTimeout();
+                future.setResultMessage(new TimeoutException(String
+                    .format("msgId: %s ,msgType: %s ,msg: %s ,request timeout", msgId, String.valueOf(msgType), body.toString())));
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("timeout clear future: {}", body);
+                }
+            }
+        }, messageFuture.getTimeout(), TimeUnit.MILLISECONDS);
+        messageFuture.whenComplete(() -> {
+            timeout.cancel();
+            statistics.onComplete();
+        });
+    }
+
+    /**
+     * Get the key the requests to the remote address are counted by. The counters are never removed, so the
+     * key must come from a bounded set, the remote address itself by default.
+     *
+     * @param remoteAddr the remote address
+     * @return the statistics key
+     */
+    protected String getStatisticsKey(String remoteAddr) {
+        return remoteAddr;
+    }
+
+    private RequestStatistics getOrCreateStatistics(String remoteAddr) {
+        String key = getStatisticsKey(remoteAddr);
+        RequestStatistics statistics = requestStatistics.get(key);
+        if (statistics == null) {
+            RequestStatistics created = new RequestStatistics(key);
+            statistics = requestStatistics.putIfAbsent(key, created);
+            if (statistics == null) {
+                statistics = created;
+                Consumer<RequestStatistics> listener = requestStatisticsListener;
+                if (listener != null) {
+                    listener.accept(created);
+                }
+            }
+        }
+        return statistics;
+    }
+
     protected RpcMessage buildRequestMessage(Object msg, byte messageType) {
-        RpcMessage rpcMessage = new RpcMessage();
+        RpcMessage rpcMessage = RpcMessage.newInstance();
         rpcMessage.setId(getNextMessageId());
         rpcMessage.setMessageType(messageType);
         rpcMessage.setCodec(ProtocolConstants.CONFIGURED_CODEC);
@@ -243,7 +409,7 @@ public abstract class AbstractNettyRemoting implements Disposable {
     }
 
     protected RpcMessage buildResponseMessage(RpcMessage rpcMessage, Object msg, byte messageType) {
-        RpcMessage rpcMsg = new RpcMessage();
+        RpcMessage rpcMsg = RpcMessage.newInstance();
         rpcMsg.setMessageType(messageType);
         rpcMsg.setCodec(rpcMessage.getCodec()); // same with request
         rpcMsg.setCompressor(rpcMessage.getCompressor());
@@ -334,31 +500,49 @@ public abstract class AbstractNettyRemoting implements Disposable {
      * @return the address from channel
      */
     protected String getAddressFromChannel(Channel channel) {
-        SocketAddress socketAddress = channel.remoteAddress();
-        String address = socketAddress.toString();
-        if (socketAddress.toString().indexOf(NettyClientConfig.getSocketAddressStartChar()) == 0) {
-            address = socketAddress.toString().substring(NettyClientConfig.getSocketAddressStartChar().length());
-        }
-        return address;
+        return ChannelUtil.getAddressFromChannel(channel);
     }
 
     private void channelWritableCheck(Channel channel, Object msg) {
-        int tryTimes = 0;
-        synchronized (lock) {
-            while (!channel.isWritable()) {
-                try {
-                    tryTimes++;
-                    if (tryTimes > NettyClientConfig.getMaxNotWriteableRetry()) {
-                        destroyChannel(channel);
-                        throw new FrameworkException("msg:" + ((msg == null) ? "null" : msg.toString()),
-                            FrameworkErrorCode.ChannelIsNotWritable);
-                    }
-                    lock.wait(NOT_WRITEABLE_CHECK_MILLS);
-                } catch (InterruptedException exx) {
-                    LOGGER.error(exx.getMessage());
-                }
-            }
+        if (channel.isWritable()) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean writable;
+        try {
+            writable = ChannelBackpressure.of(channel).awaitWritable(channel,
+                NettyClientConfig.getMaxNotWriteableRetry() * NOT_WRITEABLE_CHECK_MILLS);
+        } catch (InterruptedException exx) {
+            LOGGER.error(exx.getMessage());
+            writable = channel.isWritable();
+        }
+        getOrCreateStatistics(ChannelUtil.getAddressFromChannel(channel)).onWriteBlocked(System.nanoTime() - start);
+        if (!writable) {
+            destroyChannel(channel);
+            throw new FrameworkException("msg:" + ((msg == null) ? "null" : msg.toString()),
+                FrameworkErrorCode.ChannelIsNotWritable);
+        }
+    }
+
+    /**
+     * Take a pending write slot if the channel is not writable, async senders never wait for writability.
+     *
+     * @param channel the channel
+     * @param msg     the message
+     * @return the backpressure state to release once written, null if the channel was writable
+     * @throws FrameworkException with {@link FrameworkErrorCode#ChannelNotWritable} if the pending writes are full
+     */
+    private ChannelBackpressure acquirePendingWrite(Channel channel, Object msg) {
+        if (channel.isWritable()) {
+            return null;
+        }
+        ChannelBackpressure backpressure = ChannelBackpressure.of(channel);
+        if (!backpressure.tryAcquirePendingWrite(NettyBaseConfig.getMaxPendingWrites())) {
+            getOrCreateStatistics(ChannelUtil.getAddressFromChannel(channel)).onWriteRejected();
+            throw new FrameworkException("pending writes are full, msg:" + ((msg == null) ? "null" : msg.toString()),
+                FrameworkErrorCode.ChannelNotWritable);
         }
+        return backpressure;
     }
 
     /**
@@ -20,6 +20,7 @@ import java.net.InetSocketAddress;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -27,6 +28,7 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import io.netty.channel.Channel;
@@ -41,6 +43,7 @@ import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.CollectionUtils;
+import io.seata.common.util.FutureUtils;
 import io.seata.common.util.NetUtil;
 import io.seata.common.util.StringUtils;
 import io.seata.core.protocol.AbstractMessage;
@@ -106,6 +109,7 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     private ExecutorService mergeSendExecutorService;
     private TransactionMessageHandler transactionMessageHandler;
     protected volatile boolean enableClientBatchSendRequest;
+    private final AtomicInteger roundRobin = new AtomicInteger();
 
     @Override
     public void init() {
@@ -151,7 +155,7 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
             MessageFuture messageFuture = new MessageFuture();
             messageFuture.setRequestMessage(rpcMessage);
             messageFuture.setTimeout(timeoutMillis);
-            futures.put(rpcMessage.getId(), messageFuture);
+            registerFuture(serverAddress, messageFuture);
 
             // put message into basketMap
             BlockingQueue<RpcMessage> basket = CollectionUtils.computeIfAbsent(basketMap, serverAddress,
@@ -183,12 +187,58 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
             }
 
         } else {
-            Channel channel = clientChannelManager.acquireChannel(serverAddress);
+            Channel channel = clientChannelManager.acquireChannel(serverAddress, getSpreadKey(msg));
             return super.sendSync(channel, rpcMessage, timeoutMillis);
         }
 
     }
 
+    @Override
+    public CompletableFuture<Object> sendAsyncRequestWithResponse(Object msg) {
+        RpcMessage rpcMessage;
+        String serverAddress;
+        try {
+            serverAddress = loadBalance(getTransactionServiceGroup(), msg);
+            rpcMessage = buildRequestMessage(msg, ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        } catch (Throwable t) {
+            return FutureUtils.failedFuture(t);
+        }
+        long timeoutMillis = this.getRpcRequestTimeout();
+
+        if (this.isEnableClientBatchSendRequest()) {
+            MessageFuture messageFuture = new MessageFuture();
+            messageFuture.setRequestMessage(rpcMessage);
+            messageFuture.setTimeout(timeoutMillis);
+            registerFuture(serverAddress, messageFuture);
+            CompletableFuture<Object> resultFuture = messageFuture.toCompletableFuture();
+
+            BlockingQueue<RpcMessage> basket = CollectionUtils.computeIfAbsent(basketMap, serverAddress,
+                key -> new LinkedBlockingQueue<>());
+            if (!basket.offer(rpcMessage)) {
+                LOGGER.error("put message into basketMap offer failed, serverAddress:{},rpcMessage:{}",
+                        serverAddress, rpcMessage);
+                if (futures.remove(rpcMessage.getId()) != null) {
+                    messageFuture.setResultMessage(new FrameworkException("put message into basketMap offer failed"));
+                }
+                return resultFuture;
+            }
+            if (!isSending) {
+                synchronized (mergeLock) {
+                    mergeLock.notifyAll();
+                }
+            }
+            return resultFuture;
+        }
+
+        Channel channel;
+        try {
+            channel = clientChannelManager.acquireChannel(serverAddress, getSpreadKey(msg));
+        } catch (Throwable t) {
+            return FutureUtils.failedFuture(t);
+        }
+        return super.sendAsyncWithResponse(channel, rpcMessage, timeoutMillis);
+    }
+
     @Override
     public Object sendSyncRequest(Channel channel, Object msg) throws TimeoutException {
         if (channel == null) {
@@ -299,6 +349,36 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         return StringUtils.isBlank(xid) ? String.valueOf(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE)) : xid;
     }
 
+    /**
+     * Get the key spreading requests over the channels of a server, requests of the same transaction use the same
+     * channel, the others are sent round-robin.
+     *
+     * @param msg the request
+     * @return the spread key
+     */
+    protected int getSpreadKey(Object msg) {
+        String xid = null;
+        if (msg instanceof AbstractGlobalEndRequest) {
+            xid = ((AbstractGlobalEndRequest) msg).getXid();
+        } else if (msg instanceof BranchRegisterRequest) {
+            xid = ((BranchRegisterRequest) msg).getXid();
+        } else if (msg instanceof BranchReportRequest) {
+            xid = ((BranchReportRequest) msg).getXid();
+        }
+        return StringUtils.isBlank(xid) ? roundRobin.getAndIncrement() : xid.hashCode();
+    }
+
+    /**
+     * Gets the server address a channel was connected to, which is not the remote address of a unix domain socket.
+     *
+     * @param channel the channel
+     * @return the ip:port of the server
+     */
+    private String getServerAddress(Channel channel) {
+        String address = channel.attr(ChannelUtil.REMOTE_ADDRESS_KEY).get();
+        return address != null ? address : NetUtil.toStringAddress(channel.remoteAddress());
+    }
+
     private String getThreadPrefix() {
         return AbstractNettyRemotingClient.MERGE_THREAD_PREFIX + THREAD_PREFIX_SPLIT_CHAR + transactionRole.name();
     }
@@ -365,7 +445,7 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
                         // send batch message is sync request, but there is no need to get the return value.
                         // Since the messageFuture has been created before the message is placed in basketMap,
                         // the return value will be obtained in ClientOnResponseProcessor.
-                        sendChannel = clientChannelManager.acquireChannel(address);
+                        sendChannel = clientChannelManager.acquireChannel(address, roundRobin.getAndIncrement());
                         AbstractNettyRemotingClient.this.sendAsyncRequest(sendChannel, mergeMessage);
                     } catch (FrameworkException e) {
                         if (e.getErrcode() == FrameworkErrorCode.ChannelIsNotWritable && sendChannel != null) {
@@ -421,11 +501,7 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
 
         @Override
         public void channelWritabilityChanged(ChannelHandlerContext ctx) {
-            synchronized (lock) {
-                if (ctx.channel().isWritable()) {
-                    lock.notifyAll();
-                }
-            }
+            ChannelBackpressure.onWritabilityChanged(ctx.channel());
             ctx.fireChannelWritabilityChanged();
         }
 
@@ -437,7 +513,7 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("channel inactive: {}", ctx.channel());
             }
-            clientChannelManager.releaseChannel(ctx.channel(), NetUtil.toStringAddress(ctx.channel().remoteAddress()));
+            clientChannelManager.releaseChannel(ctx.channel(), getServerAddress(ctx.channel()));
             super.channelInactive(ctx);
         }
 
@@ -450,7 +526,7 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
                         LOGGER.info("channel {} read idle.", ctx.channel());
                     }
                     try {
-                        String serverAddress = NetUtil.toStringAddress(ctx.channel().remoteAddress());
+                        String serverAddress = getServerAddress(ctx.channel());
                         clientChannelManager.invalidateObject(serverAddress, ctx.channel());
                     } catch (Exception exx) {
                         LOGGER.error(exx.getMessage());
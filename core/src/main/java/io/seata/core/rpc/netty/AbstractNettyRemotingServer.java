@@ -62,6 +62,15 @@ public abstract class AbstractNettyRemotingServer extends AbstractNettyRemoting
         serverBootstrap.setChannelHandlers(new ServerHandler());
     }
 
+    /**
+     * The clients connect from a new ephemeral port after every reconnect, so their requests are counted per
+     * client ip.
+     */
+    @Override
+    protected String getStatisticsKey(String remoteAddr) {
+        return ChannelUtil.getIpFromAddress(remoteAddr);
+    }
+
     @Override
     public Object sendSyncRequest(String resourceId, String clientId, Object msg) throws TimeoutException {
         Channel channel = ChannelManager.getChannel(resourceId, clientId);
@@ -170,11 +179,7 @@ public abstract class AbstractNettyRemotingServer extends AbstractNettyRemoting
 
         @Override
         public void channelWritabilityChanged(ChannelHandlerContext ctx) {
-            synchronized (lock) {
-                if (ctx.channel().isWritable()) {
-                    lock.notifyAll();
-                }
-            }
+            ChannelBackpressure.onWritabilityChanged(ctx.channel());
             ctx.fireChannelWritabilityChanged();
         }
 
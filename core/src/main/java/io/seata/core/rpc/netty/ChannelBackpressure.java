@@ -0,0 +1,135 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+
+/**
+ * Writability state of one channel.
+ * <p>
+ * Blocking senders wait on the monitor of their own channel only, so a slow peer no longer stalls the senders of
+ * every other channel. Async senders never wait: while the channel is not writable their messages are counted as
+ * pending writes, and once the configured bound is reached further writes are rejected.
+ *
+ * @author hongyan
+ */
+public final class ChannelBackpressure {
+
+    private static final AttributeKey<ChannelBackpressure> BACKPRESSURE_KEY = AttributeKey.valueOf("seata.backpressure");
+
+    private final Object monitor = new Object();
+
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+
+    private ChannelBackpressure() {
+    }
+
+    /**
+     * Gets the backpressure state bound to the channel.
+     *
+     * @param channel the channel
+     * @return the backpressure state
+     */
+    public static ChannelBackpressure of(Channel channel) {
+        Attribute<ChannelBackpressure> attr = channel.attr(BACKPRESSURE_KEY);
+        ChannelBackpressure backpressure = attr.get();
+        if (backpressure == null) {
+            ChannelBackpressure created = new ChannelBackpressure();
+            backpressure = attr.setIfAbsent(created);
+            if (backpressure == null) {
+                backpressure = created;
+            }
+        }
+        return backpressure;
+    }
+
+    /**
+     * Wake up the senders waiting on this channel, called from channelWritabilityChanged.
+     *
+     * @param channel the channel
+     */
+    public static void onWritabilityChanged(Channel channel) {
+        if (channel.isWritable()) {
+            ChannelBackpressure backpressure = channel.attr(BACKPRESSURE_KEY).get();
+            if (backpressure != null) {
+                synchronized (backpressure.monitor) {
+                    backpressure.monitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait until the channel becomes writable.
+     *
+     * @param channel       the channel
+     * @param timeoutMillis the max time to wait
+     * @return true if the channel is writable
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitWritable(Channel channel, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (monitor) {
+            while (!channel.isWritable()) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0 || !channel.isActive()) {
+                    return channel.isWritable();
+                }
+                monitor.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Try to take a pending write slot.
+     *
+     * @param maxPendingWrites the bound
+     * @return false if the bound is reached and the write must be rejected
+     */
+    public boolean tryAcquirePendingWrite(int maxPendingWrites) {
+        while (true) {
+            int current = pendingWrites.get();
+            if (current >= maxPendingWrites) {
+                return false;
+            }
+            if (pendingWrites.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a pending write slot once its write completed.
+     */
+    public void releasePendingWrite() {
+        pendingWrites.decrementAndGet();
+    }
+
+    /**
+     * Gets the number of writes queued while the channel was not writable.
+     *
+     * @return the pending writes
+     */
+    public int getPendingWrites() {
+        return pendingWrites.get();
+    }
+}
@@ -16,10 +16,17 @@
 package io.seata.core.rpc.netty;
 
 import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 import io.seata.common.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author ph3636
@@ -28,6 +35,26 @@ public class ChannelUtil {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ChannelUtil.class);
 
+    /**
+     * the ip:port address of a channel whose remote address is not an inet address,
+     * set by the client to the server address it connected to over a unix domain socket
+     */
+    public static final AttributeKey<String> REMOTE_ADDRESS_KEY = AttributeKey.valueOf("seataRemoteAddress");
+
+    /**
+     * the host of the unix domain socket peers, not an ip literal, so it never equals the address of a tcp peer
+     */
+    private static final String DOMAIN_SOCKET_PEER_HOST = "uds";
+
+    private static final int MAX_DOMAIN_SOCKET_PEER_PORT = 65535;
+
+    private static final AtomicInteger DOMAIN_SOCKET_PEER_SEQUENCE = new AtomicInteger();
+
+    /**
+     * the ports held by the open unix domain socket peers, released when the channel is closed
+     */
+    private static final Set<Integer> DOMAIN_SOCKET_PEER_PORTS = ConcurrentHashMap.newKeySet();
+
     /**
      * get address from channel
      * @param channel the channel
@@ -35,6 +62,9 @@ public class ChannelUtil {
      */
     public static String getAddressFromChannel(Channel channel) {
         SocketAddress socketAddress = channel.remoteAddress();
+        if (!(socketAddress instanceof InetSocketAddress)) {
+            return getDomainSocketPeerAddress(channel);
+        }
         String address = socketAddress.toString();
         if (socketAddress.toString().indexOf(Constants.ENDPOINT_BEGIN_CHAR) == 0) {
             address = socketAddress.toString().substring(Constants.ENDPOINT_BEGIN_CHAR.length());
@@ -42,18 +72,59 @@ public class ChannelUtil {
         return address;
     }
 
+    /**
+     * The peers of a unix domain socket have no ip and port, give each channel a distinct pseudo address
+     * so that the clients connected over the same socket file can still be told apart.
+     * The port is not reused by another open channel, it is released when the channel is closed.
+     */
+    private static String getDomainSocketPeerAddress(Channel channel) {
+        Attribute<String> attribute = channel.attr(REMOTE_ADDRESS_KEY);
+        String address = attribute.get();
+        if (address == null) {
+            int port = allocateDomainSocketPeerPort();
+            address = DOMAIN_SOCKET_PEER_HOST + Constants.IP_PORT_SPLIT_CHAR + port;
+            String previous = attribute.setIfAbsent(address);
+            if (previous != null) {
+                DOMAIN_SOCKET_PEER_PORTS.remove(port);
+                address = previous;
+            } else {
+                channel.closeFuture().addListener(future -> DOMAIN_SOCKET_PEER_PORTS.remove(port));
+            }
+        }
+        return address;
+    }
+
+    private static int allocateDomainSocketPeerPort() {
+        for (int i = 0; i < MAX_DOMAIN_SOCKET_PEER_PORT; i++) {
+            int port = (DOMAIN_SOCKET_PEER_SEQUENCE.getAndIncrement() & Integer.MAX_VALUE) % MAX_DOMAIN_SOCKET_PEER_PORT + 1;
+            if (DOMAIN_SOCKET_PEER_PORTS.add(port)) {
+                return port;
+            }
+        }
+        throw new IllegalStateException("no free port left for the unix domain socket peers, open channels: "
+            + DOMAIN_SOCKET_PEER_PORTS.size());
+    }
+
     /**
      * get client ip from channel
      * @param channel the channel
      * @return client ip
      */
     public static String getClientIpFromChannel(Channel channel) {
-        String address = getAddressFromChannel(channel);
-        String clientIp = address;
-        if (clientIp.contains(Constants.IP_PORT_SPLIT_CHAR)) {
-            clientIp = clientIp.substring(0, clientIp.lastIndexOf(Constants.IP_PORT_SPLIT_CHAR));
+        return getIpFromAddress(getAddressFromChannel(channel));
+    }
+
+    /**
+     * get ip from address
+     * @param address the ip:port address
+     * @return ip
+     */
+    public static String getIpFromAddress(String address) {
+        String ip = address;
+        if (ip.contains(Constants.IP_PORT_SPLIT_CHAR)) {
+            ip = ip.substring(0, ip.lastIndexOf(Constants.IP_PORT_SPLIT_CHAR));
         }
-        return clientIp;
+        return ip;
     }
 
     /**
@@ -16,15 +16,19 @@
 package io.seata.core.rpc.netty;
 
 import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerDomainSocketChannel;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.kqueue.KQueueDomainSocketChannel;
+import io.netty.channel.kqueue.KQueueEventLoopGroup;
 import io.netty.channel.kqueue.KQueueServerDomainSocketChannel;
 import io.netty.channel.kqueue.KQueueServerSocketChannel;
 import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.NettyRuntime;
@@ -38,7 +42,13 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ThreadFactory;
+
+import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_BUSY_POLL_MICROS;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_DOMAIN_SOCKET_PATH;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_ENABLE_HEAD_DICTIONARY;
 import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_HEARTBEAT;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_MAX_PENDING_WRITES;
 
 /**
  * The type Netty base config.
@@ -111,6 +121,30 @@ public class NettyBaseConfig {
      */
     protected static final int MAX_ALL_IDLE_SECONDS = 0;
 
+    /**
+     * The max writes queued on a channel that is not writable before async sends are rejected.
+     */
+    protected static final int MAX_PENDING_WRITES = CONFIG.getInt(ConfigurationKeys.TRANSPORT_MAX_PENDING_WRITES,
+        DEFAULT_TRANSPORT_MAX_PENDING_WRITES);
+
+    /**
+     * The socket file of the unix domain socket transport.
+     */
+    protected static final String DOMAIN_SOCKET_PATH = CONFIG.getConfig(ConfigurationKeys.TRANSPORT_DOMAIN_SOCKET_PATH,
+        DEFAULT_TRANSPORT_DOMAIN_SOCKET_PATH);
+
+    /**
+     * The SO_BUSY_POLL microseconds of the native epoll transport, 0 to disable.
+     */
+    protected static final int BUSY_POLL_MICROS = CONFIG.getInt(ConfigurationKeys.TRANSPORT_BUSY_POLL_MICROS,
+        DEFAULT_TRANSPORT_BUSY_POLL_MICROS);
+
+    /**
+     * Whether repeated head map entries are sent as references to a per connection dictionary.
+     */
+    protected static final boolean ENABLE_HEAD_DICTIONARY = CONFIG.getBoolean(
+        ConfigurationKeys.TRANSPORT_ENABLE_HEAD_DICTIONARY, DEFAULT_TRANSPORT_ENABLE_HEAD_DICTIONARY);
+
     static {
         TRANSPORT_PROTOCOL_TYPE = TransportProtocolType.getType(CONFIG.getConfig(ConfigurationKeys.TRANSPORT_TYPE, TransportProtocolType.TCP.name()));
         String workerThreadSize = CONFIG.getConfig(ConfigurationKeys.WORKER_THREAD_SIZE);
@@ -174,6 +208,76 @@ public class NettyBaseConfig {
         MAX_READ_IDLE_SECONDS = MAX_WRITE_IDLE_SECONDS * READIDLE_BASE_WRITEIDLE;
     }
 
+    /**
+     * Gets max pending writes of a channel.
+     *
+     * @return the max pending writes
+     */
+    public static int getMaxPendingWrites() {
+        return MAX_PENDING_WRITES;
+    }
+
+    /**
+     * Is the transport a unix domain socket.
+     *
+     * @return true if the transport protocol is unix domain socket
+     */
+    public static boolean isUnixDomainSocket() {
+        return TRANSPORT_PROTOCOL_TYPE == TransportProtocolType.UNIX_DOMAIN_SOCKET;
+    }
+
+    /**
+     * Gets the socket file of the unix domain socket transport.
+     *
+     * @return the domain socket path
+     */
+    public static String getDomainSocketPath() {
+        return DOMAIN_SOCKET_PATH;
+    }
+
+    /**
+     * Gets the SO_BUSY_POLL microseconds of the native epoll transport.
+     *
+     * @return the busy poll microseconds, 0 if disabled
+     */
+    public static int getBusyPollMicros() {
+        return BUSY_POLL_MICROS;
+    }
+
+    /**
+     * Whether repeated head map entries are sent as references to a per connection dictionary.
+     *
+     * @return true if the head dictionary is enabled
+     */
+    public static boolean isEnableHeadDictionary() {
+        return ENABLE_HEAD_DICTIONARY;
+    }
+
+    /**
+     * Is the transport the native epoll transport of linux.
+     *
+     * @return true if the channels are epoll channels
+     */
+    public static boolean isEpoll() {
+        return TRANSPORT_SERVER_TYPE == TransportServerType.NATIVE && !PlatformDependent.isOsx();
+    }
+
+    /**
+     * Create the event loop group matching the channel classes of the transport, channels of a native
+     * transport can only be registered to the event loops of the same transport.
+     *
+     * @param threads       the thread size
+     * @param threadFactory the thread factory
+     * @return the event loop group
+     */
+    public static EventLoopGroup createEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        if (TRANSPORT_SERVER_TYPE == TransportServerType.NATIVE) {
+            return PlatformDependent.isOsx() ? new KQueueEventLoopGroup(threads, threadFactory)
+                : new EpollEventLoopGroup(threads, threadFactory);
+        }
+        return new NioEventLoopGroup(threads, threadFactory);
+    }
+
     private static void raiseUnsupportedTransportError() throws RuntimeException {
         String errMsg = String.format("Unsupported provider type :[%s] for transport:[%s].", TRANSPORT_SERVER_TYPE,
             TRANSPORT_PROTOCOL_TYPE);
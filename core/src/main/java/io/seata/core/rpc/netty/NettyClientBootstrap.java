@@ -25,15 +25,15 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollMode;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.concurrent.DefaultEventExecutorGroup;
 import io.netty.util.concurrent.EventExecutorGroup;
-import io.netty.util.internal.PlatformDependent;
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.thread.NamedThreadFactory;
+import io.seata.common.util.NetUtil;
 import io.seata.core.rpc.RemotingBootstrap;
+import io.seata.core.rpc.netty.v1.HeadMapDictionary;
 import io.seata.core.rpc.netty.v1.ProtocolV1Decoder;
 import io.seata.core.rpc.netty.v1.ProtocolV1Encoder;
 import org.slf4j.Logger;
@@ -72,7 +72,7 @@ public class NettyClientBootstrap implements RemotingBootstrap {
         this.nettyClientConfig = nettyClientConfig;
         int selectorThreadSizeThreadSize = this.nettyClientConfig.getClientSelectorThreadSize();
         this.transactionRole = transactionRole;
-        this.eventLoopGroupWorker = new NioEventLoopGroup(selectorThreadSizeThreadSize,
+        this.eventLoopGroupWorker = NettyClientConfig.createEventLoopGroup(selectorThreadSizeThreadSize,
             new NamedThreadFactory(getThreadPrefix(this.nettyClientConfig.getClientSelectorThreadPrefix()),
                 selectorThreadSizeThreadSize));
         this.defaultEventExecutorGroup = eventExecutorGroup;
@@ -110,33 +110,38 @@ public class NettyClientBootstrap implements RemotingBootstrap {
         }
         this.bootstrap.group(this.eventLoopGroupWorker).channel(
             nettyClientConfig.getClientChannelClazz()).option(
-            ChannelOption.TCP_NODELAY, true).option(ChannelOption.SO_KEEPALIVE, true).option(
-            ChannelOption.CONNECT_TIMEOUT_MILLIS, nettyClientConfig.getConnectTimeoutMillis()).option(
-            ChannelOption.SO_SNDBUF, nettyClientConfig.getClientSocketSndBufSize()).option(ChannelOption.SO_RCVBUF,
-            nettyClientConfig.getClientSocketRcvBufSize());
+            ChannelOption.CONNECT_TIMEOUT_MILLIS, nettyClientConfig.getConnectTimeoutMillis());
+        if (!NettyClientConfig.isUnixDomainSocket()) {
+            bootstrap.option(ChannelOption.TCP_NODELAY, true).option(ChannelOption.SO_KEEPALIVE, true).option(
+                ChannelOption.SO_SNDBUF, nettyClientConfig.getClientSocketSndBufSize()).option(ChannelOption.SO_RCVBUF,
+                nettyClientConfig.getClientSocketRcvBufSize());
+        }
 
-        if (nettyClientConfig.enableNative()) {
-            if (PlatformDependent.isOsx()) {
-                if (LOGGER.isInfoEnabled()) {
-                    LOGGER.info("client run on macOS");
+        if (NettyClientConfig.isEpoll()) {
+            bootstrap.option(EpollChannelOption.EPOLL_MODE, EpollMode.EDGE_TRIGGERED);
+            if (!NettyClientConfig.isUnixDomainSocket()) {
+                bootstrap.option(EpollChannelOption.TCP_QUICKACK, true);
+                if (NettyClientConfig.getBusyPollMicros() > 0) {
+                    bootstrap.option(EpollChannelOption.SO_BUSY_POLL, NettyClientConfig.getBusyPollMicros());
                 }
-            } else {
-                bootstrap.option(EpollChannelOption.EPOLL_MODE, EpollMode.EDGE_TRIGGERED)
-                    .option(EpollChannelOption.TCP_QUICKACK, true);
             }
+        } else if (nettyClientConfig.enableNative() && LOGGER.isInfoEnabled()) {
+            LOGGER.info("client run on macOS");
         }
 
         bootstrap.handler(
-            new ChannelInitializer<SocketChannel>() {
+            new ChannelInitializer<Channel>() {
                 @Override
-                public void initChannel(SocketChannel ch) {
+                public void initChannel(Channel ch) {
+                    HeadMapDictionary headMapDictionary = NettyBaseConfig.isEnableHeadDictionary()
+                        ? new HeadMapDictionary() : null;
                     ChannelPipeline pipeline = ch.pipeline();
                     pipeline.addLast(
                         new IdleStateHandler(nettyClientConfig.getChannelMaxReadIdleSeconds(),
                             nettyClientConfig.getChannelMaxWriteIdleSeconds(),
                             nettyClientConfig.getChannelMaxAllIdleSeconds()))
-                        .addLast(new ProtocolV1Decoder())
-                        .addLast(new ProtocolV1Encoder());
+                        .addLast(new ProtocolV1Decoder(headMapDictionary))
+                        .addLast(new ProtocolV1Encoder(headMapDictionary));
                     if (channelHandlers != null) {
                         addChannelPipelineLast(ch, channelHandlers);
                     }
@@ -168,7 +173,15 @@ public class NettyClientBootstrap implements RemotingBootstrap {
      */
     public Channel getNewChannel(InetSocketAddress address) {
         Channel channel;
-        ChannelFuture f = this.bootstrap.connect(address);
+        ChannelFuture f;
+        if (NettyClientConfig.isUnixDomainSocket()) {
+            // the server is on this host, keep the registry address of the server on the channel
+            // since the remote address of a domain socket channel is the socket file
+            f = this.bootstrap.clone().attr(ChannelUtil.REMOTE_ADDRESS_KEY, NetUtil.toStringAddress(address))
+                .connect(new DomainSocketAddress(NettyClientConfig.getDomainSocketPath()));
+        } else {
+            f = this.bootstrap.connect(address);
+        }
         try {
             f.await(this.nettyClientConfig.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS);
             if (f.isCancelled()) {
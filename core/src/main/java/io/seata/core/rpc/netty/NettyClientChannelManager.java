@@ -23,6 +23,7 @@ import java.util.Set;
 import java.util.HashSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -45,6 +46,10 @@ import io.seata.discovery.registry.RegistryService;
 
 /**
  * Netty client pool manager.
+ * <p>
+ * Each server address has a primary channel, and when {@code transport.connectionsPerServer} is greater than 1,
+ * extra channels that requests are spread over by {@link #acquireChannel(String, int)}. An extra channel that is
+ * not active is skipped in favor of the primary one until {@link #reconnect(String)} replaces it.
  *
  * @author slievrly
  * @author zhaojun
@@ -59,12 +64,17 @@ class NettyClientChannelManager {
 
     private final ConcurrentMap<String, Channel> channels = new ConcurrentHashMap<>();
 
+    private final ConcurrentMap<String, AtomicReferenceArray<Channel>> extraChannels = new ConcurrentHashMap<>();
+
+    private final int connectionsPerServer;
+
     private final GenericKeyedObjectPool<NettyPoolKey, Channel> nettyClientKeyPool;
 
     private Function<String, NettyPoolKey> poolKeyFunction;
 
     NettyClientChannelManager(final NettyPoolableFactory keyPoolableFactory, final Function<String, NettyPoolKey> poolKeyFunction,
                                      final NettyClientConfig clientConfig) {
+        this.connectionsPerServer = Math.max(1, clientConfig.getConnectionsPerServer());
         nettyClientKeyPool = new GenericKeyedObjectPool<>(keyPoolableFactory);
         nettyClientKeyPool.setConfig(getNettyPoolConfig(clientConfig));
         this.poolKeyFunction = poolKeyFunction;
@@ -72,7 +82,7 @@ class NettyClientChannelManager {
 
     private GenericKeyedObjectPool.Config getNettyPoolConfig(final NettyClientConfig clientConfig) {
         GenericKeyedObjectPool.Config poolConfig = new GenericKeyedObjectPool.Config();
-        poolConfig.maxActive = clientConfig.getMaxPoolActive();
+        poolConfig.maxActive = Math.max(clientConfig.getMaxPoolActive(), connectionsPerServer);
         poolConfig.minIdle = clientConfig.getMinPoolIdle();
         poolConfig.maxWait = clientConfig.getMaxAcquireConnMills();
         poolConfig.testOnBorrow = clientConfig.isPoolTestBorrow();
@@ -113,6 +123,46 @@ class NettyClientChannelManager {
         }
     }
 
+    /**
+     * Acquire one of the channels connected to remote server, requests with the same spread key use the same channel.
+     *
+     * @param serverAddress server address
+     * @param spreadKey     the spread key, e.g. the hash of the xid
+     * @return netty channel
+     */
+    Channel acquireChannel(String serverAddress, int spreadKey) {
+        int slot = connectionsPerServer == 1 ? 0 : (spreadKey & Integer.MAX_VALUE) % connectionsPerServer;
+        if (slot > 0) {
+            AtomicReferenceArray<Channel> group = extraChannels.get(serverAddress);
+            Channel channel = group == null ? null : group.get(slot - 1);
+            if (channel != null && channel.isActive()) {
+                return channel;
+            }
+        }
+        return acquireChannel(serverAddress);
+    }
+
+    /**
+     * Get the active extra channels connected to remote server.
+     *
+     * @param serverAddress server address
+     * @return the extra channels
+     */
+    List<Channel> getExtraChannels(String serverAddress) {
+        AtomicReferenceArray<Channel> group = extraChannels.get(serverAddress);
+        if (group == null) {
+            return Collections.emptyList();
+        }
+        List<Channel> result = new ArrayList<>(group.length());
+        for (int i = 0; i < group.length(); i++) {
+            Channel channel = group.get(i);
+            if (channel != null && channel.isActive()) {
+                result.add(channel);
+            }
+        }
+        return result;
+    }
+
     /**
      * Release channel to pool if necessary.
      *
@@ -122,6 +172,10 @@ class NettyClientChannelManager {
     void releaseChannel(Channel channel, String serverAddress) {
         if (channel == null || serverAddress == null) { return; }
         try {
+            if (removeExtraChannel(serverAddress, channel)) {
+                nettyClientKeyPool.returnObject(poolKeyMap.get(serverAddress), channel);
+                return;
+            }
             synchronized (channelLocks.get(serverAddress)) {
                 Channel ch = channels.get(serverAddress);
                 if (ch == null) {
@@ -153,6 +207,8 @@ class NettyClientChannelManager {
         try {
             if (channel.equals(channels.get(serverAddress))) {
                 channels.remove(serverAddress);
+            } else {
+                removeExtraChannel(serverAddress, channel);
             }
             nettyClientKeyPool.returnObject(poolKeyMap.get(serverAddress), channel);
         } catch (Exception exx) {
@@ -195,6 +251,7 @@ class NettyClientChannelManager {
                 try {
                     acquireChannel(serverAddress);
                     channelAddress.add(serverAddress);
+                    connectExtraChannels(serverAddress);
                 } catch (Exception e) {
                     LOGGER.error("{} can not connect to {} cause:{}", FrameworkErrorCode.NetConnect.getErrCode(),
                         serverAddress, e.getMessage(), e);
@@ -252,6 +309,47 @@ class NettyClientChannelManager {
         return channelFromPool;
     }
 
+    private void connectExtraChannels(String serverAddress) {
+        if (connectionsPerServer == 1) {
+            return;
+        }
+        AtomicReferenceArray<Channel> group = CollectionUtils.computeIfAbsent(extraChannels, serverAddress,
+            key -> new AtomicReferenceArray<>(connectionsPerServer - 1));
+        for (int i = 0; i < group.length(); i++) {
+            Channel channel = group.get(i);
+            if (channel != null && channel.isActive()) {
+                continue;
+            }
+            try {
+                Channel newChannel = nettyClientKeyPool.borrowObject(poolKeyMap.get(serverAddress));
+                // the new channel took over as primary when registering
+                if (newChannel == channels.get(serverAddress)) {
+                    continue;
+                }
+                if (!group.compareAndSet(i, channel, newChannel)) {
+                    nettyClientKeyPool.returnObject(poolKeyMap.get(serverAddress), newChannel);
+                }
+            } catch (Exception exx) {
+                LOGGER.error("{} can not connect extra channel to {} cause:{}", FrameworkErrorCode.NetConnect.getErrCode(),
+                    serverAddress, exx.getMessage());
+                return;
+            }
+        }
+    }
+
+    private boolean removeExtraChannel(String serverAddress, Channel channel) {
+        AtomicReferenceArray<Channel> group = extraChannels.get(serverAddress);
+        if (group == null) {
+            return false;
+        }
+        for (int i = 0; i < group.length(); i++) {
+            if (group.compareAndSet(i, channel, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private List<String> getAvailServerList(String transactionServiceGroup) throws Exception {
         List<InetSocketAddress> availInetSocketAddressList = RegistryFactory.getInstance()
                 .lookup(transactionServiceGroup);
@@ -20,6 +20,7 @@ import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.rpc.TransportServerType;
 
 import static io.seata.common.DefaultValues.DEFAULT_ENABLE_CLIENT_BATCH_SEND_REQUEST;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_CONNECTIONS_PER_SERVER;
 import static io.seata.common.DefaultValues.DEFAULT_RPC_RM_REQUEST_TIMEOUT;
 import static io.seata.common.DefaultValues.DEFAULT_RPC_TM_REQUEST_TIMEOUT;
 import static io.seata.common.DefaultValues.DEFAULT_SELECTOR_THREAD_PREFIX;
@@ -34,6 +35,8 @@ import static io.seata.common.DefaultValues.DEFAULT_WORKER_THREAD_PREFIX;
 public class NettyClientConfig extends NettyBaseConfig {
 
     private int connectTimeoutMillis = 10000;
+    private int connectionsPerServer = CONFIG.getInt(ConfigurationKeys.TRANSPORT_CONNECTIONS_PER_SERVER,
+        DEFAULT_TRANSPORT_CONNECTIONS_PER_SERVER);
     private int clientSocketSndBufSize = 153600;
     private int clientSocketRcvBufSize = 153600;
     private int clientWorkerThreads = WORKER_THREAD_SIZE;
@@ -388,6 +391,24 @@ public class NettyClientConfig extends NettyBaseConfig {
         return RPC_DISPATCH_THREAD_PREFIX;
     }
 
+    /**
+     * Gets the number of channels connected to each server.
+     *
+     * @return the connections per server
+     */
+    public int getConnectionsPerServer() {
+        return connectionsPerServer;
+    }
+
+    /**
+     * Sets the number of channels connected to each server.
+     *
+     * @param connectionsPerServer the connections per server
+     */
+    public void setConnectionsPerServer(int connectionsPerServer) {
+        this.connectionsPerServer = connectionsPerServer;
+    }
+
     /**
      * Gets max pool active.
      *
@@ -25,9 +25,11 @@ import io.seata.core.rpc.processor.server.RegTmProcessor;
 import io.seata.core.rpc.processor.server.ServerHeartbeatProcessor;
 import io.seata.core.rpc.processor.server.ServerOnRequestProcessor;
 import io.seata.core.rpc.processor.server.ServerOnResponseProcessor;
+import io.seata.core.rpc.processor.server.ServerRequestExecutors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -53,6 +55,9 @@ public class NettyRemotingServer extends AbstractNettyRemotingServer {
             new LinkedBlockingQueue<>(NettyServerConfig.getMaxTaskQueueSize()),
             new NamedThreadFactory("BranchResultHandlerThread", NettyServerConfig.getMaxBranchResultPoolSize()), new ThreadPoolExecutor.CallerRunsPolicy());
 
+    private final ServerRequestExecutors requestExecutors = NettyServerConfig.isEnableServerRequestExecutors()
+        ? new ServerRequestExecutors() : null;
+
     @Override
     public void init() {
         // registry processor
@@ -84,6 +89,15 @@ public class NettyRemotingServer extends AbstractNettyRemotingServer {
         return transactionMessageHandler;
     }
 
+    /**
+     * Gets the dedicated executors of the transaction requests.
+     *
+     * @return the request executors, or null if the requests share the message executor
+     */
+    public ServerRequestExecutors getRequestExecutors() {
+        return requestExecutors;
+    }
+
     @Override
     public void destroyChannel(String serverAddress, Channel channel) {
         if (LOGGER.isInfoEnabled()) {
@@ -96,17 +110,19 @@ public class NettyRemotingServer extends AbstractNettyRemotingServer {
     private void registerProcessor() {
         // 1. registry on request message processor
         ServerOnRequestProcessor onRequestProcessor =
-            new ServerOnRequestProcessor(this, getHandler());
+            new ServerOnRequestProcessor(this, getHandler(), requestExecutors);
         ShutdownHook.getInstance().addDisposable(onRequestProcessor);
-        super.registerProcessor(MessageType.TYPE_BRANCH_REGISTER, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_BRANCH_STATUS_REPORT, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_BEGIN, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_COMMIT, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_LOCK_QUERY, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_REPORT, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_ROLLBACK, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_GLOBAL_STATUS, onRequestProcessor, messageExecutor);
-        super.registerProcessor(MessageType.TYPE_SEATA_MERGE, onRequestProcessor, messageExecutor);
+        // with dedicated executors, the processor dispatches each request to the executor of its class by itself
+        ExecutorService requestExecutor = requestExecutors != null ? null : messageExecutor;
+        super.registerProcessor(MessageType.TYPE_BRANCH_REGISTER, onRequestProcessor, requestExecutor);
+        super.registerProcessor(MessageType.TYPE_BRANCH_STATUS_REPORT, onRequestProcessor, requestExecutor);
+        super.registerProcessor(MessageType.TYPE_GLOBAL_BEGIN, onRequestProcessor, requestExecutor);
+        super.registerProcessor(MessageType.TYPE_GLOBAL_COMMIT, onRequestProcessor, requestExecutor);
+        super.registerProcessor(MessageType.TYPE_GLOBAL_LOCK_QUERY, onRequestProcessor, requestExecutor);
+        super.registerProcessor(MessageType.TYPE_GLOBAL_REPORT, onRequestProcessor, requestExecutor);
+        super.registerProcessor(MessageType.TYPE_GLOBAL_ROLLBACK, onRequestProcessor, requestExecutor);
+        super.registerProcessor(MessageType.TYPE_GLOBAL_STATUS, onRequestProcessor, requestExecutor);
+        super.registerProcessor(MessageType.TYPE_SEATA_MERGE, onRequestProcessor, requestExecutor);
         // 2. registry on response message processor
         ServerOnResponseProcessor onResponseProcessor =
             new ServerOnResponseProcessor(getHandler(), getFutures());
@@ -127,5 +143,8 @@ public class NettyRemotingServer extends AbstractNettyRemotingServer {
     public void destroy() {
         super.destroy();
         branchResultMessageExecutor.shutdown();
+        if (requestExecutors != null) {
+            requestExecutors.destroy();
+        }
     }
 }
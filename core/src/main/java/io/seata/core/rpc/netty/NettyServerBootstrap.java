@@ -15,6 +15,7 @@
  */
 package io.seata.core.rpc.netty;
 
+import java.io.File;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.util.concurrent.TimeUnit;
@@ -27,14 +28,14 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
-import io.netty.channel.epoll.EpollEventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.seata.common.XID;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.rpc.RemotingBootstrap;
+import io.seata.core.rpc.netty.v1.HeadMapDictionary;
 import io.seata.core.rpc.netty.v1.ProtocolV1Decoder;
 import io.seata.core.rpc.netty.v1.ProtocolV1Encoder;
 import io.seata.discovery.registry.MultiRegistryFactory;
@@ -64,19 +65,11 @@ public class NettyServerBootstrap implements RemotingBootstrap {
 
     public NettyServerBootstrap(NettyServerConfig nettyServerConfig) {
         this.nettyServerConfig = nettyServerConfig;
-        if (NettyServerConfig.enableEpoll()) {
-            this.eventLoopGroupBoss = new EpollEventLoopGroup(nettyServerConfig.getBossThreadSize(),
-                new NamedThreadFactory(nettyServerConfig.getBossThreadPrefix(), nettyServerConfig.getBossThreadSize()));
-            this.eventLoopGroupWorker = new EpollEventLoopGroup(nettyServerConfig.getServerWorkerThreads(),
-                new NamedThreadFactory(nettyServerConfig.getWorkerThreadPrefix(),
-                    nettyServerConfig.getServerWorkerThreads()));
-        } else {
-            this.eventLoopGroupBoss = new NioEventLoopGroup(nettyServerConfig.getBossThreadSize(),
-                new NamedThreadFactory(nettyServerConfig.getBossThreadPrefix(), nettyServerConfig.getBossThreadSize()));
-            this.eventLoopGroupWorker = new NioEventLoopGroup(nettyServerConfig.getServerWorkerThreads(),
-                new NamedThreadFactory(nettyServerConfig.getWorkerThreadPrefix(),
-                    nettyServerConfig.getServerWorkerThreads()));
-        }
+        this.eventLoopGroupBoss = NettyServerConfig.createEventLoopGroup(nettyServerConfig.getBossThreadSize(),
+            new NamedThreadFactory(nettyServerConfig.getBossThreadPrefix(), nettyServerConfig.getBossThreadSize()));
+        this.eventLoopGroupWorker = NettyServerConfig.createEventLoopGroup(nettyServerConfig.getServerWorkerThreads(),
+            new NamedThreadFactory(nettyServerConfig.getWorkerThreadPrefix(),
+                nettyServerConfig.getServerWorkerThreads()));
     }
 
     /**
@@ -143,21 +136,17 @@ public class NettyServerBootstrap implements RemotingBootstrap {
         this.serverBootstrap.group(this.eventLoopGroupBoss, this.eventLoopGroupWorker)
             .channel(NettyServerConfig.SERVER_CHANNEL_CLAZZ)
             .option(ChannelOption.SO_BACKLOG, nettyServerConfig.getSoBackLogSize())
-            .option(ChannelOption.SO_REUSEADDR, true)
-            .childOption(ChannelOption.SO_KEEPALIVE, true)
-            .childOption(ChannelOption.TCP_NODELAY, true)
-            .childOption(ChannelOption.SO_SNDBUF, nettyServerConfig.getServerSocketSendBufSize())
-            .childOption(ChannelOption.SO_RCVBUF, nettyServerConfig.getServerSocketResvBufSize())
             .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK,
                 new WriteBufferWaterMark(nettyServerConfig.getWriteBufferLowWaterMark(),
                     nettyServerConfig.getWriteBufferHighWaterMark()))
-            .localAddress(new InetSocketAddress(getListenPort()))
-            .childHandler(new ChannelInitializer<SocketChannel>() {
+            .childHandler(new ChannelInitializer<Channel>() {
                 @Override
-                public void initChannel(SocketChannel ch) {
+                public void initChannel(Channel ch) {
+                    HeadMapDictionary headMapDictionary = NettyBaseConfig.isEnableHeadDictionary()
+                        ? new HeadMapDictionary() : null;
                     ch.pipeline().addLast(new IdleStateHandler(nettyServerConfig.getChannelMaxReadIdleSeconds(), 0, 0))
-                        .addLast(new ProtocolV1Decoder())
-                        .addLast(new ProtocolV1Encoder());
+                        .addLast(new ProtocolV1Decoder(headMapDictionary))
+                        .addLast(new ProtocolV1Encoder(headMapDictionary));
                     if (channelHandlers != null) {
                         addChannelPipelineLast(ch, channelHandlers);
                     }
@@ -165,8 +154,22 @@ public class NettyServerBootstrap implements RemotingBootstrap {
                 }
             });
 
+        if (!NettyServerConfig.isUnixDomainSocket()) {
+            this.serverBootstrap.option(ChannelOption.SO_REUSEADDR, true)
+                .childOption(ChannelOption.SO_KEEPALIVE, true)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.SO_SNDBUF, nettyServerConfig.getServerSocketSendBufSize())
+                .childOption(ChannelOption.SO_RCVBUF, nettyServerConfig.getServerSocketResvBufSize());
+            if (NettyServerConfig.isEpoll() && NettyServerConfig.getBusyPollMicros() > 0) {
+                this.serverBootstrap.childOption(EpollChannelOption.SO_BUSY_POLL, NettyServerConfig.getBusyPollMicros());
+            }
+            if (NettyServerConfig.isServerReusePort()) {
+                this.serverBootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+            }
+        }
+
         try {
-            this.serverBootstrap.bind(getListenPort()).sync();
+            bind();
             LOGGER.info("Server started, service listen port: {}", getListenPort());
             InetSocketAddress address = new InetSocketAddress(XID.getIpAddress(), XID.getPort());
             for (RegistryService registryService : MultiRegistryFactory.getInstances()) {
@@ -180,6 +183,25 @@ public class NettyServerBootstrap implements RemotingBootstrap {
         }
     }
 
+    private void bind() throws InterruptedException {
+        if (NettyServerConfig.isUnixDomainSocket()) {
+            String path = NettyServerConfig.getDomainSocketPath();
+            // a socket file left by a previous process makes the bind fail
+            if (new File(path).delete() && LOGGER.isInfoEnabled()) {
+                LOGGER.info("deleted the stale domain socket file: {}", path);
+            }
+            this.serverBootstrap.bind(new DomainSocketAddress(path)).sync();
+            LOGGER.info("Server listen on domain socket: {}", path);
+        } else if (NettyServerConfig.isServerReusePort()) {
+            // each listening socket is served by its own boss thread, the kernel balances the accepts between them
+            for (int i = 0; i < nettyServerConfig.getBossThreadSize(); i++) {
+                this.serverBootstrap.bind(new InetSocketAddress(getListenPort())).sync();
+            }
+        } else {
+            this.serverBootstrap.bind(new InetSocketAddress(getListenPort())).sync();
+        }
+    }
+
     @Override
     public void shutdown() {
         try {
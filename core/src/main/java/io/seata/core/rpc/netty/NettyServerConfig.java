@@ -68,6 +68,10 @@ public class NettyServerConfig extends NettyBaseConfig {
             ConfigurationKeys.MAX_BRANCH_RESULT_POOL_SIZE, String.valueOf(WORKER_THREAD_SIZE)));
     private static boolean ENABLE_TC_SERVER_BATCH_SEND_RESPONSE = CONFIG.getBoolean(ConfigurationKeys.ENABLE_TC_SERVER_BATCH_SEND_RESPONSE,
         DefaultValues.DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE);
+    private static final boolean SERVER_REUSE_PORT = CONFIG.getBoolean(ConfigurationKeys.TRANSPORT_SERVER_REUSE_PORT,
+        DefaultValues.DEFAULT_TRANSPORT_SERVER_REUSE_PORT);
+    private static boolean ENABLE_SERVER_REQUEST_EXECUTORS = CONFIG.getBoolean(ConfigurationKeys.SERVER_EXECUTOR_ENABLED,
+        DefaultValues.DEFAULT_SERVER_EXECUTOR_ENABLED);
 
     /**
      * The Server channel clazz.
@@ -336,4 +340,22 @@ public class NettyServerConfig extends NettyBaseConfig {
     public static boolean isEnableTcServerBatchSendResponse() {
         return ENABLE_TC_SERVER_BATCH_SEND_RESPONSE;
     }
+
+    /**
+     * Get whether a listening socket is bound per boss thread with SO_REUSEPORT, only on the native epoll transport
+     *
+     * @return true or false
+     */
+    public static boolean isServerReusePort() {
+        return SERVER_REUSE_PORT && isEpoll() && !isUnixDomainSocket();
+    }
+
+    /**
+     * Get whether transaction requests are handled by a dedicated executor per request class
+     *
+     * @return true or false
+     */
+    public static boolean isEnableServerRequestExecutors() {
+        return ENABLE_SERVER_REQUEST_EXECUTORS;
+    }
 }
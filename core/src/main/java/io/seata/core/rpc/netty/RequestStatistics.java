@@ -0,0 +1,114 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-flight, timed out request and write backpressure counters of one remote address.
+ *
+ * @author hongyan
+ */
+public class RequestStatistics {
+
+    private final String address;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder writeBlockedNanos = new LongAdder();
+
+    private final LongAdder writeBlocked = new LongAdder();
+
+    private final LongAdder writeRejected = new LongAdder();
+
+    public RequestStatistics(String address) {
+        this.address = address;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * Gets the number of requests waiting for a response.
+     *
+     * @return the in-flight count
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the number of requests completed by the timeout timer since startup.
+     *
+     * @return the timeout count
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Gets the total time blocking senders spent waiting for the channel to become writable.
+     *
+     * @return the blocked time in milliseconds
+     */
+    public long getWriteBlockedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(writeBlockedNanos.sum());
+    }
+
+    /**
+     * Gets the number of sends that had to wait for the channel to become writable.
+     *
+     * @return the blocked send count
+     */
+    public long getWriteBlocked() {
+        return writeBlocked.sum();
+    }
+
+    /**
+     * Gets the number of async sends rejected because the pending writes of the channel were full.
+     *
+     * @return the rejected send count
+     */
+    public long getWriteRejected() {
+        return writeRejected.sum();
+    }
+
+    void onSend() {
+        inFlight.incrementAndGet();
+    }
+
+    void onComplete() {
+        inFlight.decrementAndGet();
+    }
+
+    void onTimeout() {
+        timeouts.increment();
+    }
+
+    void onWriteBlocked(long nanos) {
+        writeBlocked.increment();
+        writeBlockedNanos.add(nanos);
+    }
+
+    void onWriteRejected() {
+        writeRejected.increment();
+    }
+}
@@ -221,6 +221,9 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
                     LOGGER.info("will register resourceId:{}", resourceId);
                 }
                 sendRegisterMessage(serverAddress, rmChannel, resourceId);
+                for (Channel extraChannel : getClientChannelManager().getExtraChannels(serverAddress)) {
+                    sendRegisterMessage(serverAddress, extraChannel, resourceId);
+                }
             }
         }
     }
@@ -0,0 +1,142 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty.v1;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.seata.core.protocol.ProtocolConstants;
+
+/**
+ * The head map dictionary of one connection, shared by the {@link ProtocolV1Encoder} and the
+ * {@link ProtocolV1Decoder} of the channel.
+ * <p>
+ * Each direction has its own table. The encoder defines a string once, it is added to the outbound
+ * table here and to the inbound table of the peer when the frame is decoded, later frames refer to it
+ * by index. Both tables only grow in the order the frames go over the connection, so they need no
+ * acknowledgement. Keys are defined the first time they are sent, values the second time, so that
+ * one-off values such as trace ids don't fill the table.
+ * <p>
+ * References are only sent after the peer has sent a frame of
+ * {@link ProtocolConstants#VERSION_HEAD_DICTIONARY}, which for a client is the response to its
+ * register request and for the server is the register request itself.
+ *
+ * @author hongyan
+ * @see HeadMapSerializer
+ */
+public class HeadMapDictionary {
+
+    /**
+     * The max entries of the table of each direction.
+     */
+    static final int MAX_ENTRIES = 256;
+
+    /**
+     * The max utf-8 bytes of a string kept in the table.
+     */
+    static final int MAX_ENTRY_BYTES = 256;
+
+    private volatile boolean peerSupported;
+
+    private final Map<String, Integer> outboundIndexes = new HashMap<>();
+
+    private final Set<String> outboundCandidates = new HashSet<>();
+
+    private final List<String> inboundEntries = new ArrayList<>();
+
+    /**
+     * Called by the decoder with the version of each frame of the peer.
+     *
+     * @param version the protocol version of the frame
+     */
+    public void onPeerVersion(byte version) {
+        if (!peerSupported && version >= ProtocolConstants.VERSION_HEAD_DICTIONARY) {
+            peerSupported = true;
+        }
+    }
+
+    /**
+     * Whether the peer decodes references.
+     *
+     * @return true if the peer has sent a frame of the head dictionary version
+     */
+    public boolean isPeerSupported() {
+        return peerSupported;
+    }
+
+    /**
+     * Gets the outbound index of the string.
+     *
+     * @param str the string
+     * @return the index, -1 if it is not defined
+     */
+    int outboundIndexOf(String str) {
+        Integer index = outboundIndexes.get(str);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Decide whether the string sent as a literal is defined in the outbound table.
+     *
+     * @param str    the string
+     * @param length the utf-8 bytes of the string
+     * @param key    whether the string is a head key
+     * @return true if the string is defined, the peer has to add it to its inbound table
+     */
+    boolean defineOutbound(String str, int length, boolean key) {
+        if (length > MAX_ENTRY_BYTES || outboundIndexes.size() >= MAX_ENTRIES) {
+            return false;
+        }
+        if (!key && !outboundCandidates.remove(str)) {
+            if (outboundCandidates.size() >= MAX_ENTRIES) {
+                outboundCandidates.clear();
+            }
+            outboundCandidates.add(str);
+            return false;
+        }
+        outboundIndexes.put(str, outboundIndexes.size());
+        return true;
+    }
+
+    /**
+     * Gets the string of the inbound index.
+     *
+     * @param index the index
+     * @return the string
+     */
+    String inboundEntry(int index) {
+        if (index >= inboundEntries.size()) {
+            throw new IllegalArgumentException("Unknown head dictionary index: " + index);
+        }
+        return inboundEntries.get(index);
+    }
+
+    /**
+     * Add a string defined by the peer to the inbound table.
+     *
+     * @param str the string
+     */
+    void defineInbound(String str) {
+        if (inboundEntries.size() >= MAX_ENTRIES) {
+            throw new IllegalArgumentException("Head dictionary is full");
+        }
+        inboundEntries.add(str);
+    }
+}
@@ -21,9 +21,14 @@ import io.seata.common.util.StringUtils;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Common serializer of map (this generally refers to header).
+ * <p>
+ * Each key and value is a short length and the utf-8 bytes, -1 for null. With a {@link HeadMapDictionary}
+ * whose peer supports it, a string may also be written as {@code -2} and the unsigned short index of a
+ * string defined before, or as {@code -3} followed by the length and bytes to define it.
  *
  * @author Geng Zhang
  * @since 0.7.0
@@ -32,6 +37,23 @@ public class HeadMapSerializer {
 
     private static final HeadMapSerializer INSTANCE = new HeadMapSerializer();
 
+    /**
+     * Length of a reference to a string of the dictionary
+     */
+    static final short REFERENCE = -2;
+
+    /**
+     * Length of a string which is added to the dictionary
+     */
+    static final short DEFINITION = -3;
+
+    /**
+     * Max keys whose utf-8 bytes are cached
+     */
+    private static final int MAX_CACHED_KEYS = 1024;
+
+    private static final Map<String, byte[]> KEY_BYTES_CACHE = new ConcurrentHashMap<>();
+
     private HeadMapSerializer() {
 
     }
@@ -48,16 +70,36 @@ public class HeadMapSerializer {
      * @return length of head map bytes
      */
     public int encode(Map<String, String> map, ByteBuf out) {
+        return encode(map, out, null);
+    }
+
+    /**
+     * encode head map, with references to the dictionary when the peer supports it
+     *
+     * @param map        header map
+     * @param out        ByteBuf
+     * @param dictionary the dictionary of the connection, may be null
+     * @return length of head map bytes
+     */
+    public int encode(Map<String, String> map, ByteBuf out, HeadMapDictionary dictionary) {
         if (map == null || map.isEmpty() || out == null) {
             return 0;
         }
+        if (dictionary != null && !dictionary.isPeerSupported()) {
+            dictionary = null;
+        }
         int start = out.writerIndex();
         for (Map.Entry<String, String> entry : map.entrySet()) {
             String key = entry.getKey();
             String value = entry.getValue();
             if (key != null) {
-                writeString(out, key);
-                writeString(out, value);
+                if (dictionary == null) {
+                    writeBytes(out, getKeyBytes(key));
+                    writeString(out, value);
+                } else {
+                    writeString(out, key, true, dictionary);
+                    writeString(out, value, false, dictionary);
+                }
             }
         }
         return out.writerIndex() - start;
@@ -71,14 +113,26 @@ public class HeadMapSerializer {
      * @return header map
      */
     public Map<String, String> decode(ByteBuf in, int length) {
+        return decode(in, length, null);
+    }
+
+    /**
+     * decode head map, resolving the references to the dictionary
+     *
+     * @param in         ByteBuf
+     * @param length     of head map bytes
+     * @param dictionary the dictionary of the connection, may be null
+     * @return header map
+     */
+    public Map<String, String> decode(ByteBuf in, int length, HeadMapDictionary dictionary) {
         Map<String, String> map = new HashMap<>();
         if (in == null || in.readableBytes() == 0 || length == 0) {
             return map;
         }
         int tick = in.readerIndex();
         while (in.readerIndex() - tick < length) {
-            String key = readString(in);
-            String value = readString(in);
+            String key = readString(in, dictionary);
+            String value = readString(in, dictionary);
             map.put(key, value);
         }
 
@@ -97,11 +151,44 @@ public class HeadMapSerializer {
         } else if (str.isEmpty()) {
             out.writeShort(0);
         } else {
-            byte[] bs = str.getBytes(Constants.DEFAULT_CHARSET);
-            out.writeShort(bs.length);
-            out.writeBytes(bs);
+            writeBytes(out, str.getBytes(Constants.DEFAULT_CHARSET));
+        }
+    }
+
+    private void writeString(ByteBuf out, String str, boolean key, HeadMapDictionary dictionary) {
+        if (str == null || str.isEmpty()) {
+            writeString(out, str);
+            return;
+        }
+        int index = dictionary.outboundIndexOf(str);
+        if (index >= 0) {
+            out.writeShort(REFERENCE);
+            out.writeShort(index);
+            return;
+        }
+        byte[] bs = key ? getKeyBytes(str) : str.getBytes(Constants.DEFAULT_CHARSET);
+        if (dictionary.defineOutbound(str, bs.length, key)) {
+            out.writeShort(DEFINITION);
+        }
+        writeBytes(out, bs);
+    }
+
+    private void writeBytes(ByteBuf out, byte[] bs) {
+        out.writeShort(bs.length);
+        out.writeBytes(bs);
+    }
+
+    private byte[] getKeyBytes(String key) {
+        byte[] bs = KEY_BYTES_CACHE.get(key);
+        if (bs == null) {
+            bs = key.getBytes(Constants.DEFAULT_CHARSET);
+            if (KEY_BYTES_CACHE.size() < MAX_CACHED_KEYS) {
+                KEY_BYTES_CACHE.put(key, bs);
+            }
         }
+        return bs;
     }
+
     /**
      * Read string
      *
@@ -109,7 +196,22 @@ public class HeadMapSerializer {
      * @return String
      */
     protected String readString(ByteBuf in) {
+        return readString(in, null);
+    }
+
+    private String readString(ByteBuf in, HeadMapDictionary dictionary) {
         int length = in.readShort();
+        if (length == REFERENCE || length == DEFINITION) {
+            if (dictionary == null) {
+                throw new IllegalArgumentException("Head dictionary is not enabled, length: " + length);
+            }
+            if (length == REFERENCE) {
+                return dictionary.inboundEntry(in.readUnsignedShort());
+            }
+            String str = readString(in, null);
+            dictionary.defineInbound(str);
+            return str;
+        }
         if (length < 0) {
             return null;
         } else if (length == 0) {
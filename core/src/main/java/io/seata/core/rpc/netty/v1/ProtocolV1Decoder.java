@@ -63,12 +63,25 @@ public class ProtocolV1Decoder extends LengthFieldBasedFrameDecoder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProtocolV1Decoder.class);
 
+    private final HeadMapDictionary headMapDictionary;
+
     public ProtocolV1Decoder() {
         // default is 8M
         this(ProtocolConstants.MAX_FRAME_LENGTH);
     }
 
     public ProtocolV1Decoder(int maxFrameLength) {
+        this(maxFrameLength, null);
+    }
+
+    /**
+     * @param headMapDictionary the head map dictionary of the channel, shared with its encoder, null to disable
+     */
+    public ProtocolV1Decoder(HeadMapDictionary headMapDictionary) {
+        this(ProtocolConstants.MAX_FRAME_LENGTH, headMapDictionary);
+    }
+
+    public ProtocolV1Decoder(int maxFrameLength, HeadMapDictionary headMapDictionary) {
         /*
         int maxFrameLength,      
         int lengthFieldOffset,  magic code is 2B, and version is 1B, and then FullLength. so value is 3
@@ -77,6 +90,7 @@ public class ProtocolV1Decoder extends LengthFieldBasedFrameDecoder {
         int initialBytesToStrip we will check magic code and version self, so do not strip any bytes. so values is 0
         */
         super(maxFrameLength, 3, 4, -7, 0);
+        this.headMapDictionary = headMapDictionary;
     }
 
     @Override
@@ -109,6 +123,9 @@ public class ProtocolV1Decoder extends LengthFieldBasedFrameDecoder {
 
         byte version = frame.readByte();
         // TODO  check version compatible here
+        if (headMapDictionary != null) {
+            headMapDictionary.onPeerVersion(version);
+        }
 
         int fullLength = frame.readInt();
         short headLength = frame.readShort();
@@ -126,8 +143,8 @@ public class ProtocolV1Decoder extends LengthFieldBasedFrameDecoder {
         // direct read head with zero-copy
         int headMapLength = headLength - ProtocolConstants.V1_HEAD_LENGTH;
         if (headMapLength > 0) {
-            Map<String, String> map = HeadMapSerializer.getInstance().decode(frame, headMapLength);
-            rpcMessage.getHeadMap().putAll(map);
+            Map<String, String> map = HeadMapSerializer.getInstance().decode(frame, headMapLength, headMapDictionary);
+            rpcMessage.setHeadMap(map);
         }
 
         // read body
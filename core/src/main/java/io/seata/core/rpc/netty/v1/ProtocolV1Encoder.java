@@ -28,7 +28,6 @@ import io.seata.core.serializer.SerializerType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
 
 /**
  * <pre>
@@ -61,6 +60,19 @@ public class ProtocolV1Encoder extends MessageToByteEncoder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProtocolV1Encoder.class);
 
+    private final HeadMapDictionary headMapDictionary;
+
+    public ProtocolV1Encoder() {
+        this(null);
+    }
+
+    /**
+     * @param headMapDictionary the head map dictionary of the channel, shared with its decoder, null to disable
+     */
+    public ProtocolV1Encoder(HeadMapDictionary headMapDictionary) {
+        this.headMapDictionary = headMapDictionary;
+    }
+
     @Override
     public void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) {
         try {
@@ -72,7 +84,8 @@ public class ProtocolV1Encoder extends MessageToByteEncoder {
 
                 byte messageType = rpcMessage.getMessageType();
                 out.writeBytes(ProtocolConstants.MAGIC_CODE_BYTES);
-                out.writeByte(ProtocolConstants.VERSION);
+                out.writeByte(headMapDictionary == null ? ProtocolConstants.VERSION
+                    : ProtocolConstants.VERSION_HEAD_DICTIONARY);
                 // full Length(4B) and head length(2B) will fix in the end. 
                 out.writerIndex(out.writerIndex() + 6);
                 out.writeByte(messageType);
@@ -81,9 +94,9 @@ public class ProtocolV1Encoder extends MessageToByteEncoder {
                 out.writeInt(rpcMessage.getId());
 
                 // direct write head with zero-copy
-                Map<String, String> headMap = rpcMessage.getHeadMap();
-                if (headMap != null && !headMap.isEmpty()) {
-                    int headMapBytesLength = HeadMapSerializer.getInstance().encode(headMap, out);
+                if (rpcMessage.hasHead()) {
+                    int headMapBytesLength = HeadMapSerializer.getInstance().encode(rpcMessage.getHeadMap(), out,
+                        headMapDictionary);
                     headLength += headMapBytesLength;
                     fullLength += headMapBytesLength;
                 }
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.processor.server;
+
+import io.seata.common.ConfigurationKeys;
+import io.seata.common.DefaultValues;
+import io.seata.core.protocol.MessageType;
+
+/**
+ * The classes of TC requests that are handled by their own bounded executor,
+ * so that slow requests of one class cannot starve the others.
+ *
+ * @author hongyan
+ */
+public enum RequestExecutorGroup {
+
+    /**
+     * global begin, commit and rollback
+     */
+    GLOBAL_TX("globalTx", "GlobalTxHandlerThread",
+        ConfigurationKeys.SERVER_EXECUTOR_GLOBAL_TX_POOL_SIZE, DefaultValues.DEFAULT_SERVER_EXECUTOR_GLOBAL_TX_POOL_SIZE,
+        ConfigurationKeys.SERVER_EXECUTOR_GLOBAL_TX_QUEUE_SIZE, DefaultValues.DEFAULT_SERVER_EXECUTOR_GLOBAL_TX_QUEUE_SIZE),
+
+    /**
+     * branch register and branch report
+     */
+    BRANCH("branch", "BranchHandlerThread",
+        ConfigurationKeys.SERVER_EXECUTOR_BRANCH_POOL_SIZE, DefaultValues.DEFAULT_SERVER_EXECUTOR_BRANCH_POOL_SIZE,
+        ConfigurationKeys.SERVER_EXECUTOR_BRANCH_QUEUE_SIZE, DefaultValues.DEFAULT_SERVER_EXECUTOR_BRANCH_QUEUE_SIZE),
+
+    /**
+     * global lock query
+     */
+    LOCK_QUERY("lockQuery", "LockQueryHandlerThread",
+        ConfigurationKeys.SERVER_EXECUTOR_LOCK_QUERY_POOL_SIZE, DefaultValues.DEFAULT_SERVER_EXECUTOR_LOCK_QUERY_POOL_SIZE,
+        ConfigurationKeys.SERVER_EXECUTOR_LOCK_QUERY_QUEUE_SIZE, DefaultValues.DEFAULT_SERVER_EXECUTOR_LOCK_QUERY_QUEUE_SIZE),
+
+    /**
+     * global status and global report
+     */
+    STATUS("status", "StatusHandlerThread",
+        ConfigurationKeys.SERVER_EXECUTOR_STATUS_POOL_SIZE, DefaultValues.DEFAULT_SERVER_EXECUTOR_STATUS_POOL_SIZE,
+        ConfigurationKeys.SERVER_EXECUTOR_STATUS_QUEUE_SIZE, DefaultValues.DEFAULT_SERVER_EXECUTOR_STATUS_QUEUE_SIZE);
+
+    private final String name;
+    private final String threadPrefix;
+    private final String poolSizeKey;
+    private final int defaultPoolSize;
+    private final String queueSizeKey;
+    private final int defaultQueueSize;
+
+    RequestExecutorGroup(String name, String threadPrefix, String poolSizeKey, int defaultPoolSize,
+                         String queueSizeKey, int defaultQueueSize) {
+        this.name = name;
+        this.threadPrefix = threadPrefix;
+        this.poolSizeKey = poolSizeKey;
+        this.defaultPoolSize = defaultPoolSize;
+        this.queueSizeKey = queueSizeKey;
+        this.defaultQueueSize = defaultQueueSize;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getThreadPrefix() {
+        return threadPrefix;
+    }
+
+    public String getPoolSizeKey() {
+        return poolSizeKey;
+    }
+
+    public int getDefaultPoolSize() {
+        return defaultPoolSize;
+    }
+
+    public String getQueueSizeKey() {
+        return queueSizeKey;
+    }
+
+    public int getDefaultQueueSize() {
+        return defaultQueueSize;
+    }
+
+    /**
+     * Get the group of a request type.
+     *
+     * @param typeCode the message type code
+     * @return the group, or null if the type is not a transaction request
+     */
+    public static RequestExecutorGroup of(short typeCode) {
+        switch (typeCode) {
+            case MessageType.TYPE_GLOBAL_BEGIN:
+            case MessageType.TYPE_GLOBAL_COMMIT:
+            case MessageType.TYPE_GLOBAL_ROLLBACK:
+                return GLOBAL_TX;
+            case MessageType.TYPE_BRANCH_REGISTER:
+            case MessageType.TYPE_BRANCH_STATUS_REPORT:
+                return BRANCH;
+            case MessageType.TYPE_GLOBAL_LOCK_QUERY:
+                return LOCK_QUERY;
+            case MessageType.TYPE_GLOBAL_STATUS:
+            case MessageType.TYPE_GLOBAL_REPORT:
+                return STATUS;
+            default:
+                return null;
+        }
+    }
+}
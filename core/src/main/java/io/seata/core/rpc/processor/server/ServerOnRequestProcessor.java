@@ -15,30 +15,30 @@
  */
 package io.seata.core.rpc.processor.server;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.seata.common.ConfigurationKeys;
+import io.seata.common.DefaultValues;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.NetUtil;
 import io.seata.common.util.StringUtils;
 import io.seata.config.ConfigurationFactory;
+import io.seata.core.exception.TransactionExceptionCode;
 import io.seata.core.protocol.AbstractMessage;
 import io.seata.core.protocol.AbstractResultMessage;
 import io.seata.core.protocol.BatchResultMessage;
@@ -58,6 +58,7 @@ import io.seata.core.rpc.Disposable;
 import io.seata.core.rpc.RemotingServer;
 import io.seata.core.rpc.RpcContext;
 import io.seata.core.rpc.TransactionMessageHandler;
+import io.seata.core.rpc.audit.RequestAuditor;
 import io.seata.core.rpc.netty.ChannelManager;
 import io.seata.core.rpc.netty.NettyServerConfig;
 import io.seata.core.rpc.processor.RemotingProcessor;
@@ -92,6 +93,10 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
 
     private final TransactionMessageHandler transactionMessageHandler;
 
+    private final RequestAuditor requestAuditor = RequestAuditor.getInstance();
+
+    private final ServerRequestExecutors requestExecutors;
+
     private ExecutorService batchResponseExecutorService;
 
     private final ConcurrentMap<Channel, BlockingQueue<QueueItem>> basketMap = new ConcurrentHashMap<>();
@@ -104,9 +109,34 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
     private static final boolean PARALLEL_REQUEST_HANDLE =
         ConfigurationFactory.getInstance().getBoolean(ConfigurationKeys.ENABLE_PARALLEL_REQUEST_HANDLE_KEY, false);
 
+    private static final String MERGED_REQUEST_THREAD_PREFIX = "MergedRequestHandlerThread";
+
+    private XidAffineExecutor mergedRequestExecutor;
+
     public ServerOnRequestProcessor(RemotingServer remotingServer, TransactionMessageHandler transactionMessageHandler) {
+        this(remotingServer, transactionMessageHandler, null);
+    }
+
+    /**
+     * Instantiates a new processor.
+     *
+     * @param remotingServer            the remoting server
+     * @param transactionMessageHandler the transaction message handler
+     * @param requestExecutors          the executors each request is dispatched to by its class,
+     *                                  or null to handle the requests on the calling thread
+     */
+    public ServerOnRequestProcessor(RemotingServer remotingServer, TransactionMessageHandler transactionMessageHandler,
+                                    ServerRequestExecutors requestExecutors) {
         this.remotingServer = remotingServer;
         this.transactionMessageHandler = transactionMessageHandler;
+        this.requestExecutors = requestExecutors;
+        if (requestExecutors == null && PARALLEL_REQUEST_HANDLE) {
+            mergedRequestExecutor = new XidAffineExecutor(MERGED_REQUEST_THREAD_PREFIX,
+                ConfigurationFactory.getInstance().getInt(ConfigurationKeys.PARALLEL_REQUEST_HANDLE_THREADS,
+                    DefaultValues.DEFAULT_PARALLEL_REQUEST_HANDLE_THREADS),
+                ConfigurationFactory.getInstance().getInt(ConfigurationKeys.PARALLEL_REQUEST_HANDLE_QUEUE_SIZE,
+                    DefaultValues.DEFAULT_PARALLEL_REQUEST_HANDLE_QUEUE_SIZE));
+        }
         if (NettyServerConfig.isEnableTcServerBatchSendResponse()) {
             batchResponseExecutorService = new ThreadPoolExecutor(MAX_BATCH_RESPONSE_THREAD,
                 MAX_BATCH_RESPONSE_THREAD,
@@ -142,6 +172,9 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
         if (batchResponseExecutorService != null) {
             batchResponseExecutorService.shutdown();
         }
+        if (mergedRequestExecutor != null) {
+            mergedRequestExecutor.destroy();
+        }
     }
 
     private void onRequestMessage(ChannelHandlerContext ctx, RpcMessage rpcMessage) {
@@ -150,68 +183,103 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("server received:{},clientIp:{},vgroup:{}", message,
                 NetUtil.toIpAddress(ctx.channel().remoteAddress()), rpcContext.getTransactionServiceGroup());
-        } else {
-            try {
-                BatchLogHandler.INSTANCE.getLogQueue()
-                    .put(message + ",clientIp:" + NetUtil.toIpAddress(ctx.channel().remoteAddress()) + ",vgroup:"
-                        + rpcContext.getTransactionServiceGroup());
-            } catch (InterruptedException e) {
-                LOGGER.error("put message to logQueue error: {}", e.getMessage(), e);
-            }
         }
         if (!(message instanceof AbstractMessage)) {
             return;
         }
         // the batch send request message
         if (message instanceof MergedWarpMessage) {
+            List<AbstractMessage> msgs = ((MergedWarpMessage)message).msgs;
             if (NettyServerConfig.isEnableTcServerBatchSendResponse() && StringUtils.isNotBlank(rpcContext.getVersion())
                 && Version.isAboveOrEqualVersion150(rpcContext.getVersion())) {
-                List<AbstractMessage> msgs = ((MergedWarpMessage)message).msgs;
                 List<Integer> msgIds = ((MergedWarpMessage)message).msgIds;
                 for (int i = 0; i < msgs.size(); i++) {
-                    AbstractMessage msg = msgs.get(i);
                     int msgId = msgIds.get(i);
-                    if (PARALLEL_REQUEST_HANDLE) {
-                        CompletableFuture.runAsync(
-                            () -> handleRequestsByMergedWarpMessageBy150(msg, msgId, rpcMessage, ctx, rpcContext));
-                    } else {
-                        handleRequestsByMergedWarpMessageBy150(msg, msgId, rpcMessage, ctx, rpcContext);
-                    }
+                    handleMergedRequest(msgs.get(i), rpcContext, resultMessage -> {
+                        offerMsg(computeIfAbsentMsgQueue(ctx.channel()), rpcMessage, resultMessage, msgId, ctx.channel());
+                        notifyBatchRespondingThread();
+                    });
                 }
+            } else if (msgs.isEmpty()) {
+                MergeResultMessage resultMessages = new MergeResultMessage();
+                resultMessages.setMsgs(new AbstractResultMessage[0]);
+                remotingServer.sendAsyncResponse(rpcMessage, ctx.channel(), resultMessages);
             } else {
-                List<AbstractResultMessage> results = new CopyOnWriteArrayList<>();
-                List<CompletableFuture<Void>> completableFutures = null;
-                for (int i = 0; i < ((MergedWarpMessage)message).msgs.size(); i++) {
-                    if (PARALLEL_REQUEST_HANDLE) {
-                        if (completableFutures == null) {
-                            completableFutures = new ArrayList<>();
+                AbstractResultMessage[] results = new AbstractResultMessage[msgs.size()];
+                AtomicInteger remaining = new AtomicInteger(msgs.size());
+                for (int i = 0; i < msgs.size(); i++) {
+                    int index = i;
+                    handleMergedRequest(msgs.get(i), rpcContext, resultMessage -> {
+                        results[index] = resultMessage;
+                        // the last finished sub request sends the merged result
+                        if (remaining.decrementAndGet() == 0) {
+                            MergeResultMessage resultMessages = new MergeResultMessage();
+                            resultMessages.setMsgs(results);
+                            remotingServer.sendAsyncResponse(rpcMessage, ctx.channel(), resultMessages);
                         }
-                        int finalI = i;
-                        completableFutures.add(CompletableFuture.runAsync(() -> {
-                            results.add(finalI, handleRequestsByMergedWarpMessage(
-                                ((MergedWarpMessage)message).msgs.get(finalI), rpcContext));
-                        }));
-                    } else {
-                        results.add(i,
-                            handleRequestsByMergedWarpMessage(((MergedWarpMessage)message).msgs.get(i), rpcContext));
-                    }
-                }
-                if (CollectionUtils.isNotEmpty(completableFutures)) {
-                    try {
-                        CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0])).get();
-                    } catch (InterruptedException | ExecutionException e) {
-                        LOGGER.error("handle request error: {}", e.getMessage(), e);
-                    }
+                    });
                 }
-                MergeResultMessage resultMessage = new MergeResultMessage();
-                resultMessage.setMsgs(results.toArray(new AbstractResultMessage[0]));
-                remotingServer.sendAsyncResponse(rpcMessage, ctx.channel(), resultMessage);
             }
         } else {
             // the single send request message
             final AbstractMessage msg = (AbstractMessage) message;
-            AbstractResultMessage result = transactionMessageHandler.onRequest(msg, rpcContext);
-            remotingServer.sendAsyncResponse(rpcMessage, ctx.channel(), result);
+            if (requestExecutors != null) {
+                dispatch(msg, rpcContext, result -> remotingServer.sendAsyncResponse(rpcMessage, ctx.channel(), result));
+            } else {
+                AbstractResultMessage result = onRequest(msg, rpcContext);
+                remotingServer.sendAsyncResponse(rpcMessage, ctx.channel(), result);
+            }
+        }
+    }
+
+    /**
+     * handle a sub request of a merged message
+     * @param msg msg
+     * @param rpcContext rpcContext
+     * @param resultConsumer the consumer of the result message
+     */
+    private void handleMergedRequest(AbstractMessage msg, RpcContext rpcContext,
+                                     Consumer<AbstractResultMessage> resultConsumer) {
+        if (requestExecutors != null) {
+            dispatch(msg, rpcContext, resultConsumer);
+        } else if (mergedRequestExecutor != null) {
+            if (!mergedRequestExecutor.execute(msg, () -> resultConsumer.accept(onPooledRequest(msg, rpcContext)))) {
+                resultConsumer.accept(ServerRequestExecutors.buildBusyResult(msg));
+            }
+        } else {
+            resultConsumer.accept(onRequest(msg, rpcContext));
+        }
+    }
+
+    /**
+     * handle the request on the executor of its class, a shed request is answered with a retriable result
+     * @param msg msg
+     * @param rpcContext rpcContext
+     * @param resultConsumer the consumer of the result message
+     */
+    private void dispatch(AbstractMessage msg, RpcContext rpcContext, Consumer<AbstractResultMessage> resultConsumer) {
+        RequestExecutorGroup group = RequestExecutorGroup.of(msg.getTypeCode());
+        if (group == null) {
+            resultConsumer.accept(onRequest(msg, rpcContext));
+        } else if (!requestExecutors.execute(group, msg, () -> resultConsumer.accept(onPooledRequest(msg, rpcContext)))) {
+            resultConsumer.accept(ServerRequestExecutors.buildBusyResult(msg));
+        }
+    }
+
+    /**
+     * handle the request on a pooled thread, a failure is answered with a failed result instead of being lost,
+     * so that the merged message it belongs to is still responded
+     * @param msg msg
+     * @param rpcContext rpcContext
+     * @return the result message
+     */
+    private AbstractResultMessage onPooledRequest(AbstractMessage msg, RpcContext rpcContext) {
+        try {
+            return onRequest(msg, rpcContext);
+        } catch (Throwable th) {
+            LOGGER.error("handle request failed, request: {}", msg, th);
+            return ServerRequestExecutors.buildFailedResult(msg, TransactionExceptionCode.Unknown,
+                "handle request failed: " + th.getMessage());
         }
     }
 
@@ -278,27 +346,19 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
     }
 
     /**
-     * handle rpc request message
-     * @param rpcContext rpcContext
-     */
-    private AbstractResultMessage handleRequestsByMergedWarpMessage(AbstractMessage subMessage, RpcContext rpcContext) {
-        return transactionMessageHandler.onRequest(subMessage, rpcContext);
-    }
-
-    /**
-     * handle rpc request message
+     * handle the request and record it to the request audit
      * @param msg msg
-     * @param msgId msgId
-     * @param rpcMessage rpcMessage
-     * @param ctx ctx
      * @param rpcContext rpcContext
+     * @return the result message
      */
-    private void handleRequestsByMergedWarpMessageBy150(AbstractMessage msg, int msgId, RpcMessage rpcMessage,
-        ChannelHandlerContext ctx, RpcContext rpcContext) {
-        AbstractResultMessage resultMessage = transactionMessageHandler.onRequest(msg, rpcContext);
-        BlockingQueue<QueueItem> msgQueue = computeIfAbsentMsgQueue(ctx.channel());
-        offerMsg(msgQueue, rpcMessage, resultMessage, msgId, ctx.channel());
-        notifyBatchRespondingThread();
+    private AbstractResultMessage onRequest(AbstractMessage msg, RpcContext rpcContext) {
+        if (!requestAuditor.isEnabled()) {
+            return transactionMessageHandler.onRequest(msg, rpcContext);
+        }
+        long start = System.nanoTime();
+        AbstractResultMessage result = transactionMessageHandler.onRequest(msg, rpcContext);
+        requestAuditor.auditRequest(msg, result, rpcContext, System.nanoTime() - start);
+        return result;
     }
 
     /**
@@ -349,7 +409,7 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
             this.rpcMessageId = rpcMessage.getId();
             this.codec = rpcMessage.getCodec();
             this.compressor = rpcMessage.getCompressor();
-            this.headMap = rpcMessage.getHeadMap();
+            this.headMap = rpcMessage.hasHead() ? rpcMessage.getHeadMap() : null;
         }
 
         public int getRpcMessageId() {
@@ -394,7 +454,7 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
             }
             ClientRequestRpcInfo that = (ClientRequestRpcInfo) o;
             return rpcMessageId == that.rpcMessageId && codec == that.codec
-                && compressor == that.compressor && headMap.equals(that.headMap);
+                && compressor == that.compressor && Objects.equals(headMap, that.headMap);
         }
 
         @Override
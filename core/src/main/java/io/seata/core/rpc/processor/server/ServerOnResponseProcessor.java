@@ -24,6 +24,7 @@ import io.seata.core.protocol.transaction.BranchCommitResponse;
 import io.seata.core.protocol.transaction.BranchRollbackResponse;
 import io.seata.core.rpc.RpcContext;
 import io.seata.core.rpc.TransactionMessageHandler;
+import io.seata.core.rpc.audit.RequestAuditor;
 import io.seata.core.rpc.netty.ChannelManager;
 import io.seata.core.rpc.processor.RemotingProcessor;
 import org.slf4j.Logger;
@@ -57,6 +58,8 @@ public class ServerOnResponseProcessor implements RemotingProcessor {
      */
     private ConcurrentMap<Integer, MessageFuture> futures;
 
+    private final RequestAuditor requestAuditor = RequestAuditor.getInstance();
+
     public ServerOnResponseProcessor(TransactionMessageHandler transactionMessageHandler,
                                      ConcurrentHashMap<Integer, MessageFuture> futures) {
         this.transactionMessageHandler = transactionMessageHandler;
@@ -89,22 +92,20 @@ public class ServerOnResponseProcessor implements RemotingProcessor {
     }
 
     private void onResponseMessage(ChannelHandlerContext ctx, RpcMessage rpcMessage) {
+        RpcContext rpcContext = ChannelManager.getContextFromIdentified(ctx.channel());
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("server received:{},clientIp:{},vgroup:{}", rpcMessage.getBody(),
-                NetUtil.toIpAddress(ctx.channel().remoteAddress()),
-                ChannelManager.getContextFromIdentified(ctx.channel()).getTransactionServiceGroup());
-        } else {
-            try {
-                BatchLogHandler.INSTANCE.getLogQueue()
-                    .put(rpcMessage.getBody() + ",clientIp:" + NetUtil.toIpAddress(ctx.channel().remoteAddress()) + ",vgroup:"
-                        + ChannelManager.getContextFromIdentified(ctx.channel()).getTransactionServiceGroup());
-            } catch (InterruptedException e) {
-                LOGGER.error("put message to logQueue error: {}", e.getMessage(), e);
-            }
+                NetUtil.toIpAddress(ctx.channel().remoteAddress()), rpcContext.getTransactionServiceGroup());
         }
         if (rpcMessage.getBody() instanceof AbstractResultMessage) {
-            RpcContext rpcContext = ChannelManager.getContextFromIdentified(ctx.channel());
-            transactionMessageHandler.onResponse((AbstractResultMessage) rpcMessage.getBody(), rpcContext);
+            AbstractResultMessage response = (AbstractResultMessage) rpcMessage.getBody();
+            if (!requestAuditor.isEnabled()) {
+                transactionMessageHandler.onResponse(response, rpcContext);
+                return;
+            }
+            long start = System.nanoTime();
+            transactionMessageHandler.onResponse(response, rpcContext);
+            requestAuditor.auditResponse(response, rpcContext, System.nanoTime() - start);
         }
     }
 }
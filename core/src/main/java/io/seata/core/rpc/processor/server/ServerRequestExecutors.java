@@ -0,0 +1,198 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.processor.server;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToIntFunction;
+
+import io.seata.config.Configuration;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.exception.TransactionExceptionCode;
+import io.seata.core.model.GlobalStatus;
+import io.seata.core.protocol.AbstractMessage;
+import io.seata.core.protocol.MessageType;
+import io.seata.core.protocol.ResultCode;
+import io.seata.core.protocol.transaction.AbstractGlobalEndResponse;
+import io.seata.core.protocol.transaction.AbstractTransactionResponse;
+import io.seata.core.protocol.transaction.BranchRegisterResponse;
+import io.seata.core.protocol.transaction.BranchReportResponse;
+import io.seata.core.protocol.transaction.GlobalBeginResponse;
+import io.seata.core.protocol.transaction.GlobalCommitResponse;
+import io.seata.core.protocol.transaction.GlobalLockQueryResponse;
+import io.seata.core.protocol.transaction.GlobalReportResponse;
+import io.seata.core.protocol.transaction.GlobalRollbackResponse;
+import io.seata.core.protocol.transaction.GlobalStatusResponse;
+import io.seata.core.rpc.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The bounded executors of the TC transaction requests, one per {@link RequestExecutorGroup}.
+ * <p>
+ * Each executor is a {@link XidAffineExecutor} with the pool size and the queue size of the group, so the
+ * requests of one xid are handled one after another while the requests of other xids go on in parallel.
+ * <p>
+ * A request that finds the queue of its executor full is shed instead of running on the caller. It is answered
+ * with {@link TransactionExceptionCode#IO}, the code the clients already raise on an RPC timeout, so that clients
+ * of any version decode it and handle it as a transient failure.
+ *
+ * @author hongyan
+ */
+public class ServerRequestExecutors implements Disposable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerRequestExecutors.class);
+
+    private final Map<RequestExecutorGroup, XidAffineExecutor> executors = new EnumMap<>(RequestExecutorGroup.class);
+
+    private final Map<RequestExecutorGroup, LongAdder> rejected = new EnumMap<>(RequestExecutorGroup.class);
+
+    private volatile ObjLongConsumer<RequestExecutorGroup> latencyListener;
+
+    public ServerRequestExecutors() {
+        this(group -> getConfig().getInt(group.getPoolSizeKey(), group.getDefaultPoolSize()),
+            group -> getConfig().getInt(group.getQueueSizeKey(), group.getDefaultQueueSize()));
+    }
+
+    public ServerRequestExecutors(ToIntFunction<RequestExecutorGroup> poolSize,
+                                  ToIntFunction<RequestExecutorGroup> queueSize) {
+        for (RequestExecutorGroup group : RequestExecutorGroup.values()) {
+            executors.put(group, new XidAffineExecutor(group.getThreadPrefix(), poolSize.applyAsInt(group),
+                queueSize.applyAsInt(group)));
+            rejected.put(group, new LongAdder());
+        }
+    }
+
+    private static Configuration getConfig() {
+        return ConfigurationFactory.getInstance();
+    }
+
+    /**
+     * Execute the task of the request on the executor of the group, after the earlier requests of its xid.
+     *
+     * @param group the request group
+     * @param msg   the request
+     * @param task  the task
+     * @return false if the executor is saturated and the task was shed
+     */
+    public boolean execute(RequestExecutorGroup group, AbstractMessage msg, Runnable task) {
+        final long enqueueTime = System.nanoTime();
+        boolean accepted = executors.get(group).execute(msg, () -> {
+            try {
+                task.run();
+            } finally {
+                ObjLongConsumer<RequestExecutorGroup> listener = latencyListener;
+                if (listener != null) {
+                    listener.accept(group, System.nanoTime() - enqueueTime);
+                }
+            }
+        });
+        if (!accepted) {
+            rejected.get(group).increment();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("the {} executor is saturated, request shed", group.getName());
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Set the listener of the latency, queue wait included, of every executed request in nanoseconds.
+     *
+     * @param latencyListener the latency listener
+     */
+    public void setLatencyListener(ObjLongConsumer<RequestExecutorGroup> latencyListener) {
+        this.latencyListener = latencyListener;
+    }
+
+    public int getQueueDepth(RequestExecutorGroup group) {
+        return executors.get(group).getQueueDepth();
+    }
+
+    public int getActiveCount(RequestExecutorGroup group) {
+        return executors.get(group).getActiveCount();
+    }
+
+    public long getRejectedCount(RequestExecutorGroup group) {
+        return rejected.get(group).sum();
+    }
+
+    @Override
+    public void destroy() {
+        executors.values().forEach(XidAffineExecutor::destroy);
+    }
+
+    /**
+     * Build the retriable result of a shed request.
+     *
+     * @param request the request
+     * @return the result, or null if the request type has no result
+     */
+    public static AbstractTransactionResponse buildBusyResult(AbstractMessage request) {
+        return buildFailedResult(request, TransactionExceptionCode.IO,
+            "server busy, request of type " + request.getTypeCode() + " shed");
+    }
+
+    /**
+     * Build the failed result of a request.
+     *
+     * @param request the request
+     * @param code    the transaction exception code
+     * @param msg     the message
+     * @return the result, or null if the request type has no result
+     */
+    public static AbstractTransactionResponse buildFailedResult(AbstractMessage request, TransactionExceptionCode code,
+                                                                String msg) {
+        AbstractTransactionResponse response;
+        switch (request.getTypeCode()) {
+            case MessageType.TYPE_GLOBAL_BEGIN:
+                response = new GlobalBeginResponse();
+                break;
+            case MessageType.TYPE_GLOBAL_COMMIT:
+                response = new GlobalCommitResponse();
+                break;
+            case MessageType.TYPE_GLOBAL_ROLLBACK:
+                response = new GlobalRollbackResponse();
+                break;
+            case MessageType.TYPE_BRANCH_REGISTER:
+                response = new BranchRegisterResponse();
+                break;
+            case MessageType.TYPE_BRANCH_STATUS_REPORT:
+                response = new BranchReportResponse();
+                break;
+            case MessageType.TYPE_GLOBAL_LOCK_QUERY:
+                response = new GlobalLockQueryResponse();
+                break;
+            case MessageType.TYPE_GLOBAL_STATUS:
+                response = new GlobalStatusResponse();
+                break;
+            case MessageType.TYPE_GLOBAL_REPORT:
+                response = new GlobalReportResponse();
+                break;
+            default:
+                return null;
+        }
+        if (response instanceof AbstractGlobalEndResponse) {
+            ((AbstractGlobalEndResponse)response).setGlobalStatus(GlobalStatus.UnKnown);
+        }
+        response.setResultCode(ResultCode.Failed);
+        response.setTransactionExceptionCode(code);
+        response.setMsg(msg);
+        return response;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.processor.server;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.seata.common.exception.FrameworkErrorCode;
+import io.seata.common.thread.NamedThreadFactory;
+import io.seata.common.util.StringUtils;
+import io.seata.core.protocol.AbstractMessage;
+import io.seata.core.protocol.transaction.AbstractGlobalEndRequest;
+import io.seata.core.protocol.transaction.BranchRegisterRequest;
+import io.seata.core.protocol.transaction.BranchReportRequest;
+import io.seata.core.rpc.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Executes TC requests on a bounded thread pool, the requests of one xid one after another.
+ * <p>
+ * A request whose xid has a request running or waiting waits behind it instead of taking a thread, so the
+ * requests of a global session take its lock one after another instead of contending for it. The requests of
+ * different xids, and the requests without xid, run on any free thread, so a slow request holds back the later
+ * requests of its own xid only. A request which finds the pool queue, or the waiting requests, full is not
+ * accepted, the caller sheds it.
+ *
+ * @author hongyan
+ */
+public class XidAffineExecutor implements Disposable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(XidAffineExecutor.class);
+
+    /**
+     * idle threads are stopped after the keep alive time, and started again by the next request
+     */
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private final ThreadPoolExecutor pool;
+
+    private final int queueSize;
+
+    /**
+     * the requests waiting behind the running request of their xid, by xid, only changed inside the compute of
+     * their xid
+     */
+    private final Map<String, Queue<Runnable>> xidQueues = new ConcurrentHashMap<>();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public XidAffineExecutor(String threadPrefix, int poolSize, int queueSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be positive: " + poolSize);
+        }
+        this.queueSize = Math.max(1, queueSize);
+        pool = new ThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(this.queueSize), new NamedThreadFactory(threadPrefix, poolSize),
+            new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Execute the task of the request after the earlier requests of its xid.
+     *
+     * @param msg  the request
+     * @param task the task handling it
+     * @return false if the executor is saturated and the task was not accepted
+     */
+    public boolean execute(AbstractMessage msg, Runnable task) {
+        Runnable command = () -> {
+            try {
+                task.run();
+            } catch (Throwable th) {
+                LOGGER.error(FrameworkErrorCode.NetDispatch.getErrCode(), th.getMessage(), th);
+            } finally {
+                MDC.clear();
+            }
+        };
+        String xid = getXid(msg);
+        if (StringUtils.isBlank(xid)) {
+            try {
+                pool.execute(command);
+                return true;
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+        }
+        boolean[] accepted = new boolean[1];
+        xidQueues.compute(xid, (key, queue) -> {
+            if (queue != null) {
+                if (waiting.incrementAndGet() > queueSize) {
+                    waiting.decrementAndGet();
+                    return queue;
+                }
+                queue.add(command);
+                accepted[0] = true;
+                return queue;
+            }
+            try {
+                pool.execute(() -> runSerially(key, command));
+            } catch (RejectedExecutionException e) {
+                return null;
+            }
+            accepted[0] = true;
+            return new ArrayDeque<>();
+        });
+        return accepted[0];
+    }
+
+    /**
+     * Run the task, then the requests of the xid which came meanwhile, until there is none left.
+     */
+    private void runSerially(String xid, Runnable command) {
+        Runnable next = command;
+        while (next != null) {
+            next.run();
+            Runnable[] polled = new Runnable[1];
+            xidQueues.computeIfPresent(xid, (key, queue) -> {
+                polled[0] = queue.poll();
+                return polled[0] == null ? null : queue;
+            });
+            if (polled[0] != null) {
+                waiting.decrementAndGet();
+            }
+            next = polled[0];
+        }
+    }
+
+    public int getQueueDepth() {
+        return pool.getQueue().size() + waiting.get();
+    }
+
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    private static String getXid(AbstractMessage msg) {
+        if (msg instanceof AbstractGlobalEndRequest) {
+            return ((AbstractGlobalEndRequest)msg).getXid();
+        } else if (msg instanceof BranchRegisterRequest) {
+            return ((BranchRegisterRequest)msg).getXid();
+        } else if (msg instanceof BranchReportRequest) {
+            return ((BranchReportRequest)msg).getXid();
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+}
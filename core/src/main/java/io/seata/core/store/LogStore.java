@@ -50,6 +50,53 @@ public interface LogStore {
      */
     List<GlobalTransactionDO> queryGlobalTransactionDO(int[] status, int limit);
 
+    /**
+     * Query global transaction do list after the cursor, ordered by gmt_modified and transaction_id.
+     *
+     * @param status the status
+     * @param after  the last global transaction do of the previous page
+     * @param limit  the limit
+     * @return the list
+     */
+    List<GlobalTransactionDO> queryGlobalTransactionDO(int[] status, GlobalTransactionDO after, int limit);
+
+    /**
+     * Query global transaction do list of a shard of the transaction id after the cursor, ordered by gmt_modified
+     * and transaction_id.
+     *
+     * @param status     the status
+     * @param after      the last global transaction do of the previous page, null for the first page
+     * @param shardCount the shard count, 1 for every transaction
+     * @param shard      the shard, the transaction id modulo the shard count
+     * @param limit      the limit
+     * @return the list
+     */
+    List<GlobalTransactionDO> queryGlobalTransactionDO(int[] status, GlobalTransactionDO after, int shardCount,
+        int shard, int limit);
+
+    /**
+     * Query the global transaction do list past their timeout.
+     *
+     * @param status the status
+     * @param now    the current time
+     * @param limit  the limit
+     * @return the list
+     */
+    List<GlobalTransactionDO> queryTimeoutGlobalTransactionDO(int[] status, long now, int limit);
+
+    /**
+     * Query the global transaction do list of a shard of the transaction id past their timeout.
+     *
+     * @param status     the status
+     * @param now        the current time
+     * @param shardCount the shard count, 1 for every transaction
+     * @param shard      the shard, the transaction id modulo the shard count
+     * @param limit      the limit
+     * @return the list
+     */
+    List<GlobalTransactionDO> queryTimeoutGlobalTransactionDO(int[] status, long now, int shardCount, int shard,
+        int limit);
+
     /**
      * Insert global transaction do boolean.
      *
@@ -112,6 +112,12 @@ public class AbstractLockStoreSql implements LockStoreSql {
     private static final String QUERY_LOCK_SQL = "select " + ALL_COLUMNS + " from " + LOCK_TABLE_PLACE_HOLD
         + " where " + ServerTableColumnsName.LOCK_TABLE_ROW_KEY + " = ? ";
 
+    /**
+     * The constant QUERY_LOCK_FOR_UPDATE_SQL.
+     */
+    private static final String QUERY_LOCK_FOR_UPDATE_SQL = "select " + ServerTableColumnsName.LOCK_TABLE_ROW_KEY
+        + " from " + LOCK_TABLE_PLACE_HOLD + " where " + ServerTableColumnsName.LOCK_TABLE_ROW_KEY + " = ? for update";
+
     /**
      * The constant CHECK_LOCK_SQL.
      */
@@ -119,6 +125,14 @@ public class AbstractLockStoreSql implements LockStoreSql {
         + " where " + LOCK_TABLE_PK_WHERE_CONDITION_PLACE_HOLD
         + " order by status desc ";
 
+    /**
+     * The constant CHECK_TABLE_LOCK_SQL.
+     */
+    private static final String CHECK_TABLE_LOCK_SQL = "select " + ALL_COLUMNS + " from " + LOCK_TABLE_PLACE_HOLD
+        + " where " + ServerTableColumnsName.LOCK_TABLE_RESOURCE_ID + " = ? and "
+        + ServerTableColumnsName.LOCK_TABLE_TABLE_NAME + " = ? and " + ServerTableColumnsName.LOCK_TABLE_XID
+        + " <> ? order by status desc ";
+
     /**
      * The constant QUERY_ALL_LOCK.
      */
@@ -163,6 +177,11 @@ public class AbstractLockStoreSql implements LockStoreSql {
         return QUERY_LOCK_SQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
     }
 
+    @Override
+    public String getQueryLockForUpdateSql(String lockTable) {
+        return QUERY_LOCK_FOR_UPDATE_SQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
+    }
+
     @Override
     public String getCheckLockableSql(String lockTable, int rowSize) {
         List<String> pkNameList = new ArrayList<>();
@@ -171,6 +190,11 @@ public class AbstractLockStoreSql implements LockStoreSql {
         return CHECK_LOCK_SQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable).replace(LOCK_TABLE_PK_WHERE_CONDITION_PLACE_HOLD, whereCondition);
     }
 
+    @Override
+    public String getCheckTableLockableSql(String lockTable) {
+        return CHECK_TABLE_LOCK_SQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
+    }
+
     @Override
     public String getBatchUpdateStatusLockByGlobalSql(String lockTable) {
         return BATCH_UPDATE_STATUS_LOCK_BY_GLOBAL_SQL.replace(LOCK_TABLE_PLACE_HOLD, lockTable);
@@ -81,6 +81,14 @@ public interface LockStoreSql {
      */
     String getQueryLockSql(String lockTable);
 
+    /**
+     * Get query lock for update sql string.
+     *
+     * @param lockTable the lock table
+     * @return the string
+     */
+    String getQueryLockForUpdateSql(String lockTable);
+
     /**
      * Get check lock sql string.
      *
@@ -98,4 +106,12 @@ public interface LockStoreSql {
      */
     String getBatchUpdateStatusLockByGlobalSql(String lockTable) ;
 
+    /**
+     * Get the sql querying the locks of a table held by other transactions, the parameters are the resource
+     * id, the table name and the xid.
+     *
+     * @param lockTable the lock table
+     * @return the string
+     */
+    String getCheckTableLockableSql(String lockTable);
 }
@@ -68,6 +68,36 @@ public abstract class AbstractLogStoreSqls implements LogStoreSqls {
             + ServerTableColumnsName.BRANCH_TABLE_CLIENT_ID + ", " + ServerTableColumnsName.BRANCH_TABLE_APPLICATION_DATA + ", "
             + ServerTableColumnsName.BRANCH_TABLE_GMT_CREATE + ", " + ServerTableColumnsName.BRANCH_TABLE_GMT_MODIFIED;
 
+    /**
+     * The constant GLOBAL_TRANSACTION_CURSOR_ORDER.
+     */
+    public static final String GLOBAL_TRANSACTION_CURSOR_ORDER = ServerTableColumnsName.GLOBAL_TABLE_GMT_MODIFIED + ", "
+            + ServerTableColumnsName.GLOBAL_TABLE_TRANSACTION_ID;
+
+    /**
+     * The constant GLOBAL_TRANSACTION_AFTER_CURSOR.
+     * the range on gmt_modified keeps the (status, gmt_modified) index usable
+     */
+    public static final String GLOBAL_TRANSACTION_AFTER_CURSOR = ServerTableColumnsName.GLOBAL_TABLE_GMT_MODIFIED + " >= ?"
+            + " and (" + ServerTableColumnsName.GLOBAL_TABLE_GMT_MODIFIED + " > ?"
+            + " or " + ServerTableColumnsName.GLOBAL_TABLE_TRANSACTION_ID + " > ?)";
+
+    /**
+     * The constant GLOBAL_TRANSACTION_TIMEOUT.
+     * the deadline is compared in the db, so only the timeout rows are sent back and materialized;
+     * begin_time + timeout is not indexed, so the (status, gmt_modified) index only narrows the scan
+     * to the Begin rows and the deadline is evaluated on each of them at every timeout check
+     */
+    public static final String GLOBAL_TRANSACTION_TIMEOUT = ServerTableColumnsName.GLOBAL_TABLE_BEGIN_TIME + " + "
+            + ServerTableColumnsName.GLOBAL_TABLE_TIMEOUT + " < ?";
+
+    /**
+     * The constant GLOBAL_TRANSACTION_SHARD.
+     * the shard of the transaction id, as RecoveryShards splits the recovery rounds
+     */
+    public static final String GLOBAL_TRANSACTION_SHARD = " and mod(" + ServerTableColumnsName.GLOBAL_TABLE_TRANSACTION_ID
+            + ", ?) = ?";
+
     /**
      * The constant DELETE_GLOBAL_TRANSACTION.
      */
@@ -180,6 +210,23 @@ public abstract class AbstractLogStoreSqls implements LogStoreSqls {
     @Override
     public abstract String getQueryGlobalTransactionSQLByStatus(String globalTable, String paramsPlaceHolder);
 
+    @Override
+    public abstract String getQueryGlobalTransactionSQLByStatusAfter(String globalTable, String paramsPlaceHolder);
+
+    @Override
+    public abstract String getQueryTimeoutGlobalTransactionSQLByStatus(String globalTable, String paramsPlaceHolder);
+
+    @Override
+    public String getShardedSQL(String statusSql, String paramsPlaceHolder) {
+        String statusCondition = ServerTableColumnsName.GLOBAL_TABLE_STATUS + " in (" + paramsPlaceHolder + ")";
+        int index = statusSql.indexOf(statusCondition);
+        if (index < 0) {
+            throw new IllegalArgumentException("there is no status condition in the sql: " + statusSql);
+        }
+        index += statusCondition.length();
+        return statusSql.substring(0, index) + GLOBAL_TRANSACTION_SHARD + statusSql.substring(index);
+    }
+
     @Override
     public abstract String getQueryGlobalTransactionForRecoverySQL(String globalTable);
 
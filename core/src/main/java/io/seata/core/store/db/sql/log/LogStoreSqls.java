@@ -88,6 +88,36 @@ public interface LogStoreSqls {
      */
     String getQueryGlobalTransactionSQLByStatus(String globalTable, String paramsPlaceHolder);
 
+    /**
+     * Get query global transaction sql by status after a (gmt_modified, transaction_id) cursor string.
+     * the parameters are the statuses, gmt_modified twice, transaction_id and the limit.
+     *
+     * @param globalTable       the global table
+     * @param paramsPlaceHolder the params place holder
+     * @return the string
+     */
+    String getQueryGlobalTransactionSQLByStatusAfter(String globalTable, String paramsPlaceHolder);
+
+    /**
+     * Get query timeout global transaction sql by status string.
+     * the parameters are the statuses, the current time and the limit.
+     *
+     * @param globalTable       the global table
+     * @param paramsPlaceHolder the params place holder
+     * @return the string
+     */
+    String getQueryTimeoutGlobalTransactionSQLByStatus(String globalTable, String paramsPlaceHolder);
+
+    /**
+     * Get the sql of a query by status narrowed to a shard of the transaction id.
+     * the shard count and the shard are bound right after the statuses.
+     *
+     * @param statusSql         the sql of the query by status
+     * @param paramsPlaceHolder the params place holder of the statuses
+     * @return the string
+     */
+    String getShardedSQL(String statusSql, String paramsPlaceHolder);
+
     /**
      * Get query global transaction for recovery sql string.
      *
@@ -47,7 +47,31 @@ public class OracleLogStoreSqls extends AbstractLogStoreSqls {
             + " select " + ALL_GLOBAL_COLUMNS
             + "   from " + GLOBAL_TABLE_PLACEHOLD
             + "  where " + ServerTableColumnsName.GLOBAL_TABLE_STATUS + " in (" + PRAMETER_PLACEHOLD + ")"
-            + "  order by " + ServerTableColumnsName.GLOBAL_TABLE_GMT_MODIFIED
+            + "  order by " + GLOBAL_TRANSACTION_CURSOR_ORDER
+            + " ) A"
+            + " where ROWNUM <= ?";
+
+    /**
+     * The constant QUERY_GLOBAL_TRANSACTION_BY_STATUS_AFTER_ORACLE.
+     */
+    public static final String QUERY_GLOBAL_TRANSACTION_BY_STATUS_AFTER_ORACLE = "select A.* from ("
+            + " select " + ALL_GLOBAL_COLUMNS
+            + "   from " + GLOBAL_TABLE_PLACEHOLD
+            + "  where " + ServerTableColumnsName.GLOBAL_TABLE_STATUS + " in (" + PRAMETER_PLACEHOLD + ")"
+            + "    and " + GLOBAL_TRANSACTION_AFTER_CURSOR
+            + "  order by " + GLOBAL_TRANSACTION_CURSOR_ORDER
+            + " ) A"
+            + " where ROWNUM <= ?";
+
+    /**
+     * The constant QUERY_TIMEOUT_GLOBAL_TRANSACTION_BY_STATUS_ORACLE.
+     */
+    public static final String QUERY_TIMEOUT_GLOBAL_TRANSACTION_BY_STATUS_ORACLE = "select A.* from ("
+            + " select " + ALL_GLOBAL_COLUMNS
+            + "   from " + GLOBAL_TABLE_PLACEHOLD
+            + "  where " + ServerTableColumnsName.GLOBAL_TABLE_STATUS + " in (" + PRAMETER_PLACEHOLD + ")"
+            + "    and " + GLOBAL_TRANSACTION_TIMEOUT
+            + "  order by " + ServerTableColumnsName.GLOBAL_TABLE_BEGIN_TIME
             + " ) A"
             + " where ROWNUM <= ?";
 
@@ -103,6 +127,18 @@ public class OracleLogStoreSqls extends AbstractLogStoreSqls {
             .replace(PRAMETER_PLACEHOLD, paramsPlaceHolder);
     }
 
+    @Override
+    public String getQueryGlobalTransactionSQLByStatusAfter(String globalTable, String paramsPlaceHolder) {
+        return QUERY_GLOBAL_TRANSACTION_BY_STATUS_AFTER_ORACLE.replace(GLOBAL_TABLE_PLACEHOLD, globalTable)
+            .replace(PRAMETER_PLACEHOLD, paramsPlaceHolder);
+    }
+
+    @Override
+    public String getQueryTimeoutGlobalTransactionSQLByStatus(String globalTable, String paramsPlaceHolder) {
+        return QUERY_TIMEOUT_GLOBAL_TRANSACTION_BY_STATUS_ORACLE.replace(GLOBAL_TABLE_PLACEHOLD, globalTable)
+            .replace(PRAMETER_PLACEHOLD, paramsPlaceHolder);
+    }
+
     @Override
     public String getQueryGlobalTransactionForRecoverySQL(String globalTable) {
         return QUERY_GLOBAL_TRANSACTION_FOR_RECOVERY_ORACLE.replace(GLOBAL_TABLE_PLACEHOLD, globalTable);
@@ -46,7 +46,27 @@ public class PostgresqlLogStoreSqls extends AbstractLogStoreSqls {
     public static final String QUERY_GLOBAL_TRANSACTION_BY_STATUS_POSTGRESQL = "select " + ALL_GLOBAL_COLUMNS
         + "  from " + GLOBAL_TABLE_PLACEHOLD
         + " where " + ServerTableColumnsName.GLOBAL_TABLE_STATUS + " in (" + PRAMETER_PLACEHOLD + ")"
-        + " order by " + ServerTableColumnsName.GLOBAL_TABLE_GMT_MODIFIED
+        + " order by " + GLOBAL_TRANSACTION_CURSOR_ORDER
+        + " limit ?";
+
+    /**
+     * This constant QUERY_GLOBAL_TRANSACTION_BY_STATUS_AFTER_POSTGRESQL.
+     */
+    public static final String QUERY_GLOBAL_TRANSACTION_BY_STATUS_AFTER_POSTGRESQL = "select " + ALL_GLOBAL_COLUMNS
+        + "  from " + GLOBAL_TABLE_PLACEHOLD
+        + " where " + ServerTableColumnsName.GLOBAL_TABLE_STATUS + " in (" + PRAMETER_PLACEHOLD + ")"
+        + "   and " + GLOBAL_TRANSACTION_AFTER_CURSOR
+        + " order by " + GLOBAL_TRANSACTION_CURSOR_ORDER
+        + " limit ?";
+
+    /**
+     * The constant QUERY_TIMEOUT_GLOBAL_TRANSACTION_BY_STATUS_POSTGRESQL.
+     */
+    public static final String QUERY_TIMEOUT_GLOBAL_TRANSACTION_BY_STATUS_POSTGRESQL = "select " + ALL_GLOBAL_COLUMNS
+        + "  from " + GLOBAL_TABLE_PLACEHOLD
+        + " where " + ServerTableColumnsName.GLOBAL_TABLE_STATUS + " in (" + PRAMETER_PLACEHOLD + ")"
+        + "   and " + GLOBAL_TRANSACTION_TIMEOUT
+        + " order by " + ServerTableColumnsName.GLOBAL_TABLE_BEGIN_TIME
         + " limit ?";
 
     /**
@@ -100,6 +120,18 @@ public class PostgresqlLogStoreSqls extends AbstractLogStoreSqls {
             .replace(PRAMETER_PLACEHOLD, paramsPlaceHolder);
     }
 
+    @Override
+    public String getQueryGlobalTransactionSQLByStatusAfter(String globalTable, String paramsPlaceHolder) {
+        return QUERY_GLOBAL_TRANSACTION_BY_STATUS_AFTER_POSTGRESQL.replace(GLOBAL_TABLE_PLACEHOLD, globalTable)
+            .replace(PRAMETER_PLACEHOLD, paramsPlaceHolder);
+    }
+
+    @Override
+    public String getQueryTimeoutGlobalTransactionSQLByStatus(String globalTable, String paramsPlaceHolder) {
+        return QUERY_TIMEOUT_GLOBAL_TRANSACTION_BY_STATUS_POSTGRESQL.replace(GLOBAL_TABLE_PLACEHOLD, globalTable)
+            .replace(PRAMETER_PLACEHOLD, paramsPlaceHolder);
+    }
+
     @Override
     public String getQueryGlobalTransactionForRecoverySQL(String globalTable) {
         return QUERY_GLOBAL_TRANSACTION_FOR_RECOVERY_POSTGRESQL.replace(GLOBAL_TABLE_PLACEHOLD, globalTable);
@@ -0,0 +1,55 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.lock;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author hongyan
+ */
+public class LockEscalationTest {
+
+    @Test
+    public void testEscalate() {
+        Assertions.assertEquals("*-3~12", LockEscalation.escalate(Arrays.asList("5", "12", "-3")));
+        Assertions.assertEquals("*", LockEscalation.escalate(Arrays.asList("5", "a")));
+        Assertions.assertEquals("*", LockEscalation.escalate(Arrays.asList("1_2", "3_4")));
+        Assertions.assertEquals("*", LockEscalation.escalate(Arrays.asList("1", "99999999999999999999")));
+        Assertions.assertTrue(LockEscalation.isRangeLock(LockEscalation.rangeLockPk(1, 1)));
+        Assertions.assertTrue(LockEscalation.isTableLock("*"));
+        Assertions.assertFalse(LockEscalation.isEscalated("12"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LockEscalation.rangeLockPk(2, 1));
+    }
+
+    @Test
+    public void testOverlaps() {
+        Assertions.assertTrue(LockEscalation.overlaps("1", "1"));
+        Assertions.assertFalse(LockEscalation.overlaps("1", "2"));
+        Assertions.assertTrue(LockEscalation.overlaps("*", "abc"));
+        Assertions.assertTrue(LockEscalation.overlaps("abc", "*"));
+        Assertions.assertTrue(LockEscalation.overlaps("*1~10", "10"));
+        Assertions.assertFalse(LockEscalation.overlaps("11", "*1~10"));
+        // a pk which is not a number is covered by any range
+        Assertions.assertTrue(LockEscalation.overlaps("*1~10", "a"));
+        Assertions.assertTrue(LockEscalation.overlaps("*1~10", "*10~20"));
+        Assertions.assertFalse(LockEscalation.overlaps("*1~10", "*11~20"));
+        Assertions.assertTrue(LockEscalation.overlaps("*1~10", "*"));
+        Assertions.assertTrue(LockEscalation.overlaps("*-10~-1", "-5"));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.lock;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author hongyan
+ */
+public class LockKeyPayloadTest {
+
+    @Test
+    public void testFromLockKey() {
+        LockKeyPayload payload = LockKeyPayload.fromLockKey("t_user:1,2;t_order:3_a, ,4;");
+        Assertions.assertEquals(2, payload.getTableCount());
+        Assertions.assertEquals(4, payload.size());
+        Assertions.assertEquals("t_user", payload.getTableName(1));
+        Assertions.assertEquals("3_a", payload.getPk(2));
+        Assertions.assertEquals("t_user:1,2;t_order:3_a,4", payload.toLockKey());
+
+        // like the row locks collected from the string, parsing stops at a table without pk
+        payload = LockKeyPayload.fromLockKey("t_user:1;t_order:;t_stock:5");
+        Assertions.assertEquals("t_user:1", payload.toLockKey());
+        Assertions.assertTrue(LockKeyPayload.fromLockKey("t_user").isEmpty());
+    }
+
+    @Test
+    public void testCompositePk() {
+        LockKeyPayload payload = new LockKeyPayload();
+        int order = payload.addTable("t_order", 2);
+        int user = payload.addTable("t_user", 1);
+        Assertions.assertEquals(order, payload.addTable("t_order", 2));
+        for (int i = 0; i < 20; i++) {
+            payload.addRow(order, String.valueOf(i), "a");
+        }
+        payload.addRow(user, "1");
+        Assertions.assertEquals(21, payload.size());
+        Assertions.assertEquals("19_a", payload.getPk(19));
+        Assertions.assertEquals("a", payload.getPkValue(19, 1));
+        Assertions.assertEquals("t_user", payload.getTableName(20));
+        Assertions.assertTrue(payload.toLockKey().endsWith(",19_a;t_user:1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> payload.addRow(order, "1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> payload.addRow(2, "1"));
+    }
+}
@@ -20,7 +20,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -186,6 +188,27 @@ public class MessageFutureTest {
         }
     }
 
+    @Test
+    public void testToCompletableFuture() throws Exception {
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(buildRepcMessage());
+        CompletableFuture<Object> future = messageFuture.toCompletableFuture();
+        assertThat(future.isDone()).isFalse();
+        messageFuture.setResultMessage(BODY_FIELD);
+        assertThat(future.get(1, TimeUnit.SECONDS)).isEqualTo(BODY_FIELD);
+    }
+
+    @Test
+    public void testToCompletableFutureWithThrowable() {
+        MessageFuture messageFuture = new MessageFuture();
+        CompletableFuture<Object> future = messageFuture.toCompletableFuture();
+        TimeoutException timeout = new TimeoutException("test");
+        messageFuture.setResultMessage(timeout);
+        assertThat(future.isCompletedExceptionally()).isTrue();
+        ExecutionException ex = Assertions.assertThrows(ExecutionException.class, future::get);
+        assertThat(ex.getCause()).isSameAs(timeout);
+    }
+
     private RpcMessage buildRepcMessage() {
         RpcMessage rpcMessage = new RpcMessage();
         rpcMessage.setId(ID_FIELD);
@@ -63,4 +63,35 @@ public class RpcMessageTest {
         String toJson = JSON.toJSONString(toJsonMessage, true);
         assertThat(fromJson).isEqualTo(toJson);
     }
+
+    @Test
+    public void testLazyHeadMap() {
+        RpcMessage rpcMessage = new RpcMessage();
+        assertThat(rpcMessage.hasHead()).isFalse();
+        assertThat(rpcMessage.getHead("key")).isNull();
+        assertThat(rpcMessage.hasHead()).isFalse();
+
+        rpcMessage.putHead("key", "value");
+        assertThat(rpcMessage.hasHead()).isTrue();
+        assertThat(rpcMessage.getHead("key")).isEqualTo("value");
+        assertThat(rpcMessage.getHeadMap()).containsEntry("key", "value");
+    }
+
+    @Test
+    public void testRecycle() {
+        RpcMessage rpcMessage = RpcMessage.newInstance();
+        rpcMessage.setId(ID_FIELD);
+        rpcMessage.setBody(BODY_FIELD);
+        rpcMessage.putHead("key", "value");
+        rpcMessage.recycle();
+        assertThat(rpcMessage.getId()).isZero();
+        assertThat(rpcMessage.getBody()).isNull();
+        assertThat(rpcMessage.hasHead()).isFalse();
+
+        // not pooled messages are left untouched
+        RpcMessage notPooled = new RpcMessage();
+        notPooled.setId(ID_FIELD);
+        notPooled.recycle();
+        assertThat(notPooled.getId()).isEqualTo(ID_FIELD);
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.seata.core.protocol.MessageType;
+import io.seata.core.protocol.ResultCode;
+import io.seata.core.protocol.transaction.BranchCommitResponse;
+import io.seata.core.protocol.transaction.GlobalCommitRequest;
+import io.seata.core.protocol.transaction.GlobalCommitResponse;
+import io.seata.core.rpc.RpcContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author hongyan
+ */
+public class RequestAuditorTest {
+
+    private static final String XID = "127.0.0.1:8091:123456";
+
+    @Test
+    public void testRecordAndDrain() {
+        CollectingSink sink = new CollectingSink();
+        RequestAuditor auditor = new RequestAuditor(true, 1.0D, 4, sink);
+        RpcContext rpcContext = new RpcContext();
+        rpcContext.setClientId("app:127.0.0.1:1234");
+
+        GlobalCommitRequest request = new GlobalCommitRequest();
+        request.setXid(XID);
+        GlobalCommitResponse result = new GlobalCommitResponse();
+        result.setResultCode(ResultCode.Success);
+        auditor.auditRequest(request, result, rpcContext, 1000L);
+
+        BranchCommitResponse response = new BranchCommitResponse();
+        response.setXid(XID);
+        response.setResultCode(ResultCode.Failed);
+        auditor.auditResponse(response, rpcContext, 2000L);
+
+        Assertions.assertEquals(2, auditor.drain());
+        Assertions.assertEquals(1, sink.flushes);
+        Assertions.assertEquals(2, sink.records.size());
+
+        String[] first = sink.records.get(0);
+        Assertions.assertEquals(String.valueOf(MessageType.TYPE_GLOBAL_COMMIT), first[0]);
+        Assertions.assertEquals("false", first[1]);
+        Assertions.assertEquals(XID, first[2]);
+        Assertions.assertEquals("app:127.0.0.1:1234", first[3]);
+        Assertions.assertEquals(ResultCode.Success.name(), first[4]);
+
+        String[] second = sink.records.get(1);
+        Assertions.assertEquals(String.valueOf(MessageType.TYPE_BRANCH_COMMIT_RESULT), second[0]);
+        Assertions.assertEquals("true", second[1]);
+        Assertions.assertEquals(ResultCode.Failed.name(), second[4]);
+        Assertions.assertEquals(0, auditor.drain());
+    }
+
+    @Test
+    public void testDropWhenFull() {
+        CollectingSink sink = new CollectingSink();
+        RequestAuditor auditor = new RequestAuditor(true, 1.0D, 4, sink);
+        GlobalCommitRequest request = new GlobalCommitRequest();
+        request.setXid(XID);
+        for (int i = 0; i < 6; i++) {
+            auditor.auditRequest(request, null, null, 0L);
+        }
+        Assertions.assertEquals(4, auditor.getRecordedCount());
+        Assertions.assertEquals(2, auditor.getDroppedCount());
+        Assertions.assertEquals(4, auditor.drain());
+
+        // the drained slots are reused
+        for (int i = 0; i < 4; i++) {
+            auditor.auditRequest(request, null, null, 0L);
+        }
+        Assertions.assertEquals(2, auditor.getDroppedCount());
+        Assertions.assertEquals(4, auditor.drain());
+        Assertions.assertEquals(8, sink.records.size());
+    }
+
+    @Test
+    public void testDisabled() {
+        CollectingSink sink = new CollectingSink();
+        RequestAuditor auditor = new RequestAuditor(false, 1.0D, 4, sink);
+        Assertions.assertFalse(auditor.isEnabled());
+        auditor.auditRequest(new GlobalCommitRequest(), null, null, 0L);
+        Assertions.assertEquals(0, auditor.getRecordedCount());
+
+        Assertions.assertFalse(new RequestAuditor(true, 0D, 4, sink).isEnabled());
+    }
+
+    private static class CollectingSink implements RequestAuditSink {
+
+        private final List<String[]> records = new ArrayList<>();
+
+        private int flushes;
+
+        @Override
+        public void write(RequestAuditRecord record) {
+            records.add(new String[] {String.valueOf(record.getTypeCode()), String.valueOf(record.isResponse()),
+                record.getXid(), record.getClientId(),
+                record.getResultCode() == null ? null : record.getResultCode().name()});
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
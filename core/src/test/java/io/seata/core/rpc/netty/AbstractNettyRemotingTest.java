@@ -0,0 +1,133 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.netty.channel.Channel;
+import io.seata.core.protocol.MessageFuture;
+import io.seata.core.protocol.RpcMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author hongyan
+ */
+public class AbstractNettyRemotingTest {
+
+    private static final String ADDRESS = "127.0.0.1:8091";
+
+    private AbstractNettyRemoting remoting;
+
+    @BeforeEach
+    public void init() {
+        remoting = new AbstractNettyRemoting(new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>())) {
+            @Override
+            public void destroyChannel(String serverAddress, Channel channel) {
+            }
+        };
+        remoting.init();
+    }
+
+    @AfterEach
+    public void destroy() {
+        remoting.destroy();
+    }
+
+    @Test
+    public void testFutureTimeout() throws Exception {
+        MessageFuture messageFuture = newFuture(50);
+        CompletableFuture<Object> future = messageFuture.toCompletableFuture();
+        remoting.registerFuture(ADDRESS, messageFuture);
+        assertThat(remoting.getRequestStatistics().get(ADDRESS).getInFlight()).isEqualTo(1);
+
+        ExecutionException ex = Assertions.assertThrows(ExecutionException.class,
+            () -> future.get(2, TimeUnit.SECONDS));
+        assertThat(ex.getCause()).isInstanceOf(TimeoutException.class);
+        assertThat(remoting.getFutures()).isEmpty();
+        RequestStatistics statistics = remoting.getRequestStatistics().get(ADDRESS);
+        assertThat(statistics.getInFlight()).isZero();
+        assertThat(statistics.getTimeouts()).isEqualTo(1);
+    }
+
+    @Test
+    public void testResponseCancelsTimeout() throws Exception {
+        MessageFuture messageFuture = newFuture(50);
+        remoting.registerFuture(ADDRESS, messageFuture);
+        remoting.getFutures().remove(messageFuture.getRequestMessage().getId()).setResultMessage("ok");
+
+        TimeUnit.MILLISECONDS.sleep(200);
+        RequestStatistics statistics = remoting.getRequestStatistics().get(ADDRESS);
+        assertThat(statistics.getInFlight()).isZero();
+        assertThat(statistics.getTimeouts()).isZero();
+        assertThat(messageFuture.get(1, TimeUnit.SECONDS)).isEqualTo("ok");
+    }
+
+    @Test
+    public void testStatisticsListener() {
+        remoting.registerFuture(ADDRESS, newFuture(1000));
+        StringBuilder seen = new StringBuilder();
+        remoting.setRequestStatisticsListener(statistics -> seen.append(statistics.getAddress()).append(';'));
+        remoting.registerFuture("127.0.0.1:8092", newFuture(1000));
+        remoting.registerFuture("127.0.0.1:8092", newFuture(1000));
+        assertThat(seen.toString()).isEqualTo(ADDRESS + ";127.0.0.1:8092;");
+    }
+
+    @Test
+    public void testStatisticsKey() {
+        AbstractNettyRemoting perIp = new AbstractNettyRemoting(new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>())) {
+            @Override
+            public void destroyChannel(String serverAddress, Channel channel) {
+            }
+
+            @Override
+            protected String getStatisticsKey(String remoteAddr) {
+                return ChannelUtil.getIpFromAddress(remoteAddr);
+            }
+        };
+        perIp.init();
+        try {
+            // a client reconnecting from new ephemeral ports keeps one entry
+            perIp.registerFuture("127.0.0.1:50001", newFuture(1000));
+            perIp.registerFuture("127.0.0.1:50002", newFuture(1000));
+            assertThat(perIp.getRequestStatistics()).hasSize(1);
+            assertThat(perIp.getRequestStatistics().get("127.0.0.1").getInFlight()).isEqualTo(2);
+        } finally {
+            perIp.destroy();
+        }
+    }
+
+    private MessageFuture newFuture(long timeoutMillis) {
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(remoting.getNextMessageId());
+        rpcMessage.setBody("body");
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(rpcMessage);
+        messageFuture.setTimeout(timeoutMillis);
+        return messageFuture;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author hongyan
+ */
+public class ChannelBackpressureTest {
+
+    @Test
+    public void testAwaitWritable() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ChannelBackpressure backpressure = ChannelBackpressure.of(channel);
+        assertThat(ChannelBackpressure.of(channel)).isSameAs(backpressure);
+        assertThat(backpressure.awaitWritable(channel, 10)).isTrue();
+
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        assertThat(channel.isWritable()).isFalse();
+        assertThat(backpressure.awaitWritable(channel, 20)).isFalse();
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return backpressure.awaitWritable(channel, 5000);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThat(waiter.isDone()).isFalse();
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+        ChannelBackpressure.onWritabilityChanged(channel);
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isTrue();
+        channel.close();
+    }
+
+    @Test
+    public void testPendingWritesBound() {
+        ChannelBackpressure backpressure = ChannelBackpressure.of(new EmbeddedChannel());
+        assertThat(backpressure.tryAcquirePendingWrite(2)).isTrue();
+        assertThat(backpressure.tryAcquirePendingWrite(2)).isTrue();
+        assertThat(backpressure.tryAcquirePendingWrite(2)).isFalse();
+        backpressure.releasePendingWrite();
+        assertThat(backpressure.getPendingWrites()).isEqualTo(1);
+        assertThat(backpressure.tryAcquirePendingWrite(2)).isTrue();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author hongyan
+ */
+public class ChannelUtilTest {
+
+    @Test
+    public void testDomainSocketPeerAddress() {
+        EmbeddedChannel first = new EmbeddedChannel();
+        EmbeddedChannel second = new EmbeddedChannel();
+        try {
+            String address = ChannelUtil.getAddressFromChannel(first);
+            Assertions.assertTrue(address.startsWith("uds:"));
+            Assertions.assertEquals(address, ChannelUtil.getAddressFromChannel(first));
+            Assertions.assertNotEquals(address, ChannelUtil.getAddressFromChannel(second));
+            Assertions.assertEquals("uds", ChannelUtil.getClientIpFromChannel(first));
+            Assertions.assertTrue(ChannelUtil.getClientPortFromChannel(first) > 0);
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+
+    @Test
+    public void testDomainSocketPeerPortNotReusedWhileOpen() {
+        EmbeddedChannel first = new EmbeddedChannel();
+        List<EmbeddedChannel> channels = new ArrayList<>();
+        try {
+            String address = ChannelUtil.getAddressFromChannel(first);
+            // wrap the sequence around, the port of the open channel is skipped
+            Set<String> addresses = new HashSet<>();
+            for (int i = 0; i < 65535; i++) {
+                EmbeddedChannel channel = new EmbeddedChannel();
+                channels.add(channel);
+                addresses.add(ChannelUtil.getAddressFromChannel(channel));
+                if (i % 2 == 0) {
+                    channel.close();
+                }
+            }
+            Assertions.assertFalse(addresses.contains(address));
+            Assertions.assertEquals(address, ChannelUtil.getAddressFromChannel(first));
+        } finally {
+            first.close();
+            channels.forEach(EmbeddedChannel::close);
+        }
+    }
+
+    @Test
+    public void testRemoteAddressAttribute() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        try {
+            channel.attr(ChannelUtil.REMOTE_ADDRESS_KEY).set("192.168.0.1:8091");
+            Assertions.assertEquals("192.168.0.1:8091", ChannelUtil.getAddressFromChannel(channel));
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -27,12 +27,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 
 import static io.seata.common.DefaultValues.DEFAULT_TX_GROUP;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -109,6 +111,64 @@ class NettyClientChannelManagerTest {
         Assertions.assertEquals(actual, newChannel);
     }
     
+    @Test
+    void assertAcquireChannelSpreadOverExtraChannels() {
+        nettyClientConfig.setConnectionsPerServer(3);
+        channelManager = new NettyClientChannelManager(poolableFactory, poolKeyFunction, nettyClientConfig);
+        Channel extraChannel = mockActiveChannel();
+        Channel otherExtraChannel = mockActiveChannel();
+        channelManager.getChannels().putIfAbsent("localhost", channel);
+        getExtraChannels().put("localhost", new AtomicReferenceArray<>(new Channel[] {extraChannel, otherExtraChannel}));
+        when(channel.isActive()).thenReturn(true);
+
+        assertEquals(channel, channelManager.acquireChannel("localhost", 0));
+        assertEquals(extraChannel, channelManager.acquireChannel("localhost", 1));
+        assertEquals(otherExtraChannel, channelManager.acquireChannel("localhost", 2));
+        assertEquals(extraChannel, channelManager.acquireChannel("localhost", 4));
+        assertEquals(extraChannel, channelManager.acquireChannel("localhost", -1));
+        assertEquals(2, channelManager.getExtraChannels("localhost").size());
+    }
+
+    @Test
+    void assertAcquireChannelFallbackToPrimary() {
+        nettyClientConfig.setConnectionsPerServer(2);
+        channelManager = new NettyClientChannelManager(poolableFactory, poolKeyFunction, nettyClientConfig);
+        channelManager.getChannels().putIfAbsent("localhost", channel);
+        getExtraChannels().put("localhost", new AtomicReferenceArray<>(new Channel[] {newChannel}));
+        when(channel.isActive()).thenReturn(true);
+        when(newChannel.isActive()).thenReturn(false);
+
+        assertEquals(channel, channelManager.acquireChannel("localhost", 1));
+        assertTrue(channelManager.getExtraChannels("localhost").isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void assertReleaseExtraChannel() throws Exception {
+        nettyClientConfig.setConnectionsPerServer(2);
+        channelManager = new NettyClientChannelManager(poolableFactory, poolKeyFunction, nettyClientConfig);
+        setNettyClientKeyPool();
+        setUpReleaseChannel();
+        channelManager.getChannels().putIfAbsent("127.0.0.1:8091", channel);
+        AtomicReferenceArray<Channel> group = new AtomicReferenceArray<>(new Channel[] {newChannel});
+        getExtraChannels().put("127.0.0.1:8091", group);
+        channelManager.releaseChannel(newChannel, "127.0.0.1:8091");
+        Assertions.assertNull(group.get(0));
+        assertEquals(1, channelManager.getChannels().size());
+        verify(keyedObjectPool).returnObject(nettyPoolKey, newChannel);
+    }
+
+    private Channel mockActiveChannel() {
+        Channel mockChannel = mock(Channel.class);
+        when(mockChannel.isActive()).thenReturn(true);
+        return mockChannel;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<String, AtomicReferenceArray<Channel>> getExtraChannels() {
+        return (ConcurrentMap<String, AtomicReferenceArray<Channel>>) getFieldValue("extraChannels", channelManager);
+    }
+
     @Test
     void assertReconnect() {
         channelManager.getChannels().putIfAbsent("127.0.0.1:8091", channel);
@@ -0,0 +1,191 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty.benchmark;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.seata.core.protocol.HeartbeatMessage;
+import io.seata.core.protocol.ProtocolConstants;
+import io.seata.core.protocol.RpcMessage;
+import io.seata.core.rpc.netty.v1.ProtocolV1Decoder;
+import io.seata.core.rpc.netty.v1.ProtocolV1Encoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Loopback round trip of a heartbeat through the seata protocol codec over the nio, native epoll
+ * and unix domain socket transports, with the channel options the client and server bootstraps use.
+ * <p>
+ * The epoll and uds transports need linux with the native epoll library.
+ *
+ * @author hongyan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportLatencyBenchmark {
+
+    private static final int PORT = 18091;
+
+    private static final String SOCKET_PATH = System.getProperty("java.io.tmpdir") + "/seata-benchmark.sock";
+
+    @Param({"nio", "epoll", "uds"})
+    private String transport;
+
+    private EventLoopGroup serverGroup;
+
+    private EventLoopGroup clientGroup;
+
+    private Channel serverChannel;
+
+    private Channel clientChannel;
+
+    private volatile CompletableFuture<Object> response;
+
+    private int id;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        boolean nio = "nio".equals(transport);
+        boolean uds = "uds".equals(transport);
+        if (!nio && !Epoll.isAvailable()) {
+            throw new IllegalStateException("native epoll is not available", Epoll.unavailabilityCause());
+        }
+        serverGroup = nio ? new NioEventLoopGroup(1) : new EpollEventLoopGroup(1);
+        clientGroup = nio ? new NioEventLoopGroup(1) : new EpollEventLoopGroup(1);
+        Class<? extends ServerChannel> serverChannelClass = nio ? NioServerSocketChannel.class
+            : uds ? EpollServerDomainSocketChannel.class : EpollServerSocketChannel.class;
+        Class<? extends Channel> clientChannelClass = nio ? NioSocketChannel.class
+            : uds ? EpollDomainSocketChannel.class : EpollSocketChannel.class;
+        SocketAddress address;
+        if (uds) {
+            new File(SOCKET_PATH).delete();
+            address = new DomainSocketAddress(SOCKET_PATH);
+        } else {
+            address = new InetSocketAddress("127.0.0.1", PORT);
+        }
+
+        ServerBootstrap serverBootstrap = new ServerBootstrap().group(serverGroup).channel(serverChannelClass)
+            .childHandler(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    ch.pipeline().addLast(new ProtocolV1Decoder(), new ProtocolV1Encoder(),
+                        new SimpleChannelInboundHandler<RpcMessage>() {
+                            @Override
+                            protected void channelRead0(ChannelHandlerContext ctx, RpcMessage request) {
+                                RpcMessage pong = new RpcMessage();
+                                pong.setId(request.getId());
+                                pong.setMessageType(ProtocolConstants.MSGTYPE_HEARTBEAT_RESPONSE);
+                                pong.setBody(HeartbeatMessage.PONG);
+                                ctx.writeAndFlush(pong);
+                            }
+                        });
+                }
+            });
+        Bootstrap bootstrap = new Bootstrap().group(clientGroup).channel(clientChannelClass)
+            .handler(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    ch.pipeline().addLast(new ProtocolV1Decoder(), new ProtocolV1Encoder(),
+                        new SimpleChannelInboundHandler<RpcMessage>() {
+                            @Override
+                            protected void channelRead0(ChannelHandlerContext ctx, RpcMessage msg) {
+                                response.complete(msg.getBody());
+                            }
+                        });
+                }
+            });
+        if (!uds) {
+            serverBootstrap.childOption(ChannelOption.TCP_NODELAY, true);
+            bootstrap.option(ChannelOption.TCP_NODELAY, true);
+            if (!nio) {
+                bootstrap.option(EpollChannelOption.EPOLL_MODE, EpollMode.EDGE_TRIGGERED)
+                    .option(EpollChannelOption.TCP_QUICKACK, true);
+            }
+        }
+        serverChannel = serverBootstrap.bind(address).sync().channel();
+        clientChannel = bootstrap.connect(address).sync().channel();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientChannel.close().syncUninterruptibly();
+        serverChannel.close().syncUninterruptibly();
+        clientGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        serverGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Benchmark
+    public Object roundTrip() throws Exception {
+        response = new CompletableFuture<>();
+        RpcMessage ping = new RpcMessage();
+        ping.setId(++id);
+        ping.setMessageType(ProtocolConstants.MSGTYPE_HEARTBEAT_REQUEST);
+        ping.setBody(HeartbeatMessage.PING);
+        clientChannel.writeAndFlush(ping);
+        return response.get(5, TimeUnit.SECONDS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(TransportLatencyBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
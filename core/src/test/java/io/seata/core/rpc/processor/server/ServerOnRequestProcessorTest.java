@@ -0,0 +1,97 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.processor.server;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.seata.core.exception.TransactionExceptionCode;
+import io.seata.core.protocol.MergeResultMessage;
+import io.seata.core.protocol.MergedWarpMessage;
+import io.seata.core.protocol.RegisterTMRequest;
+import io.seata.core.protocol.ResultCode;
+import io.seata.core.protocol.RpcMessage;
+import io.seata.core.protocol.transaction.GlobalBeginRequest;
+import io.seata.core.protocol.transaction.GlobalBeginResponse;
+import io.seata.core.protocol.transaction.GlobalCommitRequest;
+import io.seata.core.protocol.transaction.GlobalCommitResponse;
+import io.seata.core.rpc.RemotingServer;
+import io.seata.core.rpc.TransactionMessageHandler;
+import io.seata.core.rpc.netty.ChannelManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * @author hongyan
+ */
+public class ServerOnRequestProcessorTest {
+
+    @Test
+    public void testMergedResultSentWhenRequestFails() throws Exception {
+        Channel channel = Mockito.mock(Channel.class);
+        Mockito.when(channel.remoteAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 12345));
+        ChannelHandlerContext ctx = Mockito.mock(ChannelHandlerContext.class);
+        Mockito.when(ctx.channel()).thenReturn(channel);
+        // a version below 1.5.0 is answered with one merged result message
+        RegisterTMRequest registerRequest = new RegisterTMRequest("app", "group");
+        registerRequest.setVersion("1.4.2");
+        ChannelManager.registerTMChannel(registerRequest, channel);
+
+        TransactionMessageHandler handler = Mockito.mock(TransactionMessageHandler.class);
+        Mockito.when(handler.onRequest(Mockito.any(GlobalBeginRequest.class), Mockito.any()))
+            .thenReturn(new GlobalBeginResponse());
+        Mockito.when(handler.onRequest(Mockito.any(GlobalCommitRequest.class), Mockito.any()))
+            .thenThrow(new IllegalStateException("commit failed"));
+
+        CountDownLatch sent = new CountDownLatch(1);
+        AtomicReference<Object> response = new AtomicReference<>();
+        RemotingServer remotingServer = Mockito.mock(RemotingServer.class);
+        Mockito.doAnswer(invocation -> {
+            response.set(invocation.getArgument(2));
+            sent.countDown();
+            return null;
+        }).when(remotingServer).sendAsyncResponse(Mockito.any(), Mockito.any(), Mockito.any());
+
+        ServerRequestExecutors executors = new ServerRequestExecutors(group -> 1, group -> 16);
+        ServerOnRequestProcessor processor = new ServerOnRequestProcessor(remotingServer, handler, executors);
+        try {
+            MergedWarpMessage merged = new MergedWarpMessage();
+            merged.msgs.add(new GlobalBeginRequest());
+            merged.msgIds.add(1);
+            merged.msgs.add(new GlobalCommitRequest());
+            merged.msgIds.add(2);
+            RpcMessage rpcMessage = new RpcMessage();
+            rpcMessage.setBody(merged);
+            processor.process(ctx, rpcMessage);
+
+            Assertions.assertTrue(sent.await(5, TimeUnit.SECONDS));
+            MergeResultMessage result = (MergeResultMessage)response.get();
+            Assertions.assertTrue(result.getMsgs()[0] instanceof GlobalBeginResponse);
+            GlobalCommitResponse commitResponse = (GlobalCommitResponse)result.getMsgs()[1];
+            Assertions.assertEquals(ResultCode.Failed, commitResponse.getResultCode());
+            Assertions.assertEquals(TransactionExceptionCode.Unknown, commitResponse.getTransactionExceptionCode());
+        } finally {
+            processor.destroy();
+            executors.destroy();
+            ChannelManager.releaseRpcContext(channel);
+        }
+    }
+}
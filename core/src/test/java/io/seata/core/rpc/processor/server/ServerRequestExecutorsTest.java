@@ -0,0 +1,138 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.processor.server;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.seata.core.exception.TransactionExceptionCode;
+import io.seata.core.model.GlobalStatus;
+import io.seata.core.protocol.MessageType;
+import io.seata.core.protocol.ResultCode;
+import io.seata.core.protocol.transaction.AbstractTransactionResponse;
+import io.seata.core.protocol.transaction.BranchRegisterRequest;
+import io.seata.core.protocol.transaction.BranchRegisterResponse;
+import io.seata.core.protocol.transaction.GlobalBeginRequest;
+import io.seata.core.protocol.transaction.GlobalCommitRequest;
+import io.seata.core.protocol.transaction.GlobalCommitResponse;
+import io.seata.core.protocol.transaction.GlobalStatusRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author hongyan
+ */
+public class ServerRequestExecutorsTest {
+
+    private static final GlobalBeginRequest REQUEST = new GlobalBeginRequest();
+
+    @Test
+    public void testGroupOf() {
+        Assertions.assertEquals(RequestExecutorGroup.GLOBAL_TX, RequestExecutorGroup.of(MessageType.TYPE_GLOBAL_BEGIN));
+        Assertions.assertEquals(RequestExecutorGroup.BRANCH, RequestExecutorGroup.of(MessageType.TYPE_BRANCH_REGISTER));
+        Assertions.assertEquals(RequestExecutorGroup.LOCK_QUERY, RequestExecutorGroup.of(MessageType.TYPE_GLOBAL_LOCK_QUERY));
+        Assertions.assertEquals(RequestExecutorGroup.STATUS, RequestExecutorGroup.of(MessageType.TYPE_GLOBAL_STATUS));
+        Assertions.assertNull(RequestExecutorGroup.of(MessageType.TYPE_HEARTBEAT_MSG));
+    }
+
+    @Test
+    public void testShedWhenSaturated() throws InterruptedException {
+        ServerRequestExecutors executors = new ServerRequestExecutors(group -> 1, group -> 1);
+        try {
+            CountDownLatch block = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            Assertions.assertTrue(executors.execute(RequestExecutorGroup.BRANCH, REQUEST, () -> {
+                started.countDown();
+                try {
+                    block.await();
+                } catch (InterruptedException ignore) {
+                }
+            }));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(executors.execute(RequestExecutorGroup.BRANCH, REQUEST, () -> { }));
+            Assertions.assertEquals(1, executors.getQueueDepth(RequestExecutorGroup.BRANCH));
+            Assertions.assertFalse(executors.execute(RequestExecutorGroup.BRANCH, REQUEST, () -> { }));
+            Assertions.assertEquals(1, executors.getRejectedCount(RequestExecutorGroup.BRANCH));
+
+            // a saturated group does not affect the others
+            CountDownLatch done = new CountDownLatch(1);
+            Assertions.assertTrue(executors.execute(RequestExecutorGroup.GLOBAL_TX, REQUEST, done::countDown));
+            Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, executors.getRejectedCount(RequestExecutorGroup.GLOBAL_TX));
+            block.countDown();
+        } finally {
+            executors.destroy();
+        }
+    }
+
+    @Test
+    public void testLatencyListener() throws InterruptedException {
+        ServerRequestExecutors executors = new ServerRequestExecutors(group -> 1, group -> 1);
+        try {
+            CountDownLatch recorded = new CountDownLatch(1);
+            AtomicLong latency = new AtomicLong(-1);
+            executors.setLatencyListener((group, nanos) -> {
+                if (group == RequestExecutorGroup.STATUS) {
+                    latency.set(nanos);
+                    recorded.countDown();
+                }
+            });
+            Assertions.assertTrue(executors.execute(RequestExecutorGroup.STATUS, REQUEST, () -> { }));
+            Assertions.assertTrue(recorded.await(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(latency.get() >= 0);
+        } finally {
+            executors.destroy();
+        }
+    }
+
+    @Test
+    public void testBuildBusyResult() {
+        AbstractTransactionResponse result = ServerRequestExecutors.buildBusyResult(new BranchRegisterRequest());
+        Assertions.assertTrue(result instanceof BranchRegisterResponse);
+        Assertions.assertEquals(ResultCode.Failed, result.getResultCode());
+        Assertions.assertEquals(TransactionExceptionCode.IO, result.getTransactionExceptionCode());
+
+        result = ServerRequestExecutors.buildBusyResult(new GlobalCommitRequest());
+        Assertions.assertTrue(result instanceof GlobalCommitResponse);
+        Assertions.assertEquals(GlobalStatus.UnKnown, ((GlobalCommitResponse)result).getGlobalStatus());
+
+        Assertions.assertNotNull(ServerRequestExecutors.buildBusyResult(new GlobalStatusRequest()));
+    }
+
+    @Test
+    public void testSameXidSameWorker() throws InterruptedException {
+        ServerRequestExecutors executors = new ServerRequestExecutors(group -> 4, group -> 64);
+        try {
+            BranchRegisterRequest register = new BranchRegisterRequest();
+            register.setXid("127.0.0.1:8091:123456");
+            CountDownLatch done = new CountDownLatch(8);
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            for (int i = 0; i < 8; i++) {
+                Assertions.assertTrue(executors.execute(RequestExecutorGroup.BRANCH, register, () -> {
+                    threads.add(Thread.currentThread().getName());
+                    done.countDown();
+                }));
+            }
+            Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, threads.size());
+        } finally {
+            executors.destroy();
+        }
+    }
+}
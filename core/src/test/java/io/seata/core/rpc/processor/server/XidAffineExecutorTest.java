@@ -0,0 +1,101 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.processor.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.seata.core.protocol.transaction.BranchRegisterRequest;
+import io.seata.core.protocol.transaction.GlobalBeginRequest;
+import io.seata.core.protocol.transaction.GlobalCommitRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author hongyan
+ */
+public class XidAffineExecutorTest {
+
+    @Test
+    public void testSameXidSerially() throws InterruptedException {
+        XidAffineExecutor executor = new XidAffineExecutor("testWorker", 2, 16);
+        try {
+            CountDownLatch block = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            GlobalCommitRequest commit = new GlobalCommitRequest();
+            commit.setXid("127.0.0.1:8091:123456");
+            Assertions.assertTrue(executor.execute(commit, () -> {
+                started.countDown();
+                try {
+                    block.await();
+                } catch (InterruptedException ignore) {
+                }
+            }));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // a request of the same xid waits behind the slow one without taking a thread
+            BranchRegisterRequest register = new BranchRegisterRequest();
+            register.setXid(commit.getXid());
+            CountDownLatch registered = new CountDownLatch(1);
+            Assertions.assertTrue(executor.execute(register, registered::countDown));
+            Assertions.assertEquals(1, executor.getQueueDepth());
+
+            // the requests of other xids go on
+            CountDownLatch others = new CountDownLatch(8);
+            for (int i = 0; i < 8; i++) {
+                GlobalCommitRequest other = new GlobalCommitRequest();
+                other.setXid("127.0.0.1:8091:" + i);
+                Assertions.assertTrue(executor.execute(other, others::countDown));
+            }
+            Assertions.assertTrue(others.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, registered.getCount());
+
+            block.countDown();
+            Assertions.assertTrue(registered.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void testRejectWhenFull() throws InterruptedException {
+        XidAffineExecutor executor = new XidAffineExecutor("testWorker", 1, 1);
+        try {
+            CountDownLatch block = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            GlobalBeginRequest begin = new GlobalBeginRequest();
+            Assertions.assertTrue(executor.execute(begin, () -> {
+                started.countDown();
+                try {
+                    block.await();
+                } catch (InterruptedException ignore) {
+                }
+            }));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(executor.execute(begin, () -> { }));
+            Assertions.assertEquals(1, executor.getQueueDepth());
+
+            // the caller sheds the request instead of running it
+            AtomicReference<Thread> runner = new AtomicReference<>();
+            Assertions.assertFalse(executor.execute(begin, () -> runner.set(Thread.currentThread())));
+            Assertions.assertNull(runner.get());
+            block.countDown();
+        } finally {
+            executor.destroy();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.processor.server.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.seata.core.protocol.AbstractMessage;
+import io.seata.core.protocol.transaction.BranchRegisterRequest;
+import io.seata.core.rpc.processor.server.XidAffineExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Handling of one large merged message whose branch registers belong to a few global transactions,
+ * each taking the lock of its global session.
+ * <p>
+ * The {@code commonPool} benchmark handles the sub requests the way they were handled before
+ * {@link XidAffineExecutor}: on the common fork join pool, collecting the results in a {@link CopyOnWriteArrayList}.
+ *
+ * @author hongyan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MergedRequestBenchmark {
+
+    @Param({"256", "4096"})
+    private int batchSize;
+
+    @Param({"16"})
+    private int xidCount;
+
+    private List<AbstractMessage> msgs;
+
+    private final Map<String, Object> sessionLocks = new ConcurrentHashMap<>();
+
+    private XidAffineExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        msgs = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            BranchRegisterRequest request = new BranchRegisterRequest();
+            request.setXid("192.168.0.1:8091:" + (i % xidCount));
+            request.setLockKey("t_order:" + i);
+            msgs.add(request);
+            sessionLocks.putIfAbsent(request.getXid(), new Object());
+        }
+        executor = new XidAffineExecutor("MergedRequestHandlerThread", Runtime.getRuntime().availableProcessors(), 8192);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.destroy();
+    }
+
+    @Benchmark
+    public Object commonPool() {
+        List<Object> results = new CopyOnWriteArrayList<>(Collections.nCopies(msgs.size(), null));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(msgs.size());
+        for (int i = 0; i < msgs.size(); i++) {
+            int index = i;
+            futures.add(CompletableFuture.runAsync(() -> results.set(index, handle(msgs.get(index)))));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return results;
+    }
+
+    @Benchmark
+    public Object xidAffineExecutor() throws InterruptedException {
+        Object[] results = new Object[msgs.size()];
+        AtomicInteger remaining = new AtomicInteger(msgs.size());
+        CountDownLatch done = new CountDownLatch(1);
+        for (int i = 0; i < msgs.size(); i++) {
+            int index = i;
+            AbstractMessage msg = msgs.get(i);
+            executor.execute(msg, () -> {
+                results[index] = handle(msg);
+                if (remaining.decrementAndGet() == 0) {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return results;
+    }
+
+    private Object handle(AbstractMessage msg) {
+        BranchRegisterRequest request = (BranchRegisterRequest)msg;
+        synchronized (sessionLocks.get(request.getXid())) {
+            Blackhole.consumeCPU(200);
+            return request.getLockKey();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(MergedRequestBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
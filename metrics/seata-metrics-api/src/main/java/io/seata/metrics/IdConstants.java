@@ -23,6 +23,16 @@ package io.seata.metrics;
 public interface IdConstants {
     String SEATA_TRANSACTION = "seata.transaction";
 
+    String SEATA_RPC = "seata.rpc";
+
+    String SEATA_RPC_AUDIT = "seata.rpc.audit";
+
+    String SEATA_RPC_EXECUTOR = "seata.rpc.executor";
+
+    String SEATA_SESSION_LOCK = "seata.session.lock";
+
+    String SEATA_SESSION_SPILL = "seata.session.spill";
+
     String APP_ID_KEY = "applicationId";
     
     String GROUP_KEY = "group";
@@ -37,6 +47,10 @@ public interface IdConstants {
 
     String STATUS_KEY = "status";
 
+    String ADDRESS_KEY = "address";
+
+    String EXECUTOR_KEY = "executor";
+
     String ROLE_VALUE_TC = "tc";
 
     String ROLE_VALUE_TM = "tm";
@@ -71,6 +85,34 @@ public interface IdConstants {
 
     String STATUS_VALUE_TWO_PHASE_TIMEOUT = "2phaseTimeout";
 
+    String STATUS_VALUE_IN_FLIGHT = "inFlight";
+
+    String STATUS_VALUE_TIMEOUT = "timeout";
+
+    String STATUS_VALUE_WRITE_BLOCKED = "writeBlockedMillis";
+
+    String STATUS_VALUE_WRITE_REJECTED = "writeRejected";
+
+    String STATUS_VALUE_RECORDED = "recorded";
+
+    String STATUS_VALUE_DROPPED = "dropped";
+
+    String STATUS_VALUE_QUEUE_DEPTH = "queueDepth";
+
+    String STATUS_VALUE_REJECTED = "rejected";
+
+    String STATUS_VALUE_CONTENDED = "contended";
+
+    String STATUS_VALUE_WAIT = "waitMillis";
+
+    String STATUS_VALUE_SPILLED = "spilled";
+
+    String STATUS_VALUE_SPILLED_BYTES = "spilledBytes";
+
+    String STATUS_VALUE_FAULTED = "faulted";
+
+    String STATUS_VALUE_HEAP_USED = "heapUsed";
+
     String RETRY_KEY = "retry";
 
     String STATUS_VALUE_AFTER_COMMITTED_KEY = "AfterCommitted";
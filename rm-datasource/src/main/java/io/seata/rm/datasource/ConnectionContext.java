@@ -29,12 +29,16 @@ import java.util.Set;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.seata.common.DefaultValues;
 import io.seata.common.LockStrategyMode;
 import io.seata.common.exception.ShouldNeverHappenException;
 import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.StringUtils;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.context.GlobalLockConfigHolder;
 import io.seata.core.exception.TransactionException;
+import io.seata.core.lock.LockEscalation;
 import io.seata.core.model.GlobalLockConfig;
 import io.seata.rm.datasource.undo.SQLUndoLog;
 
@@ -61,6 +65,12 @@ public class ConnectionContext {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    /**
+     * The rows of one table in a branch beyond which the table or the pk range is locked instead of the rows.
+     */
+    private static final int LOCK_ESCALATION_THRESHOLD = ConfigurationFactory.getInstance().getInt(
+        ConfigurationKeys.CLIENT_LOCK_ESCALATION_THRESHOLD, DefaultValues.DEFAULT_CLIENT_LOCK_ESCALATION_THRESHOLD);
+
     private String xid;
     private Long branchId;
     private boolean isGlobalLockRequire;
@@ -348,6 +358,9 @@ public class ConnectionContext {
         if (lockKeysBufferSet.isEmpty()) {
             return null;
         }
+        if (LOCK_ESCALATION_THRESHOLD > 0) {
+            lockKeysBufferSet = escalateLockKeys(lockKeysBufferSet, LOCK_ESCALATION_THRESHOLD);
+        }
 
         StringBuilder appender = new StringBuilder();
         Iterator<String> iterable = lockKeysBufferSet.iterator();
@@ -360,6 +373,43 @@ public class ConnectionContext {
         return appender.toString();
     }
 
+    /**
+     * Replace the row locks of the tables with more rows than the threshold by an escalated lock of the table.
+     *
+     * @param lockKeys  the lock keys
+     * @param threshold the threshold
+     * @return the lock keys after escalation
+     * @see LockEscalation
+     */
+    static Set<String> escalateLockKeys(Set<String> lockKeys, int threshold) {
+        Map<String, Set<String>> tablePks = new LinkedHashMap<>();
+        Set<String> others = new HashSet<>();
+        boolean escalate = false;
+        for (String lockKey : lockKeys) {
+            for (String tableLockKey : lockKey.split(";")) {
+                int index = tableLockKey.indexOf(':');
+                if (index <= 0) {
+                    others.add(tableLockKey);
+                    continue;
+                }
+                Set<String> pks = tablePks.computeIfAbsent(tableLockKey.substring(0, index), k -> new HashSet<>());
+                for (String pk : tableLockKey.substring(index + 1).split(",")) {
+                    if (StringUtils.isNotBlank(pk)) {
+                        pks.add(pk);
+                    }
+                }
+                escalate |= pks.size() > threshold;
+            }
+        }
+        if (!escalate) {
+            return lockKeys;
+        }
+        Set<String> escalatedLockKeys = new HashSet<>(others);
+        tablePks.forEach((tableName, pks) -> escalatedLockKeys.add(tableName + ":"
+            + (pks.size() > threshold ? LockEscalation.escalate(pks) : String.join(",", pks))));
+        return escalatedLockKeys;
+    }
+
     /**
      * Gets undo items.
      *
@@ -16,11 +16,13 @@
 package io.seata.rm.datasource;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 
 import io.seata.common.exception.NotSupportYetException;
 import io.seata.common.exception.ShouldNeverHappenException;
+import io.seata.common.util.FutureUtils;
 import io.seata.core.context.RootContext;
 import io.seata.core.exception.RmTransactionException;
 import io.seata.core.exception.TransactionException;
@@ -77,6 +79,21 @@ public class DataSourceManager extends AbstractResourceManager {
         }
     }
 
+    @Override
+    public CompletableFuture<Boolean> lockQueryAsync(BranchType branchType, String resourceId, String xid,
+                                                     String lockKeys) {
+        if (!RootContext.inGlobalTransaction() && !RootContext.requireGlobalLock()) {
+            return FutureUtils.failedFuture(new RmTransactionException(TransactionExceptionCode.LockableCheckFailed,
+                "Runtime", new RuntimeException("unknow situation!")));
+        }
+        GlobalLockQueryRequest request = new GlobalLockQueryRequest();
+        request.setXid(xid);
+        request.setLockKey(lockKeys);
+        request.setResourceId(resourceId);
+        return asyncCall(request, TransactionExceptionCode.LockableCheckFailed,
+            response -> ((GlobalLockQueryResponse) response).isLockable());
+    }
+
     /**
      * Instantiates a new Data source manager.
      */
@@ -24,7 +24,10 @@ import org.junit.jupiter.api.Test;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.Savepoint;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * ConnectionContextProxy test
@@ -43,6 +46,15 @@ public class ConnectionContextProxyTest {
         Assertions.assertEquals(connectionContext.buildLockKeys(), "bcd;abc");
     }
 
+    @Test
+    public void testEscalateLockKeys() {
+        Set<String> lockKeys = new HashSet<>(Arrays.asList("t1:1,2", "t1:3", "t2:a,b", "t2:c", "t3:9", "other"));
+        Assertions.assertSame(lockKeys, ConnectionContext.escalateLockKeys(lockKeys, 3));
+
+        Set<String> escalated = ConnectionContext.escalateLockKeys(lockKeys, 2);
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("t1:*1~3", "t2:*", "t3:9", "other")), escalated);
+    }
+
     @Test
     public void testAppendUndoItem() {
         SQLUndoLog sqlUndoLog = new SQLUndoLog();
@@ -15,15 +15,23 @@
  */
 package io.seata.rm;
 
+import io.seata.common.ConfigurationKeys;
+import io.seata.common.DefaultValues;
 import io.seata.common.exception.NotSupportYetException;
+import io.seata.common.util.FutureUtils;
+import io.seata.common.util.StringUtils;
+import io.seata.config.ConfigurationFactory;
 import io.seata.core.exception.RmTransactionException;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.exception.TransactionExceptionCode;
+import io.seata.core.lock.LockKeyPayload;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.Resource;
 import io.seata.core.model.ResourceManager;
 import io.seata.core.protocol.ResultCode;
+import io.seata.core.protocol.transaction.AbstractTransactionRequest;
+import io.seata.core.protocol.transaction.AbstractTransactionResponse;
 import io.seata.core.protocol.transaction.BranchRegisterRequest;
 import io.seata.core.protocol.transaction.BranchRegisterResponse;
 import io.seata.core.protocol.transaction.BranchReportRequest;
@@ -32,7 +40,9 @@ import io.seata.core.rpc.netty.RmNettyRemotingClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 /**
  * abstract ResourceManager
@@ -43,6 +53,12 @@ public abstract class AbstractResourceManager implements ResourceManager {
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(AbstractResourceManager.class);
 
+    /**
+     * Whether the lock keys of AT branches are sent as a {@link LockKeyPayload}, which a TC of an older version can't decode.
+     */
+    private static final boolean STRUCTURED_LOCK_KEY = ConfigurationFactory.getInstance().getBoolean(
+        ConfigurationKeys.CLIENT_LOCK_STRUCTURED_LOCK_KEY, DefaultValues.DEFAULT_CLIENT_LOCK_STRUCTURED_LOCK_KEY);
+
     /**
      * registry branch record
      *
@@ -59,7 +75,7 @@ public abstract class AbstractResourceManager implements ResourceManager {
         try {
             BranchRegisterRequest request = new BranchRegisterRequest();
             request.setXid(xid);
-            request.setLockKey(lockKeys);
+            setLockKey(request, branchType, lockKeys);
             request.setResourceId(resourceId);
             request.setBranchType(branchType);
             request.setApplicationData(applicationData);
@@ -76,6 +92,14 @@ public abstract class AbstractResourceManager implements ResourceManager {
         }
     }
 
+    private void setLockKey(BranchRegisterRequest request, BranchType branchType, String lockKeys) {
+        if (STRUCTURED_LOCK_KEY && branchType == BranchType.AT && StringUtils.isNotBlank(lockKeys)) {
+            request.setLockKeyPayload(LockKeyPayload.fromLockKey(lockKeys));
+        } else {
+            request.setLockKey(lockKeys);
+        }
+    }
+
     /**
      * report branch status
      *
@@ -106,11 +130,76 @@ public abstract class AbstractResourceManager implements ResourceManager {
         }
     }
 
+    @Override
+    public CompletableFuture<Long> branchRegisterAsync(BranchType branchType, String resourceId, String clientId,
+                                                       String xid, String applicationData, String lockKeys) {
+        BranchRegisterRequest request = new BranchRegisterRequest();
+        request.setXid(xid);
+        setLockKey(request, branchType, lockKeys);
+        request.setResourceId(resourceId);
+        request.setBranchType(branchType);
+        request.setApplicationData(applicationData);
+
+        return asyncCall(request, TransactionExceptionCode.BranchRegisterFailed,
+            response -> ((BranchRegisterResponse) response).getBranchId());
+    }
+
+    @Override
+    public CompletableFuture<Void> branchReportAsync(BranchType branchType, String xid, long branchId,
+                                                     BranchStatus status, String applicationData) {
+        BranchReportRequest request = new BranchReportRequest();
+        request.setXid(xid);
+        request.setBranchId(branchId);
+        request.setStatus(status);
+        request.setApplicationData(applicationData);
+
+        return asyncCall(request, TransactionExceptionCode.BranchReportFailed, response -> null);
+    }
+
     @Override
     public boolean lockQuery(BranchType branchType, String resourceId, String xid, String lockKeys) throws TransactionException {
         return false;
     }
 
+    /**
+     * send the request without blocking and map the response the same way as the sync calls do:
+     * a failed result code, an rpc timeout and any other error all complete the future with RmTransactionException.
+     *
+     * @param request      the request
+     * @param failedCode   the code used for unexpected runtime errors
+     * @param resultMapper extracts the result from a successful response
+     * @param <T>          the result type
+     * @return the future of the mapped result
+     */
+    protected <T> CompletableFuture<T> asyncCall(AbstractTransactionRequest request, TransactionExceptionCode failedCode,
+                                                 Function<AbstractTransactionResponse, T> resultMapper) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        RmNettyRemotingClient.getInstance().sendAsyncRequestWithResponse(request).whenComplete((resp, ex) -> {
+            if (ex != null) {
+                Throwable cause = FutureUtils.unwrap(ex);
+                if (cause instanceof TimeoutException) {
+                    result.completeExceptionally(
+                        new RmTransactionException(TransactionExceptionCode.IO, "RPC Timeout", cause));
+                } else {
+                    result.completeExceptionally(new RmTransactionException(failedCode, "Runtime", cause));
+                }
+                return;
+            }
+            try {
+                AbstractTransactionResponse response = (AbstractTransactionResponse) resp;
+                if (response.getResultCode() == ResultCode.Failed) {
+                    result.completeExceptionally(new RmTransactionException(response.getTransactionExceptionCode(),
+                        String.format("Response[ %s ]", response.getMsg())));
+                } else {
+                    result.complete(resultMapper.apply(response));
+                }
+            } catch (RuntimeException rex) {
+                result.completeExceptionally(new RmTransactionException(failedCode, "Runtime", rex));
+            }
+        });
+        return result;
+    }
+
     @Override
     public void unregisterResource(Resource resource) {
         throw new NotSupportYetException("unregister a resource");
@@ -18,11 +18,13 @@ package io.seata.rm;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.loader.EnhancedServiceLoader;
 import io.seata.common.util.CollectionUtils;
+import io.seata.common.util.FutureUtils;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
@@ -109,6 +111,38 @@ public class DefaultResourceManager implements ResourceManager {
         return getResourceManager(branchType).lockQuery(branchType, resourceId, xid, lockKeys);
     }
 
+    @Override
+    public CompletableFuture<Long> branchRegisterAsync(BranchType branchType, String resourceId, String clientId,
+                                                       String xid, String applicationData, String lockKeys) {
+        try {
+            return getResourceManager(branchType).branchRegisterAsync(branchType, resourceId, clientId, xid,
+                applicationData, lockKeys);
+        } catch (RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> branchReportAsync(BranchType branchType, String xid, long branchId,
+                                                     BranchStatus status, String applicationData) {
+        try {
+            return getResourceManager(branchType).branchReportAsync(branchType, xid, branchId, status,
+                applicationData);
+        } catch (RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> lockQueryAsync(BranchType branchType, String resourceId, String xid,
+                                                     String lockKeys) {
+        try {
+            return getResourceManager(branchType).lockQueryAsync(branchType, resourceId, xid, lockKeys);
+        } catch (RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
+
     @Override
     public void registerResource(Resource resource) {
         getResourceManager(resource.getBranchType()).registerResource(resource);
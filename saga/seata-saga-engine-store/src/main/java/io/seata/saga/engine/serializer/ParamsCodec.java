@@ -0,0 +1,40 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.serializer;
+
+/**
+ * Binary codec of state params, loaded by name through SPI
+ *
+ * @author hongyan
+ */
+public interface ParamsCodec {
+
+    /**
+     * encode params to bytes
+     *
+     * @param params the params
+     * @return the encoded bytes
+     */
+    byte[] encode(Object params);
+
+    /**
+     * decode bytes to params
+     *
+     * @param bytes the encoded bytes
+     * @return the params
+     */
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.serializer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.seata.common.loader.EnhancedServiceLoader;
+import io.seata.common.util.CollectionUtils;
+
+/**
+ * ParamsCodecFactory
+ *
+ * @author hongyan
+ */
+public class ParamsCodecFactory {
+
+    private ParamsCodecFactory() {
+    }
+
+    private static final ConcurrentMap<String, ParamsCodec> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * Gets ParamsCodec by name
+     *
+     * @param name codec name
+     * @return the ParamsCodec
+     */
+    public static ParamsCodec getParamsCodec(String name) {
+        return CollectionUtils.computeIfAbsent(INSTANCES, name,
+            key -> EnhancedServiceLoader.load(ParamsCodec.class, name, Thread.currentThread().getContextClassLoader()));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.serializer.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import io.seata.saga.engine.serializer.ParamsCodec;
+import io.seata.saga.engine.serializer.ParamsCodecFactory;
+import io.seata.saga.engine.serializer.Serializer;
+
+/**
+ * Parameter serializer based on a binary {@link ParamsCodec}.
+ * <p>
+ * The params columns are text columns, so the encoded bytes are stored as base64 behind a header
+ * <code>@codecName:</code>. A json document never starts with '@', so the header tells binary
+ * params apart from the params written by {@link ParamsSerializer}.
+ *
+ * @author hongyan
+ */
+public class BinaryParamsSerializer implements Serializer<Object, String> {
+
+    public static final char HEADER_PREFIX = '@';
+
+    public static final char HEADER_SUFFIX = ':';
+
+    private static final int MAX_HEADER_LENGTH = 32;
+
+    private final String codecName;
+
+    private final String header;
+
+    private final ParamsCodec paramsCodec;
+
+    public BinaryParamsSerializer(String codecName) {
+        this(codecName, ParamsCodecFactory.getParamsCodec(codecName));
+    }
+
+    public BinaryParamsSerializer(String codecName, ParamsCodec paramsCodec) {
+        this.codecName = codecName;
+        this.header = HEADER_PREFIX + codecName + HEADER_SUFFIX;
+        this.paramsCodec = paramsCodec;
+    }
+
+    @Override
+    public String serialize(Object params) {
+        if (params != null) {
+            byte[] bytes = paramsCodec.encode(params);
+            return header + new String(Base64.getEncoder().encode(bytes), StandardCharsets.ISO_8859_1);
+        }
+        return null;
+    }
+
+    @Override
+    public Object deserialize(String serialized) {
+        if (serialized != null) {
+            if (!serialized.startsWith(header)) {
+                throw new IllegalArgumentException("Params are not serialized by codec: " + codecName);
+            }
+            byte[] bytes = Base64.getDecoder().decode(
+                serialized.substring(header.length()).getBytes(StandardCharsets.ISO_8859_1));
+            return paramsCodec.decode(bytes);
+        }
+        return null;
+    }
+
+    public String getCodecName() {
+        return codecName;
+    }
+
+    /**
+     * Gets the codec name from the header of serialized params
+     *
+     * @param serialized the serialized params
+     * @return the codec name, or null if the params are not serialized by a binary codec
+     */
+    public static String getCodecName(String serialized) {
+        if (serialized == null || serialized.isEmpty() || serialized.charAt(0) != HEADER_PREFIX) {
+            return null;
+        }
+        int end = serialized.indexOf(HEADER_SUFFIX);
+        if (end <= 1 || end > MAX_HEADER_LENGTH) {
+            return null;
+        }
+        return serialized.substring(1, end);
+    }
+}
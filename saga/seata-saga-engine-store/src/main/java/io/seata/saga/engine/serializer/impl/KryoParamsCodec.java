@@ -0,0 +1,58 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.serializer.impl;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import io.seata.common.loader.LoadLevel;
+import io.seata.saga.engine.serializer.ParamsCodec;
+import io.seata.serializer.kryo.KryoInnerSerializer;
+import io.seata.serializer.kryo.KryoSerializerFactory;
+
+/**
+ * Params codec based on Kryo, the Kryo instances are shared with the RPC serializer pool
+ *
+ * @author hongyan
+ */
+@LoadLevel(name = KryoParamsCodec.NAME)
+public class KryoParamsCodec implements ParamsCodec {
+
+    public static final String NAME = "kryo";
+
+    private static final int BUFFER_SIZE = 4096;
+
+    @Override
+    public byte[] encode(Object params) {
+        KryoInnerSerializer kryoSerializer = KryoSerializerFactory.getInstance().get();
+        try {
+            Output output = new Output(BUFFER_SIZE, -1);
+            kryoSerializer.getKryo().writeClassAndObject(output, params);
+            return output.toBytes();
+        } finally {
+            KryoSerializerFactory.getInstance().returnKryo(kryoSerializer);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        KryoInnerSerializer kryoSerializer = KryoSerializerFactory.getInstance().get();
+        try {
+            return kryoSerializer.getKryo().readClassAndObject(new Input(bytes));
+        } finally {
+            KryoSerializerFactory.getInstance().returnKryo(kryoSerializer);
+        }
+    }
+}
@@ -23,6 +23,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.seata.common.Constants;
 import io.seata.common.exception.FrameworkErrorCode;
@@ -41,6 +43,7 @@ import io.seata.saga.engine.pcext.StateInstruction;
 import io.seata.saga.engine.pcext.utils.EngineUtils;
 import io.seata.saga.engine.sequence.SeqGenerator;
 import io.seata.saga.engine.serializer.Serializer;
+import io.seata.saga.engine.serializer.impl.BinaryParamsSerializer;
 import io.seata.saga.engine.serializer.impl.ExceptionSerializer;
 import io.seata.saga.engine.serializer.impl.ParamsSerializer;
 import io.seata.saga.engine.store.StateLogStore;
@@ -83,6 +86,7 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
     private static final ResultSetToStateInstance                 RESULT_SET_TO_STATE_INSTANCE = new ResultSetToStateInstance();
     private SagaTransactionalTemplate sagaTransactionalTemplate;
     private Serializer<Object, String>    paramsSerializer    = new ParamsSerializer();
+    private final ConcurrentMap<String, Serializer<Object, String>> binaryParamsSerializers = new ConcurrentHashMap<>();
     private Serializer<Exception, byte[]> exceptionSerializer = new ExceptionSerializer();
     private StateLogStoreSqls stateLogStoreSqls;
     private String            defaultTenantId;
@@ -107,7 +111,8 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
                 RootContext.bindBranchType(BranchType.SAGA);
 
                 // save to db
-                machineInstance.setSerializedStartParams(paramsSerializer.serialize(machineInstance.getStartParams()));
+                machineInstance.setSerializedStartParams(getParamsSerializer(machineInstance.getStateMachine())
+                    .serialize(machineInstance.getStartParams()));
                 int effect = executeUpdate(stateLogStoreSqls.getRecordStateMachineStartedSql(dbType),
                     STATE_MACHINE_INSTANCE_TO_STATEMENT_FOR_INSERT, machineInstance);
                 if (effect < 1) {
@@ -172,7 +177,8 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
                     machineInstance.setException(null);
                 }
 
-                machineInstance.setSerializedEndParams(paramsSerializer.serialize(machineInstance.getEndParams()));
+                machineInstance.setSerializedEndParams(getParamsSerializer(machineInstance.getStateMachine())
+                    .serialize(machineInstance.getEndParams()));
                 machineInstance.setSerializedException(exceptionSerializer.serialize(machineInstance.getException()));
                 int effect = executeUpdate(stateLogStoreSqls.getRecordStateMachineFinishedSql(dbType),
                         STATE_MACHINE_INSTANCE_TO_STATEMENT_FOR_UPDATE, machineInstance);
@@ -282,7 +288,8 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
                 stateInstance.setId(seqGenerator.generate(DomainConstants.SEQ_ENTITY_STATE_INST));
             }
 
-            stateInstance.setSerializedInputParams(paramsSerializer.serialize(stateInstance.getInputParams()));
+            stateInstance.setSerializedInputParams(getParamsSerializer(stateInstance).serialize(
+                stateInstance.getInputParams()));
             if (!isUpdateMode) {
                 executeUpdate(stateLogStoreSqls.getRecordStateStartedSql(dbType),
                     STATE_INSTANCE_TO_STATEMENT_FOR_INSERT, stateInstance);
@@ -457,7 +464,8 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
     public void recordStateFinished(StateInstance stateInstance, ProcessContext context) {
         if (stateInstance != null) {
 
-            stateInstance.setSerializedOutputParams(paramsSerializer.serialize(stateInstance.getOutputParams()));
+            stateInstance.setSerializedOutputParams(getParamsSerializer(stateInstance).serialize(
+                stateInstance.getOutputParams()));
             stateInstance.setSerializedException(exceptionSerializer.serialize(stateInstance.getException()));
             executeUpdate(stateLogStoreSqls.getRecordStateFinishedSql(dbType), STATE_INSTANCE_TO_STATEMENT_FOR_UPDATE,
                     stateInstance);
@@ -641,12 +649,12 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
         String serializedStartParams = (String) stateMachineInstance.getSerializedStartParams();
         if (StringUtils.hasLength(serializedStartParams)) {
             stateMachineInstance.setStartParams(
-                    (Map<String, Object>) paramsSerializer.deserialize(serializedStartParams));
+                    (Map<String, Object>) deserializeParams(serializedStartParams));
         }
 
         String serializedEndParams = (String) stateMachineInstance.getSerializedEndParams();
         if (StringUtils.hasLength(serializedEndParams)) {
-            stateMachineInstance.setEndParams((Map<String, Object>) paramsSerializer.deserialize(serializedEndParams));
+            stateMachineInstance.setEndParams((Map<String, Object>) deserializeParams(serializedEndParams));
         }
     }
 
@@ -667,13 +675,19 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
 
     private void deserializeParamsAndException(StateInstance stateInstance) {
         if (stateInstance != null) {
-            String inputParams = (String) stateInstance.getSerializedInputParams();
-            if (StringUtils.hasLength(inputParams)) {
-                stateInstance.setInputParams(paramsSerializer.deserialize(inputParams));
-            }
-            String outputParams = (String) stateInstance.getSerializedOutputParams();
-            if (StringUtils.hasLength(outputParams)) {
-                stateInstance.setOutputParams(paramsSerializer.deserialize(outputParams));
+            if (stateInstance instanceof StateInstanceImpl) {
+                // params are only needed when the state is compensated or retried, deserialize them on demand
+                ((StateInstanceImpl) stateInstance).lazyDeserializeParams(
+                    serialized -> deserializeParams((String) serialized));
+            } else {
+                String inputParams = (String) stateInstance.getSerializedInputParams();
+                if (StringUtils.hasLength(inputParams)) {
+                    stateInstance.setInputParams(deserializeParams(inputParams));
+                }
+                String outputParams = (String) stateInstance.getSerializedOutputParams();
+                if (StringUtils.hasLength(outputParams)) {
+                    stateInstance.setOutputParams(deserializeParams(outputParams));
+                }
             }
             byte[] serializedException = (byte[]) stateInstance.getSerializedException();
             if (serializedException != null) {
@@ -749,6 +763,53 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
         }
     }
 
+    /**
+     * Gets the params serializer configured by the state machine of the state instance
+     *
+     * @param stateInstance the state instance
+     * @return the params serializer
+     */
+    protected Serializer<Object, String> getParamsSerializer(StateInstance stateInstance) {
+        StateMachineInstance machineInstance = stateInstance.getStateMachineInstance();
+        return getParamsSerializer(machineInstance != null ? machineInstance.getStateMachine() : null);
+    }
+
+    /**
+     * Gets the params serializer configured by the state machine, default the json params serializer
+     *
+     * @param stateMachine the state machine
+     * @return the params serializer
+     */
+    protected Serializer<Object, String> getParamsSerializer(StateMachine stateMachine) {
+        String serializerName = stateMachine != null ? stateMachine.getParamsSerializer() : null;
+        if (StringUtils.isEmpty(serializerName) || DomainConstants.PARAMS_SERIALIZER_JSON.equals(serializerName)) {
+            return paramsSerializer;
+        }
+        return getBinaryParamsSerializer(serializerName);
+    }
+
+    /**
+     * Deserialize params, the serializer is selected by the header of the serialized params,
+     * so that params written before the serializer of the state machine was changed can still be read.
+     *
+     * @param serialized the serialized params
+     * @return the params
+     */
+    protected Object deserializeParams(String serialized) {
+        if (!StringUtils.hasLength(serialized)) {
+            return null;
+        }
+        String codecName = BinaryParamsSerializer.getCodecName(serialized);
+        if (codecName == null) {
+            return paramsSerializer.deserialize(serialized);
+        }
+        return getBinaryParamsSerializer(codecName).deserialize(serialized);
+    }
+
+    private Serializer<Object, String> getBinaryParamsSerializer(String codecName) {
+        return CollectionUtils.computeIfAbsent(binaryParamsSerializers, codecName, BinaryParamsSerializer::new);
+    }
+
     public void setExceptionSerializer(Serializer<Exception, byte[]> exceptionSerializer) {
         this.exceptionSerializer = exceptionSerializer;
     }
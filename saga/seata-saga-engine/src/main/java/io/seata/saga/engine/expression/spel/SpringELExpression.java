@@ -16,6 +16,7 @@
 package io.seata.saga.engine.expression.spel;
 
 import io.seata.saga.engine.expression.Expression;
+import org.springframework.expression.EvaluationContext;
 
 /**
  * Expression base on Spring EL
@@ -26,18 +27,33 @@ public class SpringELExpression implements Expression {
 
     private org.springframework.expression.Expression expression;
 
+    private EvaluationContext evaluationContext;
+
     public SpringELExpression(org.springframework.expression.Expression expression) {
         this.expression = expression;
     }
 
+    public SpringELExpression(org.springframework.expression.Expression expression,
+                              EvaluationContext evaluationContext) {
+        this.expression = expression;
+        this.evaluationContext = evaluationContext;
+    }
+
     @Override
     public Object getValue(Object elContext) {
-        return expression.getValue(elContext);
+        if (evaluationContext == null) {
+            return expression.getValue(elContext);
+        }
+        return expression.getValue(evaluationContext, elContext);
     }
 
     @Override
     public void setValue(Object value, Object elContext) {
-        expression.setValue(elContext, value);
+        if (evaluationContext == null) {
+            expression.setValue(elContext, value);
+        } else {
+            expression.setValue(evaluationContext, elContext, value);
+        }
     }
 
     @Override
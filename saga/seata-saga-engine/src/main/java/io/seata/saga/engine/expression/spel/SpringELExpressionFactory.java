@@ -15,6 +15,9 @@
  */
 package io.seata.saga.engine.expression.spel;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import io.seata.saga.engine.expression.Expression;
 import io.seata.saga.engine.expression.ExpressionFactory;
 import org.springframework.beans.BeansException;
@@ -24,26 +27,78 @@ import org.springframework.expression.AccessException;
 import org.springframework.expression.BeanResolver;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 /**
  * SpringELExpression factory
+ * <p>
+ * Parsed expressions are cached by expression string, and all of them are evaluated against one shared
+ * evaluation context, so the reflective accessor caches of SpEL are reused by every expression and every thread.
+ * The context is never mutated after construction, so sharing it is thread safe. The expressions of a state
+ * machine definition are also held by its states, so the cache is bounded and stops caching once it is full,
+ * the expressions built from dynamic strings can not grow it without limit.
  *
  * @author lorne.cl
  */
 public class SpringELExpressionFactory implements ExpressionFactory, ApplicationContextAware {
 
-    ExpressionParser parser = new SpelExpressionParser();
+    /**
+     * The max count of the cached expressions.
+     */
+    public static final int MAX_CACHED_EXPRESSIONS = 4096;
+
+    volatile ExpressionParser parser;
     ApplicationContext applicationContext;
 
+    /**
+     * MIXED mode compiles an expression after it has been interpreted a few times and
+     * falls back to interpretation whenever the compiled form fails, so it is safe as default.
+     */
+    private volatile SpelCompilerMode compilerMode = SpelCompilerMode.MIXED;
+
+    private final StandardEvaluationContext evaluationContext;
+
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+
+    public SpringELExpressionFactory() {
+        this.evaluationContext = new StandardEvaluationContext();
+        this.evaluationContext.setBeanResolver(new AppContextBeanResolver());
+        // initialize the default accessors and resolvers eagerly, they are lazily created otherwise
+        this.evaluationContext.getPropertyAccessors();
+        this.evaluationContext.getMethodResolvers();
+        this.evaluationContext.getConstructorResolvers();
+        this.parser = createParser(compilerMode);
+    }
+
     @Override
     public Expression createExpression(String expression) {
-        org.springframework.expression.Expression defaultExpression = parser.parseExpression(expression);
-        EvaluationContext evaluationContext = ((SpelExpression)defaultExpression).getEvaluationContext();
-        ((StandardEvaluationContext)evaluationContext).setBeanResolver(new AppContextBeanResolver());
-        return new SpringELExpression(defaultExpression);
+        Expression cached = expressionCache.get(expression);
+        if (cached != null) {
+            return cached;
+        }
+        Expression created = new SpringELExpression(parser.parseExpression(expression), evaluationContext);
+        if (expressionCache.size() >= MAX_CACHED_EXPRESSIONS) {
+            return created;
+        }
+        cached = expressionCache.putIfAbsent(expression, created);
+        return cached != null ? cached : created;
+    }
+
+    private ExpressionParser createParser(SpelCompilerMode compilerMode) {
+        return new SpelExpressionParser(new SpelParserConfiguration(compilerMode, getClass().getClassLoader()));
+    }
+
+    public SpelCompilerMode getCompilerMode() {
+        return compilerMode;
+    }
+
+    public void setCompilerMode(SpelCompilerMode compilerMode) {
+        this.compilerMode = compilerMode;
+        this.parser = createParser(compilerMode);
+        this.expressionCache.clear();
     }
 
     @Override
@@ -59,4 +114,4 @@ public class SpringELExpressionFactory implements ExpressionFactory, Application
         }
 
     }
-}
\ No newline at end of file
+}
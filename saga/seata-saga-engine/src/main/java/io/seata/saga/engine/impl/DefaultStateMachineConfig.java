@@ -151,6 +151,8 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
             stateMachineRepository.setStateLangStore(stateLangStore);
             stateMachineRepository.setDefaultTenantId(defaultTenantId);
             stateMachineRepository.setJsonParserName(sagaJsonParser);
+            stateMachineRepository.setExpressionFactoryManager(expressionFactoryManager);
+            stateMachineRepository.setEvaluatorFactoryManager(evaluatorFactoryManager);
             this.stateMachineRepository = stateMachineRepository;
         }
         //stateMachineRepository may be overridden, so move `stateMachineRepository.registryByResources()` here.
@@ -15,8 +15,6 @@
  */
 package io.seata.saga.engine.pcext.handlers;
 
-import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 import io.seata.common.exception.FrameworkErrorCode;
@@ -28,9 +26,9 @@ import io.seata.saga.engine.exception.EngineExecutionException;
 import io.seata.saga.engine.pcext.StateHandler;
 import io.seata.saga.engine.pcext.StateInstruction;
 import io.seata.saga.engine.pcext.utils.EngineUtils;
+import io.seata.saga.engine.pcext.utils.EvaluatorUtils;
 import io.seata.saga.engine.utils.ExceptionUtils;
 import io.seata.saga.proctrl.ProcessContext;
-import io.seata.saga.statelang.domain.ChoiceState;
 import io.seata.saga.statelang.domain.DomainConstants;
 import io.seata.saga.statelang.domain.StateMachineInstance;
 import io.seata.saga.statelang.domain.impl.ChoiceStateImpl;
@@ -49,26 +47,8 @@ public class ChoiceStateHandler implements StateHandler {
         StateInstruction instruction = context.getInstruction(StateInstruction.class);
         ChoiceStateImpl choiceState = (ChoiceStateImpl)instruction.getState(context);
 
-        Map<Object, String> choiceEvaluators = choiceState.getChoiceEvaluators();
-        if (choiceEvaluators == null) {
-            synchronized (choiceState) {
-                choiceEvaluators = choiceState.getChoiceEvaluators();
-                if (choiceEvaluators == null) {
-
-                    List<ChoiceState.Choice> choices = choiceState.getChoices();
-                    if (choices == null) {
-                        choiceEvaluators = new LinkedHashMap<>(0);
-                    } else {
-                        choiceEvaluators = new LinkedHashMap<>(choices.size());
-                        for (ChoiceState.Choice choice : choices) {
-                            Evaluator evaluator = getEvaluatorFactory(context).createEvaluator(choice.getExpression());
-                            choiceEvaluators.put(evaluator, choice.getNext());
-                        }
-                    }
-                    choiceState.setChoiceEvaluators(choiceEvaluators);
-                }
-            }
-        }
+        Map<Object, String> choiceEvaluators = EvaluatorUtils.getChoiceEvaluators(getEvaluatorFactory(context),
+            choiceState);
 
         Evaluator evaluator;
         for (Map.Entry<Object, String> entry : choiceEvaluators.entrySet()) {
@@ -16,7 +16,6 @@
 package io.seata.saga.engine.pcext.interceptors;
 
 import java.util.Date;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,9 +24,6 @@ import io.seata.common.loader.LoadLevel;
 import io.seata.common.util.CollectionUtils;
 import io.seata.saga.engine.StateMachineConfig;
 import io.seata.saga.engine.evaluation.Evaluator;
-import io.seata.saga.engine.evaluation.EvaluatorFactory;
-import io.seata.saga.engine.evaluation.EvaluatorFactoryManager;
-import io.seata.saga.engine.evaluation.expression.ExpressionEvaluator;
 import io.seata.saga.engine.exception.EngineExecutionException;
 import io.seata.saga.engine.pcext.InterceptableStateHandler;
 import io.seata.saga.engine.pcext.StateHandlerInterceptor;
@@ -36,6 +32,7 @@ import io.seata.saga.engine.pcext.handlers.ServiceTaskStateHandler;
 import io.seata.saga.engine.pcext.handlers.SubStateMachineHandler;
 import io.seata.saga.engine.pcext.utils.CompensationHolder;
 import io.seata.saga.engine.pcext.utils.EngineUtils;
+import io.seata.saga.engine.pcext.utils.EvaluatorUtils;
 import io.seata.saga.engine.pcext.utils.LoopTaskUtils;
 import io.seata.saga.engine.pcext.utils.ParameterUtils;
 import io.seata.saga.engine.utils.ExceptionUtils;
@@ -309,32 +306,13 @@ public class ServiceTaskHandlerInterceptor implements StateHandlerInterceptor {
                 StateMachineConfig stateMachineConfig = (StateMachineConfig)context.getVariable(
                     DomainConstants.VAR_NAME_STATEMACHINE_CONFIG);
 
-                Map<Object, String> statusEvaluators = state.getStatusEvaluators();
-                if (statusEvaluators == null) {
-                    synchronized (state) {
-                        statusEvaluators = state.getStatusEvaluators();
-                        if (statusEvaluators == null) {
-                            statusEvaluators = new LinkedHashMap<>(statusMatchList.size());
-                            String expressionStr, statusVal;
-                            Evaluator evaluator;
-                            for (Map.Entry<String, String> entry : statusMatchList.entrySet()) {
-                                expressionStr = entry.getKey();
-                                statusVal = entry.getValue();
-                                evaluator = createEvaluator(stateMachineConfig.getEvaluatorFactoryManager(), expressionStr);
-                                if (evaluator != null) {
-                                    statusEvaluators.put(evaluator, statusVal);
-                                }
-                            }
-                        }
-                        state.setStatusEvaluators(statusEvaluators);
-                    }
-                }
+                Map<Object, String> statusEvaluators = EvaluatorUtils.getStatusEvaluators(
+                    stateMachineConfig.getEvaluatorFactoryManager(), state);
 
-                for (Object evaluatorObj : statusEvaluators.keySet()) {
-                    Evaluator evaluator = (Evaluator)evaluatorObj;
-                    String statusVal = statusEvaluators.get(evaluator);
+                for (Map.Entry<Object, String> entry : statusEvaluators.entrySet()) {
+                    Evaluator evaluator = (Evaluator)entry.getKey();
                     if (evaluator.evaluate(context.getVariables())) {
-                        stateInstance.setStatus(ExecutionStatus.valueOf(statusVal));
+                        stateInstance.setStatus(ExecutionStatus.valueOf(entry.getValue()));
                         break;
                     }
                 }
@@ -398,37 +376,4 @@ public class ServiceTaskHandlerInterceptor implements StateHandlerInterceptor {
             LOGGER.info("State[{}] finish with status[{}]", state.getName(), stateInstance.getStatus());
         }
     }
-
-    private Evaluator createEvaluator(EvaluatorFactoryManager evaluatorFactoryManager, String expressionStr) {
-        String expressionType = null;
-        String expressionContent = null;
-        Evaluator evaluator = null;
-        if (StringUtils.hasLength(expressionStr)) {
-            if (expressionStr.startsWith("$")) {
-                int expTypeStart = expressionStr.indexOf("$");
-                int expTypeEnd = expressionStr.indexOf("{", expTypeStart);
-
-                if (expTypeStart >= 0 && expTypeEnd > expTypeStart) {
-                    expressionType = expressionStr.substring(expTypeStart + 1, expTypeEnd);
-                }
-
-                int expEnd = expressionStr.lastIndexOf("}");
-                if (expTypeEnd > 0 && expEnd > expTypeEnd) {
-                    expressionContent = expressionStr.substring(expTypeEnd + 1, expEnd);
-                }
-            } else {
-                expressionContent = expressionStr;
-            }
-
-            EvaluatorFactory evaluatorFactory = evaluatorFactoryManager.getEvaluatorFactory(expressionType);
-            if (evaluatorFactory == null) {
-                throw new IllegalArgumentException("Cannot get EvaluatorFactory by Type[" + expressionType + "]");
-            }
-            evaluator = evaluatorFactory.createEvaluator(expressionContent);
-            if (evaluator instanceof ExpressionEvaluator) {
-                ((ExpressionEvaluator)evaluator).setRootObjectName(DomainConstants.VAR_NAME_OUTPUT_PARAMS);
-            }
-        }
-        return evaluator;
-    }
 }
@@ -0,0 +1,145 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.pcext.utils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.seata.common.util.CollectionUtils;
+import io.seata.saga.engine.evaluation.Evaluator;
+import io.seata.saga.engine.evaluation.EvaluatorFactory;
+import io.seata.saga.engine.evaluation.EvaluatorFactoryManager;
+import io.seata.saga.engine.evaluation.expression.ExpressionEvaluator;
+import io.seata.saga.statelang.domain.ChoiceState;
+import io.seata.saga.statelang.domain.DomainConstants;
+import io.seata.saga.statelang.domain.impl.ChoiceStateImpl;
+import io.seata.saga.statelang.domain.impl.ServiceTaskStateImpl;
+import org.springframework.util.StringUtils;
+
+/**
+ * EvaluatorUtils
+ * <p>
+ * Builds the choice and status evaluators of a state once and caches them on the state,
+ * so they can be prepared when the state machine is registered instead of on first execution.
+ *
+ * @author hongyan
+ */
+public class EvaluatorUtils {
+
+    private EvaluatorUtils() {
+    }
+
+    /**
+     * get the choice evaluators of the choice state, key: evaluator, value: next state name
+     *
+     * @param evaluatorFactory the default evaluator factory
+     * @param choiceState the choice state
+     * @return the choice evaluators
+     */
+    public static Map<Object, String> getChoiceEvaluators(EvaluatorFactory evaluatorFactory,
+                                                          ChoiceStateImpl choiceState) {
+        Map<Object, String> choiceEvaluators = choiceState.getChoiceEvaluators();
+        if (choiceEvaluators == null) {
+            synchronized (choiceState) {
+                choiceEvaluators = choiceState.getChoiceEvaluators();
+                if (choiceEvaluators == null) {
+
+                    List<ChoiceState.Choice> choices = choiceState.getChoices();
+                    if (choices == null) {
+                        choiceEvaluators = new LinkedHashMap<>(0);
+                    } else {
+                        choiceEvaluators = new LinkedHashMap<>(choices.size());
+                        for (ChoiceState.Choice choice : choices) {
+                            Evaluator evaluator = evaluatorFactory.createEvaluator(choice.getExpression());
+                            choiceEvaluators.put(evaluator, choice.getNext());
+                        }
+                    }
+                    choiceState.setChoiceEvaluators(choiceEvaluators);
+                }
+            }
+        }
+        return choiceEvaluators;
+    }
+
+    /**
+     * get the status evaluators of the service task state, key: evaluator, value: execution status
+     *
+     * @param evaluatorFactoryManager the evaluator factory manager
+     * @param state the service task state
+     * @return the status evaluators
+     */
+    public static Map<Object, String> getStatusEvaluators(EvaluatorFactoryManager evaluatorFactoryManager,
+                                                          ServiceTaskStateImpl state) {
+        Map<Object, String> statusEvaluators = state.getStatusEvaluators();
+        if (statusEvaluators == null) {
+            synchronized (state) {
+                statusEvaluators = state.getStatusEvaluators();
+                if (statusEvaluators == null) {
+                    Map<String, String> statusMatchList = state.getStatus();
+                    if (CollectionUtils.isEmpty(statusMatchList)) {
+                        statusEvaluators = new LinkedHashMap<>(0);
+                    } else {
+                        statusEvaluators = new LinkedHashMap<>(statusMatchList.size());
+                        Evaluator evaluator;
+                        for (Map.Entry<String, String> entry : statusMatchList.entrySet()) {
+                            evaluator = createStatusEvaluator(evaluatorFactoryManager, entry.getKey());
+                            if (evaluator != null) {
+                                statusEvaluators.put(evaluator, entry.getValue());
+                            }
+                        }
+                    }
+                    state.setStatusEvaluators(statusEvaluators);
+                }
+            }
+        }
+        return statusEvaluators;
+    }
+
+    private static Evaluator createStatusEvaluator(EvaluatorFactoryManager evaluatorFactoryManager,
+                                                   String expressionStr) {
+        String expressionType = null;
+        String expressionContent = null;
+        Evaluator evaluator = null;
+        if (StringUtils.hasLength(expressionStr)) {
+            if (expressionStr.startsWith("$")) {
+                int expTypeStart = expressionStr.indexOf("$");
+                int expTypeEnd = expressionStr.indexOf("{", expTypeStart);
+
+                if (expTypeStart >= 0 && expTypeEnd > expTypeStart) {
+                    expressionType = expressionStr.substring(expTypeStart + 1, expTypeEnd);
+                }
+
+                int expEnd = expressionStr.lastIndexOf("}");
+                if (expTypeEnd > 0 && expEnd > expTypeEnd) {
+                    expressionContent = expressionStr.substring(expTypeEnd + 1, expEnd);
+                }
+            } else {
+                expressionContent = expressionStr;
+            }
+
+            EvaluatorFactory evaluatorFactory = evaluatorFactoryManager.getEvaluatorFactory(expressionType);
+            if (evaluatorFactory == null) {
+                throw new IllegalArgumentException("Cannot get EvaluatorFactory by Type[" + expressionType + "]");
+            }
+            evaluator = evaluatorFactory.createEvaluator(expressionContent);
+            if (evaluator instanceof ExpressionEvaluator) {
+                ((ExpressionEvaluator)evaluator).setRootObjectName(DomainConstants.VAR_NAME_OUTPUT_PARAMS);
+            }
+        }
+        return evaluator;
+    }
+}
@@ -41,24 +41,11 @@ public class ParameterUtils {
     public static List<Object> createInputParams(ExpressionFactoryManager expressionFactoryManager,
                                                  StateInstanceImpl stateInstance,
                                                  AbstractTaskState serviceTaskState, Object variablesFrom) {
-        List<Object> inputAssignments = serviceTaskState.getInput();
-        if (CollectionUtils.isEmpty(inputAssignments)) {
+        if (CollectionUtils.isEmpty(serviceTaskState.getInput())) {
             return new ArrayList<>(0);
         }
 
-        List<Object> inputExpressions = serviceTaskState.getInputExpressions();
-        if (inputExpressions == null) {
-            synchronized (serviceTaskState) {
-                inputExpressions = serviceTaskState.getInputExpressions();
-                if (inputExpressions == null) {
-                    inputExpressions = new ArrayList<>(inputAssignments.size());
-                    for (Object inputAssignment : inputAssignments) {
-                        inputExpressions.add(createValueExpression(expressionFactoryManager, inputAssignment));
-                    }
-                }
-                serviceTaskState.setInputExpressions(inputExpressions);
-            }
-        }
+        List<Object> inputExpressions = getInputExpressions(expressionFactoryManager, serviceTaskState);
         List<Object> inputValues = new ArrayList<>(inputExpressions.size());
         for (Object valueExpression : inputExpressions) {
             Object value = getValue(valueExpression, variablesFrom, stateInstance);
@@ -70,30 +57,77 @@ public class ParameterUtils {
 
     public static Map<String, Object> createOutputParams(ExpressionFactoryManager expressionFactoryManager,
                                                          AbstractTaskState serviceTaskState, Object variablesFrom) {
-        Map<String, Object> outputAssignments = serviceTaskState.getOutput();
-        if (CollectionUtils.isEmpty(outputAssignments)) {
+        if (CollectionUtils.isEmpty(serviceTaskState.getOutput())) {
             return new LinkedHashMap<>(0);
         }
 
+        Map<String, Object> outputExpressions = getOutputExpressions(expressionFactoryManager, serviceTaskState);
+        Map<String, Object> outputValues = new LinkedHashMap<>(outputExpressions.size());
+        for (Map.Entry<String, Object> entry : outputExpressions.entrySet()) {
+            outputValues.put(entry.getKey(), getValue(entry.getValue(), variablesFrom, null));
+        }
+        return outputValues;
+    }
+
+    /**
+     * get the parsed input expressions of the task state, they are created once and cached on the state
+     *
+     * @param expressionFactoryManager the expression factory manager
+     * @param serviceTaskState the task state
+     * @return the input expressions
+     */
+    public static List<Object> getInputExpressions(ExpressionFactoryManager expressionFactoryManager,
+                                                   AbstractTaskState serviceTaskState) {
+        List<Object> inputExpressions = serviceTaskState.getInputExpressions();
+        if (inputExpressions == null) {
+            synchronized (serviceTaskState) {
+                inputExpressions = serviceTaskState.getInputExpressions();
+                if (inputExpressions == null) {
+                    List<Object> inputAssignments = serviceTaskState.getInput();
+                    if (CollectionUtils.isEmpty(inputAssignments)) {
+                        inputExpressions = new ArrayList<>(0);
+                    } else {
+                        inputExpressions = new ArrayList<>(inputAssignments.size());
+                        for (Object inputAssignment : inputAssignments) {
+                            inputExpressions.add(createValueExpression(expressionFactoryManager, inputAssignment));
+                        }
+                    }
+                    serviceTaskState.setInputExpressions(inputExpressions);
+                }
+            }
+        }
+        return inputExpressions;
+    }
+
+    /**
+     * get the parsed output expressions of the task state, they are created once and cached on the state
+     *
+     * @param expressionFactoryManager the expression factory manager
+     * @param serviceTaskState the task state
+     * @return the output expressions
+     */
+    public static Map<String, Object> getOutputExpressions(ExpressionFactoryManager expressionFactoryManager,
+                                                           AbstractTaskState serviceTaskState) {
         Map<String, Object> outputExpressions = serviceTaskState.getOutputExpressions();
         if (outputExpressions == null) {
             synchronized (serviceTaskState) {
                 outputExpressions = serviceTaskState.getOutputExpressions();
                 if (outputExpressions == null) {
-                    outputExpressions = new LinkedHashMap<>(outputAssignments.size());
-                    for (Map.Entry<String, Object> entry : outputAssignments.entrySet()) {
-                        outputExpressions.put(entry.getKey(),
+                    Map<String, Object> outputAssignments = serviceTaskState.getOutput();
+                    if (CollectionUtils.isEmpty(outputAssignments)) {
+                        outputExpressions = new LinkedHashMap<>(0);
+                    } else {
+                        outputExpressions = new LinkedHashMap<>(outputAssignments.size());
+                        for (Map.Entry<String, Object> entry : outputAssignments.entrySet()) {
+                            outputExpressions.put(entry.getKey(),
                                 createValueExpression(expressionFactoryManager, entry.getValue()));
+                        }
                     }
+                    serviceTaskState.setOutputExpressions(outputExpressions);
                 }
-                serviceTaskState.setOutputExpressions(outputExpressions);
             }
         }
-        Map<String, Object> outputValues = new LinkedHashMap<>(outputExpressions.size());
-        for (String paramName : outputExpressions.keySet()) {
-            outputValues.put(paramName, getValue(outputExpressions.get(paramName), variablesFrom, null));
-        }
-        return outputValues;
+        return outputExpressions;
     }
 
     public static Object getValue(Object valueExpression, Object variablesFrom, StateInstance stateInstance) {
@@ -25,12 +25,21 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.StringUtils;
+import io.seata.saga.engine.evaluation.EvaluatorFactory;
+import io.seata.saga.engine.evaluation.EvaluatorFactoryManager;
+import io.seata.saga.engine.expression.ExpressionFactoryManager;
+import io.seata.saga.engine.pcext.utils.EvaluatorUtils;
+import io.seata.saga.engine.pcext.utils.ParameterUtils;
 import io.seata.saga.engine.repo.StateMachineRepository;
 import io.seata.saga.engine.sequence.SeqGenerator;
 import io.seata.saga.engine.sequence.SpringJvmUUIDSeqGenerator;
 import io.seata.saga.engine.store.StateLangStore;
 import io.seata.saga.statelang.domain.DomainConstants;
+import io.seata.saga.statelang.domain.State;
 import io.seata.saga.statelang.domain.StateMachine;
+import io.seata.saga.statelang.domain.impl.AbstractTaskState;
+import io.seata.saga.statelang.domain.impl.ChoiceStateImpl;
+import io.seata.saga.statelang.domain.impl.ServiceTaskStateImpl;
 import io.seata.saga.statelang.parser.StateMachineParserFactory;
 import io.seata.saga.statelang.parser.utils.IOUtils;
 import org.slf4j.Logger;
@@ -52,6 +61,8 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
     private String charset = "UTF-8";
     private String defaultTenantId;
     private String jsonParserName = DomainConstants.DEFAULT_JSON_PARSER;
+    private ExpressionFactoryManager expressionFactoryManager;
+    private EvaluatorFactoryManager evaluatorFactoryManager;
 
     @Override
     public StateMachine getStateMachineById(String stateMachineId) {
@@ -71,6 +82,8 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
                         }
                         stateMachine.setStartState(parsedStatMachine.getStartState());
                         stateMachine.getStates().putAll(parsedStatMachine.getStates());
+                        stateMachine.setParamsSerializer(parsedStatMachine.getParamsSerializer());
+                        prepareExpressions(stateMachine);
                         item.setValue(stateMachine);
                         stateMachineMapById.put(stateMachine.getName() + "_" + stateMachine.getTenantId(),
                             item);
@@ -99,6 +112,8 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
                         }
                         stateMachine.setStartState(parsedStatMachine.getStartState());
                         stateMachine.getStates().putAll(parsedStatMachine.getStates());
+                        stateMachine.setParamsSerializer(parsedStatMachine.getParamsSerializer());
+                        prepareExpressions(stateMachine);
                         item.setValue(stateMachine);
                         stateMachineMapById.put(stateMachine.getId(), item);
                     }
@@ -120,6 +135,8 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
         String stateMachineName = stateMachine.getName();
         String tenantId = stateMachine.getTenantId();
 
+        prepareExpressions(stateMachine);
+
         if (stateLangStore != null) {
             StateMachine oldStateMachine = stateLangStore.getLastVersionStateMachine(stateMachineName, tenantId);
 
@@ -186,6 +203,39 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
         }
     }
 
+    /**
+     * Parse the input/output, choice and status expressions of all states once, when the state machine
+     * is registered or loaded, so that they are not parsed on the first execution of each state.
+     * The parsed expressions are cached on the state definitions and shared by all instances.
+     *
+     * @param stateMachine the state machine
+     */
+    protected void prepareExpressions(StateMachine stateMachine) {
+        if (expressionFactoryManager == null || evaluatorFactoryManager == null
+            || CollectionUtils.isEmpty(stateMachine.getStates())) {
+            return;
+        }
+        EvaluatorFactory defaultEvaluatorFactory = evaluatorFactoryManager.getEvaluatorFactory(
+            EvaluatorFactoryManager.EVALUATOR_TYPE_DEFAULT);
+        for (State state : stateMachine.getStates().values()) {
+            try {
+                if (state instanceof AbstractTaskState) {
+                    ParameterUtils.getInputExpressions(expressionFactoryManager, (AbstractTaskState)state);
+                    ParameterUtils.getOutputExpressions(expressionFactoryManager, (AbstractTaskState)state);
+                }
+                if (state instanceof ServiceTaskStateImpl) {
+                    EvaluatorUtils.getStatusEvaluators(evaluatorFactoryManager, (ServiceTaskStateImpl)state);
+                } else if (state instanceof ChoiceStateImpl && defaultEvaluatorFactory != null) {
+                    EvaluatorUtils.getChoiceEvaluators(defaultEvaluatorFactory, (ChoiceStateImpl)state);
+                }
+            } catch (RuntimeException e) {
+                // keep the lazy behavior, the error will be raised again when the state is executed
+                LOGGER.warn("Prepare expressions of state [{}] in StateMachine [{}] failed: {}", state.getName(),
+                    stateMachine.getName(), e.getMessage());
+            }
+        }
+    }
+
     public void setStateLangStore(StateLangStore stateLangStore) {
         this.stateLangStore = stateLangStore;
     }
@@ -218,6 +268,22 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
         this.jsonParserName = jsonParserName;
     }
 
+    public ExpressionFactoryManager getExpressionFactoryManager() {
+        return expressionFactoryManager;
+    }
+
+    public void setExpressionFactoryManager(ExpressionFactoryManager expressionFactoryManager) {
+        this.expressionFactoryManager = expressionFactoryManager;
+    }
+
+    public EvaluatorFactoryManager getEvaluatorFactoryManager() {
+        return evaluatorFactoryManager;
+    }
+
+    public void setEvaluatorFactoryManager(EvaluatorFactoryManager evaluatorFactoryManager) {
+        this.evaluatorFactoryManager = evaluatorFactoryManager;
+    }
+
     private static class Item {
 
         private StateMachine value;
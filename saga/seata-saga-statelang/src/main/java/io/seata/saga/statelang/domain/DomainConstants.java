@@ -96,4 +96,6 @@ public interface DomainConstants {
     String SEPERATOR_PARENT_ID      = ":";
 
     String DEFAULT_JSON_PARSER      = "fastjson";
+
+    String PARAMS_SERIALIZER_JSON   = "json";
 }
\ No newline at end of file
@@ -156,6 +156,23 @@ public interface StateMachine {
      */
     Boolean isCompensatePersistModeUpdate();
 
+    /**
+     * Name of the serializer used to persist the params of this state machine, default json
+     *
+     * @return the params serializer name
+     */
+    default String getParamsSerializer() {
+        return DomainConstants.PARAMS_SERIALIZER_JSON;
+    }
+
+    /**
+     * Set the name of the params serializer, ignored by state machines which only support json
+     *
+     * @param paramsSerializer the params serializer name
+     */
+    default void setParamsSerializer(String paramsSerializer) {
+    }
+
     /**
      * State language text
      *
@@ -16,6 +16,7 @@
 package io.seata.saga.statelang.domain.impl;
 
 import java.util.Date;
+import java.util.function.Function;
 
 import io.seata.common.util.StringUtils;
 import io.seata.saga.statelang.domain.ExecutionStatus;
@@ -43,9 +44,9 @@ public class StateInstanceImpl implements StateInstance {
     private boolean isForUpdate;
     private Exception exception;
     private Object serializedException;
-    private Object inputParams;
+    private volatile Object inputParams;
     private Object serializedInputParams;
-    private Object outputParams;
+    private volatile Object outputParams;
     private Object serializedOutputParams;
     private ExecutionStatus status;
     private String stateIdCompensatedFor;
@@ -53,6 +54,9 @@ public class StateInstanceImpl implements StateInstance {
     private StateInstance compensationState;
     private StateMachineInstance stateMachineInstance;
     private boolean ignoreStatus;
+    private transient Function<Object, Object> paramsDeserializer;
+    private transient volatile boolean inputParamsDeserialized = true;
+    private transient volatile boolean outputParamsDeserialized = true;
 
     @Override
     public String getId() {
@@ -206,22 +210,52 @@ public class StateInstanceImpl implements StateInstance {
 
     @Override
     public Object getInputParams() {
+        if (!inputParamsDeserialized) {
+            synchronized (this) {
+                if (!inputParamsDeserialized) {
+                    inputParams = paramsDeserializer.apply(serializedInputParams);
+                    inputParamsDeserialized = true;
+                }
+            }
+        }
         return inputParams;
     }
 
     @Override
-    public void setInputParams(Object inputParams) {
+    public synchronized void setInputParams(Object inputParams) {
         this.inputParams = inputParams;
+        this.inputParamsDeserialized = true;
     }
 
     @Override
     public Object getOutputParams() {
+        if (!outputParamsDeserialized) {
+            synchronized (this) {
+                if (!outputParamsDeserialized) {
+                    outputParams = paramsDeserializer.apply(serializedOutputParams);
+                    outputParamsDeserialized = true;
+                }
+            }
+        }
         return outputParams;
     }
 
     @Override
-    public void setOutputParams(Object outputParams) {
+    public synchronized void setOutputParams(Object outputParams) {
         this.outputParams = outputParams;
+        this.outputParamsDeserialized = true;
+    }
+
+    /**
+     * Deserialize the serialized input and output params on the first access of the params,
+     * the params of a loaded state instance are often never used during recovery
+     *
+     * @param paramsDeserializer the params deserializer
+     */
+    public synchronized void lazyDeserializeParams(Function<Object, Object> paramsDeserializer) {
+        this.paramsDeserializer = paramsDeserializer;
+        this.inputParamsDeserialized = serializedInputParams == null;
+        this.outputParamsDeserialized = serializedOutputParams == null;
     }
 
     @Override
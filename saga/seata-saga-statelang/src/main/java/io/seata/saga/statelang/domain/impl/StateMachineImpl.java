@@ -42,6 +42,7 @@ public class StateMachineImpl implements StateMachine {
     private boolean isPersist = true;
     private Boolean retryPersistModeUpdate;
     private Boolean compensatePersistModeUpdate;
+    private String paramsSerializer;
     private String type = "STATE_LANG";
     private transient String content;
     private Date gmtCreate;
@@ -209,4 +210,14 @@ public class StateMachineImpl implements StateMachine {
     public void setCompensatePersistModeUpdate(Boolean compensatePersistModeUpdate) {
         this.compensatePersistModeUpdate = compensatePersistModeUpdate;
     }
-}
\ No newline at end of file
+
+    @Override
+    public String getParamsSerializer() {
+        return paramsSerializer;
+    }
+
+    @Override
+    public void setParamsSerializer(String paramsSerializer) {
+        this.paramsSerializer = paramsSerializer;
+    }
+}
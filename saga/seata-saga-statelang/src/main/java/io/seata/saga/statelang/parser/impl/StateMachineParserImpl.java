@@ -91,6 +91,9 @@ public class StateMachineParserImpl implements StateMachineParser {
             stateMachine.setCompensatePersistModeUpdate(Boolean.TRUE.equals(isCompensatePersistModeUpdate));
         }
 
+        // customize the serializer of state params, default json
+        stateMachine.setParamsSerializer((String) node.get("ParamsSerializer"));
+
         Map<String, Object> statesNode = (Map<String, Object>) node.get("States");
         statesNode.forEach((stateName, value) -> {
             Map<String, Object> stateNode = (Map<String, Object>) value;
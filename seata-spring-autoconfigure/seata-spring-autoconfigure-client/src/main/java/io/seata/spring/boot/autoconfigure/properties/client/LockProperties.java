@@ -18,9 +18,11 @@ package io.seata.spring.boot.autoconfigure.properties.client;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_ESCALATION_THRESHOLD;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_INTERVAL;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_TIMES;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_STRUCTURED_LOCK_KEY;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.LOCK_PREFIX;
 
 /**
@@ -32,6 +34,8 @@ public class LockProperties {
     private int retryInterval = DEFAULT_CLIENT_LOCK_RETRY_INTERVAL;
     private int retryTimes = DEFAULT_CLIENT_LOCK_RETRY_TIMES;
     private boolean retryPolicyBranchRollbackOnConflict = DEFAULT_CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT;
+    private boolean structuredLockKey = DEFAULT_CLIENT_LOCK_STRUCTURED_LOCK_KEY;
+    private int escalationThreshold = DEFAULT_CLIENT_LOCK_ESCALATION_THRESHOLD;
 
     public int getRetryInterval() {
         return retryInterval;
@@ -59,4 +63,22 @@ public class LockProperties {
         this.retryPolicyBranchRollbackOnConflict = retryPolicyBranchRollbackOnConflict;
         return this;
     }
+
+    public boolean isStructuredLockKey() {
+        return structuredLockKey;
+    }
+
+    public LockProperties setStructuredLockKey(boolean structuredLockKey) {
+        this.structuredLockKey = structuredLockKey;
+        return this;
+    }
+
+    public int getEscalationThreshold() {
+        return escalationThreshold;
+    }
+
+    public LockProperties setEscalationThreshold(int escalationThreshold) {
+        this.escalationThreshold = escalationThreshold;
+        return this;
+    }
 }
@@ -70,6 +70,8 @@ public interface StarterConstants {
     String SERVER_PREFIX = SEATA_PREFIX + ".server";
     String SERVER_UNDO_PREFIX = SERVER_PREFIX + ".undo";
     String SERVER_RECOVERY_PREFIX = SERVER_PREFIX + ".recovery";
+    String SERVER_AUDIT_PREFIX = SERVER_PREFIX + ".audit";
+    String SERVER_EXECUTOR_PREFIX = SERVER_PREFIX + ".executor";
 
     String METRICS_PREFIX = SEATA_PREFIX + ".metrics";
 
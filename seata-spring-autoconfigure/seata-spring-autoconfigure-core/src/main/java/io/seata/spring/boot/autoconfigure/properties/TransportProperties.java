@@ -25,7 +25,13 @@ import static io.seata.common.DefaultValues.DEFAULT_ENABLE_TM_CLIENT_BATCH_SEND_
 import static io.seata.common.DefaultValues.DEFAULT_RPC_RM_REQUEST_TIMEOUT;
 import static io.seata.common.DefaultValues.DEFAULT_RPC_TC_REQUEST_TIMEOUT;
 import static io.seata.common.DefaultValues.DEFAULT_RPC_TM_REQUEST_TIMEOUT;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_BUSY_POLL_MICROS;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_CONNECTIONS_PER_SERVER;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_DOMAIN_SOCKET_PATH;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_ENABLE_HEAD_DICTIONARY;
 import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_HEARTBEAT;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_MAX_PENDING_WRITES;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSPORT_SERVER_REUSE_PORT;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.TRANSPORT_PREFIX;
 
 /**
@@ -90,6 +96,36 @@ public class TransportProperties {
      */
     private long rpcTcRequestTimeout = DEFAULT_RPC_TC_REQUEST_TIMEOUT;
 
+    /**
+     * max writes queued on a not writable channel before async sends are rejected
+     */
+    private int maxPendingWrites = DEFAULT_TRANSPORT_MAX_PENDING_WRITES;
+
+    /**
+     * channels connected to each server by a client
+     */
+    private int connectionsPerServer = DEFAULT_TRANSPORT_CONNECTIONS_PER_SERVER;
+
+    /**
+     * socket file of the unix domain socket transport
+     */
+    private String domainSocketPath = DEFAULT_TRANSPORT_DOMAIN_SOCKET_PATH;
+
+    /**
+     * busy poll microseconds of the native epoll transport, 0 to disable
+     */
+    private int busyPollMicros = DEFAULT_TRANSPORT_BUSY_POLL_MICROS;
+
+    /**
+     * bind one listening socket per boss thread with SO_REUSEPORT on the native epoll transport
+     */
+    private boolean serverReusePort = DEFAULT_TRANSPORT_SERVER_REUSE_PORT;
+
+    /**
+     * send repeated head map entries as references to a per connection dictionary
+     */
+    private boolean enableHeadDictionary = DEFAULT_TRANSPORT_ENABLE_HEAD_DICTIONARY;
+
 
     public String getType() {
         return type;
@@ -194,4 +230,52 @@ public class TransportProperties {
     public void setRpcTcRequestTimeout(long rpcTcRequestTimeout) {
         this.rpcTcRequestTimeout = rpcTcRequestTimeout;
     }
+
+    public int getMaxPendingWrites() {
+        return maxPendingWrites;
+    }
+
+    public void setMaxPendingWrites(int maxPendingWrites) {
+        this.maxPendingWrites = maxPendingWrites;
+    }
+
+    public int getConnectionsPerServer() {
+        return connectionsPerServer;
+    }
+
+    public void setConnectionsPerServer(int connectionsPerServer) {
+        this.connectionsPerServer = connectionsPerServer;
+    }
+
+    public String getDomainSocketPath() {
+        return domainSocketPath;
+    }
+
+    public void setDomainSocketPath(String domainSocketPath) {
+        this.domainSocketPath = domainSocketPath;
+    }
+
+    public int getBusyPollMicros() {
+        return busyPollMicros;
+    }
+
+    public void setBusyPollMicros(int busyPollMicros) {
+        this.busyPollMicros = busyPollMicros;
+    }
+
+    public boolean isServerReusePort() {
+        return serverReusePort;
+    }
+
+    public void setServerReusePort(boolean serverReusePort) {
+        this.serverReusePort = serverReusePort;
+    }
+
+    public boolean isEnableHeadDictionary() {
+        return enableHeadDictionary;
+    }
+
+    public void setEnableHeadDictionary(boolean enableHeadDictionary) {
+        this.enableHeadDictionary = enableHeadDictionary;
+    }
 }
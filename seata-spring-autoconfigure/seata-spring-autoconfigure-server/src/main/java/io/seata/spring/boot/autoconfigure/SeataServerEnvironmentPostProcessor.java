@@ -17,6 +17,8 @@ package io.seata.spring.boot.autoconfigure;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 import io.seata.spring.boot.autoconfigure.properties.server.MetricsProperties;
+import io.seata.spring.boot.autoconfigure.properties.server.ServerAuditProperties;
+import io.seata.spring.boot.autoconfigure.properties.server.ServerExecutorProperties;
 import io.seata.spring.boot.autoconfigure.properties.server.ServerProperties;
 import io.seata.spring.boot.autoconfigure.properties.server.ServerRecoveryProperties;
 import io.seata.spring.boot.autoconfigure.properties.server.ServerUndoProperties;
@@ -32,6 +34,8 @@ import org.springframework.core.env.ConfigurableEnvironment;
 
 import static io.seata.spring.boot.autoconfigure.StarterConstants.METRICS_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.PROPERTY_BEAN_MAP;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_AUDIT_PREFIX;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_EXECUTOR_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_RECOVERY_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_UNDO_PREFIX;
@@ -68,6 +72,8 @@ public class SeataServerEnvironmentPostProcessor implements EnvironmentPostProce
             PROPERTY_BEAN_MAP.put(SERVER_PREFIX, ServerProperties.class);
             PROPERTY_BEAN_MAP.put(SERVER_UNDO_PREFIX, ServerUndoProperties.class);
             PROPERTY_BEAN_MAP.put(SERVER_RECOVERY_PREFIX, ServerRecoveryProperties.class);
+            PROPERTY_BEAN_MAP.put(SERVER_AUDIT_PREFIX, ServerAuditProperties.class);
+            PROPERTY_BEAN_MAP.put(SERVER_EXECUTOR_PREFIX, ServerExecutorProperties.class);
             PROPERTY_BEAN_MAP.put(METRICS_PREFIX, MetricsProperties.class);
             PROPERTY_BEAN_MAP.put(STORE_PREFIX, StoreProperties.class);
             PROPERTY_BEAN_MAP.put(STORE_SESSION_PREFIX, StoreProperties.Session.class);
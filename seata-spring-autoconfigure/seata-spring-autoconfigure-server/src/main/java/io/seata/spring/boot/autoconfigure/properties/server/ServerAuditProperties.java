@@ -0,0 +1,73 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.boot.autoconfigure.properties.server;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_AUDIT_BUFFER_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_AUDIT_ENABLED;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_AUDIT_SAMPLE_RATE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_AUDIT_SINK;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_AUDIT_PREFIX;
+
+/**
+ * @author hongyan
+ */
+@Component
+@ConfigurationProperties(prefix = SERVER_AUDIT_PREFIX)
+public class ServerAuditProperties {
+    private boolean enabled = DEFAULT_SERVER_AUDIT_ENABLED;
+    private double sampleRate = DEFAULT_SERVER_AUDIT_SAMPLE_RATE;
+    private int bufferSize = DEFAULT_SERVER_AUDIT_BUFFER_SIZE;
+    private String sink = DEFAULT_SERVER_AUDIT_SINK;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ServerAuditProperties setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public ServerAuditProperties setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+        return this;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public ServerAuditProperties setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    public String getSink() {
+        return sink;
+    }
+
+    public ServerAuditProperties setSink(String sink) {
+        this.sink = sink;
+        return this;
+    }
+}
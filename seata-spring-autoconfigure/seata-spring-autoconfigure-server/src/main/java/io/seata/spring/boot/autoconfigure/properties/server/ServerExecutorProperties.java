@@ -0,0 +1,128 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.boot.autoconfigure.properties.server;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EXECUTOR_ENABLED;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EXECUTOR_GLOBAL_TX_POOL_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EXECUTOR_GLOBAL_TX_QUEUE_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EXECUTOR_BRANCH_POOL_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EXECUTOR_BRANCH_QUEUE_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EXECUTOR_LOCK_QUERY_POOL_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EXECUTOR_LOCK_QUERY_QUEUE_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EXECUTOR_STATUS_POOL_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EXECUTOR_STATUS_QUEUE_SIZE;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_EXECUTOR_PREFIX;
+
+/**
+ * @author hongyan
+ */
+@Component
+@ConfigurationProperties(prefix = SERVER_EXECUTOR_PREFIX)
+public class ServerExecutorProperties {
+    private boolean enabled = DEFAULT_SERVER_EXECUTOR_ENABLED;
+    private int globalTxPoolSize = DEFAULT_SERVER_EXECUTOR_GLOBAL_TX_POOL_SIZE;
+    private int globalTxQueueSize = DEFAULT_SERVER_EXECUTOR_GLOBAL_TX_QUEUE_SIZE;
+    private int branchPoolSize = DEFAULT_SERVER_EXECUTOR_BRANCH_POOL_SIZE;
+    private int branchQueueSize = DEFAULT_SERVER_EXECUTOR_BRANCH_QUEUE_SIZE;
+    private int lockQueryPoolSize = DEFAULT_SERVER_EXECUTOR_LOCK_QUERY_POOL_SIZE;
+    private int lockQueryQueueSize = DEFAULT_SERVER_EXECUTOR_LOCK_QUERY_QUEUE_SIZE;
+    private int statusPoolSize = DEFAULT_SERVER_EXECUTOR_STATUS_POOL_SIZE;
+    private int statusQueueSize = DEFAULT_SERVER_EXECUTOR_STATUS_QUEUE_SIZE;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ServerExecutorProperties setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public int getGlobalTxPoolSize() {
+        return globalTxPoolSize;
+    }
+
+    public ServerExecutorProperties setGlobalTxPoolSize(int globalTxPoolSize) {
+        this.globalTxPoolSize = globalTxPoolSize;
+        return this;
+    }
+
+    public int getGlobalTxQueueSize() {
+        return globalTxQueueSize;
+    }
+
+    public ServerExecutorProperties setGlobalTxQueueSize(int globalTxQueueSize) {
+        this.globalTxQueueSize = globalTxQueueSize;
+        return this;
+    }
+
+    public int getBranchPoolSize() {
+        return branchPoolSize;
+    }
+
+    public ServerExecutorProperties setBranchPoolSize(int branchPoolSize) {
+        this.branchPoolSize = branchPoolSize;
+        return this;
+    }
+
+    public int getBranchQueueSize() {
+        return branchQueueSize;
+    }
+
+    public ServerExecutorProperties setBranchQueueSize(int branchQueueSize) {
+        this.branchQueueSize = branchQueueSize;
+        return this;
+    }
+
+    public int getLockQueryPoolSize() {
+        return lockQueryPoolSize;
+    }
+
+    public ServerExecutorProperties setLockQueryPoolSize(int lockQueryPoolSize) {
+        this.lockQueryPoolSize = lockQueryPoolSize;
+        return this;
+    }
+
+    public int getLockQueryQueueSize() {
+        return lockQueryQueueSize;
+    }
+
+    public ServerExecutorProperties setLockQueryQueueSize(int lockQueryQueueSize) {
+        this.lockQueryQueueSize = lockQueryQueueSize;
+        return this;
+    }
+
+    public int getStatusPoolSize() {
+        return statusPoolSize;
+    }
+
+    public ServerExecutorProperties setStatusPoolSize(int statusPoolSize) {
+        this.statusPoolSize = statusPoolSize;
+        return this;
+    }
+
+    public int getStatusQueueSize() {
+        return statusQueueSize;
+    }
+
+    public ServerExecutorProperties setStatusQueueSize(int statusQueueSize) {
+        this.statusQueueSize = statusQueueSize;
+        return this;
+    }
+}
@@ -34,6 +34,8 @@ public class ServerProperties {
     private Boolean rollbackRetryTimeoutUnlockEnable = false;
     private Boolean enableCheckAuth = true;
     private Boolean enableParallelRequestHandle = false;
+    private Integer parallelRequestHandleThreads = 16;
+    private Integer parallelRequestHandleQueueSize = 2048;
     private Integer retryDeadThreshold = 130000;
     private Integer servicePort;
     private Integer xaerNotaRetryTimeout = 60000;
@@ -107,4 +109,20 @@ public class ServerProperties {
     public void setEnableParallelRequestHandle(Boolean enableParallelRequestHandle) {
         this.enableParallelRequestHandle = enableParallelRequestHandle;
     }
+
+    public Integer getParallelRequestHandleThreads() {
+        return parallelRequestHandleThreads;
+    }
+
+    public void setParallelRequestHandleThreads(Integer parallelRequestHandleThreads) {
+        this.parallelRequestHandleThreads = parallelRequestHandleThreads;
+    }
+
+    public Integer getParallelRequestHandleQueueSize() {
+        return parallelRequestHandleQueueSize;
+    }
+
+    public void setParallelRequestHandleQueueSize(Integer parallelRequestHandleQueueSize) {
+        this.parallelRequestHandleQueueSize = parallelRequestHandleQueueSize;
+    }
 }
@@ -20,6 +20,7 @@ import org.springframework.stereotype.Component;
 
 import static io.seata.common.DefaultValues.DEFAULT_ASYNC_COMMITTING_RETRY_PERIOD;
 import static io.seata.common.DefaultValues.DEFAULT_COMMITING_RETRY_PERIOD;
+import static io.seata.common.DefaultValues.DEFAULT_RECOVERY_SHARD_COUNT;
 import static io.seata.common.DefaultValues.DEFAULT_ROLLBACKING_RETRY_PERIOD;
 import static io.seata.common.DefaultValues.DEFAULT_TIMEOUT_RETRY_PERIOD;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_RECOVERY_PREFIX;
@@ -35,6 +36,7 @@ public class ServerRecoveryProperties {
     private int asyncCommittingRetryPeriod = DEFAULT_ASYNC_COMMITTING_RETRY_PERIOD;
     private int rollbackingRetryPeriod = DEFAULT_ROLLBACKING_RETRY_PERIOD;
     private int timeoutRetryPeriod = DEFAULT_TIMEOUT_RETRY_PERIOD;
+    private int shardCount = DEFAULT_RECOVERY_SHARD_COUNT;
 
     public int getCommittingRetryPeriod() {
         return committingRetryPeriod;
@@ -71,4 +73,13 @@ public class ServerRecoveryProperties {
         this.timeoutRetryPeriod = timeoutRetryPeriod;
         return this;
     }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public ServerRecoveryProperties setShardCount(int shardCount) {
+        this.shardCount = shardCount;
+        return this;
+    }
 }
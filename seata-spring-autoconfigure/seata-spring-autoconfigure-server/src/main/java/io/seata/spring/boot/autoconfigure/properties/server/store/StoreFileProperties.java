@@ -19,6 +19,9 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import static io.seata.common.DefaultValues.DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_STORE_FILE_SESSION_SPILL_ENABLED;
+import static io.seata.common.DefaultValues.DEFAULT_STORE_FILE_SESSION_SPILL_IDLE_TIME;
+import static io.seata.common.DefaultValues.DEFAULT_STORE_FILE_SESSION_SPILL_READ_SIZE;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.STORE_FILE_PREFIX;
 
 /**
@@ -33,6 +36,9 @@ public class StoreFileProperties {
     private Integer fileWriteBufferCacheSize = 16384;
     private Integer sessionReloadReadSize = DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE;
     private String flushDiskMode = "async";
+    private Boolean sessionSpillEnabled = DEFAULT_STORE_FILE_SESSION_SPILL_ENABLED;
+    private Long sessionSpillIdleTime = DEFAULT_STORE_FILE_SESSION_SPILL_IDLE_TIME;
+    private Integer sessionSpillReadSize = DEFAULT_STORE_FILE_SESSION_SPILL_READ_SIZE;
 
     public String getDir() {
         return dir;
@@ -87,4 +93,31 @@ public class StoreFileProperties {
         this.flushDiskMode = flushDiskMode;
         return this;
     }
+
+    public Boolean getSessionSpillEnabled() {
+        return sessionSpillEnabled;
+    }
+
+    public StoreFileProperties setSessionSpillEnabled(Boolean sessionSpillEnabled) {
+        this.sessionSpillEnabled = sessionSpillEnabled;
+        return this;
+    }
+
+    public Long getSessionSpillIdleTime() {
+        return sessionSpillIdleTime;
+    }
+
+    public StoreFileProperties setSessionSpillIdleTime(Long sessionSpillIdleTime) {
+        this.sessionSpillIdleTime = sessionSpillIdleTime;
+        return this;
+    }
+
+    public Integer getSessionSpillReadSize() {
+        return sessionSpillReadSize;
+    }
+
+    public StoreFileProperties setSessionSpillReadSize(Integer sessionSpillReadSize) {
+        this.sessionSpillReadSize = sessionSpillReadSize;
+        return this;
+    }
 }
@@ -39,7 +39,9 @@ public class BranchRegisterRequestConvertor implements PbConvertor<BranchRegiste
 
         final String applicationData = branchRegisterRequest.getApplicationData();
         final String resourceId = branchRegisterRequest.getResourceId();
-        final String lockKey = branchRegisterRequest.getLockKey();
+        // the proto has no lock key payload, it is sent as the lock key string
+        final String lockKey = branchRegisterRequest.getLockKey() == null && branchRegisterRequest.getLockKeyPayload() != null
+            ? branchRegisterRequest.getLockKeyPayload().toLockKey() : branchRegisterRequest.getLockKey();
         BranchRegisterRequestProto result = BranchRegisterRequestProto.newBuilder().setAbstractTransactionRequest(
             abstractTransactionRequestProto).setApplicationData(applicationData == null ? "" : applicationData)
             .setBranchType(BranchTypeProto.valueOf(branchRegisterRequest.getBranchType().name())).setLockKey(
@@ -18,6 +18,7 @@ package io.seata.serializer.seata.protocol.transaction;
 import java.nio.ByteBuffer;
 
 import io.netty.buffer.ByteBuf;
+import io.seata.core.lock.LockKeyPayload;
 import io.seata.core.model.BranchType;
 import io.seata.core.protocol.transaction.BranchRegisterRequest;
 
@@ -28,6 +29,11 @@ import io.seata.core.protocol.transaction.BranchRegisterRequest;
  */
 public class BranchRegisterRequestCodec extends AbstractTransactionRequestToTCCodec {
 
+    /**
+     * The lock key length which marks that the lock key payload follows instead of the lock key string.
+     */
+    private static final int LOCK_KEY_PAYLOAD = -1;
+
     @Override
     public Class<?> getMessageClassType() {
         return BranchRegisterRequest.class;
@@ -41,6 +47,7 @@ public class BranchRegisterRequestCodec extends AbstractTransactionRequestToTCCo
         BranchType branchType = branchRegisterRequest.getBranchType();
         String resourceId = branchRegisterRequest.getResourceId();
         String lockKey = branchRegisterRequest.getLockKey();
+        LockKeyPayload lockKeyPayload = branchRegisterRequest.getLockKeyPayload();
         String applicationData = branchRegisterRequest.getApplicationData();
 
         // 1. xid
@@ -68,7 +75,10 @@ public class BranchRegisterRequestCodec extends AbstractTransactionRequestToTCCo
         }
 
         // 4. Lock Key
-        if (lockKey != null) {
+        if (lockKey == null && lockKeyPayload != null) {
+            out.writeInt(LOCK_KEY_PAYLOAD);
+            encodeLockKeyPayload(lockKeyPayload, out);
+        } else if (lockKey != null) {
             byte[] lockKeyBytes = lockKey.getBytes(UTF8);
             out.writeInt(lockKeyBytes.length);
             if (lockKeyBytes.length > 0) {
@@ -109,7 +119,9 @@ public class BranchRegisterRequestCodec extends AbstractTransactionRequestToTCCo
         }
 
         int iLen = in.getInt();
-        if (iLen > 0) {
+        if (iLen == LOCK_KEY_PAYLOAD) {
+            branchRegisterRequest.setLockKeyPayload(decodeLockKeyPayload(in));
+        } else if (iLen > 0) {
             byte[] bs = new byte[iLen];
             in.get(bs);
             branchRegisterRequest.setLockKey(new String(bs, UTF8));
@@ -123,4 +135,61 @@ public class BranchRegisterRequestCodec extends AbstractTransactionRequestToTCCo
         }
     }
 
+    private void encodeLockKeyPayload(LockKeyPayload lockKeyPayload, ByteBuf out) {
+        out.writeByte(LockKeyPayload.VERSION);
+        int tableCount = lockKeyPayload.getTableCount();
+        out.writeShort((short)tableCount);
+        for (int table = 0; table < tableCount; table++) {
+            writeString(lockKeyPayload.getTable(table), out);
+            out.writeByte(lockKeyPayload.getPkColumns(table));
+        }
+        int rows = lockKeyPayload.size();
+        out.writeInt(rows);
+        for (int row = 0; row < rows; row++) {
+            int table = lockKeyPayload.getRowTable(row);
+            out.writeShort((short)table);
+            for (int column = 0, pkColumns = lockKeyPayload.getPkColumns(table); column < pkColumns; column++) {
+                writeString(lockKeyPayload.getPkValue(row, column), out);
+            }
+        }
+    }
+
+    private LockKeyPayload decodeLockKeyPayload(ByteBuffer in) {
+        byte version = in.get();
+        if (version != LockKeyPayload.VERSION) {
+            throw new IllegalArgumentException("Unsupported lock key payload version: " + version);
+        }
+        LockKeyPayload lockKeyPayload = new LockKeyPayload();
+        short tableCount = in.getShort();
+        for (int table = 0; table < tableCount; table++) {
+            lockKeyPayload.addTable(readString(in), in.get());
+        }
+        int rows = in.getInt();
+        for (int row = 0; row < rows; row++) {
+            int table = in.getShort();
+            int pkColumns = lockKeyPayload.getPkColumns(table);
+            if (pkColumns == 1) {
+                lockKeyPayload.addRow(table, readString(in));
+            } else {
+                String[] pkValues = new String[pkColumns];
+                for (int column = 0; column < pkColumns; column++) {
+                    pkValues[column] = readString(in);
+                }
+                lockKeyPayload.addRow(table, pkValues);
+            }
+        }
+        return lockKeyPayload;
+    }
+
+    private void writeString(String str, ByteBuf out) {
+        byte[] bs = str.getBytes(UTF8);
+        out.writeShort((short)bs.length);
+        out.writeBytes(bs);
+    }
+
+    private String readString(ByteBuffer in) {
+        byte[] bs = new byte[in.getShort()];
+        in.get(bs);
+        return new String(bs, UTF8);
+    }
 }
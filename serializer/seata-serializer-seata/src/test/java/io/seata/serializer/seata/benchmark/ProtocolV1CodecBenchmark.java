@@ -0,0 +1,177 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.serializer.seata.benchmark;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.seata.core.compressor.CompressorType;
+import io.seata.core.model.BranchType;
+import io.seata.core.protocol.ProtocolConstants;
+import io.seata.core.protocol.RpcMessage;
+import io.seata.core.protocol.transaction.BranchCommitRequest;
+import io.seata.core.rpc.netty.v1.HeadMapDictionary;
+import io.seata.core.rpc.netty.v1.ProtocolV1Decoder;
+import io.seata.core.rpc.netty.v1.ProtocolV1Encoder;
+import io.seata.core.serializer.SerializerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Round trip of a branch commit request through {@link ProtocolV1Encoder} and {@link ProtocolV1Decoder}.
+ * <p>
+ * Run {@link #main(String[])} from the test classpath, the gc profiler reports the bytes allocated per round trip
+ * as {@code gc.alloc.rate.norm}. The {@code unpooled} benchmark builds the message the way it was built before
+ * messages were pooled and head maps created lazily. The {@code pooledWithHeadDictionary} benchmark sends the
+ * same heads over a connection which negotiated the head map dictionary.
+ *
+ * @author hongyan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtocolV1CodecBenchmark {
+
+    private final ProtocolV1Encoder encoder = new ProtocolV1Encoder();
+
+    private final ProtocolV1Decoder decoder = new ProtocolV1Decoder();
+
+    private final HeadMapDictionary encoderDictionary = new HeadMapDictionary();
+
+    private final ProtocolV1Encoder dictionaryEncoder = new ProtocolV1Encoder(encoderDictionary);
+
+    private final ProtocolV1Decoder dictionaryDecoder = new ProtocolV1Decoder(new HeadMapDictionary());
+
+    private BranchCommitRequest body;
+
+    private ByteBuf buffer;
+
+    private int id;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        body = new BranchCommitRequest();
+        body.setXid("192.168.0.1:8091:2021354512345678");
+        body.setBranchId(2021354512345679L);
+        body.setBranchType(BranchType.AT);
+        body.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        body.setApplicationData("{\"autoCommit\":false}");
+        buffer = PooledByteBufAllocator.DEFAULT.buffer(1024);
+        encoderDictionary.onPeerVersion(ProtocolConstants.VERSION_HEAD_DICTIONARY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        buffer.release();
+    }
+
+    @Benchmark
+    public Object pooled() {
+        RpcMessage rpcMessage = RpcMessage.newInstance();
+        fill(rpcMessage);
+        Object decoded = roundTrip(rpcMessage);
+        rpcMessage.recycle();
+        return decoded;
+    }
+
+    @Benchmark
+    public Object unpooled() {
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setHeadMap(new HashMap<>());
+        fill(rpcMessage);
+        return roundTrip(rpcMessage);
+    }
+
+    @Benchmark
+    public Object pooledWithHead() {
+        RpcMessage rpcMessage = RpcMessage.newInstance();
+        fill(rpcMessage);
+        rpcMessage.putHead("sw8", "1-YWJj-ZGVm-0-c2VydmljZQ==-aW5zdGFuY2U=-L2NvbW1pdA==-MTI3LjAuMC4xOjgwOTE=");
+        Object decoded = roundTrip(rpcMessage);
+        rpcMessage.recycle();
+        return decoded;
+    }
+
+    @Benchmark
+    public Object pooledWithHeadDictionary() {
+        RpcMessage rpcMessage = RpcMessage.newInstance();
+        fill(rpcMessage);
+        fillHeads(rpcMessage);
+        buffer.clear();
+        dictionaryEncoder.encode(null, rpcMessage, buffer);
+        Object decoded = dictionaryDecoder.decodeFrame(buffer);
+        rpcMessage.recycle();
+        return decoded;
+    }
+
+    @Benchmark
+    public Object pooledWithHeads() {
+        RpcMessage rpcMessage = RpcMessage.newInstance();
+        fill(rpcMessage);
+        fillHeads(rpcMessage);
+        Object decoded = roundTrip(rpcMessage);
+        rpcMessage.recycle();
+        return decoded;
+    }
+
+    private void fillHeads(RpcMessage rpcMessage) {
+        rpcMessage.putHead("clientVersion", "1.6.1-SNAPSHOT");
+        rpcMessage.putHead("applicationId", "seata-benchmark-application");
+        rpcMessage.putHead("transactionServiceGroup", "default_tx_group");
+    }
+
+    private void fill(RpcMessage rpcMessage) {
+        rpcMessage.setId(++id);
+        rpcMessage.setMessageType(ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+        rpcMessage.setCodec(SerializerType.SEATA.getCode());
+        rpcMessage.setCompressor(CompressorType.NONE.getCode());
+        rpcMessage.setBody(body);
+    }
+
+    private Object roundTrip(RpcMessage rpcMessage) {
+        buffer.clear();
+        encoder.encode(null, rpcMessage, buffer);
+        return decoder.decodeFrame(buffer);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(ProtocolV1CodecBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
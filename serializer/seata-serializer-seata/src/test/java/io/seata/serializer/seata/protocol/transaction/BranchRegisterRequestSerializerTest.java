@@ -16,6 +16,7 @@
 package io.seata.serializer.seata.protocol.transaction;
 
 import io.seata.serializer.seata.SeataSerializer;
+import io.seata.core.lock.LockKeyPayload;
 import io.seata.core.model.BranchType;
 import io.seata.core.protocol.transaction.BranchRegisterRequest;
 import org.junit.jupiter.api.Test;
@@ -58,4 +59,35 @@ public class BranchRegisterRequestSerializerTest {
 
     }
 
+    /**
+     * Test codec of the lock key payload.
+     */
+    @Test
+    public void test_codec_lock_key_payload() {
+        LockKeyPayload lockKeyPayload = new LockKeyPayload();
+        int user = lockKeyPayload.addTable("t_user", 1);
+        int order = lockKeyPayload.addTable("t_order", 2);
+        lockKeyPayload.addRow(user, "1");
+        lockKeyPayload.addRow(order, "2", "a");
+        lockKeyPayload.addRow(user, "3");
+
+        BranchRegisterRequest branchRegisterRequest = new BranchRegisterRequest();
+        branchRegisterRequest.setBranchType(BranchType.AT);
+        branchRegisterRequest.setApplicationData("abc");
+        branchRegisterRequest.setLockKeyPayload(lockKeyPayload);
+        branchRegisterRequest.setResourceId("124");
+        branchRegisterRequest.setXid("abc134");
+
+        byte[] bytes = seataSerializer.serialize(branchRegisterRequest);
+
+        BranchRegisterRequest branchRegisterRequest2 = seataSerializer.deserialize(bytes);
+
+        assertThat(branchRegisterRequest2.getLockKey()).isNull();
+        assertThat(branchRegisterRequest2.getLockKeyPayload().toLockKey()).isEqualTo("t_user:1,3;t_order:2_a");
+        assertThat(branchRegisterRequest2.getLockKeyPayload().getPkValue(1, 1)).isEqualTo("a");
+        assertThat(branchRegisterRequest2.getApplicationData()).isEqualTo(branchRegisterRequest.getApplicationData());
+        assertThat(branchRegisterRequest2.getResourceId()).isEqualTo(branchRegisterRequest.getResourceId());
+        assertThat(branchRegisterRequest2.getXid()).isEqualTo(branchRegisterRequest.getXid());
+    }
+
 }
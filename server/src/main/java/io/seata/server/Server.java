@@ -72,10 +72,14 @@ public class Server {
         }
 
         NettyRemotingServer nettyRemotingServer = new NettyRemotingServer(workingThreads);
+        MetricsManager.get().registerRequestStatistics(nettyRemotingServer);
+        MetricsManager.get().registerRequestExecutors(nettyRemotingServer.getRequestExecutors());
+        MetricsManager.get().registerSessionLockStatistics();
         XID.setPort(nettyRemotingServer.getListenPort());
         UUIDGenerator.init(parameterParser.getServerNode());
         //log store mode : file, db, redis
         SessionHolder.init();
+        MetricsManager.get().registerSessionSpillStatistics();
         LockerManagerFactory.init();
         DefaultCoordinator coordinator = DefaultCoordinator.getInstance(nettyRemotingServer);
         coordinator.init();
@@ -38,6 +38,7 @@ import io.seata.core.store.db.sql.lock.LockStoreSqlFactory;
 import io.seata.server.console.param.GlobalLockParam;
 import io.seata.server.console.service.GlobalLockService;
 import io.seata.server.console.vo.GlobalLockVO;
+import io.seata.server.storage.db.lock.LockStoreDataBaseDAO;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
@@ -139,6 +140,9 @@ public class GlobalLockDBServiceImpl implements GlobalLockService {
             whereConditionBuilder.append(" and gmt_create <= ? ");
             sqlParamList.add(param.getTimeEnd());
         }
+        // the guard rows of the tables are not locks
+        whereConditionBuilder.append(" and pk <> ? ");
+        sqlParamList.add(LockStoreDataBaseDAO.TABLE_GUARD_PK);
         String whereCondition = whereConditionBuilder.toString();
         return whereCondition.replaceFirst("and", "where");
     }
@@ -56,6 +56,7 @@ public class GlobalLockFileServiceImpl implements GlobalLockService {
     public PageResult<GlobalLockVO> query(GlobalLockParam param) {
         checkParam(param);
 
+        // a session holding row locks is never spilled to disk, so the sessions on the heap hold every lock
         final Collection<GlobalSession> allSessions = SessionHolder.getRootSessionManager().allSessions();
 
         final AtomicInteger total = new AtomicInteger();
@@ -15,11 +15,11 @@
  */
 package io.seata.server.console.impl.file;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import io.seata.server.console.param.GlobalSessionParam;
 import io.seata.console.result.PageResult;
@@ -27,7 +27,9 @@ import io.seata.server.console.vo.GlobalSessionVO;
 import io.seata.server.console.service.GlobalSessionService;
 import io.seata.server.session.GlobalSession;
 import io.seata.server.session.SessionHolder;
+import io.seata.server.session.SessionManager;
 import io.seata.server.storage.SessionConverter;
+import io.seata.server.storage.file.session.FileSessionManager;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
@@ -51,14 +53,29 @@ public class GlobalSessionFileServiceImpl implements GlobalSessionService {
             throw new IllegalArgumentException("wrong pageSize or pageNum");
         }
 
-        final Collection<GlobalSession> allSessions = SessionHolder.getRootSessionManager().allSessions();
-
-        final List<GlobalSession> filteredSessions = allSessions
-                .parallelStream()
-                .filter(obtainPredicate(param))
-                .collect(Collectors.toList());
+        final Predicate<? super GlobalSession> predicate = obtainPredicate(param);
+        final int offset = param.getPageSize() * (param.getPageNum() - 1);
+        final AtomicInteger total = new AtomicInteger();
+        final List<GlobalSession> pageSessions = new ArrayList<>(param.getPageSize());
+        // only the sessions of the page are kept, the spilled ones are not put back on the heap
+        final Predicate<GlobalSession> pageCollector = session -> {
+            if (predicate.test(session)) {
+                int index = total.getAndIncrement();
+                if (index >= offset && index - offset < param.getPageSize()) {
+                    pageSessions.add(session);
+                }
+            }
+            return true;
+        };
+        final SessionManager rootSessionManager = SessionHolder.getRootSessionManager();
+        if (rootSessionManager instanceof FileSessionManager) {
+            ((FileSessionManager)rootSessionManager).scanGlobalSessions(pageCollector);
+        } else {
+            rootSessionManager.allSessions().forEach(pageCollector::test);
+        }
 
-        return PageResult.build(SessionConverter.convertGlobalSession(filteredSessions), param.getPageNum(), param.getPageSize());
+        return PageResult.success(SessionConverter.convertGlobalSession(pageSessions), total.get(), param.getPageNum(),
+            param.getPageSize());
     }
 
 
@@ -16,6 +16,8 @@
 package io.seata.server.coordinator;
 
 import io.seata.core.exception.TransactionException;
+import io.seata.core.lock.LockKeyPayload;
+import io.seata.core.model.BranchType;
 import io.seata.core.model.GlobalStatus;
 import io.seata.server.session.GlobalSession;
 
@@ -26,6 +28,23 @@ import io.seata.server.session.GlobalSession;
  */
 public interface Core extends TransactionCoordinatorInbound, TransactionCoordinatorOutbound {
 
+    /**
+     * Branch register with the lock keys either as the lock key string or as the structured payload.
+     *
+     * @param branchType      the branch type
+     * @param resourceId      the resource id
+     * @param clientId        the client id
+     * @param xid             the xid
+     * @param applicationData the context
+     * @param lockKeys        the lock keys, null when the payload is given
+     * @param lockKeyPayload  the structured lock keys, may be null
+     * @return the long
+     * @throws TransactionException the transaction exception
+     */
+    Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid,
+                        String applicationData, String lockKeys, LockKeyPayload lockKeyPayload)
+        throws TransactionException;
+
     /**
      * Do global commit.
      *
@@ -24,6 +24,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.Channel;
+import io.seata.common.XID;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.DurationUtil;
@@ -79,6 +80,7 @@ import static io.seata.common.DefaultValues.DEFAULT_ASYNC_COMMITTING_RETRY_PERIO
 import static io.seata.common.DefaultValues.DEFAULT_COMMITING_RETRY_PERIOD;
 import static io.seata.common.DefaultValues.DEFAULT_MAX_COMMIT_RETRY_TIMEOUT;
 import static io.seata.common.DefaultValues.DEFAULT_MAX_ROLLBACK_RETRY_TIMEOUT;
+import static io.seata.common.DefaultValues.DEFAULT_RECOVERY_SHARD_COUNT;
 import static io.seata.common.DefaultValues.DEFAULT_ROLLBACKING_RETRY_PERIOD;
 import static io.seata.common.DefaultValues.DEFAULT_ROLLBACK_RETRY_TIMEOUT_UNLOCK_ENABLE;
 import static io.seata.common.DefaultValues.DEFAULT_TIMEOUT_RETRY_PERIOD;
@@ -181,6 +183,8 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
 
     private final DefaultCore core;
 
+    private final RecoveryShards recoveryShards;
+
     private static volatile DefaultCoordinator instance;
 
     /**
@@ -194,6 +198,9 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         }
         this.remotingServer = remotingServer;
         this.core = new DefaultCore(remotingServer);
+        this.recoveryShards = new RecoveryShards(
+            CONFIG.getInt(ConfigurationKeys.RECOVERY_SHARD_COUNT, DEFAULT_RECOVERY_SHARD_COUNT),
+            SessionHolder.getDistributedLocker(), XID.getIpAddressAndPort(), SessionHolder.getDistributedLockExpireTime());
     }
 
     public static DefaultCoordinator getInstance(RemotingServer remotingServer) {
@@ -284,7 +291,8 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         MDC.put(RootContext.MDC_KEY_XID, request.getXid());
         response.setBranchId(
                 core.branchRegister(request.getBranchType(), request.getResourceId(), rpcContext.getClientId(),
-                        request.getXid(), request.getApplicationData(), request.getLockKey()));
+                        request.getXid(), request.getApplicationData(), request.getLockKey(),
+                        request.getLockKeyPayload()));
     }
 
     @Override
@@ -310,15 +318,15 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
     protected void timeoutCheck() {
         SessionCondition sessionCondition = new SessionCondition(GlobalStatus.Begin);
         sessionCondition.setLazyLoadBranch(true);
-        Collection<GlobalSession> beginGlobalsessions =
-            SessionHolder.getRootSessionManager().findGlobalSessions(sessionCondition);
-        if (CollectionUtils.isEmpty(beginGlobalsessions)) {
-            return;
-        }
-        if (!beginGlobalsessions.isEmpty() && LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Global transaction timeout check begin, size: {}", beginGlobalsessions.size());
-        }
-        SessionHelper.forEach(beginGlobalsessions, globalSession -> {
+        sessionCondition.setTimeoutOnly(true);
+        int handled = recoveryShards.forEach(TX_TIMEOUT_CHECK, sessionCondition, condition -> {
+            Collection<GlobalSession> beginGlobalsessions =
+                SessionHolder.getRootSessionManager().findGlobalSessions(condition);
+            if (!CollectionUtils.isEmpty(beginGlobalsessions) && LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Global transaction timeout check begin, size: {}", beginGlobalsessions.size());
+            }
+            return beginGlobalsessions;
+        }, globalSession -> {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(
                         globalSession.getXid() + " " + globalSession.getStatus() + " " + globalSession.getBeginTime() + " "
@@ -344,7 +352,7 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
                 return true;
             });
         });
-        if (!beginGlobalsessions.isEmpty() && LOGGER.isDebugEnabled()) {
+        if (handled > 0 && LOGGER.isDebugEnabled()) {
             LOGGER.debug("Global transaction timeout check end. ");
         }
 
@@ -357,13 +365,9 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
     protected void handleRetryRollbacking() {
         SessionCondition sessionCondition = new SessionCondition(rollbackingStatuses);
         sessionCondition.setLazyLoadBranch(true);
-        Collection<GlobalSession> rollbackingSessions =
-            SessionHolder.getRetryRollbackingSessionManager().findGlobalSessions(sessionCondition);
-        if (CollectionUtils.isEmpty(rollbackingSessions)) {
-            return;
-        }
         long now = System.currentTimeMillis();
-        SessionHelper.forEach(rollbackingSessions, rollbackingSession -> {
+        recoveryShards.forEach(RETRY_ROLLBACKING, sessionCondition,
+            SessionHolder.getRetryRollbackingSessionManager()::findGlobalSessions, rollbackingSession -> {
             try {
                 // prevent repeated rollback
                 if (rollbackingSession.getStatus() == GlobalStatus.Rollbacking
@@ -398,13 +402,9 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
     protected void handleRetryCommitting() {
         SessionCondition retryCommittingSessionCondition = new SessionCondition(retryCommittingStatuses);
         retryCommittingSessionCondition.setLazyLoadBranch(true);
-        Collection<GlobalSession> committingSessions =
-            SessionHolder.getRetryCommittingSessionManager().findGlobalSessions(retryCommittingSessionCondition);
-        if (CollectionUtils.isEmpty(committingSessions)) {
-            return;
-        }
         long now = System.currentTimeMillis();
-        SessionHelper.forEach(committingSessions, committingSession -> {
+        recoveryShards.forEach(RETRY_COMMITTING, retryCommittingSessionCondition,
+            SessionHolder.getRetryCommittingSessionManager()::findGlobalSessions, committingSession -> {
             try {
                 // prevent repeated commit
                 if (committingSession.getStatus() == GlobalStatus.Committing
@@ -436,12 +436,8 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
      */
     protected void handleAsyncCommitting() {
         SessionCondition sessionCondition = new SessionCondition(GlobalStatus.AsyncCommitting);
-        Collection<GlobalSession> asyncCommittingSessions =
-                SessionHolder.getAsyncCommittingSessionManager().findGlobalSessions(sessionCondition);
-        if (CollectionUtils.isEmpty(asyncCommittingSessions)) {
-            return;
-        }
-        SessionHelper.forEach(asyncCommittingSessions, asyncCommittingSession -> {
+        recoveryShards.forEach(ASYNC_COMMITTING, sessionCondition,
+            SessionHolder.getAsyncCommittingSessionManager()::findGlobalSessions, asyncCommittingSession -> {
             try {
                 asyncCommittingSession.addSessionLifecycleListener(SessionHolder.getRootSessionManager());
                 core.doGlobalCommit(asyncCommittingSession, true);
@@ -485,27 +481,35 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
      * Init.
      */
     public void init() {
-        retryRollbacking.scheduleAtFixedRate(
-            () -> SessionHolder.distributedLockAndExecute(RETRY_ROLLBACKING, this::handleRetryRollbacking), 0,
-            ROLLBACKING_RETRY_PERIOD, TimeUnit.MILLISECONDS);
+        scheduleRecovery(retryRollbacking, RETRY_ROLLBACKING, this::handleRetryRollbacking, ROLLBACKING_RETRY_PERIOD);
 
-        retryCommitting.scheduleAtFixedRate(
-            () -> SessionHolder.distributedLockAndExecute(RETRY_COMMITTING, this::handleRetryCommitting), 0,
-            COMMITTING_RETRY_PERIOD, TimeUnit.MILLISECONDS);
+        scheduleRecovery(retryCommitting, RETRY_COMMITTING, this::handleRetryCommitting, COMMITTING_RETRY_PERIOD);
 
-        asyncCommitting.scheduleAtFixedRate(
-            () -> SessionHolder.distributedLockAndExecute(ASYNC_COMMITTING, this::handleAsyncCommitting), 0,
-            ASYNC_COMMITTING_RETRY_PERIOD, TimeUnit.MILLISECONDS);
+        scheduleRecovery(asyncCommitting, ASYNC_COMMITTING, this::handleAsyncCommitting, ASYNC_COMMITTING_RETRY_PERIOD);
 
-        timeoutCheck.scheduleAtFixedRate(
-            () -> SessionHolder.distributedLockAndExecute(TX_TIMEOUT_CHECK, this::timeoutCheck), 0,
-            TIMEOUT_RETRY_PERIOD, TimeUnit.MILLISECONDS);
+        scheduleRecovery(timeoutCheck, TX_TIMEOUT_CHECK, this::timeoutCheck, TIMEOUT_RETRY_PERIOD);
 
         undoLogDelete.scheduleAtFixedRate(
             () -> SessionHolder.distributedLockAndExecute(UNDOLOG_DELETE, this::undoLogDelete),
             UNDO_LOG_DELAY_DELETE_PERIOD, UNDO_LOG_DELETE_PERIOD, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Schedule a recovery round. A sharded round leases its shards itself, so every node runs it
+     * instead of the one holding the round lock.
+     */
+    private void scheduleRecovery(ScheduledThreadPoolExecutor executor, String key, SessionHolder.NoArgsFunc round,
+                                  long period) {
+        Runnable command = recoveryShards.isSharded() ? () -> {
+            try {
+                round.call();
+            } catch (Exception e) {
+                LOGGER.info("Exception running recovery round with key = {}", key, e);
+            }
+        } : () -> SessionHolder.distributedLockAndExecute(key, round);
+        executor.scheduleAtFixedRate(command, 0, period, TimeUnit.MILLISECONDS);
+    }
+
     @Override
     public AbstractResultMessage onRequest(AbstractMessage request, RpcContext context) {
         if (!(request instanceof AbstractTransactionRequestToTC)) {
@@ -26,6 +26,7 @@ import io.seata.common.util.CollectionUtils;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.context.RootContext;
 import io.seata.core.exception.TransactionException;
+import io.seata.core.lock.LockKeyPayload;
 import io.seata.core.logger.StackTraceLogger;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
@@ -104,6 +105,14 @@ public class DefaultCore implements Core {
             applicationData, lockKeys);
     }
 
+    @Override
+    public Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid,
+                               String applicationData, String lockKeys, LockKeyPayload lockKeyPayload)
+        throws TransactionException {
+        return getCore(branchType).branchRegister(branchType, resourceId, clientId, xid,
+            applicationData, lockKeys, lockKeyPayload);
+    }
+
     @Override
     public void branchReport(BranchType branchType, String xid, long branchId, BranchStatus status,
                              String applicationData) throws TransactionException {
@@ -0,0 +1,178 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.coordinator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import io.seata.common.util.CollectionUtils;
+import io.seata.core.store.DistributedLockDO;
+import io.seata.core.store.DistributedLocker;
+import io.seata.server.session.GlobalSession;
+import io.seata.server.session.GlobalSessionHandler;
+import io.seata.server.session.SessionCondition;
+import io.seata.server.session.SessionHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits a recovery round into transactionId hash shards, each one leased through the
+ * {@link DistributedLocker} for the duration of its pass. Every TC node walks the shards from
+ * its own starting point, so nodes drive disjoint shards concurrently; a shard whose owner left
+ * is picked up by the next node once its lease is released or expired.
+ *
+ * @author hongyan
+ */
+class RecoveryShards {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecoveryShards.class);
+
+    /**
+     * keeps "RetryRollbacking_NNN" within the 20 chars of the distributed lock key column
+     */
+    static final int MAX_SHARD_COUNT = 128;
+
+    private final int shardCount;
+
+    private final int firstShard;
+
+    private final DistributedLocker distributedLocker;
+
+    private final String owner;
+
+    private final long leaseMillis;
+
+    /**
+     * Instantiates new recovery shards.
+     *
+     * @param shardCount        the shard count, 1 keeps the whole round under one lock
+     * @param distributedLocker the locker the shard leases are taken from
+     * @param owner             the lease owner, distinct for each TC node
+     * @param leaseMillis       the lease expire time
+     */
+    RecoveryShards(int shardCount, DistributedLocker distributedLocker, String owner, long leaseMillis) {
+        if (shardCount > MAX_SHARD_COUNT) {
+            LOGGER.warn("recovery shard count {} exceeds the max {}, use the max instead", shardCount, MAX_SHARD_COUNT);
+        }
+        this.shardCount = Math.max(1, Math.min(shardCount, MAX_SHARD_COUNT));
+        this.firstShard = owner == null ? 0 : Math.floorMod(owner.hashCode(), this.shardCount);
+        this.distributedLocker = distributedLocker;
+        this.owner = owner;
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * Whether the rounds are sharded, otherwise they run under the single round lock.
+     *
+     * @return the boolean
+     */
+    boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    /**
+     * Get the shard of the transaction.
+     *
+     * @param transactionId the transaction id
+     * @return the shard
+     */
+    int shardOf(long transactionId) {
+        return (int)Math.floorMod(transactionId, (long)shardCount);
+    }
+
+    /**
+     * Handle the sessions of every shard whose lease could be taken.
+     *
+     * @param key       the round key, the shard leases are named after it
+     * @param condition the condition of the sessions of the round
+     * @param finder    finds the sessions of the condition
+     * @param handler   the handler
+     * @return the number of shards with sessions handled
+     * @see #forEach(String, SessionCondition, Function, ToLongFunction, Consumer)
+     */
+    int forEach(String key, SessionCondition condition, Function<SessionCondition, Collection<GlobalSession>> finder,
+                GlobalSessionHandler handler) {
+        return forEach(key, condition, finder, GlobalSession::getTransactionId,
+            sessions -> SessionHelper.forEach(sessions, handler));
+    }
+
+    /**
+     * Handle the sessions of every shard whose lease could be taken. The sessions of a leased shard
+     * are queried with the condition narrowed to the shard, after the lease is taken, so a shard just
+     * handled by another node is not driven twice from a stale result. Every shard is queried once a
+     * round, there is no query of the whole round before. A store which can't narrow the query to a
+     * shard returns every shard, the sessions of the other shards are left out here.
+     *
+     * @param key             the round key, the shard leases are named after it
+     * @param condition       the condition of the sessions of the round
+     * @param finder          finds the sessions of the condition
+     * @param transactionIdOf the transaction id of a session
+     * @param shardHandler    handles the sessions of a shard
+     * @param <T>             the type of the sessions
+     * @return the number of shards with sessions handled
+     */
+    <T> int forEach(String key, SessionCondition condition, Function<SessionCondition, ? extends Collection<T>> finder,
+                    ToLongFunction<T> transactionIdOf, Consumer<List<T>> shardHandler) {
+        if (!isSharded()) {
+            condition.setShard(1, 0);
+            Collection<T> sessions = finder.apply(condition);
+            if (CollectionUtils.isEmpty(sessions)) {
+                return 0;
+            }
+            shardHandler.accept(new ArrayList<>(sessions));
+            return 1;
+        }
+        int handled = 0;
+        for (int i = 0; i < shardCount; i++) {
+            int shard = (firstShard + i) % shardCount;
+            String lockKey = key + "_" + shard;
+            if (!distributedLocker.acquireLock(new DistributedLockDO(lockKey, owner, leaseMillis))) {
+                continue;
+            }
+            try {
+                condition.setShard(shardCount, shard);
+                List<T> shardSessions = sessionsOf(shard, finder.apply(condition), transactionIdOf);
+                if (!shardSessions.isEmpty()) {
+                    shardHandler.accept(shardSessions);
+                    handled++;
+                }
+            } finally {
+                try {
+                    distributedLocker.releaseLock(new DistributedLockDO(lockKey, owner, leaseMillis));
+                } catch (Exception ex) {
+                    LOGGER.warn("release recovery shard {} failure, message = {}", lockKey, ex.getMessage(), ex);
+                }
+            }
+        }
+        return handled;
+    }
+
+    private <T> List<T> sessionsOf(int shard, Collection<T> sessions, ToLongFunction<T> transactionIdOf) {
+        List<T> shardSessions = new ArrayList<>();
+        if (sessions != null) {
+            for (T session : sessions) {
+                if (shardOf(transactionIdOf.applyAsLong(session)) == shard) {
+                    shardSessions.add(session);
+                }
+            }
+        }
+        return shardSessions;
+    }
+}
@@ -22,6 +22,7 @@ import io.seata.common.XID;
 import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.StringUtils;
 import io.seata.core.exception.TransactionException;
+import io.seata.core.lock.LockKeyPayload;
 import io.seata.core.lock.Locker;
 import io.seata.core.lock.RowLock;
 import io.seata.core.model.LockStatus;
@@ -51,8 +52,7 @@ public abstract class AbstractLockManager implements LockManager {
         if (branchSession == null) {
             throw new IllegalArgumentException("branchSession can't be null for memory/file locker.");
         }
-        String lockKey = branchSession.getLockKey();
-        if (StringUtils.isNullOrEmpty(lockKey)) {
+        if (branchSession.getLockKeyPayload() == null && StringUtils.isNullOrEmpty(branchSession.getLockKey())) {
             // no lock
             return true;
         }
@@ -119,17 +119,65 @@ public abstract class AbstractLockManager implements LockManager {
 
     @Override
     public List<RowLock> collectRowLocks(BranchSession branchSession) {
-        if (branchSession == null || StringUtils.isBlank(branchSession.getLockKey())) {
+        if (branchSession == null) {
+            return Collections.emptyList();
+        }
+        LockKeyPayload lockKeyPayload = branchSession.getLockKeyPayload();
+        if (lockKeyPayload == null && StringUtils.isBlank(branchSession.getLockKey())) {
             return Collections.emptyList();
         }
 
-        String lockKey = branchSession.getLockKey();
         String resourceId = branchSession.getResourceId();
         String xid = branchSession.getXid();
         long transactionId = branchSession.getTransactionId();
         long branchId = branchSession.getBranchId();
 
-        return collectRowLocks(lockKey, resourceId, xid, transactionId, branchId);
+        if (lockKeyPayload != null) {
+            return collectRowLocks(lockKeyPayload, resourceId, xid, transactionId, branchId);
+        }
+        return collectRowLocks(branchSession.getLockKey(), resourceId, xid, transactionId, branchId);
+    }
+
+    /**
+     * Gets the structured lock keys of the branch, parsed from the lock key string if it was registered with it.
+     *
+     * @param branchSession the branch session
+     * @return the lock key payload, null if there is no lock
+     */
+    protected LockKeyPayload getLockKeyPayload(BranchSession branchSession) {
+        LockKeyPayload lockKeyPayload = branchSession.getLockKeyPayload();
+        if (lockKeyPayload != null) {
+            return lockKeyPayload;
+        }
+        String lockKey = branchSession.getLockKey();
+        return StringUtils.isBlank(lockKey) ? null : LockKeyPayload.fromLockKey(lockKey);
+    }
+
+    /**
+     * Collect row locks list from the structured lock keys.
+     *
+     * @param lockKeyPayload the lock key payload
+     * @param resourceId     the resource id
+     * @param xid            the xid
+     * @param transactionId  the transaction id
+     * @param branchID       the branch id
+     * @return the list
+     */
+    protected List<RowLock> collectRowLocks(LockKeyPayload lockKeyPayload, String resourceId, String xid,
+        Long transactionId, Long branchID) {
+        int size = lockKeyPayload.size();
+        List<RowLock> locks = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            RowLock rowLock = new RowLock();
+            rowLock.setXid(xid);
+            rowLock.setTransactionId(transactionId);
+            rowLock.setBranchId(branchID);
+            rowLock.setTableName(lockKeyPayload.getTableName(row));
+            rowLock.setPk(lockKeyPayload.getPk(row));
+            rowLock.setResourceId(resourceId);
+            locks.add(rowLock);
+        }
+        return locks;
     }
 
     /**
@@ -15,17 +15,32 @@
  */
 package io.seata.server.metrics;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.rpc.audit.RequestAuditor;
+import io.seata.core.rpc.netty.AbstractNettyRemoting;
+import io.seata.core.rpc.processor.server.RequestExecutorGroup;
+import io.seata.core.rpc.processor.server.ServerRequestExecutors;
+import io.seata.metrics.Id;
+import io.seata.metrics.IdConstants;
+import io.seata.metrics.Timer;
 import io.seata.metrics.exporter.Exporter;
 import io.seata.metrics.exporter.ExporterFactory;
 import io.seata.metrics.registry.Registry;
 import io.seata.metrics.registry.RegistryFactory;
 import io.seata.server.event.EventBusManager;
+import io.seata.server.session.SessionLockStatistics;
+import io.seata.server.storage.file.session.SessionSpillStatistics;
 
 import static io.seata.common.DefaultValues.DEFAULT_METRICS_ENABLED;
+import static io.seata.common.DefaultValues.DEFAULT_STORE_FILE_SESSION_SPILL_ENABLED;
 
 /**
  * Metrics manager for init
@@ -47,6 +62,127 @@ public class MetricsManager {
         return registry;
     }
 
+    /**
+     * Expose the per-client-ip in-flight, timeout and write backpressure counters of the remoting server,
+     * and the recorded and dropped counts of the request audit.
+     *
+     * @param remoting the remoting server
+     */
+    public void registerRequestStatistics(AbstractNettyRemoting remoting) {
+        if (registry == null) {
+            return;
+        }
+        remoting.setRequestStatisticsListener(statistics -> {
+            registry.getGauge(rpcId(IdConstants.STATUS_VALUE_IN_FLIGHT, statistics.getAddress()),
+                statistics::getInFlight);
+            registry.getGauge(rpcId(IdConstants.STATUS_VALUE_TIMEOUT, statistics.getAddress()),
+                statistics::getTimeouts);
+            registry.getGauge(rpcId(IdConstants.STATUS_VALUE_WRITE_BLOCKED, statistics.getAddress()),
+                statistics::getWriteBlockedMillis);
+            registry.getGauge(rpcId(IdConstants.STATUS_VALUE_WRITE_REJECTED, statistics.getAddress()),
+                statistics::getWriteRejected);
+        });
+        RequestAuditor auditor = RequestAuditor.getInstance();
+        if (auditor.isEnabled()) {
+            registry.getGauge(auditId(IdConstants.STATUS_VALUE_RECORDED), auditor::getRecordedCount);
+            registry.getGauge(auditId(IdConstants.STATUS_VALUE_DROPPED), auditor::getDroppedCount);
+        }
+    }
+
+    /**
+     * Expose the queue depth, active threads, shed requests and request latency of each request executor.
+     *
+     * @param requestExecutors the request executors, may be null
+     */
+    public void registerRequestExecutors(ServerRequestExecutors requestExecutors) {
+        if (registry == null || requestExecutors == null) {
+            return;
+        }
+        Map<RequestExecutorGroup, Timer> latencyTimers = new EnumMap<>(RequestExecutorGroup.class);
+        for (RequestExecutorGroup group : RequestExecutorGroup.values()) {
+            registry.getGauge(executorId(IdConstants.STATUS_VALUE_QUEUE_DEPTH, group),
+                () -> requestExecutors.getQueueDepth(group));
+            registry.getGauge(executorId(IdConstants.STATUS_VALUE_ACTIVE, group),
+                () -> requestExecutors.getActiveCount(group));
+            registry.getGauge(executorId(IdConstants.STATUS_VALUE_REJECTED, group),
+                () -> requestExecutors.getRejectedCount(group));
+            latencyTimers.put(group, registry.getTimer(new Id(IdConstants.SEATA_RPC_EXECUTOR)
+                .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+                .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER)
+                .withTag(IdConstants.EXECUTOR_KEY, group.getName())));
+        }
+        requestExecutors.setLatencyListener(
+            (group, nanos) -> latencyTimers.get(group).record(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Expose the contended acquisitions, the wait time and the timeouts of the global session locks.
+     */
+    public void registerSessionLockStatistics() {
+        if (registry == null) {
+            return;
+        }
+        registry.getGauge(sessionLockId(IdConstants.STATUS_VALUE_CONTENDED),
+            SessionLockStatistics::getContendedCount);
+        registry.getGauge(sessionLockId(IdConstants.STATUS_VALUE_WAIT), SessionLockStatistics::getWaitMillis);
+        registry.getGauge(sessionLockId(IdConstants.STATUS_VALUE_TIMEOUT), SessionLockStatistics::getTimeoutCount);
+    }
+
+    /**
+     * Expose the spilled sessions, their size, the sessions read back and the used heap, when the file session
+     * manager spills the idle sessions out of the heap.
+     */
+    public void registerSessionSpillStatistics() {
+        if (registry == null || !ConfigurationFactory.getInstance().getBoolean(
+            ConfigurationKeys.STORE_FILE_SESSION_SPILL_ENABLED, DEFAULT_STORE_FILE_SESSION_SPILL_ENABLED)) {
+            return;
+        }
+        registry.getGauge(sessionSpillId(IdConstants.STATUS_VALUE_SPILLED), SessionSpillStatistics::getSpilledCount);
+        registry.getGauge(sessionSpillId(IdConstants.STATUS_VALUE_SPILLED_BYTES),
+            SessionSpillStatistics::getSpilledBytes);
+        registry.getGauge(sessionSpillId(IdConstants.STATUS_VALUE_FAULTED), SessionSpillStatistics::getFaultedCount);
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        registry.getGauge(sessionSpillId(IdConstants.STATUS_VALUE_HEAP_USED),
+            () -> memoryMXBean.getHeapMemoryUsage().getUsed());
+    }
+
+    private static Id sessionSpillId(String status) {
+        return new Id(IdConstants.SEATA_SESSION_SPILL)
+            .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+            .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE)
+            .withTag(IdConstants.STATUS_KEY, status);
+    }
+
+    private static Id sessionLockId(String status) {
+        return new Id(IdConstants.SEATA_SESSION_LOCK)
+            .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+            .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE)
+            .withTag(IdConstants.STATUS_KEY, status);
+    }
+
+    private static Id executorId(String status, RequestExecutorGroup group) {
+        return new Id(IdConstants.SEATA_RPC_EXECUTOR)
+            .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+            .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE)
+            .withTag(IdConstants.STATUS_KEY, status)
+            .withTag(IdConstants.EXECUTOR_KEY, group.getName());
+    }
+
+    private static Id auditId(String status) {
+        return new Id(IdConstants.SEATA_RPC_AUDIT)
+            .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+            .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE)
+            .withTag(IdConstants.STATUS_KEY, status);
+    }
+
+    private static Id rpcId(String status, String address) {
+        return new Id(IdConstants.SEATA_RPC)
+            .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+            .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE)
+            .withTag(IdConstants.STATUS_KEY, status)
+            .withTag(IdConstants.ADDRESS_KEY, address);
+    }
+
     public void init() {
         boolean enabled = ConfigurationFactory.getInstance().getBoolean(
             ConfigurationKeys.METRICS_PREFIX + ConfigurationKeys.METRICS_ENABLED, DEFAULT_METRICS_ENABLED);
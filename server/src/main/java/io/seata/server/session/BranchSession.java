@@ -22,6 +22,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import io.seata.common.util.CompressUtil;
 import io.seata.core.exception.TransactionException;
+import io.seata.core.lock.LockKeyPayload;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.LockStatus;
@@ -51,6 +52,11 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     private String xid;
 
+    /**
+     * The UTF-8 bytes of the xid, cached for encoding.
+     */
+    private byte[] xidBytes;
+
     private long transactionId;
 
     private long branchId;
@@ -59,8 +65,16 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     private String resourceId;
 
+    /**
+     * The UTF-8 bytes of the resource id, cached for encoding, the resource id is materialized from them on demand
+     * after decoding.
+     */
+    private byte[] resourceIdBytes;
+
     private String lockKey;
 
+    private LockKeyPayload lockKeyPayload;
+
     private BranchType branchType;
 
     private BranchStatus status = BranchStatus.Unknown;
@@ -134,6 +148,9 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
      * @return the resource id
      */
     public String getResourceId() {
+        if (resourceId == null && resourceIdBytes != null) {
+            resourceId = SessionCodec.toString(resourceIdBytes);
+        }
         return resourceId;
     }
 
@@ -144,6 +161,7 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
      */
     public void setResourceId(String resourceId) {
         this.resourceId = resourceId;
+        this.resourceIdBytes = SessionCodec.toBytes(resourceId);
     }
 
     /**
@@ -152,6 +170,9 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
      * @return the lock key
      */
     public String getLockKey() {
+        if (lockKey == null && lockKeyPayload != null) {
+            lockKey = lockKeyPayload.toLockKey();
+        }
         return lockKey;
     }
 
@@ -164,6 +185,25 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
         this.lockKey = lockKey;
     }
 
+    /**
+     * Gets the structured lock keys the branch was registered with, the lock key string is only built from
+     * them when it is asked for.
+     *
+     * @return the lock key payload, null if the branch was registered with the lock key string
+     */
+    public LockKeyPayload getLockKeyPayload() {
+        return lockKeyPayload;
+    }
+
+    /**
+     * Sets the structured lock keys.
+     *
+     * @param lockKeyPayload the lock key payload
+     */
+    public void setLockKeyPayload(LockKeyPayload lockKeyPayload) {
+        this.lockKeyPayload = lockKeyPayload;
+    }
+
     /**
      * Gets branch type.
      *
@@ -252,6 +292,7 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
      */
     public void setXid(String xid) {
         this.xid = xid;
+        this.xidBytes = SessionCodec.toBytes(xid);
     }
 
     @Override
@@ -307,16 +348,24 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     @Override
     public byte[] encode() {
+        ByteBuffer byteBuffer = byteBufferThreadLocal.get();
+        //recycle
+        byteBuffer.clear();
+        encode(byteBuffer);
+        byteBuffer.flip();
+        byte[] result = new byte[byteBuffer.limit()];
+        byteBuffer.get(result);
+        return result;
+    }
 
-        byte[] resourceIdBytes = resourceId != null ? resourceId.getBytes() : null;
-
-        byte[] lockKeyBytes = lockKey != null ? lockKey.getBytes() : null;
-
-        byte[] clientIdBytes = clientId != null ? clientId.getBytes() : null;
+    @Override
+    public void encode(ByteBuffer byteBuffer) {
+        String lockKey = getLockKey();
+        byte[] lockKeyBytes = SessionCodec.toBytes(lockKey);
 
-        byte[] applicationDataBytes = applicationData != null ? applicationData.getBytes() : null;
+        byte[] clientIdBytes = SessionCodec.toBytes(clientId);
 
-        byte[] xidBytes = xid != null ? xid.getBytes() : null;
+        byte[] applicationDataBytes = SessionCodec.toBytes(applicationData);
 
         byte branchTypeByte = branchType != null ? (byte) branchType.ordinal() : -1;
 
@@ -344,56 +393,17 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
             }
         }
 
-        ByteBuffer byteBuffer = byteBufferThreadLocal.get();
-        //recycle
-        byteBuffer.clear();
-
         byteBuffer.putLong(transactionId);
         byteBuffer.putLong(branchId);
-
-        if (resourceIdBytes != null) {
-            byteBuffer.putInt(resourceIdBytes.length);
-            byteBuffer.put(resourceIdBytes);
-        } else {
-            byteBuffer.putInt(0);
-        }
-
-        if (lockKeyBytes != null) {
-            byteBuffer.putInt(lockKeyBytes.length);
-            byteBuffer.put(lockKeyBytes);
-        } else {
-            byteBuffer.putInt(0);
-        }
-
-        if (clientIdBytes != null) {
-            byteBuffer.putShort((short)clientIdBytes.length);
-            byteBuffer.put(clientIdBytes);
-        } else {
-            byteBuffer.putShort((short)0);
-        }
-
-        if (applicationDataBytes != null) {
-            byteBuffer.putInt(applicationDataBytes.length);
-            byteBuffer.put(applicationDataBytes);
-        } else {
-            byteBuffer.putInt(0);
-        }
-
-        if (xidBytes != null) {
-            byteBuffer.putInt(xidBytes.length);
-            byteBuffer.put(xidBytes);
-        } else {
-            byteBuffer.putInt(0);
-        }
-
+        SessionCodec.putIntBytes(byteBuffer, resourceIdBytes);
+        SessionCodec.putIntBytes(byteBuffer, lockKeyBytes);
+        SessionCodec.putShortBytes(byteBuffer, clientIdBytes);
+        SessionCodec.putIntBytes(byteBuffer, applicationDataBytes);
+        SessionCodec.putIntBytes(byteBuffer, xidBytes);
         byteBuffer.put(branchTypeByte);
 
         byteBuffer.put((byte)status.getCode());
         byteBuffer.put((byte)lockStatus.getCode());
-        byteBuffer.flip();
-        byte[] result = new byte[byteBuffer.limit()];
-        byteBuffer.get(result);
-        return result;
     }
 
     private int calBranchSessionSize(byte[] resourceIdBytes, byte[] lockKeyBytes, byte[] clientIdBytes,
@@ -417,48 +427,32 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     @Override
     public void decode(byte[] a) {
-        ByteBuffer byteBuffer = ByteBuffer.wrap(a);
+        decode(ByteBuffer.wrap(a));
+    }
+
+    @Override
+    public void decode(ByteBuffer byteBuffer) {
         this.transactionId = byteBuffer.getLong();
         this.branchId = byteBuffer.getLong();
-        int resourceLen = byteBuffer.getInt();
-        if (resourceLen > 0) {
-            byte[] byResource = new byte[resourceLen];
-            byteBuffer.get(byResource);
-            this.resourceId = new String(byResource);
-        }
-        int lockKeyLen = byteBuffer.getInt();
-        if (lockKeyLen > 0) {
-            byte[] byLockKey = new byte[lockKeyLen];
-            byteBuffer.get(byLockKey);
+        // the resource id is materialized on demand
+        this.resourceId = null;
+        this.resourceIdBytes = SessionCodec.getIntBytes(byteBuffer);
+        byte[] byLockKey = SessionCodec.getIntBytes(byteBuffer);
+        if (byLockKey != null) {
             if (CompressUtil.isCompressData(byLockKey)) {
                 try {
-                    this.lockKey = new String(CompressUtil.uncompress(byLockKey));
+                    this.lockKey = SessionCodec.toString(CompressUtil.uncompress(byLockKey));
                 } catch (IOException e) {
                     throw new RuntimeException("decompress lockKey error", e);
                 }
             } else {
-                this.lockKey = new String(byLockKey);
+                this.lockKey = SessionCodec.toString(byLockKey);
             }
-
-        }
-        short clientIdLen = byteBuffer.getShort();
-        if (clientIdLen > 0) {
-            byte[] byClientId = new byte[clientIdLen];
-            byteBuffer.get(byClientId);
-            this.clientId = new String(byClientId);
-        }
-        int applicationDataLen = byteBuffer.getInt();
-        if (applicationDataLen > 0) {
-            byte[] byApplicationData = new byte[applicationDataLen];
-            byteBuffer.get(byApplicationData);
-            this.applicationData = new String(byApplicationData);
-        }
-        int xidLen = byteBuffer.getInt();
-        if (xidLen > 0) {
-            byte[] xidBytes = new byte[xidLen];
-            byteBuffer.get(xidBytes);
-            this.xid = new String(xidBytes);
         }
+        this.clientId = SessionCodec.toString(SessionCodec.getShortBytes(byteBuffer));
+        this.applicationData = SessionCodec.toString(SessionCodec.getIntBytes(byteBuffer));
+        this.xidBytes = SessionCodec.getIntBytes(byteBuffer);
+        this.xid = SessionCodec.toString(xidBytes);
         int branchTypeId = byteBuffer.get();
         if (branchTypeId >= 0) {
             this.branchType = BranchType.values()[branchTypeId];
@@ -0,0 +1,187 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.session;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import io.seata.core.model.BranchType;
+
+/**
+ * An immutable snapshot of the branches of a global session in the order they were added. Adding or removing a
+ * branch copies the snapshot, so reading, iterating in either order and finding a branch by id need neither a
+ * copy nor a lock, and removing branches while iterating a snapshot is safe.
+ *
+ * @author hongyan
+ */
+final class BranchSnapshot extends AbstractList<BranchSession> implements RandomAccess {
+
+    /**
+     * The empty snapshot.
+     */
+    static final BranchSnapshot EMPTY = new BranchSnapshot(new BranchSession[0], new HashMap<>(), 0);
+
+    private final BranchSession[] branches;
+
+    private final Map<Long, BranchSession> branchIndex;
+
+    private final int atBranchCount;
+
+    private final List<BranchSession> reversed = new Reversed();
+
+    private BranchSnapshot(BranchSession[] branches, Map<Long, BranchSession> branchIndex, int atBranchCount) {
+        this.branches = branches;
+        this.branchIndex = branchIndex;
+        this.atBranchCount = atBranchCount;
+    }
+
+    /**
+     * Create a snapshot of the branches.
+     *
+     * @param branchSessions the branch sessions
+     * @return the snapshot
+     */
+    static BranchSnapshot of(Collection<BranchSession> branchSessions) {
+        return branchSessions.isEmpty() ? EMPTY : of(branchSessions.toArray(new BranchSession[0]));
+    }
+
+    private static BranchSnapshot of(BranchSession[] branches) {
+        Map<Long, BranchSession> branchIndex = new HashMap<>(Math.max(branches.length * 4 / 3 + 1, 16));
+        int atBranchCount = 0;
+        for (BranchSession branch : branches) {
+            branchIndex.putIfAbsent(branch.getBranchId(), branch);
+            if (branch.getBranchType() == BranchType.AT) {
+                atBranchCount++;
+            }
+        }
+        return new BranchSnapshot(branches, branchIndex, atBranchCount);
+    }
+
+    /**
+     * The snapshot with the branch appended.
+     *
+     * @param branchSession the branch session
+     * @return the snapshot
+     */
+    BranchSnapshot with(BranchSession branchSession) {
+        BranchSession[] newBranches = new BranchSession[branches.length + 1];
+        System.arraycopy(branches, 0, newBranches, 0, branches.length);
+        newBranches[branches.length] = branchSession;
+        Map<Long, BranchSession> newBranchIndex = new HashMap<>(branchIndex);
+        newBranchIndex.putIfAbsent(branchSession.getBranchId(), branchSession);
+        return new BranchSnapshot(newBranches, newBranchIndex,
+            atBranchCount + (branchSession.getBranchType() == BranchType.AT ? 1 : 0));
+    }
+
+    /**
+     * The snapshot without the branch.
+     *
+     * @param branchSession the branch session
+     * @return the snapshot, this snapshot if it has not the branch
+     */
+    BranchSnapshot without(BranchSession branchSession) {
+        int index = indexOf(branchSession);
+        if (index < 0) {
+            return this;
+        }
+        if (branches.length == 1) {
+            return EMPTY;
+        }
+        BranchSession[] newBranches = new BranchSession[branches.length - 1];
+        System.arraycopy(branches, 0, newBranches, 0, index);
+        System.arraycopy(branches, index + 1, newBranches, index, newBranches.length - index);
+        if (branchIndex.get(branchSession.getBranchId()) != branchSession) {
+            return new BranchSnapshot(newBranches, branchIndex,
+                atBranchCount - (branchSession.getBranchType() == BranchType.AT ? 1 : 0));
+        }
+        // rebuild the index, another branch may have the same id
+        return of(newBranches);
+    }
+
+    /**
+     * Gets the branch by id.
+     *
+     * @param branchId the branch id
+     * @return the branch session, null if absent
+     */
+    BranchSession getBranch(long branchId) {
+        return branchIndex.get(branchId);
+    }
+
+    /**
+     * Whether any branch is an AT branch.
+     *
+     * @return the boolean
+     */
+    boolean hasATBranch() {
+        return atBranchCount > 0;
+    }
+
+    /**
+     * Whether every branch is an AT branch.
+     *
+     * @return the boolean
+     */
+    boolean isAllATBranch() {
+        return atBranchCount == branches.length;
+    }
+
+    /**
+     * The branches in reverse order, a view without copy.
+     *
+     * @return the list
+     */
+    List<BranchSession> reversed() {
+        return reversed;
+    }
+
+    @Override
+    public BranchSession get(int index) {
+        return branches[index];
+    }
+
+    @Override
+    public int size() {
+        return branches.length;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < branches.length; i++) {
+            if (branches[i] == o) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private class Reversed extends AbstractList<BranchSession> implements RandomAccess {
+
+        @Override
+        public BranchSession get(int index) {
+            return branches[branches.length - 1 - index];
+        }
+
+        @Override
+        public int size() {
+            return branches.length;
+        }
+    }
+}
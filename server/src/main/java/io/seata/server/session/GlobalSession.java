@@ -16,15 +16,16 @@
 package io.seata.server.session;
 
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 
 import io.seata.common.Constants;
 import io.seata.common.DefaultValues;
@@ -83,6 +84,18 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
 
     private String transactionName;
 
+    /**
+     * The UTF-8 bytes of the immutable fields, cached for encoding, the application id, the transaction service
+     * group and the transaction name are materialized from them on demand after decoding.
+     */
+    private byte[] xidBytes;
+
+    private byte[] applicationIdBytes;
+
+    private byte[] transactionServiceGroupBytes;
+
+    private byte[] transactionNameBytes;
+
     private int timeout;
 
     private long beginTime;
@@ -93,7 +106,13 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
 
     private volatile boolean active = true;
 
-    private List<BranchSession> branchSessions;
+    /**
+     * The snapshot of the branches, replaced as a whole by add and remove, null until lazily loaded.
+     */
+    private volatile BranchSnapshot branchSessions;
+
+    private static final AtomicReferenceFieldUpdater<GlobalSession, BranchSnapshot> BRANCH_SESSIONS_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(GlobalSession.class, BranchSnapshot.class, "branchSessions");
 
     private GlobalSessionLock globalSessionLock = new GlobalSessionLock();
 
@@ -106,7 +125,11 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      */
     public boolean add(BranchSession branchSession) {
         if (null != branchSessions) {
-            return branchSessions.add(branchSession);
+            BranchSnapshot snapshot;
+            do {
+                snapshot = branchSessions;
+            } while (!BRANCH_SESSIONS_UPDATER.compareAndSet(this, snapshot, snapshot.with(branchSession)));
+            return true;
         } else {
             // db and redis no need to deal with
             return true;
@@ -120,10 +143,19 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      * @return the boolean
      */
     public boolean remove(BranchSession branchSession) {
-        return branchSessions.remove(branchSession);
+        BranchSnapshot snapshot;
+        BranchSnapshot removed;
+        do {
+            snapshot = branchSessions;
+            removed = snapshot.without(branchSession);
+            if (removed == snapshot) {
+                return false;
+            }
+        } while (!BRANCH_SESSIONS_UPDATER.compareAndSet(this, snapshot, removed));
+        return true;
     }
 
-    private Set<SessionLifecycleListener> lifecycleListeners = new HashSet<>();
+    private Set<SessionLifecycleListener> lifecycleListeners = new CopyOnWriteArraySet<>();
 
     /**
      * Can be committed async boolean.
@@ -131,9 +163,12 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      * @return the boolean
      */
     public boolean canBeCommittedAsync() {
-        List<BranchSession> branchSessions = getBranchSessions();
-        for (BranchSession branchSession : branchSessions) {
-            if (!branchSession.canBeCommittedAsync()) {
+        BranchSnapshot branchSessions = getBranchSnapshot();
+        if (branchSessions.isAllATBranch()) {
+            return true;
+        }
+        for (int i = 0, size = branchSessions.size(); i < size; i++) {
+            if (!branchSessions.get(i).canBeCommittedAsync()) {
                 return false;
             }
         }
@@ -146,13 +181,7 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      * @return the boolean
      */
     public boolean hasATBranch() {
-        List<BranchSession> branchSessions = getBranchSessions();
-        for (BranchSession branchSession : branchSessions) {
-            if (branchSession.getBranchType() == BranchType.AT) {
-                return true;
-            }
-        }
-        return false;
+        return getBranchSnapshot().hasATBranch();
     }
 
     /**
@@ -165,6 +194,7 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
         if (branchSessions.size() > 0) {
             return BranchType.SAGA == branchSessions.get(0).getBranchType();
         } else {
+            String transactionName = getTransactionName();
             return StringUtils.isNotBlank(transactionName)
                 && transactionName.startsWith(Constants.SAGA_TRANS_NAME_PREFIX);
         }
@@ -303,9 +333,10 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
         if (branchSessions == null && isLazyLoadBranch()) {
             synchronized (this) {
                 if (branchSessions == null && isLazyLoadBranch()) {
-                    branchSessions = new ArrayList<>();
-                    Optional.ofNullable(SessionHolder.getRootSessionManager().findGlobalSession(xid, true))
-                        .ifPresent(globalSession -> branchSessions.addAll(globalSession.getBranchSessions()));
+                    branchSessions = Optional.ofNullable(
+                        SessionHolder.getRootSessionManager().findGlobalSession(xid, true))
+                        .map(globalSession -> BranchSnapshot.of(globalSession.getBranchSessions()))
+                        .orElse(BranchSnapshot.EMPTY);
                 }
             }
         }
@@ -333,36 +364,25 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      * @return the branch
      */
     public BranchSession getBranch(long branchId) {
-        synchronized (this) {
-            List<BranchSession> branchSessions = getBranchSessions();
-            for (BranchSession branchSession : branchSessions) {
-                if (branchSession.getBranchId() == branchId) {
-                    return branchSession;
-                }
-            }
-
-            return null;
-        }
+        return getBranchSnapshot().getBranch(branchId);
     }
 
     /**
-     * Gets sorted branches.
+     * Gets sorted branches, an immutable snapshot which is not affected by adding or removing branches.
      *
      * @return the sorted branches
      */
     public List<BranchSession> getSortedBranches() {
-        return new ArrayList<>(getBranchSessions());
+        return getBranchSnapshot();
     }
 
     /**
-     * Gets reverse sorted branches.
+     * Gets reverse sorted branches, an immutable snapshot which is not affected by adding or removing branches.
      *
      * @return the reverse sorted branches
      */
     public List<BranchSession> getReverseSortedBranches() {
-        List<BranchSession> reversed = new ArrayList<>(getBranchSessions());
-        Collections.reverse(reversed);
-        return reversed;
+        return getBranchSnapshot().reversed();
     }
 
     /**
@@ -386,13 +406,17 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
         this.status = GlobalStatus.Begin;
         this.lazyLoadBranch = lazyLoadBranch;
         if (!lazyLoadBranch) {
-            this.branchSessions = new ArrayList<>();
+            this.branchSessions = BranchSnapshot.EMPTY;
         }
         this.applicationId = applicationId;
         this.transactionServiceGroup = transactionServiceGroup;
         this.transactionName = transactionName;
         this.timeout = timeout;
         this.xid = XID.generateXID(transactionId);
+        this.applicationIdBytes = SessionCodec.toBytes(applicationId);
+        this.transactionServiceGroupBytes = SessionCodec.toBytes(transactionServiceGroup);
+        this.transactionNameBytes = SessionCodec.toBytes(transactionName);
+        this.xidBytes = SessionCodec.toBytes(xid);
     }
 
     /**
@@ -459,6 +483,7 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      */
     public void setXid(String xid) {
         this.xid = xid;
+        this.xidBytes = SessionCodec.toBytes(xid);
     }
 
     /**
@@ -467,6 +492,9 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      * @return the application id
      */
     public String getApplicationId() {
+        if (applicationId == null && applicationIdBytes != null) {
+            applicationId = SessionCodec.toString(applicationIdBytes);
+        }
         return applicationId;
     }
 
@@ -476,6 +504,9 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      * @return the transaction service group
      */
     public String getTransactionServiceGroup() {
+        if (transactionServiceGroup == null && transactionServiceGroupBytes != null) {
+            transactionServiceGroup = SessionCodec.toString(transactionServiceGroupBytes);
+        }
         return transactionServiceGroup;
     }
 
@@ -485,6 +516,9 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
      * @return the transaction name
      */
     public String getTransactionName() {
+        if (transactionName == null && transactionNameBytes != null) {
+            transactionName = SessionCodec.toString(transactionNameBytes);
+        }
         return transactionName;
     }
 
@@ -563,66 +597,38 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
 
     @Override
     public byte[] encode() {
-        byte[] byApplicationIdBytes = applicationId != null ? applicationId.getBytes() : null;
-
-        byte[] byServiceGroupBytes = transactionServiceGroup != null ? transactionServiceGroup.getBytes() : null;
-
-        byte[] byTxNameBytes = transactionName != null ? transactionName.getBytes() : null;
-
-        byte[] xidBytes = xid != null ? xid.getBytes() : null;
+        ByteBuffer byteBuffer = byteBufferThreadLocal.get();
+        //recycle
+        byteBuffer.clear();
+        encode(byteBuffer);
+        byteBuffer.flip();
+        byte[] result = new byte[byteBuffer.limit()];
+        byteBuffer.get(result);
+        return result;
+    }
 
-        byte[] applicationDataBytes = applicationData != null ? applicationData.getBytes() : null;
+    @Override
+    public void encode(ByteBuffer byteBuffer) {
+        byte[] applicationDataBytes = SessionCodec.toBytes(applicationData);
 
-        int size = calGlobalSessionSize(byApplicationIdBytes, byServiceGroupBytes, byTxNameBytes, xidBytes,
-            applicationDataBytes);
+        int size = calGlobalSessionSize(applicationIdBytes, transactionServiceGroupBytes, transactionNameBytes,
+            xidBytes, applicationDataBytes);
 
         if (size > MAX_GLOBAL_SESSION_SIZE) {
             throw new RuntimeException("global session size exceeded, size : " + size + " maxBranchSessionSize : " +
                 MAX_GLOBAL_SESSION_SIZE);
         }
-        ByteBuffer byteBuffer = byteBufferThreadLocal.get();
-        //recycle
-        byteBuffer.clear();
 
         byteBuffer.putLong(transactionId);
         byteBuffer.putInt(timeout);
-        if (byApplicationIdBytes != null) {
-            byteBuffer.putShort((short)byApplicationIdBytes.length);
-            byteBuffer.put(byApplicationIdBytes);
-        } else {
-            byteBuffer.putShort((short)0);
-        }
-        if (byServiceGroupBytes != null) {
-            byteBuffer.putShort((short)byServiceGroupBytes.length);
-            byteBuffer.put(byServiceGroupBytes);
-        } else {
-            byteBuffer.putShort((short)0);
-        }
-        if (byTxNameBytes != null) {
-            byteBuffer.putShort((short)byTxNameBytes.length);
-            byteBuffer.put(byTxNameBytes);
-        } else {
-            byteBuffer.putShort((short)0);
-        }
-        if (xidBytes != null) {
-            byteBuffer.putInt(xidBytes.length);
-            byteBuffer.put(xidBytes);
-        } else {
-            byteBuffer.putInt(0);
-        }
-        if (applicationDataBytes != null) {
-            byteBuffer.putInt(applicationDataBytes.length);
-            byteBuffer.put(applicationDataBytes);
-        } else {
-            byteBuffer.putInt(0);
-        }
+        SessionCodec.putShortBytes(byteBuffer, applicationIdBytes);
+        SessionCodec.putShortBytes(byteBuffer, transactionServiceGroupBytes);
+        SessionCodec.putShortBytes(byteBuffer, transactionNameBytes);
+        SessionCodec.putIntBytes(byteBuffer, xidBytes);
+        SessionCodec.putIntBytes(byteBuffer, applicationDataBytes);
 
         byteBuffer.putLong(beginTime);
         byteBuffer.put((byte)status.getCode());
-        byteBuffer.flip();
-        byte[] result = new byte[byteBuffer.limit()];
-        byteBuffer.get(result);
-        return result;
     }
 
     private int calGlobalSessionSize(byte[] byApplicationIdBytes, byte[] byServiceGroupBytes, byte[] byTxNameBytes,
@@ -646,40 +652,24 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
 
     @Override
     public void decode(byte[] a) {
-        this.branchSessions = new ArrayList<>();
-        ByteBuffer byteBuffer = ByteBuffer.wrap(a);
+        decode(ByteBuffer.wrap(a));
+    }
+
+    @Override
+    public void decode(ByteBuffer byteBuffer) {
+        this.branchSessions = BranchSnapshot.EMPTY;
         this.transactionId = byteBuffer.getLong();
         this.timeout = byteBuffer.getInt();
-        short applicationIdLen = byteBuffer.getShort();
-        if (applicationIdLen > 0) {
-            byte[] byApplicationId = new byte[applicationIdLen];
-            byteBuffer.get(byApplicationId);
-            this.applicationId = new String(byApplicationId);
-        }
-        short serviceGroupLen = byteBuffer.getShort();
-        if (serviceGroupLen > 0) {
-            byte[] byServiceGroup = new byte[serviceGroupLen];
-            byteBuffer.get(byServiceGroup);
-            this.transactionServiceGroup = new String(byServiceGroup);
-        }
-        short txNameLen = byteBuffer.getShort();
-        if (txNameLen > 0) {
-            byte[] byTxName = new byte[txNameLen];
-            byteBuffer.get(byTxName);
-            this.transactionName = new String(byTxName);
-        }
-        int xidLen = byteBuffer.getInt();
-        if (xidLen > 0) {
-            byte[] xidBytes = new byte[xidLen];
-            byteBuffer.get(xidBytes);
-            this.xid = new String(xidBytes);
-        }
-        int applicationDataLen = byteBuffer.getInt();
-        if (applicationDataLen > 0) {
-            byte[] applicationDataLenBytes = new byte[applicationDataLen];
-            byteBuffer.get(applicationDataLenBytes);
-            this.applicationData = new String(applicationDataLenBytes);
-        }
+        // the application id, the transaction service group and the transaction name are materialized on demand
+        this.applicationId = null;
+        this.applicationIdBytes = SessionCodec.getShortBytes(byteBuffer);
+        this.transactionServiceGroup = null;
+        this.transactionServiceGroupBytes = SessionCodec.getShortBytes(byteBuffer);
+        this.transactionName = null;
+        this.transactionNameBytes = SessionCodec.getShortBytes(byteBuffer);
+        this.xidBytes = SessionCodec.getIntBytes(byteBuffer);
+        this.xid = SessionCodec.toString(xidBytes);
+        this.applicationData = SessionCodec.toString(SessionCodec.getIntBytes(byteBuffer));
 
         this.beginTime = byteBuffer.getLong();
         this.status = GlobalStatus.get(byteBuffer.get());
@@ -702,25 +692,151 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
         globalSessionLock.unlock();
     }
 
+    /**
+     * Lock the session shared with the other shared holders, such as the concurrent branch registrations, and
+     * exclusive with the lock holder.
+     *
+     * @throws TransactionException the transaction exception
+     */
+    public void lockShared() throws TransactionException {
+        globalSessionLock.lockShared();
+    }
+
+    public void unlockShared() {
+        globalSessionLock.unlockShared();
+    }
+
+    /**
+     * A lock with a shared mode, acquired by compare and set without queueing: a waiter spins, then yields, then
+     * parks shortly and retries until it times out. The exclusive holder sets its bit first, so new shared holders
+     * wait, and then waits for the current shared holders to leave. Both modes are reentrant, but a shared holder
+     * cannot upgrade: it would wait for itself, so it fails at once.
+     */
     private static class GlobalSessionLock {
 
-        private Lock globalSessionLock = new ReentrantLock();
+        private static final long GLOBAL_SESSION_LOCK_TIME_OUT_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+        private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
 
-        private static final int GLOBAL_SESSION_LOCK_TIME_OUT_MILLS = 2 * 1000;
+        private static final int SPINS = 64;
+
+        private static final int EXCLUSIVE = 1 << 30;
+
+        /**
+         * The shared holds of the current thread by lock.
+         */
+        private static final ThreadLocal<Map<GlobalSessionLock, int[]>> SHARED_HOLDS =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+
+        /**
+         * The exclusive bit and the count of the shared holders.
+         */
+        private final AtomicInteger state = new AtomicInteger();
+
+        private volatile Thread exclusiveOwner;
+
+        private int exclusiveHolds;
 
         public void lock() throws TransactionException {
+            Thread current = Thread.currentThread();
+            if (exclusiveOwner == current) {
+                exclusiveHolds++;
+                return;
+            }
+            if (SHARED_HOLDS.get().containsKey(this)) {
+                throw new GlobalTransactionException(TransactionExceptionCode.FailedLockGlobalTranscation,
+                    "Lock global session failed, the current thread holds it shared");
+            }
+            int round = 0;
+            long waitStart = 0;
+            while (!tryAcquire(EXCLUSIVE)) {
+                waitStart = backOff(round++, waitStart);
+            }
+            exclusiveOwner = current;
+            exclusiveHolds = 1;
             try {
-                if (globalSessionLock.tryLock(GLOBAL_SESSION_LOCK_TIME_OUT_MILLS, TimeUnit.MILLISECONDS)) {
-                    return;
+                while (state.get() != EXCLUSIVE) {
+                    waitStart = backOff(round++, waitStart);
                 }
-            } catch (InterruptedException e) {
-                LOGGER.error("Interrupted error", e);
+            } catch (TransactionException e) {
+                unlock();
+                throw e;
+            }
+            if (round > 0) {
+                SessionLockStatistics.onWait(System.nanoTime() - waitStart);
             }
-            throw new GlobalTransactionException(TransactionExceptionCode.FailedLockGlobalTranscation, "Lock global session failed");
         }
 
         public void unlock() {
-            globalSessionLock.unlock();
+            if (--exclusiveHolds > 0) {
+                return;
+            }
+            exclusiveOwner = null;
+            state.addAndGet(-EXCLUSIVE);
+        }
+
+        public void lockShared() throws TransactionException {
+            if (exclusiveOwner == Thread.currentThread()) {
+                exclusiveHolds++;
+                return;
+            }
+            Map<GlobalSessionLock, int[]> holds = SHARED_HOLDS.get();
+            int[] count = holds.get(this);
+            if (count != null) {
+                count[0]++;
+                return;
+            }
+            int round = 0;
+            long waitStart = 0;
+            while (!tryAcquire(1)) {
+                waitStart = backOff(round++, waitStart);
+            }
+            holds.put(this, new int[] {1});
+            if (round > 0) {
+                SessionLockStatistics.onWait(System.nanoTime() - waitStart);
+            }
+        }
+
+        public void unlockShared() {
+            if (exclusiveOwner == Thread.currentThread()) {
+                unlock();
+                return;
+            }
+            Map<GlobalSessionLock, int[]> holds = SHARED_HOLDS.get();
+            int[] count = holds.get(this);
+            if (count != null && --count[0] > 0) {
+                return;
+            }
+            holds.remove(this);
+            state.decrementAndGet();
+        }
+
+        private boolean tryAcquire(int acquires) {
+            int s = state.get();
+            return (s & EXCLUSIVE) == 0 && state.compareAndSet(s, s + acquires);
+        }
+
+        private static long backOff(int round, long waitStart) throws TransactionException {
+            if (round == 0) {
+                SessionLockStatistics.onContended();
+                return System.nanoTime();
+            }
+            if (Thread.interrupted()) {
+                LOGGER.error("Interrupted error");
+                throw new GlobalTransactionException(TransactionExceptionCode.FailedLockGlobalTranscation,
+                    "Lock global session failed");
+            }
+            if (System.nanoTime() - waitStart > GLOBAL_SESSION_LOCK_TIME_OUT_NANOS) {
+                SessionLockStatistics.onTimeout();
+                throw new GlobalTransactionException(TransactionExceptionCode.FailedLockGlobalTranscation,
+                    "Lock global session failed");
+            }
+            if (round >= SPINS * 2) {
+                LockSupport.parkNanos(PARK_NANOS);
+            } else if (round >= SPINS) {
+                Thread.yield();
+            }
+            return waitStart;
         }
     }
 
@@ -736,7 +852,16 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
         V call() throws TransactionException;
     }
 
+    /**
+     * Gets the branch sessions, an immutable snapshot which is not affected by adding or removing branches.
+     *
+     * @return the branch sessions
+     */
     public List<BranchSession> getBranchSessions() {
+        return getBranchSnapshot();
+    }
+
+    private BranchSnapshot getBranchSnapshot() {
         loadBranchs();
         return branchSessions;
     }
@@ -767,8 +892,8 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
     @Override
     public String toString() {
         return "GlobalSession{" + "xid='" + xid + '\'' + ", transactionId=" + transactionId + ", status=" + status
-            + ", applicationId='" + applicationId + '\'' + ", transactionServiceGroup='" + transactionServiceGroup
-            + '\'' + ", transactionName='" + transactionName + '\'' + ", timeout=" + timeout + ", beginTime="
+            + ", applicationId='" + getApplicationId() + '\'' + ", transactionServiceGroup='"
+            + getTransactionServiceGroup() + '\'' + ", transactionName='" + getTransactionName() + '\'' + ", timeout=" + timeout + ", beginTime="
             + beginTime + ", applicationData='" + applicationData + '\'' + ", lazyLoadBranch=" + lazyLoadBranch
             + ", active=" + active + ", branchSessions=" + branchSessions + ", globalSessionLock=" + globalSessionLock
             + ", lifecycleListeners=" + lifecycleListeners + '}';
@@ -0,0 +1,119 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.session;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The field codec of the session storables.
+ *
+ * @author hongyan
+ */
+final class SessionCodec {
+
+    private SessionCodec() {
+    }
+
+    /**
+     * The UTF-8 bytes of the string.
+     *
+     * @param value the value
+     * @return the bytes, null if the value is null
+     */
+    static byte[] toBytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * The string of the UTF-8 bytes.
+     *
+     * @param bytes the bytes
+     * @return the string, null if the bytes are null
+     */
+    static String toString(byte[] bytes) {
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * The length of the bytes.
+     *
+     * @param bytes the bytes
+     * @return the length, 0 if the bytes are null
+     */
+    static int length(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    /**
+     * Put the bytes with a short length.
+     *
+     * @param dst   the dst
+     * @param bytes the bytes
+     */
+    static void putShortBytes(ByteBuffer dst, byte[] bytes) {
+        if (bytes != null) {
+            dst.putShort((short)bytes.length);
+            dst.put(bytes);
+        } else {
+            dst.putShort((short)0);
+        }
+    }
+
+    /**
+     * Put the bytes with an int length.
+     *
+     * @param dst   the dst
+     * @param bytes the bytes
+     */
+    static void putIntBytes(ByteBuffer dst, byte[] bytes) {
+        if (bytes != null) {
+            dst.putInt(bytes.length);
+            dst.put(bytes);
+        } else {
+            dst.putInt(0);
+        }
+    }
+
+    /**
+     * Get the bytes with a short length.
+     *
+     * @param src the src
+     * @return the bytes, null if empty
+     */
+    static byte[] getShortBytes(ByteBuffer src) {
+        return getBytes(src, src.getShort());
+    }
+
+    /**
+     * Get the bytes with an int length.
+     *
+     * @param src the src
+     * @return the bytes, null if empty
+     */
+    static byte[] getIntBytes(ByteBuffer src) {
+        return getBytes(src, src.getInt());
+    }
+
+    private static byte[] getBytes(ByteBuffer src, int length) {
+        if (length <= 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        src.get(bytes);
+        return bytes;
+    }
+}
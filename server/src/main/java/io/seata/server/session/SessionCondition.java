@@ -29,6 +29,9 @@ public class SessionCondition {
     private GlobalStatus[] statuses;
     private Long overTimeAliveMills;
     private boolean lazyLoadBranch;
+    private boolean timeoutOnly;
+    private int shardCount = 1;
+    private int shard;
 
     /**
      * Instantiates a new Session condition.
@@ -142,4 +145,52 @@ public class SessionCondition {
         this.lazyLoadBranch = lazyLoadBranch;
     }
 
+    /**
+     * Whether only the sessions past their timeout are wanted, stores filter them in the query.
+     *
+     * @return the boolean
+     */
+    public boolean isTimeoutOnly() {
+        return timeoutOnly;
+    }
+
+    /**
+     * Sets timeout only.
+     *
+     * @param timeoutOnly the timeout only
+     */
+    public void setTimeoutOnly(boolean timeoutOnly) {
+        this.timeoutOnly = timeoutOnly;
+    }
+
+    /**
+     * Gets shard count, 1 when the sessions are not narrowed to a shard.
+     *
+     * @return the shard count
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Gets shard.
+     *
+     * @return the shard
+     */
+    public int getShard() {
+        return shard;
+    }
+
+    /**
+     * Narrow the sessions to the ones whose transactionId modulo the shard count is the shard. A store
+     * which can't filter by it returns the sessions of every shard.
+     *
+     * @param shardCount the shard count, 1 for every session
+     * @param shard      the shard
+     */
+    public void setShard(int shardCount, int shard) {
+        this.shardCount = shardCount;
+        this.shard = shard;
+    }
+
 }
@@ -18,6 +18,7 @@ package io.seata.server.session;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 
 import io.seata.common.util.CollectionUtils;
 import io.seata.config.Configuration;
@@ -270,21 +271,36 @@ public class SessionHelper {
      */
     public static Boolean forEach(Collection<BranchSession> sessions, BranchSessionHandler handler) throws TransactionException {
         Boolean result;
-        for (BranchSession branchSession : sessions) {
-            try {
-                MDC.put(RootContext.MDC_KEY_BRANCH_ID, String.valueOf(branchSession.getBranchId()));
-                result = handler.handle(branchSession);
-                if (result == null) {
-                    continue;
+        if (sessions instanceof List && sessions instanceof RandomAccess) {
+            // the branch snapshots are indexed without an iterator
+            List<BranchSession> branchSessions = (List<BranchSession>)sessions;
+            for (int i = 0, size = branchSessions.size(); i < size; i++) {
+                result = handle(branchSessions.get(i), handler);
+                if (result != null) {
+                    return result;
                 }
+            }
+            return null;
+        }
+        for (BranchSession branchSession : sessions) {
+            result = handle(branchSession, handler);
+            if (result != null) {
                 return result;
-            } finally {
-                MDC.remove(RootContext.MDC_KEY_BRANCH_ID);
             }
         }
         return null;
     }
 
+    private static Boolean handle(BranchSession branchSession, BranchSessionHandler handler)
+        throws TransactionException {
+        try {
+            MDC.put(RootContext.MDC_KEY_BRANCH_ID, String.valueOf(branchSession.getBranchId()));
+            return handler.handle(branchSession);
+        } finally {
+            MDC.remove(RootContext.MDC_KEY_BRANCH_ID);
+        }
+    }
+
 
     /**
      * remove branchSession from globalSession
@@ -366,6 +366,36 @@ public class SessionHolder {
         return getRootSessionManager().lockAndExecute(globalSession, lockCallable);
     }
 
+    /**
+     * lock shared and execute
+     *
+     * @param globalSession the global session
+     * @param lockCallable  the lock Callable
+     * @return the value
+     */
+    public static <T> T lockSharedAndExecute(GlobalSession globalSession, GlobalSession.LockCallable<T> lockCallable)
+            throws TransactionException {
+        return getRootSessionManager().lockSharedAndExecute(globalSession, lockCallable);
+    }
+
+    /**
+     * Gets the distributed locker.
+     *
+     * @return the distributed locker
+     */
+    public static DistributedLocker getDistributedLocker() {
+        return DISTRIBUTED_LOCKER;
+    }
+
+    /**
+     * Gets the distributed lock expire time.
+     *
+     * @return the expire time in milliseconds
+     */
+    public static long getDistributedLockExpireTime() {
+        return DISTRIBUTED_LOCK_EXPIRE_TIME;
+    }
+
     /**
      * acquire lock
      *
@@ -0,0 +1,75 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.session;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The contention counters of the global session locks.
+ *
+ * @author hongyan
+ */
+public final class SessionLockStatistics {
+
+    private static final LongAdder CONTENDED = new LongAdder();
+
+    private static final LongAdder WAIT_NANOS = new LongAdder();
+
+    private static final LongAdder TIMEOUTS = new LongAdder();
+
+    private SessionLockStatistics() {
+    }
+
+    static void onContended() {
+        CONTENDED.increment();
+    }
+
+    static void onWait(long nanos) {
+        WAIT_NANOS.add(nanos);
+    }
+
+    static void onTimeout() {
+        TIMEOUTS.increment();
+    }
+
+    /**
+     * The count of the lock acquisitions which had to wait for another holder.
+     *
+     * @return the count
+     */
+    public static long getContendedCount() {
+        return CONTENDED.sum();
+    }
+
+    /**
+     * The total time waited for the locks.
+     *
+     * @return the millis
+     */
+    public static long getWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(WAIT_NANOS.sum());
+    }
+
+    /**
+     * The count of the lock acquisitions which timed out.
+     *
+     * @return the count
+     */
+    public static long getTimeoutCount() {
+        return TIMEOUTS.sum();
+    }
+}
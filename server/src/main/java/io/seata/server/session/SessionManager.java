@@ -123,4 +123,18 @@ public interface SessionManager extends SessionLifecycleListener, Disposable {
      */
     <T> T lockAndExecute(GlobalSession globalSession, GlobalSession.LockCallable<T> lockCallable)
             throws TransactionException;
+
+    /**
+     * lock shared with the other shared holders of the global session and execute, such as the concurrent branch
+     * registrations, exclusive with lockAndExecute
+     *
+     * @param globalSession the global session
+     * @param lockCallable the lock Callable
+     * @return the value
+     * @throws TransactionException the transaction exception
+     */
+    default <T> T lockSharedAndExecute(GlobalSession globalSession, GlobalSession.LockCallable<T> lockCallable)
+            throws TransactionException {
+        return lockAndExecute(globalSession, lockCallable);
+    }
 }
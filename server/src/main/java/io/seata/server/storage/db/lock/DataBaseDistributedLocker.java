@@ -98,6 +98,20 @@ public class DataBaseDistributedLocker implements DistributedLocker {
         init();
     }
 
+    /**
+     * Instantiates a new distributed locker over the given data source, for the tests.
+     *
+     * @param distributedLockDataSource the data source holding the lock table
+     * @param dbType                    the db type
+     * @param distributedLockTable      the lock table name
+     */
+    DataBaseDistributedLocker(DataSource distributedLockDataSource, String dbType, String distributedLockTable) {
+        this.distributedLockDataSource = distributedLockDataSource;
+        this.dbType = dbType;
+        this.datasourceType = null;
+        this.distributedLockTable = distributedLockTable;
+    }
+
 
     @Override
     public boolean acquireLock(DistributedLockDO distributedLockDO) {
@@ -20,10 +20,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
 import io.seata.common.exception.DataAccessException;
@@ -37,6 +41,7 @@ import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.constants.ServerTableColumnsName;
 import io.seata.core.exception.BranchTransactionException;
+import io.seata.core.lock.LockEscalation;
 import io.seata.core.model.LockStatus;
 import io.seata.core.store.LockDO;
 import io.seata.core.store.LockStore;
@@ -62,6 +67,14 @@ public class LockStoreDataBaseDAO implements LockStore {
      */
     protected static final Configuration CONFIG = ConfigurationFactory.getInstance();
 
+    /**
+     * The pk of the guard row of a table, the acquisitions of the locks of a table escalated before lock its guard
+     * row first.
+     */
+    public static final String TABLE_GUARD_PK = "*#";
+
+    private static final long TABLE_GUARD_ID = -1L;
+
     /**
      * The Lock store data source.
      */
@@ -120,41 +133,70 @@ public class LockStoreDataBaseDAO implements LockStore {
                 conn.setAutoCommit(false);
             }
             List<LockDO> unrepeatedLockDOs = lockDOs;
+            // only the tables escalated before pay for the guard rows, a row lock of any other table goes as it did
+            Map<String, LockDO> guards = getTableGuards(lockDOs, true);
+            if (!guards.isEmpty()) {
+                lockTableGuards(conn, guards);
+            }
 
             //check lock
             if (!skipCheckLock) {
 
-                boolean canLock = true;
-                //query
-                String checkLockSQL = LockStoreSqlFactory.getLogStoreSql(dbType).getCheckLockableSql(lockTable, lockDOs.size());
-                ps = conn.prepareStatement(checkLockSQL);
-                for (int i = 0; i < lockDOs.size(); i++) {
-                    ps.setString(i + 1, lockDOs.get(i).getRowKey());
-                }
-                rs = ps.executeQuery();
-                String currentXID = lockDOs.get(0).getXid();
-                boolean failFast = false;
-                while (rs.next()) {
-                    String dbXID = rs.getString(ServerTableColumnsName.LOCK_TABLE_XID);
-                    if (!StringUtils.equals(dbXID, currentXID)) {
-                        if (LOGGER.isInfoEnabled()) {
-                            String dbPk = rs.getString(ServerTableColumnsName.LOCK_TABLE_PK);
-                            String dbTableName = rs.getString(ServerTableColumnsName.LOCK_TABLE_TABLE_NAME);
-                            long dbBranchId = rs.getLong(ServerTableColumnsName.LOCK_TABLE_BRANCH_ID);
-                            LOGGER.info("Global lock on [{}:{}] is holding by xid {} branchId {}", dbTableName, dbPk, dbXID, dbBranchId);
+                boolean canLock;
+                boolean failFast;
+                Map<String, LockDO> unlockedGuards = new TreeMap<>();
+                do {
+                    if (!unlockedGuards.isEmpty()) {
+                        // the guard rows are locked again all together, in the order of their row keys
+                        conn.rollback();
+                        guards.putAll(unlockedGuards);
+                        unlockedGuards.clear();
+                        lockTableGuards(conn, guards);
+                    }
+                    canLock = true;
+                    failFast = false;
+                    dbExistedRowKeys.clear();
+                    //query, the row locks are checked against the table locks and the guard rows of their tables
+                    List<String> checkRowKeys = getCheckRowKeys(lockDOs, true);
+                    String checkLockSQL = LockStoreSqlFactory.getLogStoreSql(dbType).getCheckLockableSql(lockTable, checkRowKeys.size());
+                    ps = conn.prepareStatement(checkLockSQL);
+                    for (int i = 0; i < checkRowKeys.size(); i++) {
+                        ps.setString(i + 1, checkRowKeys.get(i));
+                    }
+                    rs = ps.executeQuery();
+                    String currentXID = lockDOs.get(0).getXid();
+                    while (rs.next()) {
+                        String dbRowKey = rs.getString(ServerTableColumnsName.LOCK_TABLE_ROW_KEY);
+                        if (TABLE_GUARD_PK.equals(rs.getString(ServerTableColumnsName.LOCK_TABLE_PK))) {
+                            if (!guards.containsKey(dbRowKey)) {
+                                unlockedGuards.put(dbRowKey, getTableGuards(lockDOs, false).get(dbRowKey));
+                            }
+                            continue;
                         }
-                        if (!autoCommit) {
-                            int status = rs.getInt(ServerTableColumnsName.LOCK_TABLE_STATUS);
-                            if (status == LockStatus.Rollbacking.getCode()) {
-                                failFast = true;
+                        String dbXID = rs.getString(ServerTableColumnsName.LOCK_TABLE_XID);
+                        if (!StringUtils.equals(dbXID, currentXID)) {
+                            if (LOGGER.isInfoEnabled()) {
+                                String dbPk = rs.getString(ServerTableColumnsName.LOCK_TABLE_PK);
+                                String dbTableName = rs.getString(ServerTableColumnsName.LOCK_TABLE_TABLE_NAME);
+                                long dbBranchId = rs.getLong(ServerTableColumnsName.LOCK_TABLE_BRANCH_ID);
+                                LOGGER.info("Global lock on [{}:{}] is holding by xid {} branchId {}", dbTableName, dbPk, dbXID, dbBranchId);
+                            }
+                            if (!autoCommit) {
+                                int status = rs.getInt(ServerTableColumnsName.LOCK_TABLE_STATUS);
+                                if (status == LockStatus.Rollbacking.getCode()) {
+                                    failFast = true;
+                                }
                             }
+                            canLock = false;
+                            break;
                         }
-                        canLock = false;
-                        break;
-                    }
 
-                    dbExistedRowKeys.add(rs.getString(ServerTableColumnsName.LOCK_TABLE_ROW_KEY));
-                }
+                        dbExistedRowKeys.add(dbRowKey);
+                    }
+                    IOUtil.close(rs, ps);
+                    rs = null;
+                    ps = null;
+                } while (canLock && !unlockedGuards.isEmpty());
                 if (!canLock) {
                     conn.rollback();
                     if (failFast) {
@@ -193,6 +235,11 @@ public class LockStoreDataBaseDAO implements LockStore {
                     return false;
                 }
             }
+            // the table locks are inserted before the row locks they cover are checked
+            if (!checkTableLockable(conn, unrepeatedLockDOs, autoCommit)) {
+                conn.rollback();
+                return false;
+            }
             conn.commit();
             return true;
         } catch (SQLException e) {
@@ -392,10 +439,11 @@ public class LockStoreDataBaseDAO implements LockStore {
         ResultSet rs = null;
         try {
             //query
-            String checkLockSQL = LockStoreSqlFactory.getLogStoreSql(dbType).getCheckLockableSql(lockTable, lockDOs.size());
+            List<String> checkRowKeys = getCheckRowKeys(lockDOs, false);
+            String checkLockSQL = LockStoreSqlFactory.getLogStoreSql(dbType).getCheckLockableSql(lockTable, checkRowKeys.size());
             ps = conn.prepareStatement(checkLockSQL);
-            for (int i = 0; i < lockDOs.size(); i++) {
-                ps.setString(i + 1, lockDOs.get(i).getRowKey());
+            for (int i = 0; i < checkRowKeys.size(); i++) {
+                ps.setString(i + 1, checkRowKeys.get(i));
             }
             rs = ps.executeQuery();
             while (rs.next()) {
@@ -404,7 +452,7 @@ public class LockStoreDataBaseDAO implements LockStore {
                     return false;
                 }
             }
-            return true;
+            return checkTableLockable(conn, lockDOs, true);
         } catch (SQLException e) {
             throw new DataAccessException(e);
         } finally {
@@ -412,6 +460,158 @@ public class LockStoreDataBaseDAO implements LockStore {
         }
     }
 
+    /**
+     * Check the table locks among the locks against the locks of other transactions on their tables.
+     *
+     * @param conn       the conn
+     * @param lockDOs    the lock do
+     * @param autoCommit the auto commit
+     * @return the boolean
+     * @throws SQLException the sql exception
+     */
+    protected boolean checkTableLockable(Connection conn, List<LockDO> lockDOs, boolean autoCommit)
+        throws SQLException {
+        Set<String> checkedRowKeys = new HashSet<>();
+        for (LockDO lockDO : lockDOs) {
+            if (!LockEscalation.isTableLock(lockDO.getPk()) || !checkedRowKeys.add(lockDO.getRowKey())) {
+                continue;
+            }
+            String checkTableLockSQL = LockStoreSqlFactory.getLogStoreSql(dbType).getCheckTableLockableSql(lockTable);
+            try (PreparedStatement ps = conn.prepareStatement(checkTableLockSQL)) {
+                ps.setString(1, lockDO.getResourceId());
+                ps.setString(2, lockDO.getTableName());
+                ps.setString(3, lockDO.getXid());
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        if (TABLE_GUARD_PK.equals(rs.getString(ServerTableColumnsName.LOCK_TABLE_PK))) {
+                            continue;
+                        }
+                        if (LOGGER.isInfoEnabled()) {
+                            LOGGER.info("Global lock on [{}:{}] is holding by xid {} branchId {}",
+                                rs.getString(ServerTableColumnsName.LOCK_TABLE_TABLE_NAME),
+                                rs.getString(ServerTableColumnsName.LOCK_TABLE_PK),
+                                rs.getString(ServerTableColumnsName.LOCK_TABLE_XID),
+                                rs.getLong(ServerTableColumnsName.LOCK_TABLE_BRANCH_ID));
+                        }
+                        if (!autoCommit && rs.getInt(ServerTableColumnsName.LOCK_TABLE_STATUS) == LockStatus.Rollbacking.getCode()) {
+                            throw new StoreException(new BranchTransactionException(LockKeyConflictFailFast));
+                        }
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the guard rows of the tables of the locks, by their row keys.
+     *
+     * @param lockDOs       the lock do
+     * @param escalatedOnly whether only the tables of the escalated locks are included
+     * @return the guard rows
+     */
+    private Map<String, LockDO> getTableGuards(List<LockDO> lockDOs, boolean escalatedOnly) {
+        Map<String, LockDO> guards = new TreeMap<>();
+        for (LockDO lockDO : lockDOs) {
+            if (escalatedOnly && !LockEscalation.isEscalated(lockDO.getPk())) {
+                continue;
+            }
+            guards.computeIfAbsent(getGuardRowKey(lockDO), key -> {
+                LockDO guard = new LockDO();
+                guard.setXid(TABLE_GUARD_PK);
+                guard.setTransactionId(TABLE_GUARD_ID);
+                guard.setBranchId(TABLE_GUARD_ID);
+                guard.setResourceId(lockDO.getResourceId());
+                guard.setTableName(lockDO.getTableName());
+                guard.setPk(TABLE_GUARD_PK);
+                guard.setRowKey(key);
+                return guard;
+            });
+        }
+        return guards;
+    }
+
+    private String getGuardRowKey(LockDO lockDO) {
+        String rowKey = lockDO.getRowKey();
+        return rowKey.substring(0, rowKey.length() - lockDO.getPk().length()) + TABLE_GUARD_PK;
+    }
+
+    /**
+     * Lock the guard rows till the end of the transaction. Otherwise a row lock and a table lock of the same table
+     * acquired at the same time would not see each other before they are committed, and both of them would be
+     * granted. The guard row of a table is created by its first escalated lock and kept as the mark of a table
+     * whose row locks have to take it as well, so the tables never escalated keep acquiring their row locks
+     * without it. A row lock acquired while the first escalated lock of its table creates the guard row is not
+     * serialised with that one table lock.
+     *
+     * @param conn   the conn
+     * @param guards the guard rows, in the order of their row keys
+     * @throws SQLException the sql exception
+     */
+    protected void lockTableGuards(Connection conn, Map<String, LockDO> guards) throws SQLException {
+        if (lockGuardRows(conn, guards)) {
+            return;
+        }
+        // the guard rows locked so far are released while the missing ones are created
+        conn.rollback();
+        for (LockDO guard : guards.values()) {
+            try {
+                if (doAcquireLock(conn, guard)) {
+                    conn.commit();
+                    continue;
+                }
+            } catch (StoreException e) {
+                LOGGER.debug("Create the guard row {} failed: {}", guard.getRowKey(), e.getMessage());
+            }
+            // created by another acquisition meanwhile
+            conn.rollback();
+        }
+        if (!lockGuardRows(conn, guards)) {
+            throw new StoreException("the guard rows of the tables are missing: " + guards.keySet());
+        }
+    }
+
+    private boolean lockGuardRows(Connection conn, Map<String, LockDO> guards) throws SQLException {
+        String lockGuardSQL = LockStoreSqlFactory.getLogStoreSql(dbType).getQueryLockForUpdateSql(lockTable);
+        try (PreparedStatement ps = conn.prepareStatement(lockGuardSQL)) {
+            for (String guardRowKey : guards.keySet()) {
+                ps.setString(1, guardRowKey);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the row keys to check, the row keys of the locks and the row keys of the table locks of their tables.
+     *
+     * @param lockDOs    the lock do
+     * @param withGuards whether the row keys of the guard rows of their tables are included
+     * @return the row keys
+     */
+    private List<String> getCheckRowKeys(List<LockDO> lockDOs, boolean withGuards) {
+        Set<String> checkRowKeys = new LinkedHashSet<>(lockDOs.size() + 1);
+        for (LockDO lockDO : lockDOs) {
+            checkRowKeys.add(lockDO.getRowKey());
+        }
+        for (LockDO lockDO : lockDOs) {
+            String pk = lockDO.getPk();
+            if (!LockEscalation.isEscalated(pk)) {
+                String rowKey = lockDO.getRowKey();
+                checkRowKeys.add(rowKey.substring(0, rowKey.length() - pk.length()) + LockEscalation.TABLE_LOCK_PK);
+            }
+            if (withGuards) {
+                checkRowKeys.add(getGuardRowKey(lockDO));
+            }
+        }
+        return new ArrayList<>(checkRowKeys);
+    }
+
     /**
      * Sets lock table.
      *
@@ -16,10 +16,12 @@
 package io.seata.server.storage.db.store;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
 
@@ -69,6 +71,11 @@ public class DataBaseTransactionStoreManager extends AbstractTransactionStoreMan
      */
     protected int logQueryLimit;
 
+    /**
+     * The last row read for each status set, the next read of the set continues after it.
+     */
+    private final Map<String, GlobalTransactionDO> statusCursors = new ConcurrentHashMap<>();
+
     /**
      * Get the instance.
      */
@@ -178,12 +185,51 @@ public class DataBaseTransactionStoreManager extends AbstractTransactionStoreMan
      */
     @Override
     public List<GlobalSession> readSession(GlobalStatus[] statuses, boolean withBranchSessions) {
+        //global transaction
+        return readSession(statuses, 1, 0, withBranchSessions);
+    }
+
+    /**
+     * Read the sessions of a shard of the transaction id.
+     *
+     * @param statuses           the statuses
+     * @param shardCount         the shard count, 1 for every session
+     * @param shard              the shard
+     * @param withBranchSessions the withBranchSessions
+     * @return the list
+     */
+    public List<GlobalSession> readSession(GlobalStatus[] statuses, int shardCount, int shard,
+        boolean withBranchSessions) {
+        List<GlobalTransactionDO> globalTransactionDOs = queryGlobalTransactionDO(toStates(statuses), shardCount, shard);
+        return readSession(globalTransactionDOs, withBranchSessions);
+    }
+
+    /**
+     * Read the sessions of a shard of the transaction id past their timeout, the deadline is compared
+     * in the db so the sessions still running are neither read nor materialized.
+     *
+     * @param statuses           the statuses
+     * @param shardCount         the shard count, 1 for every session
+     * @param shard              the shard
+     * @param withBranchSessions the withBranchSessions
+     * @return the list
+     */
+    public List<GlobalSession> readTimeoutSession(GlobalStatus[] statuses, int shardCount, int shard,
+        boolean withBranchSessions) {
+        List<GlobalTransactionDO> globalTransactionDOs = logStore.queryTimeoutGlobalTransactionDO(toStates(statuses),
+            System.currentTimeMillis(), shardCount, shard, logQueryLimit);
+        return readSession(globalTransactionDOs, withBranchSessions);
+    }
+
+    private static int[] toStates(GlobalStatus[] statuses) {
         int[] states = new int[statuses.length];
         for (int i = 0; i < statuses.length; i++) {
             states[i] = statuses[i].getCode();
         }
-        //global transaction
-        List<GlobalTransactionDO> globalTransactionDOs = logStore.queryGlobalTransactionDO(states, logQueryLimit);
+        return states;
+    }
+
+    private List<GlobalSession> readSession(List<GlobalTransactionDO> globalTransactionDOs, boolean withBranchSessions) {
         Map<String, List<BranchTransactionDO>> branchTransactionDOsMap = Collections.emptyMap();
         if (CollectionUtils.isNotEmpty(globalTransactionDOs)) {
             List<String> xids =
@@ -201,6 +247,31 @@ public class DataBaseTransactionStoreManager extends AbstractTransactionStoreMan
             .collect(Collectors.toList());
     }
 
+    /**
+     * Query the next page of the status set. The pages advance through the backlog by a
+     * (gmt_modified, transaction_id) cursor, so sessions failing over and over at the head
+     * do not starve the ones behind them; the cursor starts over at the end of the backlog.
+     * Each shard of a status set pages with a cursor of its own, so the reads of one shard
+     * don't move the pages of the others.
+     */
+    private List<GlobalTransactionDO> queryGlobalTransactionDO(int[] states, int shardCount, int shard) {
+        String cursorKey = shardCount > 1 ? Arrays.toString(states) + shard + "/" + shardCount : Arrays.toString(states);
+        GlobalTransactionDO cursor = statusCursors.get(cursorKey);
+        List<GlobalTransactionDO> globalTransactionDOs =
+            logStore.queryGlobalTransactionDO(states, cursor, shardCount, shard, logQueryLimit);
+        if (cursor != null && CollectionUtils.isEmpty(globalTransactionDOs)) {
+            globalTransactionDOs = logStore.queryGlobalTransactionDO(states, null, shardCount, shard, logQueryLimit);
+        }
+        GlobalTransactionDO last = CollectionUtils.isEmpty(globalTransactionDOs) ? null
+            : globalTransactionDOs.get(globalTransactionDOs.size() - 1);
+        if (globalTransactionDOs.size() < logQueryLimit || last.getGmtModified() == null) {
+            statusCursors.remove(cursorKey);
+        } else {
+            statusCursors.put(cursorKey, last);
+        }
+        return globalTransactionDOs;
+    }
+
     @Override
     public List<GlobalSession> readSession(SessionCondition sessionCondition) {
         if (StringUtils.isNotBlank(sessionCondition.getXid())) {
@@ -218,7 +289,12 @@ public class DataBaseTransactionStoreManager extends AbstractTransactionStoreMan
                 return globalSessions;
             }
         } else if (CollectionUtils.isNotEmpty(sessionCondition.getStatuses())) {
-            return readSession(sessionCondition.getStatuses(), !sessionCondition.isLazyLoadBranch());
+            if (sessionCondition.isTimeoutOnly()) {
+                return readTimeoutSession(sessionCondition.getStatuses(), sessionCondition.getShardCount(),
+                    sessionCondition.getShard(), !sessionCondition.isLazyLoadBranch());
+            }
+            return readSession(sessionCondition.getStatuses(), sessionCondition.getShardCount(),
+                sessionCondition.getShard(), !sessionCondition.isLazyLoadBranch());
         }
         return null;
     }
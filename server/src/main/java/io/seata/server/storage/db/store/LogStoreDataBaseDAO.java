@@ -20,7 +20,9 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import javax.sql.DataSource;
 
@@ -35,6 +37,7 @@ import io.seata.core.constants.ServerTableColumnsName;
 import io.seata.core.store.BranchTransactionDO;
 import io.seata.core.store.GlobalTransactionDO;
 import io.seata.core.store.LogStore;
+import io.seata.core.store.db.sql.log.LogStoreSqls;
 import io.seata.core.store.db.sql.log.LogStoreSqlsFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -156,6 +159,17 @@ public class LogStoreDataBaseDAO implements LogStore {
 
     @Override
     public List<GlobalTransactionDO> queryGlobalTransactionDO(int[] statuses, int limit) {
+        return queryGlobalTransactionDO(statuses, null, limit);
+    }
+
+    @Override
+    public List<GlobalTransactionDO> queryGlobalTransactionDO(int[] statuses, GlobalTransactionDO after, int limit) {
+        return queryGlobalTransactionDO(statuses, after, 1, 0, limit);
+    }
+
+    @Override
+    public List<GlobalTransactionDO> queryGlobalTransactionDO(int[] statuses, GlobalTransactionDO after, int shardCount,
+        int shard, int limit) {
         List<GlobalTransactionDO> ret = new ArrayList<>();
         Connection conn = null;
         PreparedStatement ps = null;
@@ -166,13 +180,74 @@ public class LogStoreDataBaseDAO implements LogStore {
 
             String paramsPlaceHolder = org.apache.commons.lang.StringUtils.repeat("?", ",", statuses.length);
 
-            String sql = LogStoreSqlsFactory.getLogStoreSqls(dbType).getQueryGlobalTransactionSQLByStatus(globalTable, paramsPlaceHolder);
+            LogStoreSqls logStoreSqls = LogStoreSqlsFactory.getLogStoreSqls(dbType);
+            String sql = after == null ? logStoreSqls.getQueryGlobalTransactionSQLByStatus(globalTable, paramsPlaceHolder)
+                : logStoreSqls.getQueryGlobalTransactionSQLByStatusAfter(globalTable, paramsPlaceHolder);
+            if (shardCount > 1) {
+                sql = logStoreSqls.getShardedSQL(sql, paramsPlaceHolder);
+            }
             ps = conn.prepareStatement(sql);
-            for (int i = 0; i < statuses.length; i++) {
-                int status = statuses[i];
-                ps.setInt(i + 1, status);
+            int index = 0;
+            for (int status : statuses) {
+                ps.setInt(++index, status);
+            }
+            if (shardCount > 1) {
+                ps.setInt(++index, shardCount);
+                ps.setInt(++index, shard);
+            }
+            if (after != null) {
+                Timestamp gmtModified = toTimestamp(after.getGmtModified());
+                ps.setTimestamp(++index, gmtModified);
+                ps.setTimestamp(++index, gmtModified);
+                ps.setLong(++index, after.getTransactionId());
             }
-            ps.setInt(statuses.length + 1, limit);
+            ps.setInt(++index, limit);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                ret.add(convertGlobalTransactionDO(rs));
+            }
+            return ret;
+        } catch (SQLException e) {
+            throw new DataAccessException(e);
+        } finally {
+            IOUtil.close(rs, ps, conn);
+        }
+    }
+
+    @Override
+    public List<GlobalTransactionDO> queryTimeoutGlobalTransactionDO(int[] statuses, long now, int limit) {
+        return queryTimeoutGlobalTransactionDO(statuses, now, 1, 0, limit);
+    }
+
+    @Override
+    public List<GlobalTransactionDO> queryTimeoutGlobalTransactionDO(int[] statuses, long now, int shardCount, int shard,
+        int limit) {
+        List<GlobalTransactionDO> ret = new ArrayList<>();
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            conn = logStoreDataSource.getConnection();
+            conn.setAutoCommit(true);
+
+            String paramsPlaceHolder = org.apache.commons.lang.StringUtils.repeat("?", ",", statuses.length);
+
+            LogStoreSqls logStoreSqls = LogStoreSqlsFactory.getLogStoreSqls(dbType);
+            String sql = logStoreSqls.getQueryTimeoutGlobalTransactionSQLByStatus(globalTable, paramsPlaceHolder);
+            if (shardCount > 1) {
+                sql = logStoreSqls.getShardedSQL(sql, paramsPlaceHolder);
+            }
+            ps = conn.prepareStatement(sql);
+            int index = 0;
+            for (int status : statuses) {
+                ps.setInt(++index, status);
+            }
+            if (shardCount > 1) {
+                ps.setInt(++index, shardCount);
+                ps.setInt(++index, shard);
+            }
+            ps.setLong(++index, now);
+            ps.setInt(++index, limit);
             rs = ps.executeQuery();
             while (rs.next()) {
                 ret.add(convertGlobalTransactionDO(rs));
@@ -417,6 +492,11 @@ public class LogStoreDataBaseDAO implements LogStore {
         return max;
     }
 
+    private static Timestamp toTimestamp(Date date) {
+        // keep the sub-millisecond part read from the row, so the cursor row itself is not read again
+        return date instanceof Timestamp ? (Timestamp)date : new Timestamp(date.getTime());
+    }
+
     private GlobalTransactionDO convertGlobalTransactionDO(ResultSet rs) throws SQLException {
         GlobalTransactionDO globalTransactionDO = new GlobalTransactionDO();
         globalTransactionDO.setXid(rs.getString(ServerTableColumnsName.GLOBAL_TABLE_XID));
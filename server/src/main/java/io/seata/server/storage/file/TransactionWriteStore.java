@@ -96,15 +96,27 @@ public class TransactionWriteStore implements SessionStorable {
         return byResult;
     }
 
+    @Override
+    public void encode(ByteBuffer dst) {
+        this.sessionRequest.encode(dst);
+        dst.put(this.getOperate().getCode());
+    }
+
     @Override
     public void decode(byte[] src) {
-        ByteBuffer byteBuffer = ByteBuffer.wrap(src);
-        byte[] bySessionRequest = new byte[src.length - 1];
-        byteBuffer.get(bySessionRequest);
-        byte byOpCode = byteBuffer.get();
+        decode(ByteBuffer.wrap(src));
+    }
+
+    @Override
+    public void decode(ByteBuffer src) {
+        byte byOpCode = src.get(src.limit() - 1);
         this.operate = LogOperation.getLogOperationByCode(byOpCode);
         SessionStorable tmpSessionStorable = getSessionInstanceByOperation(this.operate);
-        tmpSessionStorable.decode(bySessionRequest);
+        // the session request is decoded in place, without copying it out of the frame
+        ByteBuffer sessionRequestBuffer = src.slice();
+        sessionRequestBuffer.limit(sessionRequestBuffer.limit() - 1);
+        tmpSessionStorable.decode(sessionRequestBuffer);
+        src.position(src.limit());
         this.sessionRequest = tmpSessionStorable;
     }
 
@@ -19,6 +19,7 @@ import java.util.List;
 
 import io.seata.common.loader.LoadLevel;
 import io.seata.core.exception.TransactionException;
+import io.seata.core.lock.LockKeyPayload;
 import io.seata.core.lock.Locker;
 import io.seata.server.lock.AbstractLockManager;
 import io.seata.server.session.BranchSession;
@@ -40,6 +41,41 @@ public class FileLockManager extends AbstractLockManager {
         return new FileLocker(branchSession);
     }
 
+    @Override
+    public boolean acquireLock(BranchSession branchSession, boolean autoCommit, boolean skipCheckLock)
+        throws TransactionException {
+        if (branchSession == null) {
+            throw new IllegalArgumentException("branchSession can't be null for memory/file locker.");
+        }
+        Locker locker = getLocker(branchSession);
+        if (!(locker instanceof FileLocker)) {
+            return super.acquireLock(branchSession, autoCommit, skipCheckLock);
+        }
+        LockKeyPayload lockKeyPayload = getLockKeyPayload(branchSession);
+        if (lockKeyPayload == null || lockKeyPayload.isEmpty()) {
+            // no lock
+            return true;
+        }
+        return ((FileLocker)locker).acquireLock(lockKeyPayload, autoCommit, skipCheckLock);
+    }
+
+    @Override
+    public boolean releaseLock(BranchSession branchSession) throws TransactionException {
+        if (branchSession == null) {
+            throw new IllegalArgumentException("branchSession can't be null for memory/file locker.");
+        }
+        Locker locker = getLocker(branchSession);
+        if (!(locker instanceof FileLocker)) {
+            return super.releaseLock(branchSession);
+        }
+        try {
+            return ((FileLocker)locker).releaseLock();
+        } catch (Exception t) {
+            LOGGER.error("unLock error, branchSession:{}", branchSession, t);
+            return false;
+        }
+    }
+
     @Override
     public boolean releaseGlobalSessionLock(GlobalSession globalSession) throws TransactionException {
         List<BranchSession> branchSessions = globalSession.getBranchSessions();
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntFunction;
 
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.exception.StoreException;
@@ -27,6 +28,8 @@ import io.seata.common.util.CollectionUtils;
 import io.seata.core.exception.BranchTransactionException;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.lock.AbstractLocker;
+import io.seata.core.lock.LockEscalation;
+import io.seata.core.lock.LockKeyPayload;
 import io.seata.core.lock.RowLock;
 import io.seata.core.model.LockStatus;
 import io.seata.server.session.BranchSession;
@@ -43,6 +46,11 @@ public class FileLocker extends AbstractLocker {
 
     private static final int BUCKET_PER_TABLE = 128;
 
+    /**
+     * The bucket of the table and range locks of a table, out of the range of the buckets of the row locks.
+     */
+    private static final int ESCALATED_BUCKET = BUCKET_PER_TABLE;
+
     private static final ConcurrentMap<String/* resourceId */, ConcurrentMap<String/* tableName */,
         ConcurrentMap<Integer/* bucketId */, BucketLockMap>>>
         LOCK_MAP = new ConcurrentHashMap<>();
@@ -72,6 +80,28 @@ public class FileLocker extends AbstractLocker {
             // no lock
             return true;
         }
+        return acquireLock(rowLocks.size(), i -> rowLocks.get(i).getTableName(), i -> rowLocks.get(i).getPk(),
+            autoCommit);
+    }
+
+    /**
+     * Acquire the locks of the structured lock keys without collecting row locks.
+     *
+     * @param lockKeyPayload the lock key payload
+     * @param autoCommit     the auto commit
+     * @param skipCheckLock  whether skip check lock or not
+     * @return the boolean
+     */
+    public boolean acquireLock(LockKeyPayload lockKeyPayload, boolean autoCommit, boolean skipCheckLock) {
+        if (lockKeyPayload == null || lockKeyPayload.isEmpty()) {
+            // no lock
+            return true;
+        }
+        return acquireLock(lockKeyPayload.size(), lockKeyPayload::getTableName, lockKeyPayload::getPk, autoCommit);
+    }
+
+    private boolean acquireLock(int rows, IntFunction<String> tableNames, IntFunction<String> pks,
+        boolean autoCommit) {
         String resourceId = branchSession.getResourceId();
         long transactionId = branchSession.getTransactionId();
 
@@ -80,13 +110,13 @@ public class FileLocker extends AbstractLocker {
             LOCK_MAP, resourceId, key -> new ConcurrentHashMap<>());
         boolean failFast = false;
         boolean canLock = true;
-        for (RowLock lock : rowLocks) {
-            String tableName = lock.getTableName();
-            String pk = lock.getPk();
+        for (int i = 0; i < rows; i++) {
+            String tableName = tableNames.apply(i);
+            String pk = pks.apply(i);
             ConcurrentMap<Integer, BucketLockMap> tableLockMap = CollectionUtils.computeIfAbsent(dbLockMap, tableName,
                 key -> new ConcurrentHashMap<>());
 
-            int bucketId = pk.hashCode() % BUCKET_PER_TABLE;
+            int bucketId = getBucketId(pk);
             BucketLockMap bucketLockMap = CollectionUtils.computeIfAbsent(tableLockMap, bucketId,
                 key -> new BucketLockMap());
             BranchSession previousLockBranchSession = bucketLockMap.get().putIfAbsent(pk, branchSession);
@@ -95,27 +125,32 @@ public class FileLocker extends AbstractLocker {
                 Set<String> keysInHolder = CollectionUtils.computeIfAbsent(bucketHolder, bucketLockMap,
                     key -> ConcurrentHashMap.newKeySet());
                 keysInHolder.add(pk);
+                // the lock is published before the escalated locks are checked, so of a row lock and an
+                // escalated lock acquired at the same time at least one sees the other
+                previousLockBranchSession = findEscalationConflict(tableLockMap, pk, transactionId);
+                if (previousLockBranchSession == null) {
+                    continue;
+                }
             } else if (previousLockBranchSession.getTransactionId() == transactionId) {
                 // Locked by me before
                 continue;
-            } else {
-                LOGGER.info("Global lock on [" + tableName + ":" + pk + "] is holding by " + previousLockBranchSession.getBranchId());
-                try {
-                    // Release all acquired locks.
-                    branchSession.unlock();
-                } catch (TransactionException e) {
-                    throw new FrameworkException(e);
-                }
-                if (!autoCommit && previousLockBranchSession.getLockStatus() == LockStatus.Rollbacking) {
-                    failFast = true;
+            }
+            LOGGER.info("Global lock on [" + tableName + ":" + pk + "] is holding by " + previousLockBranchSession.getBranchId());
+            try {
+                // Release all acquired locks.
+                branchSession.unlock();
+            } catch (TransactionException e) {
+                throw new FrameworkException(e);
+            }
+            if (!autoCommit && previousLockBranchSession.getLockStatus() == LockStatus.Rollbacking) {
+                failFast = true;
+                break;
+            }
+            if (canLock) {
+                canLock = false;
+                if (autoCommit) {
                     break;
                 }
-                if (canLock) {
-                    canLock = false;
-                    if (autoCommit) {
-                        break;
-                    }
-                }
             }
         }
         if (failFast) {
@@ -130,6 +165,16 @@ public class FileLocker extends AbstractLocker {
             //no lock
             return true;
         }
+        return releaseLock();
+    }
+
+    /**
+     * Release the locks held by the branch, they are kept in the lock holder of the branch session so the
+     * row locks are not needed.
+     *
+     * @return the boolean
+     */
+    public boolean releaseLock() {
         ConcurrentMap<BucketLockMap, Set<String>> lockHolder = branchSession.getLockHolder();
         if (CollectionUtils.isEmpty(lockHolder)) {
             return true;
@@ -166,12 +211,11 @@ public class FileLocker extends AbstractLocker {
             if (tableLockMap == null) {
                 continue;
             }
-            int bucketId = pk.hashCode() % BUCKET_PER_TABLE;
-            BucketLockMap bucketLockMap = tableLockMap.get(bucketId);
-            if (bucketLockMap == null) {
-                continue;
+            BucketLockMap bucketLockMap = tableLockMap.get(getBucketId(pk));
+            BranchSession branchSession = bucketLockMap != null ? bucketLockMap.get().get(pk) : null;
+            if (branchSession == null || branchSession.getTransactionId() == transactionId) {
+                branchSession = findEscalationConflict(tableLockMap, pk, transactionId);
             }
-            BranchSession branchSession = bucketLockMap.get().get(pk);
             Long lockingTransactionId = branchSession != null ? branchSession.getTransactionId() : null;
             if (lockingTransactionId == null || lockingTransactionId.longValue() == transactionId) {
                 // Locked by me
@@ -184,6 +228,44 @@ public class FileLocker extends AbstractLocker {
         return true;
     }
 
+    /**
+     * Find the lock of another transaction which conflicts with the lock because of an escalated lock: an
+     * escalated lock covering the row, or for an escalated lock, a row lock it covers or an escalated lock it
+     * overlaps.
+     *
+     * @param tableLockMap  the lock map of the table
+     * @param pk            the pk of the lock
+     * @param transactionId the transaction id of the lock
+     * @return the branch session holding the conflicting lock, null if none
+     */
+    private BranchSession findEscalationConflict(ConcurrentMap<Integer, BucketLockMap> tableLockMap, String pk,
+        long transactionId) {
+        if (!LockEscalation.isEscalated(pk)) {
+            BucketLockMap escalatedLockMap = tableLockMap.get(ESCALATED_BUCKET);
+            return escalatedLockMap != null ? findConflict(escalatedLockMap, pk, transactionId) : null;
+        }
+        for (BucketLockMap bucketLockMap : tableLockMap.values()) {
+            BranchSession conflict = findConflict(bucketLockMap, pk, transactionId);
+            if (conflict != null) {
+                return conflict;
+            }
+        }
+        return null;
+    }
+
+    private BranchSession findConflict(BucketLockMap bucketLockMap, String pk, long transactionId) {
+        for (Map.Entry<String, BranchSession> entry : bucketLockMap.get().entrySet()) {
+            BranchSession holder = entry.getValue();
+            if (holder.getTransactionId() != transactionId && LockEscalation.overlaps(pk, entry.getKey())) {
+                return holder;
+            }
+        }
+        return null;
+    }
+
+    private static int getBucketId(String pk) {
+        return LockEscalation.isEscalated(pk) ? ESCALATED_BUCKET : pk.hashCode() % BUCKET_PER_TABLE;
+    }
 
     @Override
     public void updateLockStatus(String xid, LockStatus lockStatus) {
@@ -19,14 +19,20 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 
 import io.seata.common.exception.ShouldNeverHappenException;
 import io.seata.common.loader.LoadLevel;
@@ -50,6 +56,9 @@ import io.seata.server.store.SessionStorable;
 import io.seata.server.store.TransactionStoreManager;
 
 import static io.seata.common.DefaultValues.DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_STORE_FILE_SESSION_SPILL_ENABLED;
+import static io.seata.common.DefaultValues.DEFAULT_STORE_FILE_SESSION_SPILL_IDLE_TIME;
+import static io.seata.common.DefaultValues.DEFAULT_STORE_FILE_SESSION_SPILL_READ_SIZE;
 
 
 /**
@@ -62,11 +71,50 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
 
     private static final int READ_SIZE = ConfigurationFactory.getInstance().getInt(
         ConfigurationKeys.SERVICE_SESSION_RELOAD_READ_SIZE, DEFAULT_SERVICE_SESSION_RELOAD_READ_SIZE);
+
+    private static final String SPILL_FILE_POSTFIX = ".spill";
+
+    /**
+     * The statuses of the sessions which may be spilled, they are only driven by the recovery rounds.
+     */
+    private static final Set<GlobalStatus> SPILLABLE_STATUSES = EnumSet.of(GlobalStatus.AsyncCommitting,
+        GlobalStatus.CommitRetrying, GlobalStatus.RollbackRetrying, GlobalStatus.TimeoutRollbackRetrying);
+
     /**
      * The Session map.
      */
     private Map<String, GlobalSession> sessionMap = new ConcurrentHashMap<>();
 
+    /**
+     * The store of the sessions spilled out of the session map, null if the spill is disabled.
+     */
+    private SessionSpillStore spillStore;
+
+    /**
+     * The locations of the spilled sessions.
+     */
+    private final Map<String, SessionSpillStore.Location> spilledSessionMap = new ConcurrentHashMap<>();
+
+    /**
+     * The spilled sessions of each status in the order they are spilled, read back by the recovery rounds, the
+     * locations read back by xid are left in the queues and skipped.
+     */
+    private final Map<GlobalStatus, Queue<SessionSpillStore.Location>> spillQueues = new ConcurrentHashMap<>();
+
+    /**
+     * The time the sessions which may be spilled were last found or read back.
+     */
+    private final Map<String, Long> spillCandidates = new ConcurrentHashMap<>();
+
+    /**
+     * Spilling and reading back hold the read lock, a visit of all the sessions holds the write lock.
+     */
+    private final ReadWriteLock spillLock = new ReentrantReadWriteLock();
+
+    private final long spillIdleTime;
+
+    private final int spillReadSize;
+
     /**
      * Instantiates a new File based session manager.
      *
@@ -75,10 +123,39 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
      * @throws IOException the io exception
      */
     public FileSessionManager(String name, String sessionStoreFilePath) throws IOException {
+        this(name, sessionStoreFilePath,
+            ConfigurationFactory.getInstance().getBoolean(ConfigurationKeys.STORE_FILE_SESSION_SPILL_ENABLED,
+                DEFAULT_STORE_FILE_SESSION_SPILL_ENABLED),
+            ConfigurationFactory.getInstance().getLong(ConfigurationKeys.STORE_FILE_SESSION_SPILL_IDLE_TIME,
+                DEFAULT_STORE_FILE_SESSION_SPILL_IDLE_TIME),
+            ConfigurationFactory.getInstance().getInt(ConfigurationKeys.STORE_FILE_SESSION_SPILL_READ_SIZE,
+                DEFAULT_STORE_FILE_SESSION_SPILL_READ_SIZE));
+    }
+
+    /**
+     * Instantiates a new File based session manager, which spills the sessions in the retry statuses out of the
+     * heap after they are idle for the spill idle time, and reads them back a batch of each status at a time
+     * when the recovery rounds find them.
+     *
+     * @param name                 the name
+     * @param sessionStoreFilePath the session store file path
+     * @param spillEnabled         whether spill the idle sessions or not
+     * @param spillIdleTime        the idle time before a session is spilled
+     * @param spillReadSize        the count of the spilled sessions read back by a find
+     * @throws IOException the io exception
+     */
+    public FileSessionManager(String name, String sessionStoreFilePath, boolean spillEnabled, long spillIdleTime,
+        int spillReadSize) throws IOException {
         super(name);
+        this.spillIdleTime = spillIdleTime;
+        this.spillReadSize = spillReadSize;
         if (StringUtils.isNotBlank(sessionStoreFilePath)) {
             transactionStoreManager = new FileTransactionStoreManager(
                 sessionStoreFilePath + File.separator + name, this);
+            if (spillEnabled) {
+                spillStore = new SessionSpillStore(
+                    new File(sessionStoreFilePath + File.separator + name + SPILL_FILE_POSTFIX));
+            }
         } else {
             transactionStoreManager = new AbstractTransactionStoreManager() {
                 @Override
@@ -108,22 +185,34 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
 
     @Override
     public GlobalSession findGlobalSession(String xid)  {
-        return sessionMap.get(xid);
+        return findOrReadBack(xid);
     }
 
     @Override
     public GlobalSession findGlobalSession(String xid, boolean withBranchSessions) {
         // withBranchSessions without process in memory
-        return sessionMap.get(xid);
+        return findOrReadBack(xid);
     }
 
     @Override
     public void removeGlobalSession(GlobalSession session) throws TransactionException {
-        if (sessionMap.remove(session.getXid()) != null) {
+        boolean removed = sessionMap.remove(session.getXid()) != null;
+        if (spillStore != null) {
+            spillCandidates.remove(session.getXid());
+            if (releaseSpilledSession(session.getXid())) {
+                removed = true;
+            }
+        }
+        if (removed) {
             super.removeGlobalSession(session);
         }
     }
 
+    /**
+     * The sessions on the heap, the spilled sessions are not included.
+     *
+     * @return the sessions
+     */
     @Override
     public Collection<GlobalSession> allSessions() {
         return sessionMap.values();
@@ -131,6 +220,104 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
 
     @Override
     public List<GlobalSession> findGlobalSessions(SessionCondition condition) {
+        return findGlobalSessions(condition, spillStore != null);
+    }
+
+    /**
+     * Visit the sessions found by the condition. The spilled sessions of the statuses and the over time alive
+     * mills of the condition are read one by one without being put back on the heap. No session is spilled or
+     * read back during the visit, so each session is visited once.
+     *
+     * @param condition the condition
+     * @param visitor   the visitor, returns false to stop the visit
+     * @return false if the visit is stopped
+     */
+    public boolean forEachGlobalSession(SessionCondition condition, Predicate<GlobalSession> visitor) {
+        if (spillStore == null) {
+            for (GlobalSession globalSession : findGlobalSessions(condition, false)) {
+                if (!visitor.test(globalSession)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        spillLock.writeLock().lock();
+        try {
+            for (GlobalSession globalSession : findGlobalSessions(condition, false)) {
+                if (!visitor.test(globalSession)) {
+                    return false;
+                }
+            }
+            List<GlobalStatus> globalStatuses = null;
+            if (null != condition.getStatuses() && condition.getStatuses().length > 0) {
+                globalStatuses = Arrays.asList(condition.getStatuses());
+            }
+            for (SessionSpillStore.Location location : spilledSessionMap.values()) {
+                if (null != globalStatuses && !globalStatuses.contains(location.status)) {
+                    continue;
+                }
+                GlobalSession globalSession = spillStore.read(location);
+                if (null != condition.getOverTimeAliveMills() && condition.getOverTimeAliveMills() > 0) {
+                    if (System.currentTimeMillis() - globalSession.getBeginTime() <= condition.getOverTimeAliveMills()) {
+                        continue;
+                    }
+                }
+                if (!visitor.test(globalSession)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            spillLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Visit every session without holding back the recovery rounds. The spilled sessions are read one by one without
+     * being put back on the heap, each of them while its location is still held. Unlike
+     * {@link #forEachGlobalSession}, a session spilled or read back during the visit may be visited twice or missed.
+     *
+     * @param visitor the visitor, returns false to stop the visit
+     * @return false if the visit is stopped
+     */
+    public boolean scanGlobalSessions(Predicate<GlobalSession> visitor) {
+        for (GlobalSession globalSession : sessionMap.values()) {
+            if (!visitor.test(globalSession)) {
+                return false;
+            }
+        }
+        if (spillStore == null) {
+            return true;
+        }
+        for (String xid : spilledSessionMap.keySet()) {
+            GlobalSession globalSession = readSpilled(xid);
+            if (globalSession != null && !visitor.test(globalSession)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private GlobalSession readSpilled(String xid) {
+        GlobalSession[] spilled = new GlobalSession[1];
+        spillLock.readLock().lock();
+        try {
+            // the location is neither released nor reused while it is computed
+            spilledSessionMap.computeIfPresent(xid, (key, location) -> {
+                try {
+                    spilled[0] = spillStore.read(location);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Read spilled global session failed, xid: {}", key, e);
+                }
+                return location;
+            });
+        } finally {
+            spillLock.readLock().unlock();
+        }
+        return spilled[0];
+    }
+
+    private List<GlobalSession> findGlobalSessions(SessionCondition condition, boolean spill) {
         List<GlobalSession> found = new ArrayList<>();
 
         List<GlobalStatus> globalStatuses = null;
@@ -170,12 +357,157 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
                 }
             }
 
+            if (condition.isTimeoutOnly() && !globalSession.isTimeout()) {
+                continue;
+            }
+
+            // the idle sessions are spilled instead of being driven by this recovery round
+            if (spill && null != globalStatuses && isSpillable(globalSession) && isIdle(globalSession)
+                && spill(globalSession)) {
+                continue;
+            }
+
             // All test pass, add to resp
             found.add(globalSession);
         }
+        if (spill && null != globalStatuses) {
+            readBackSpilledSessions(globalStatuses, found);
+        }
         return found;
     }
 
+    private GlobalSession findOrReadBack(String xid) {
+        GlobalSession globalSession = sessionMap.get(xid);
+        if (spillStore == null) {
+            return globalSession;
+        }
+        if (globalSession != null) {
+            // a session in use is not idle
+            spillCandidates.replace(xid, System.currentTimeMillis());
+            return globalSession;
+        }
+        globalSession = readBack(xid, null);
+        return globalSession != null ? globalSession : sessionMap.get(xid);
+    }
+
+    /**
+     * Whether the session may be spilled: a session holding row locks is kept since the locks refer to its
+     * branches.
+     */
+    private boolean isSpillable(GlobalSession globalSession) {
+        if (!SPILLABLE_STATUSES.contains(globalSession.getStatus())) {
+            return false;
+        }
+        for (BranchSession branchSession : globalSession.getBranchSessions()) {
+            if (CollectionUtils.isNotEmpty(branchSession.getLockHolder())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the session is idle, the recovery rounds driving the session do not count as a use, or a session
+     * retried in every round would never be idle.
+     */
+    private boolean isIdle(GlobalSession globalSession) {
+        long now = System.currentTimeMillis();
+        Long since = CollectionUtils.computeIfAbsent(spillCandidates, globalSession.getXid(), key -> now);
+        return now - since >= spillIdleTime;
+    }
+
+    private boolean spill(GlobalSession globalSession) {
+        spillLock.readLock().lock();
+        try {
+            SessionSpillStore.Location location = spillStore.write(globalSession);
+            if (location == null) {
+                return false;
+            }
+            // the session is kept if it is removed or replaced meanwhile
+            if (spilledSessionMap.compute(globalSession.getXid(),
+                (xid, current) -> sessionMap.remove(xid, globalSession) ? location : current) != location) {
+                spillStore.release(location);
+                return false;
+            }
+            spillCandidates.remove(globalSession.getXid());
+            CollectionUtils.computeIfAbsent(spillQueues, location.status, key -> new ConcurrentLinkedQueue<>())
+                .add(location);
+            return true;
+        } finally {
+            spillLock.readLock().unlock();
+        }
+    }
+
+    private void readBackSpilledSessions(List<GlobalStatus> globalStatuses, List<GlobalSession> found) {
+        int read = 0;
+        for (GlobalStatus globalStatus : globalStatuses) {
+            Queue<SessionSpillStore.Location> spillQueue = spillQueues.get(globalStatus);
+            if (spillQueue == null) {
+                continue;
+            }
+            SessionSpillStore.Location location;
+            while (read < spillReadSize && (location = spillQueue.poll()) != null) {
+                GlobalSession globalSession = readBack(location.xid, location);
+                if (globalSession != null) {
+                    found.add(globalSession);
+                    read++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the spilled session back onto the heap.
+     *
+     * @param xid      the xid
+     * @param expected the location expected, null for any
+     * @return the session read back, null if it is not spilled at the location
+     */
+    private GlobalSession readBack(String xid, SessionSpillStore.Location expected) {
+        GlobalSession[] readBack = new GlobalSession[1];
+        spillLock.readLock().lock();
+        try {
+            spilledSessionMap.computeIfPresent(xid, (key, location) -> {
+                if (expected != null && expected != location) {
+                    return location;
+                }
+                GlobalSession globalSession;
+                try {
+                    globalSession = spillStore.read(location);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Read spilled global session failed, xid: {}", key, e);
+                    return location;
+                }
+                // the spilled sessions are all closed
+                globalSession.setActive(false);
+                globalSession.addSessionLifecycleListener(this);
+                sessionMap.put(key, globalSession);
+                spillCandidates.put(key, System.currentTimeMillis());
+                spillStore.release(location);
+                SessionSpillStatistics.onFault();
+                readBack[0] = globalSession;
+                return null;
+            });
+        } finally {
+            spillLock.readLock().unlock();
+        }
+        return readBack[0];
+    }
+
+    private boolean releaseSpilledSession(String xid) {
+        spillLock.readLock().lock();
+        try {
+            SessionSpillStore.Location location = spilledSessionMap.remove(xid);
+            if (location == null) {
+                return false;
+            }
+            spillStore.release(location);
+            return true;
+        } finally {
+            spillLock.readLock().unlock();
+        }
+    }
+
     @Override
     public <T> T lockAndExecute(GlobalSession globalSession, GlobalSession.LockCallable<T> lockCallable)
         throws TransactionException {
@@ -187,6 +519,17 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
         }
     }
 
+    @Override
+    public <T> T lockSharedAndExecute(GlobalSession globalSession, GlobalSession.LockCallable<T> lockCallable)
+        throws TransactionException {
+        globalSession.lockShared();
+        try {
+            return lockCallable.call();
+        } finally {
+            globalSession.unlockShared();
+        }
+    }
+
     private void restoreSessions() {
         final Set<String> removedGlobalBuffer = new HashSet<>();
         final Map<String, Map<Long, BranchSession>> unhandledBranchBuffer = new HashMap<>();
@@ -376,6 +719,9 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
     @Override
     public void destroy() {
         transactionStoreManager.shutdown();
+        if (spillStore != null) {
+            spillStore.close();
+        }
     }
 
 }
@@ -0,0 +1,76 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.storage.file.session;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters of the global sessions spilled out of the heap by the file session managers.
+ *
+ * @author hongyan
+ */
+public final class SessionSpillStatistics {
+
+    private static final LongAdder SPILLED = new LongAdder();
+
+    private static final LongAdder SPILLED_BYTES = new LongAdder();
+
+    private static final LongAdder FAULTED = new LongAdder();
+
+    private SessionSpillStatistics() {
+    }
+
+    static void onSpill(int bytes) {
+        SPILLED.increment();
+        SPILLED_BYTES.add(bytes);
+    }
+
+    static void onRelease(int bytes) {
+        SPILLED.decrement();
+        SPILLED_BYTES.add(-bytes);
+    }
+
+    static void onFault() {
+        FAULTED.increment();
+    }
+
+    /**
+     * The count of the sessions currently spilled.
+     *
+     * @return the count
+     */
+    public static long getSpilledCount() {
+        return SPILLED.sum();
+    }
+
+    /**
+     * The size of the sessions currently spilled.
+     *
+     * @return the bytes
+     */
+    public static long getSpilledBytes() {
+        return SPILLED_BYTES.sum();
+    }
+
+    /**
+     * The count of the spilled sessions read back onto the heap.
+     *
+     * @return the count
+     */
+    public static long getFaultedCount() {
+        return FAULTED.sum();
+    }
+}
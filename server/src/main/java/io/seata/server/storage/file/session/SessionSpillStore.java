@@ -0,0 +1,215 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.storage.file.session;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import io.seata.core.model.GlobalStatus;
+import io.seata.server.session.BranchSession;
+import io.seata.server.session.GlobalSession;
+import io.seata.server.store.StoreConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The store of the global sessions spilled out of the heap, a session is encoded with its branches into a segment
+ * of a memory mapped file. A segment is reused once all the sessions in it are read back or released. The file is
+ * only a cache of the heap, it is truncated on start since the sessions are recovered from the transaction log.
+ *
+ * @author hongyan
+ */
+class SessionSpillStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionSpillStore.class);
+
+    /**
+     * The size of a segment, a session is never split over two segments.
+     */
+    static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final int MAX_GLOBAL_SESSION_SIZE = StoreConfig.getMaxGlobalSessionSize();
+
+    private static final int MAX_BRANCH_SESSION_SIZE = StoreConfig.getMaxBranchSessionSize();
+
+    private final File file;
+
+    private final FileChannel fileChannel;
+
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    private int[] liveCounts = new int[16];
+
+    private final Deque<Integer> freeSegments = new ArrayDeque<>();
+
+    private int writeSegment = -1;
+
+    private int writePosition;
+
+    /**
+     * Instantiates a new session spill store.
+     *
+     * @param file the spill file
+     * @throws IOException the io exception
+     */
+    SessionSpillStore(File file) throws IOException {
+        this.file = file;
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("create dir failed, dir: " + parent.getAbsolutePath());
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        // the sessions left by the last run are recovered from the transaction log
+        raf.setLength(0);
+        this.fileChannel = raf.getChannel();
+    }
+
+    /**
+     * Write the session with its branches.
+     *
+     * @param session the session
+     * @return the location of the session, null if the session could not be spilled
+     */
+    synchronized Location write(GlobalSession session) {
+        List<BranchSession> branchSessions = session.getBranchSessions();
+        long maxSize = MAX_GLOBAL_SESSION_SIZE + 4L + (long)branchSessions.size() * MAX_BRANCH_SESSION_SIZE;
+        if (maxSize > SEGMENT_SIZE) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = segmentFor((int)maxSize).duplicate();
+            buffer.position(writePosition);
+            session.encode(buffer);
+            buffer.putInt(branchSessions.size());
+            for (BranchSession branchSession : branchSessions) {
+                branchSession.encode(buffer);
+            }
+            Location location = new Location(session.getXid(), session.getStatus(), writeSegment, writePosition,
+                buffer.position() - writePosition);
+            writePosition = buffer.position();
+            liveCounts[writeSegment]++;
+            SessionSpillStatistics.onSpill(location.length);
+            return location;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Spill global session failed, xid: {}, {}", session.getXid(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Read the session with its branches, the location is still held until it is released.
+     *
+     * @param location the location of the session
+     * @return the session
+     */
+    synchronized GlobalSession read(Location location) {
+        ByteBuffer buffer = segments.get(location.segment).duplicate();
+        buffer.limit(location.offset + location.length);
+        buffer.position(location.offset);
+        GlobalSession session = new GlobalSession();
+        session.decode(buffer);
+        int branchCount = buffer.getInt();
+        for (int i = 0; i < branchCount; i++) {
+            BranchSession branchSession = new BranchSession();
+            branchSession.decode(buffer);
+            session.add(branchSession);
+        }
+        return session;
+    }
+
+    /**
+     * Release the location of a session read back or removed.
+     *
+     * @param location the location of the session
+     */
+    synchronized void release(Location location) {
+        SessionSpillStatistics.onRelease(location.length);
+        if (--liveCounts[location.segment] == 0 && location.segment != writeSegment) {
+            freeSegments.add(location.segment);
+        }
+    }
+
+    /**
+     * Close the store and delete the spill file.
+     */
+    synchronized void close() {
+        segments.clear();
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            LOGGER.warn("Close spill file failed, file: {}, {}", file.getAbsolutePath(), e.getMessage());
+        }
+        if (!file.delete()) {
+            LOGGER.warn("Delete spill file failed, file: {}", file.getAbsolutePath());
+        }
+    }
+
+    private ByteBuffer segmentFor(int size) throws IOException {
+        if (writeSegment < 0 || SEGMENT_SIZE - writePosition < size) {
+            if (writeSegment >= 0 && liveCounts[writeSegment] == 0) {
+                freeSegments.add(writeSegment);
+            }
+            writeSegment = -1;
+            Integer freeSegment = freeSegments.poll();
+            int segment = freeSegment != null ? freeSegment : mapSegment();
+            writeSegment = segment;
+            writePosition = 0;
+        }
+        return segments.get(writeSegment);
+    }
+
+    private int mapSegment() throws IOException {
+        int segment = segments.size();
+        segments.add(fileChannel.map(FileChannel.MapMode.READ_WRITE, (long)segment * SEGMENT_SIZE, SEGMENT_SIZE));
+        if (segment == liveCounts.length) {
+            liveCounts = Arrays.copyOf(liveCounts, segment * 2);
+        }
+        return segment;
+    }
+
+    /**
+     * The location of a spilled session.
+     */
+    static final class Location {
+
+        final String xid;
+
+        final GlobalStatus status;
+
+        final int segment;
+
+        final int offset;
+
+        final int length;
+
+        Location(String xid, GlobalStatus status, int segment, int offset, int length) {
+            this.xid = xid;
+            this.status = status;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.seata.server.storage.file.store;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
@@ -42,6 +43,7 @@ import io.seata.server.session.SessionManager;
 import io.seata.server.storage.file.FlushDiskMode;
 import io.seata.server.storage.file.ReloadableStore;
 import io.seata.server.storage.file.TransactionWriteStore;
+import io.seata.server.storage.file.session.FileSessionManager;
 import io.seata.server.store.AbstractTransactionStoreManager;
 import io.seata.server.store.SessionStorable;
 import io.seata.server.store.StoreConfig;
@@ -174,7 +176,7 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         long curFileTrxNum;
         writeSessionLock.lock();
         try {
-            if (!writeDataFile(new TransactionWriteStore(session, logOperation).encode())) {
+            if (!writeDataFile(new TransactionWriteStore(session, logOperation))) {
                 return false;
             }
             lastModifiedTime = System.currentTimeMillis();
@@ -227,6 +229,44 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         return result;
     }
 
+    /**
+     * Encode the frame right into the write buffer, flushing the buffer first if the frame does not fit the
+     * remaining, a frame which does not fit the whole buffer is encoded into an array and written in chunks.
+     */
+    private boolean writeDataFrame(TransactionWriteStore writeStore) {
+        if (encodeDataFrame(writeStore)) {
+            return true;
+        }
+        if (writeBuffer.position() > 0) {
+            if (!flushWriteBuffer(writeBuffer)) {
+                return false;
+            }
+            if (encodeDataFrame(writeStore)) {
+                return true;
+            }
+        }
+        return writeDataFrame(writeStore.encode());
+    }
+
+    private boolean encodeDataFrame(TransactionWriteStore writeStore) {
+        int framePosition = writeBuffer.position();
+        if (writeBuffer.remaining() <= INT_BYTE_SIZE) {
+            return false;
+        }
+        writeBuffer.position(framePosition + INT_BYTE_SIZE);
+        try {
+            writeStore.encode(writeBuffer);
+        } catch (BufferOverflowException e) {
+            writeBuffer.position(framePosition);
+            return false;
+        } catch (RuntimeException e) {
+            writeBuffer.position(framePosition);
+            throw e;
+        }
+        writeBuffer.putInt(framePosition, writeBuffer.position() - framePosition - INT_BYTE_SIZE);
+        return true;
+    }
+
     private boolean writeDataFrame(byte[] data) {
         if (data == null || data.length <= 0) {
             return true;
@@ -272,31 +312,21 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
     }
 
     private boolean findTimeoutAndSave() throws IOException {
-        List<GlobalSession> globalSessionsOverMaxTimeout = sessionManager.findGlobalSessions(
-            new SessionCondition(MAX_TRX_TIMEOUT_MILLS));
-        if (CollectionUtils.isEmpty(globalSessionsOverMaxTimeout)) {
-            return true;
-        }
-        for (GlobalSession globalSession : globalSessionsOverMaxTimeout) {
-            TransactionWriteStore globalWriteStore = new TransactionWriteStore(globalSession, LogOperation.GLOBAL_ADD);
-            byte[] data = globalWriteStore.encode();
-            if (!writeDataFrame(data)) {
+        SessionCondition sessionCondition = new SessionCondition(MAX_TRX_TIMEOUT_MILLS);
+        if (sessionManager instanceof FileSessionManager) {
+            // the spilled sessions are visited one by one instead of being read back onto the heap
+            if (!((FileSessionManager)sessionManager).forEachGlobalSession(sessionCondition,
+                this::writeGlobalSessionFrames)) {
                 return false;
             }
-            List<BranchSession> branchSessIonsOverMaXTimeout = globalSession.getSortedBranches();
-            if (branchSessIonsOverMaXTimeout != null) {
-                for (BranchSession branchSession : branchSessIonsOverMaXTimeout) {
-                    try {
-                        MDC.put(MDC_KEY_BRANCH_ID, String.valueOf(branchSession.getBranchId()));
-                        TransactionWriteStore branchWriteStore = new TransactionWriteStore(branchSession,
-                            LogOperation.BRANCH_ADD);
-                        data = branchWriteStore.encode();
-                        if (!writeDataFrame(data)) {
-                            return false;
-                        }
-                    } finally {
-                        MDC.remove(MDC_KEY_BRANCH_ID);
-                    }
+        } else {
+            List<GlobalSession> globalSessionsOverMaxTimeout = sessionManager.findGlobalSessions(sessionCondition);
+            if (CollectionUtils.isEmpty(globalSessionsOverMaxTimeout)) {
+                return true;
+            }
+            for (GlobalSession globalSession : globalSessionsOverMaxTimeout) {
+                if (!writeGlobalSessionFrames(globalSession)) {
+                    return false;
                 }
             }
         }
@@ -307,6 +337,29 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         return false;
     }
 
+    private boolean writeGlobalSessionFrames(GlobalSession globalSession) {
+        TransactionWriteStore globalWriteStore = new TransactionWriteStore(globalSession, LogOperation.GLOBAL_ADD);
+        if (!writeDataFrame(globalWriteStore)) {
+            return false;
+        }
+        List<BranchSession> branchSessions = globalSession.getSortedBranches();
+        if (branchSessions != null) {
+            for (BranchSession branchSession : branchSessions) {
+                try {
+                    MDC.put(MDC_KEY_BRANCH_ID, String.valueOf(branchSession.getBranchId()));
+                    TransactionWriteStore branchWriteStore = new TransactionWriteStore(branchSession,
+                        LogOperation.BRANCH_ADD);
+                    if (!writeDataFrame(branchWriteStore)) {
+                        return false;
+                    }
+                } finally {
+                    MDC.remove(MDC_KEY_BRANCH_ID);
+                }
+            }
+        }
+        return true;
+    }
+
     @Override
     public GlobalSession readSession(String xid) {
         throw new StoreException("unsupport for read from file, xid:" + xid);
@@ -404,14 +457,14 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
                     }
                     buffSize.flip();
                     int bodySize = buffSize.getInt();
-                    byte[] byBody = new byte[bodySize];
-                    ByteBuffer buffBody = ByteBuffer.wrap(byBody);
+                    ByteBuffer buffBody = ByteBuffer.allocate(bodySize);
                     avilReadSize = fileChannel.read(buffBody);
                     if (avilReadSize != bodySize) {
                         break;
                     }
+                    buffBody.flip();
                     TransactionWriteStore writeStore = new TransactionWriteStore();
-                    writeStore.decode(byBody);
+                    writeStore.decode(buffBody);
                     transactionWriteStores.add(writeStore);
                     if (transactionWriteStores.size() == readSize) {
                         break;
@@ -452,11 +505,8 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
         }
     }
 
-    private boolean writeDataFile(byte[] bs) {
-        if (bs == null || bs.length >= Integer.MAX_VALUE - 3) {
-            return false;
-        }
-        if (!writeDataFrame(bs)) {
+    private boolean writeDataFile(TransactionWriteStore writeStore) {
+        if (!writeDataFrame(writeStore)) {
             return false;
         }
         return flushWriteBuffer(writeBuffer);
@@ -21,8 +21,11 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -37,6 +40,7 @@ import io.seata.common.util.LambdaUtils;
 import io.seata.common.util.StringUtils;
 import io.seata.core.exception.BranchTransactionException;
 import io.seata.core.lock.AbstractLocker;
+import io.seata.core.lock.LockEscalation;
 import io.seata.core.lock.RowLock;
 import io.seata.core.model.LockStatus;
 import io.seata.core.store.LockDO;
@@ -49,6 +53,7 @@ import redis.clients.jedis.Pipeline;
 import static io.seata.common.Constants.ROW_LOCK_KEY_SPLIT_CHAR;
 import static io.seata.core.constants.RedisKeyConstants.DEFAULT_REDIS_SEATA_GLOBAL_LOCK_PREFIX;
 import static io.seata.core.constants.RedisKeyConstants.DEFAULT_REDIS_SEATA_ROW_LOCK_PREFIX;
+import static io.seata.core.constants.RedisKeyConstants.DEFAULT_REDIS_SEATA_TABLE_ROW_LOCK_PREFIX;
 import static io.seata.core.exception.TransactionExceptionCode.LockKeyConflictFailFast;
 /**
  * The redis lock store operation
@@ -151,8 +156,14 @@ public class RedisLocker extends AbstractLocker {
         List<String> needLockKeys = new ArrayList<>();
         needLockDOS.forEach(lockDO -> needLockKeys.add(buildLockKey(lockDO.getRowKey())));
         Map<String, LockDO> needAddLock = new HashMap<>(needLockKeys.size(), 1);
+        List<String> tableLockKeys = getTableLockKeys(needLockDOS);
 
         if (!skipCheckLock) {
+            String existedTableLockXid = findTableLockConflict(jedis, needLockXid, tableLockKeys);
+            if (existedTableLockXid != null) {
+                logGlobalLockConflictInfo(needLockXid, String.join(ROW_LOCK_KEY_SPLIT_CHAR, tableLockKeys), existedTableLockXid);
+                return false;
+            }
             Pipeline pipeline1 = jedis.pipelined();
             needLockKeys.stream().forEachOrdered(needLockKey -> {
                 pipeline1.hget(needLockKey, XID);
@@ -223,6 +234,16 @@ public class RedisLocker extends AbstractLocker {
             }
         }
 
+        if (SUCCEED.equals(status)) {
+            addTableRowLocks(jedis, needAddLock.values());
+            // The locks are added before the table locks covering them and the row locks covered by them are
+            // checked, so of a row lock and a table lock acquired at the same time at least one sees the other.
+            if (!checkEscalatedLocks(jedis, needLockXid, needAddLock.values(), tableLockKeys)) {
+                removeTableRowLocks(jedis, needAddLock.values());
+                status = FAILED;
+            }
+        }
+
         // If someone has failed,all the lockkey which has been added need to be delete.
         if (FAILED.equals(status)) {
             if (success.size() > 0) {
@@ -259,12 +280,16 @@ public class RedisLocker extends AbstractLocker {
             args.add(lockDO.getTableName());
             args.add(lockDO.getRowKey());
             args.add(lockDO.getPk());
+            args.add(buildTableRowLockKey(lockDO.getResourceId(), lockDO.getTableName()));
         }
         String xidLockKey = buildXidLockKey(needLockXid);
         StringJoiner lockKeysString = new StringJoiner(ROW_LOCK_KEY_SPLIT_CHAR);
         needLockDOs.stream().map(lockDO -> buildLockKey(lockDO.getRowKey())).forEach(lockKeysString::add);
         keys.add(xidLockKey);
         keys.add(branchId.toString());
+        // the table locks behind are only checked by the script, which checks the row locks of the tables of the
+        // table locks as well before adding any lock
+        keys.addAll(getTableLockKeys(needLockDOs));
         args.add(lockKeysString.toString());
         // reset args index 2
         args.set(1, String.valueOf(args.size()));
@@ -296,6 +321,10 @@ public class RedisLocker extends AbstractLocker {
 
         try (Jedis jedis = JedisPooledFactory.getJedisInstance(); Pipeline pipelined = jedis.pipelined()) {
             pipelined.del(needReleaseKeys);
+            for (LockDO lockDO : needReleaseLocks) {
+                pipelined.srem(buildTableRowLockKey(lockDO.getResourceId(), lockDO.getTableName()),
+                    buildLockKey(lockDO.getRowKey()));
+            }
             pipelined.hdel(buildXidLockKey(currentXid), branchId.toString());
             pipelined.sync();
             return true;
@@ -327,12 +356,17 @@ public class RedisLocker extends AbstractLocker {
                 lockKeys.add(buildLockKey(rowlock.getRowKey()));
             }
 
+            lockKeys.addAll(getTableLockKeys(locks));
+
             String xid = rowLocks.get(0).getXid();
             try (Pipeline pipeline = jedis.pipelined()) {
                 lockKeys.forEach(key -> pipeline.hget(key, XID));
                 List<String> existedXids = (List<String>)(List)pipeline.syncAndReturnAll();
-                return existedXids.stream().allMatch(existedXid -> existedXid == null || xid.equals(existedXid));
+                if (!existedXids.stream().allMatch(existedXid -> existedXid == null || xid.equals(existedXid))) {
+                    return false;
+                }
             }
+            return checkEscalatedLocks(jedis, xid, locks, Collections.emptyList());
         }
     }
 
@@ -373,8 +407,12 @@ public class RedisLocker extends AbstractLocker {
                         if (rowKeyStr.contains(ROW_LOCK_KEY_SPLIT_CHAR)) {
                             String[] keys = rowKeyStr.split(ROW_LOCK_KEY_SPLIT_CHAR);
                             pipelined.del(keys);
+                            for (String key : keys) {
+                                pipelined.srem(buildTableRowLockKey(key), key);
+                            }
                         } else {
                             pipelined.del(rowKeyStr);
+                            pipelined.srem(buildTableRowLockKey(rowKeyStr), rowKeyStr);
                         }
                     }
                 });
@@ -384,6 +422,119 @@ public class RedisLocker extends AbstractLocker {
         }
     }
 
+    /**
+     * Get the keys of the table locks of the tables of the row locks.
+     *
+     * @param lockDOs the locks
+     * @return the keys
+     */
+    private List<String> getTableLockKeys(List<LockDO> lockDOs) {
+        Set<String> tableLockKeys = new LinkedHashSet<>();
+        for (LockDO lockDO : lockDOs) {
+            if (!LockEscalation.isEscalated(lockDO.getPk())) {
+                tableLockKeys.add(buildLockKey(
+                    getRowKey(lockDO.getResourceId(), lockDO.getTableName(), LockEscalation.TABLE_LOCK_PK)));
+            }
+        }
+        return new ArrayList<>(tableLockKeys);
+    }
+
+    private String findTableLockConflict(Jedis jedis, String xid, List<String> tableLockKeys) {
+        if (tableLockKeys.isEmpty()) {
+            return null;
+        }
+        try (Pipeline pipeline = jedis.pipelined()) {
+            tableLockKeys.forEach(key -> pipeline.hget(key, XID));
+            List<String> existedXids = (List<String>)(List)pipeline.syncAndReturnAll();
+            return existedXids.stream().filter(existedXid -> existedXid != null && !xid.equals(existedXid))
+                .findFirst().orElse(null);
+        }
+    }
+
+    /**
+     * Check the table locks covering the row locks, and the row locks covered by the table locks.
+     *
+     * @param jedis         the jedis
+     * @param xid           the xid
+     * @param lockDOs       the locks
+     * @param tableLockKeys the keys of the table locks covering the row locks
+     * @return whether no lock of other transactions conflicts
+     */
+    private boolean checkEscalatedLocks(Jedis jedis, String xid, Collection<LockDO> lockDOs,
+        List<String> tableLockKeys) {
+        String existedXid = findTableLockConflict(jedis, xid, tableLockKeys);
+        if (existedXid != null) {
+            logGlobalLockConflictInfo(xid, String.join(ROW_LOCK_KEY_SPLIT_CHAR, tableLockKeys), existedXid);
+            return false;
+        }
+        for (LockDO lockDO : lockDOs) {
+            if (LockEscalation.isTableLock(lockDO.getPk())) {
+                String tableLockKey = buildLockKey(lockDO.getRowKey());
+                List<String> rowLockKeys = new ArrayList<>(
+                    jedis.smembers(buildTableRowLockKey(lockDO.getResourceId(), lockDO.getTableName())));
+                if (rowLockKeys.isEmpty()) {
+                    continue;
+                }
+                try (Pipeline pipeline = jedis.pipelined()) {
+                    rowLockKeys.forEach(key -> pipeline.hget(key, XID));
+                    List<String> existedXids = (List<String>)(List)pipeline.syncAndReturnAll();
+                    for (int i = 0; i < rowLockKeys.size(); i++) {
+                        existedXid = existedXids.get(i);
+                        if (!rowLockKeys.get(i).equals(tableLockKey) && existedXid != null && !xid.equals(existedXid)) {
+                            logGlobalLockConflictInfo(xid, rowLockKeys.get(i), existedXid);
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add the row locks to the sets of the row lock keys of their tables, which the table locks are checked against.
+     *
+     * @param jedis   the jedis
+     * @param lockDOs the locks
+     */
+    private void addTableRowLocks(Jedis jedis, Collection<LockDO> lockDOs) {
+        try (Pipeline pipeline = jedis.pipelined()) {
+            for (LockDO lockDO : lockDOs) {
+                if (!LockEscalation.isTableLock(lockDO.getPk())) {
+                    pipeline.sadd(buildTableRowLockKey(lockDO.getResourceId(), lockDO.getTableName()),
+                        buildLockKey(lockDO.getRowKey()));
+                }
+            }
+            pipeline.sync();
+        }
+    }
+
+    private void removeTableRowLocks(Jedis jedis, Collection<LockDO> lockDOs) {
+        try (Pipeline pipeline = jedis.pipelined()) {
+            for (LockDO lockDO : lockDOs) {
+                pipeline.srem(buildTableRowLockKey(lockDO.getResourceId(), lockDO.getTableName()),
+                    buildLockKey(lockDO.getRowKey()));
+            }
+            pipeline.sync();
+        }
+    }
+
+    private String buildTableRowLockKey(String resourceId, String tableName) {
+        return DEFAULT_REDIS_SEATA_TABLE_ROW_LOCK_PREFIX + resourceId + LOCK_SPLIT + tableName;
+    }
+
+    /**
+     * Build the key of the set of the row lock keys of the table of a row lock.
+     *
+     * @param lockKey the key of the row lock
+     * @return the key of the set
+     */
+    private String buildTableRowLockKey(String lockKey) {
+        int tableEnd = lockKey.indexOf(LOCK_SPLIT, lockKey.indexOf(LOCK_SPLIT) + LOCK_SPLIT.length());
+        return DEFAULT_REDIS_SEATA_TABLE_ROW_LOCK_PREFIX
+            + lockKey.substring(DEFAULT_REDIS_SEATA_ROW_LOCK_PREFIX.length(), tableEnd);
+    }
+
     private String buildXidLockKey(String xid) {
         return DEFAULT_REDIS_SEATA_GLOBAL_LOCK_PREFIX + xid;
     }
@@ -15,6 +15,8 @@
  */
 package io.seata.server.store;
 
+import java.nio.ByteBuffer;
+
 /**
  * The interface Session storable.
  *
@@ -35,4 +37,25 @@ public interface SessionStorable {
      * @param src the src
      */
     void decode(byte[] src);
+
+    /**
+     * Encode into the buffer from its position.
+     *
+     * @param dst the dst
+     * @throws java.nio.BufferOverflowException if the buffer has not enough remaining
+     */
+    default void encode(ByteBuffer dst) {
+        dst.put(encode());
+    }
+
+    /**
+     * Decode the remaining bytes of the buffer.
+     *
+     * @param src the src
+     */
+    default void decode(ByteBuffer src) {
+        byte[] bytes = new byte[src.remaining()];
+        src.get(bytes);
+        decode(bytes);
+    }
 }
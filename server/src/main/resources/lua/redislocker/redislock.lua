@@ -23,6 +23,31 @@ for i= 1, keySize do
            end
     end
 end
+-- Loop through the table locks of the tables of the rows behind the SEATA_GLOBAL_LOCK keys, which are only checked
+for i = keySize + 3, #KEYS do
+    result = redis.call('HGET',KEYS[i],'xid');
+    if (result and result ~= ARGV[3])
+    then
+        return result
+    end
+end
+-- Loop through the row locks of the tables of the table locks to be stored, in the sets of the row lock keys of the tables
+for i = 1, keySize do
+    if (array[i] == 'no' and ARGV[(i-1)*7+9] == '*')
+    then
+        local rowLockKeys = redis.call('SMEMBERS',ARGV[(i-1)*7+10]);
+        for j = 1, #rowLockKeys do
+            if (rowLockKeys[j] ~= KEYS[i])
+            then
+                result = redis.call('HGET',rowLockKeys[j],'xid');
+                if (result and result ~= ARGV[3])
+                then
+                    return result
+                end
+            end
+        end
+    end
+end
 -- Loop through array
 for i =1, keySize do
     -- if is no ,The lock information is stored
@@ -31,17 +56,22 @@ for i =1, keySize do
             -- set xid
             redis.call('HSET',KEYS[i],'xid',ARGV[3]);
             -- set transactionId
-            redis.call('HSET',KEYS[i],'transactionId',ARGV[(i-1)*6+4]);
+            redis.call('HSET',KEYS[i],'transactionId',ARGV[(i-1)*7+4]);
             -- set branchId
-            redis.call('HSET',KEYS[i],'branchId',ARGV[(i-1)*6+5]);
+            redis.call('HSET',KEYS[i],'branchId',ARGV[(i-1)*7+5]);
             -- set resourceId
-            redis.call('HSET',KEYS[i],'resourceId',ARGV[(i-1)*6+6]);
+            redis.call('HSET',KEYS[i],'resourceId',ARGV[(i-1)*7+6]);
             -- set tableName
-            redis.call('HSET',KEYS[i],'tableName',ARGV[(i-1)*6+7]);
+            redis.call('HSET',KEYS[i],'tableName',ARGV[(i-1)*7+7]);
             -- set rowKey
-            redis.call('HSET',KEYS[i],'rowKey',ARGV[(i-1)*6+8]);
+            redis.call('HSET',KEYS[i],'rowKey',ARGV[(i-1)*7+8]);
             -- set pk
-            redis.call('HSET',KEYS[i],'pk',ARGV[(i-1)*6+9]);
+            redis.call('HSET',KEYS[i],'pk',ARGV[(i-1)*7+9]);
+            -- add the row lock to the set of the row lock keys of its table
+            if (ARGV[(i-1)*7+9] ~= '*')
+            then
+                redis.call('SADD',ARGV[(i-1)*7+10],KEYS[i]);
+            end
     -- exit if
     end
 -- exit for
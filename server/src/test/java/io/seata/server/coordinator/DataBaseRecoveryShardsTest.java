@@ -0,0 +1,137 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.coordinator;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.seata.common.XID;
+import io.seata.core.model.GlobalStatus;
+import io.seata.server.session.GlobalSession;
+import io.seata.server.session.SessionCondition;
+import io.seata.server.storage.db.lock.DataBaseDistributedLockerUtil;
+import io.seata.server.storage.db.session.DataBaseSessionManager;
+import io.seata.server.storage.db.store.DataBaseTransactionStoreManager;
+import io.seata.server.storage.db.store.LogStoreDataBaseDAO;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static io.seata.common.DefaultValues.DEFAULT_TX_GROUP;
+
+/**
+ * Sharded recovery rounds over a db store backlog larger than the log query limit.
+ *
+ * @author hongyan
+ */
+@SpringBootTest
+public class DataBaseRecoveryShardsTest {
+
+    private static final int SHARD_COUNT = 4;
+
+    private static final int LOG_QUERY_LIMIT = 2;
+
+    private static final int BACKLOG = 13;
+
+    private static BasicDataSource dataSource;
+
+    private static DataBaseSessionManager sessionManager;
+
+    private static RecoveryShards recoveryShards;
+
+    @BeforeAll
+    public static void start(ApplicationContext context) throws Exception {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:./db_store/recovery_backlog");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        try (Connection conn = dataSource.getConnection(); Statement s = conn.createStatement()) {
+            s.execute("DROP TABLE IF EXISTS global_table");
+            s.execute("CREATE TABLE global_table ( xid varchar(96),  transaction_id long , STATUS int,  application_id varchar(32), transaction_service_group varchar(32) ,transaction_name varchar(128) ,timeout int,  begin_time long, application_data varchar(500), gmt_create TIMESTAMP(6) ,gmt_modified TIMESTAMP(6) ) ");
+            s.execute("DROP TABLE IF EXISTS branch_table");
+            s.execute("CREATE TABLE branch_table ( xid varchar(96),  transaction_id long , branch_id long, resource_group_id varchar(32), resource_id varchar(32) ,lock_key varchar(64) ,branch_type varchar(32) ,  status int , client_id varchar(128),  application_data varchar(500),  gmt_create TIMESTAMP(6) ,gmt_modified TIMESTAMP(6) ) ");
+            s.execute("DROP TABLE IF EXISTS distributed_lock");
+            s.execute("CREATE TABLE distributed_lock (lock_key CHAR(20) NOT NULL, lock_value VARCHAR(20) NOT NULL,"
+                + " expire BIGINT, PRIMARY KEY (lock_key))");
+        }
+
+        LogStoreDataBaseDAO logStoreDataBaseDAO = new LogStoreDataBaseDAO(dataSource);
+        logStoreDataBaseDAO.setDbType("h2");
+        logStoreDataBaseDAO.setGlobalTable("global_table");
+        logStoreDataBaseDAO.setBranchTable("branch_table");
+        logStoreDataBaseDAO.initTransactionNameSize();
+
+        DataBaseTransactionStoreManager transactionStoreManager = DataBaseTransactionStoreManager.getInstance();
+        transactionStoreManager.setLogQueryLimit(LOG_QUERY_LIMIT);
+        transactionStoreManager.setLogStore(logStoreDataBaseDAO);
+        sessionManager = new DataBaseSessionManager();
+        sessionManager.setTransactionStoreManager(transactionStoreManager);
+
+        recoveryShards = new RecoveryShards(SHARD_COUNT,
+            DataBaseDistributedLockerUtil.newLocker(dataSource, "h2", "distributed_lock"), "192.168.0.1:8091", 10000);
+
+        for (long transactionId = 1; transactionId <= BACKLOG; transactionId++) {
+            GlobalSession globalSession = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "test", 6000);
+            globalSession.setXid(XID.generateXID(transactionId));
+            globalSession.setTransactionId(transactionId);
+            globalSession.setBeginTime(System.currentTimeMillis());
+            globalSession.setStatus(GlobalStatus.Rollbacking);
+            sessionManager.addGlobalSession(globalSession);
+        }
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        DataBaseTransactionStoreManager.getInstance().setLogQueryLimit(100);
+        dataSource.close();
+    }
+
+    @Test
+    public void testShardedRoundsPageThroughBacklog() {
+        SessionCondition condition = new SessionCondition(GlobalStatus.Rollbacking);
+        condition.setLazyLoadBranch(true);
+        Map<Long, Integer> handled = new HashMap<>();
+        // the largest shard holds 4 sessions, 2 pages of the log query limit
+        int rounds = 2;
+        for (int round = 0; round < rounds; round++) {
+            recoveryShards.forEach("TestBacklog", condition, c -> {
+                List<GlobalSession> sessions = sessionManager.findGlobalSessions(c);
+                if (c.getShardCount() > 1) {
+                    // the store pages inside the shard, never across shards
+                    sessions.forEach(globalSession -> Assertions.assertEquals(c.getShard(),
+                        recoveryShards.shardOf(globalSession.getTransactionId())));
+                }
+                return sessions;
+            }, GlobalSession::getTransactionId, sessions -> {
+                Assertions.assertTrue(sessions.size() <= LOG_QUERY_LIMIT);
+                for (GlobalSession globalSession : sessions) {
+                    Assertions.assertEquals(condition.getShard(), recoveryShards.shardOf(globalSession.getTransactionId()));
+                    handled.merge(globalSession.getTransactionId(), 1, Integer::sum);
+                }
+            });
+        }
+        Assertions.assertEquals(BACKLOG, handled.size());
+        handled.values().forEach(count -> Assertions.assertEquals(1, count.intValue()));
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.coordinator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.seata.core.model.GlobalStatus;
+import io.seata.core.store.DistributedLockDO;
+import io.seata.core.store.DistributedLocker;
+import io.seata.server.session.SessionCondition;
+import io.seata.server.storage.db.lock.DataBaseDistributedLockerUtil;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Two TC nodes sharing the recovery shards through the db distributed lock table.
+ *
+ * @author hongyan
+ */
+public class RecoveryShardsTest {
+
+    private static final int SHARD_COUNT = 4;
+
+    private static final long LEASE_MILLIS = 10000;
+
+    private static BasicDataSource dataSource;
+
+    private static DistributedLocker distributedLocker;
+
+    @BeforeAll
+    public static void start() throws SQLException {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:./db_store/recovery_shards");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        try (Connection conn = dataSource.getConnection(); Statement s = conn.createStatement()) {
+            s.execute("DROP TABLE IF EXISTS distributed_lock");
+            s.execute("CREATE TABLE distributed_lock (lock_key CHAR(20) NOT NULL, lock_value VARCHAR(20) NOT NULL,"
+                + " expire BIGINT, PRIMARY KEY (lock_key))");
+        }
+        distributedLocker = DataBaseDistributedLockerUtil.newLocker(dataSource, "h2", "distributed_lock");
+    }
+
+    @AfterAll
+    public static void stop() throws SQLException {
+        dataSource.close();
+    }
+
+    @Test
+    public void testNodesDriveDisjointShards() throws Exception {
+        RecoveryShards nodeA = new RecoveryShards(SHARD_COUNT, distributedLocker, "192.168.0.1:8091", LEASE_MILLIS);
+        RecoveryShards nodeB = new RecoveryShards(SHARD_COUNT, distributedLocker, "192.168.0.2:8091", LEASE_MILLIS);
+        Map<Long, Long> store = prepareSessions(64);
+        Map<Long, Integer> handled = new ConcurrentHashMap<>();
+        CountDownLatch nodeAHolding = new CountDownLatch(1);
+        CountDownLatch nodeBHandled = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // node A keeps its first shard until node B has driven one of the others
+            Future<Integer> shardsOfA = executor.submit(() -> nodeA.forEach("TestRecovery", condition(), finder(store),
+                Long::longValue, sessions -> {
+                    nodeAHolding.countDown();
+                    await(nodeBHandled);
+                    handle(store, handled, sessions);
+                }));
+            await(nodeAHolding);
+            Future<Integer> shardsOfB = executor.submit(() -> nodeB.forEach("TestRecovery", condition(), finder(store),
+                Long::longValue, sessions -> {
+                    handle(store, handled, sessions);
+                    nodeBHandled.countDown();
+                }));
+
+            Assertions.assertTrue(shardsOfA.get(10, TimeUnit.SECONDS) > 0);
+            Assertions.assertTrue(shardsOfB.get(10, TimeUnit.SECONDS) > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(64, handled.size());
+        handled.values().forEach(count -> Assertions.assertEquals(1, count.intValue()));
+        Assertions.assertTrue(store.isEmpty());
+    }
+
+    @Test
+    public void testShardQueryIsNarrowed() {
+        RecoveryShards node = new RecoveryShards(SHARD_COUNT, distributedLocker, "192.168.0.1:8091", LEASE_MILLIS);
+        Map<Long, Long> store = prepareSessions(16);
+        List<Integer> queriedShards = new CopyOnWriteArrayList<>();
+        Function<SessionCondition, Collection<Long>> finder = condition -> {
+            queriedShards.add(condition.getShardCount() > 1 ? condition.getShard() : -1);
+            return finder(store).apply(condition);
+        };
+        Map<Long, Integer> handled = new ConcurrentHashMap<>();
+
+        Assertions.assertEquals(SHARD_COUNT, node.forEach("TestNarrowed", condition(), finder, Long::longValue,
+            sessions -> {
+                Assertions.assertEquals(16 / SHARD_COUNT, sessions.size());
+                handle(store, handled, sessions);
+            }));
+        // one query of each shard, none of the whole round
+        Assertions.assertEquals(SHARD_COUNT, queriedShards.size());
+        Assertions.assertEquals(SHARD_COUNT, queriedShards.stream().distinct().filter(shard -> shard >= 0).count());
+        Assertions.assertEquals(16, handled.size());
+    }
+
+    @Test
+    public void testShardOfLeftNodeIsTakenOver() throws Exception {
+        RecoveryShards node = new RecoveryShards(SHARD_COUNT, distributedLocker, "192.168.0.2:8091", LEASE_MILLIS);
+        Map<Long, Long> store = prepareSessions(SHARD_COUNT);
+        Map<Long, Integer> handled = new ConcurrentHashMap<>();
+
+        // the node owning shard 0 goes away without releasing its short lease
+        Assertions.assertTrue(distributedLocker.acquireLock(new DistributedLockDO("TestTakeOver_0", "192.168.0.3:8091", 500L)));
+
+        Assertions.assertEquals(SHARD_COUNT - 1, node.forEach("TestTakeOver", condition(), finder(store),
+            Long::longValue, sessions -> handle(store, handled, sessions)));
+        Assertions.assertEquals(1, store.size());
+
+        Thread.sleep(600);
+        Assertions.assertEquals(1, node.forEach("TestTakeOver", condition(), finder(store),
+            Long::longValue, sessions -> handle(store, handled, sessions)));
+        Assertions.assertTrue(store.isEmpty());
+        Assertions.assertEquals(SHARD_COUNT, handled.size());
+    }
+
+    @Test
+    public void testNotSharded() {
+        RecoveryShards node = new RecoveryShards(1, null, "192.168.0.1:8091", LEASE_MILLIS);
+        Map<Long, Long> store = prepareSessions(8);
+        Map<Long, Integer> handled = new ConcurrentHashMap<>();
+
+        Assertions.assertFalse(node.isSharded());
+        Assertions.assertEquals(1, node.forEach("TestNotSharded", condition(), finder(store),
+            Long::longValue, sessions -> handle(store, handled, sessions)));
+        Assertions.assertEquals(8, handled.size());
+        Assertions.assertEquals(0, node.forEach("TestNotSharded", condition(), finder(store),
+            Long::longValue, sessions -> handle(store, handled, sessions)));
+    }
+
+    private static SessionCondition condition() {
+        return new SessionCondition(GlobalStatus.Rollbacking);
+    }
+
+    /**
+     * A store narrowing the sessions to the shard of the condition, as the db store does.
+     */
+    private static Function<SessionCondition, Collection<Long>> finder(Map<Long, Long> store) {
+        return condition -> {
+            List<Long> sessions = new ArrayList<>();
+            for (Long transactionId : store.keySet()) {
+                if (Math.floorMod(transactionId, (long)condition.getShardCount()) == condition.getShard()) {
+                    sessions.add(transactionId);
+                }
+            }
+            return sessions;
+        };
+    }
+
+    private static Map<Long, Long> prepareSessions(int size) {
+        Map<Long, Long> store = new ConcurrentHashMap<>();
+        for (long transactionId = 0; transactionId < size; transactionId++) {
+            store.put(transactionId, transactionId);
+        }
+        return store;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void handle(Map<Long, Long> store, Map<Long, Integer> handled, List<Long> sessions) {
+        for (Long transactionId : sessions) {
+            handled.merge(transactionId, 1, Integer::sum);
+            store.remove(transactionId);
+        }
+    }
+}
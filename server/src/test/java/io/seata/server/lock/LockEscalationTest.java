@@ -0,0 +1,185 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.lock;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import io.seata.core.exception.TransactionException;
+import io.seata.core.model.BranchType;
+import io.seata.server.lock.db.DataBaseLockManagerImplTest.DBLockManagerForTest;
+import io.seata.server.lock.file.FileLockManagerForTest;
+import io.seata.server.lock.redis.RedisLockManagerTest.RedisLockManagerForTest;
+import io.seata.server.session.BranchSession;
+import io.seata.server.session.redis.MockRedisServer;
+import io.seata.server.storage.db.lock.LockStoreDataBaseDAO;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * The conflicts of the table and range locks with the row locks, in every lock store. The file store locks
+ * exactly the pk range of a range lock, the other stores lock the whole table.
+ *
+ * @author hongyan
+ */
+@SpringBootTest
+public class LockEscalationTest {
+
+    private static final AtomicLong ID = new AtomicLong(System.currentTimeMillis());
+
+    private static BasicDataSource dataSource;
+
+    private static LockManager fileLockManager;
+
+    private static LockManager dbLockManager;
+
+    private static LockManager redisLockManager;
+
+    @BeforeAll
+    public static void start(ApplicationContext context) throws Exception {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl("jdbc:h2:./db_store/db_escalation_lock");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        try (Connection conn = dataSource.getConnection(); Statement s = conn.createStatement()) {
+            s.execute("drop table if exists lock_table");
+            s.execute("CREATE TABLE lock_table ( xid varchar(96) , transaction_id long , branch_id long, resource_id varchar(32) ,table_name varchar(32) ,pk varchar(32)  ,  row_key  varchar(128) primary key not null , status  integer , gmt_create TIMESTAMP(6) ,gmt_modified TIMESTAMP(6)) ");
+        }
+        LockStoreDataBaseDAO lockStoreDataBaseDAO = new LockStoreDataBaseDAO(dataSource);
+        lockStoreDataBaseDAO.setDbType("h2");
+        lockStoreDataBaseDAO.setLockTable("lock_table");
+
+        MockRedisServer.getInstance();
+
+        fileLockManager = new FileLockManagerForTest();
+        dbLockManager = new DBLockManagerForTest(lockStoreDataBaseDAO);
+        redisLockManager = new RedisLockManagerForTest();
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        dataSource.close();
+    }
+
+    static Stream<Arguments> lockManagers() {
+        return Stream.of(
+            Arguments.of("file", fileLockManager, true),
+            Arguments.of("db", dbLockManager, false),
+            Arguments.of("redis", redisLockManager, false));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("lockManagers")
+    public void tableLockConflictsWithRowLock(String store, LockManager lockManager, boolean exactRange)
+        throws TransactionException {
+        String resourceId = newResourceId(store);
+        BranchSession tableLock = newBranchSession(resourceId, "t1:*");
+        Assertions.assertTrue(lockManager.acquireLock(tableLock));
+
+        BranchSession rowLock = newBranchSession(resourceId, "t1:1,2");
+        Assertions.assertFalse(lockManager.acquireLock(rowLock));
+        Assertions.assertFalse(lockManager.isLockable(rowLock.getXid(), resourceId, rowLock.getLockKey()));
+        // other tables are not locked
+        Assertions.assertTrue(lockManager.acquireLock(newBranchSession(resourceId, "t2:1,2")));
+
+        Assertions.assertTrue(lockManager.releaseLock(tableLock));
+        Assertions.assertTrue(lockManager.acquireLock(rowLock));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("lockManagers")
+    public void rowLockConflictsWithTableLock(String store, LockManager lockManager, boolean exactRange)
+        throws TransactionException {
+        String resourceId = newResourceId(store);
+        BranchSession rowLock = newBranchSession(resourceId, "t1:7");
+        Assertions.assertTrue(lockManager.acquireLock(rowLock));
+
+        BranchSession tableLock = newBranchSession(resourceId, "t1:*");
+        Assertions.assertFalse(lockManager.acquireLock(tableLock));
+        Assertions.assertFalse(lockManager.isLockable(tableLock.getXid(), resourceId, tableLock.getLockKey()));
+        BranchSession rangeLock = newBranchSession(resourceId, "t1:*1~100");
+        Assertions.assertFalse(lockManager.acquireLock(rangeLock));
+
+        Assertions.assertTrue(lockManager.releaseLock(rowLock));
+        Assertions.assertTrue(lockManager.acquireLock(tableLock));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("lockManagers")
+    public void escalatedLockOfSameTransaction(String store, LockManager lockManager, boolean exactRange)
+        throws TransactionException {
+        String resourceId = newResourceId(store);
+        BranchSession rowLock = newBranchSession(resourceId, "t1:3");
+        Assertions.assertTrue(lockManager.acquireLock(rowLock));
+
+        BranchSession tableLock = newBranchSession(rowLock.getXid(), rowLock.getTransactionId(), resourceId, "t1:*");
+        Assertions.assertTrue(lockManager.acquireLock(tableLock));
+        BranchSession otherRowLock = newBranchSession(rowLock.getXid(), rowLock.getTransactionId(), resourceId,
+            "t1:4");
+        Assertions.assertTrue(lockManager.acquireLock(otherRowLock));
+        Assertions.assertTrue(lockManager.isLockable(rowLock.getXid(), resourceId, "t1:5"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("lockManagers")
+    public void rangeLockConflictsWithRowLock(String store, LockManager lockManager, boolean exactRange)
+        throws TransactionException {
+        String resourceId = newResourceId(store);
+        BranchSession rangeLock = newBranchSession(resourceId, "t1:*100~200");
+        Assertions.assertTrue(lockManager.acquireLock(rangeLock));
+
+        Assertions.assertFalse(lockManager.acquireLock(newBranchSession(resourceId, "t1:100")));
+        Assertions.assertFalse(lockManager.acquireLock(newBranchSession(resourceId, "t1:150,300")));
+        Assertions.assertFalse(lockManager.acquireLock(newBranchSession(resourceId, "t1:*200~250")));
+        // only the file store locks exactly the range, the other stores lock the table
+        Assertions.assertEquals(exactRange, lockManager.acquireLock(newBranchSession(resourceId, "t1:99,201")));
+        Assertions.assertEquals(exactRange, lockManager.acquireLock(newBranchSession(resourceId, "t1:*300~400")));
+
+        Assertions.assertTrue(lockManager.releaseLock(rangeLock));
+        Assertions.assertTrue(lockManager.acquireLock(newBranchSession(resourceId, "t1:150")));
+    }
+
+    private static String newResourceId(String store) {
+        return store + ID.incrementAndGet();
+    }
+
+    private static BranchSession newBranchSession(String resourceId, String lockKey) {
+        long transactionId = ID.incrementAndGet();
+        return newBranchSession("127.0.0.1:8091:" + transactionId, transactionId, resourceId, lockKey);
+    }
+
+    private static BranchSession newBranchSession(String xid, long transactionId, String resourceId,
+        String lockKey) {
+        BranchSession branchSession = new BranchSession();
+        branchSession.setXid(xid);
+        branchSession.setBranchType(BranchType.AT);
+        branchSession.setTransactionId(transactionId);
+        branchSession.setBranchId(ID.incrementAndGet());
+        branchSession.setResourceId(resourceId);
+        branchSession.setLockKey(lockKey);
+        return branchSession;
+    }
+}
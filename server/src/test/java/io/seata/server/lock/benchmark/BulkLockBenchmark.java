@@ -0,0 +1,113 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.lock.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.seata.common.holder.ObjectHolder;
+import io.seata.core.exception.TransactionException;
+import io.seata.core.lock.LockEscalation;
+import io.seata.core.model.BranchType;
+import io.seata.server.session.BranchSession;
+import io.seata.server.storage.file.lock.FileLockManager;
+import io.seata.spring.boot.autoconfigure.SeataCoreEnvironmentPostProcessor;
+import io.seata.spring.boot.autoconfigure.SeataServerEnvironmentPostProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.StandardEnvironment;
+
+import static io.seata.common.Constants.OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT;
+
+/**
+ * Locking and releasing the rows of a bulk update branch in the file lock store, as row locks or as the pk
+ * range lock the RM requests beyond the escalation threshold.
+ *
+ * @author hongyan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkLockBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    @Param({"row", "range"})
+    private String granularity;
+
+    private final FileLockManager lockManager = new FileLockManager();
+
+    private final AtomicLong transactionId = new AtomicLong();
+
+    private String lockKey;
+
+    @Setup
+    public void setup() {
+        // the configuration is read from the property beans, without starting the server
+        ObjectHolder.INSTANCE.setObject(OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT, new StandardEnvironment());
+        SeataCoreEnvironmentPostProcessor.init();
+        SeataServerEnvironmentPostProcessor.init();
+        if ("range".equals(granularity)) {
+            lockKey = "t1:" + LockEscalation.rangeLockPk(1, rows);
+        } else {
+            StringBuilder builder = new StringBuilder("t1:");
+            for (int i = 1; i <= rows; i++) {
+                builder.append(i).append(',');
+            }
+            lockKey = builder.substring(0, builder.length() - 1);
+        }
+    }
+
+    @Benchmark
+    public boolean lockAndRelease() throws TransactionException {
+        long id = transactionId.incrementAndGet();
+        BranchSession branchSession = new BranchSession();
+        branchSession.setXid("127.0.0.1:8091:" + id);
+        branchSession.setTransactionId(id);
+        branchSession.setBranchId(id);
+        branchSession.setBranchType(BranchType.AT);
+        branchSession.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        branchSession.setLockKey(lockKey);
+        if (!lockManager.acquireLock(branchSession)) {
+            throw new IllegalStateException("lock conflict");
+        }
+        return lockManager.releaseLock(branchSession);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(BulkLockBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
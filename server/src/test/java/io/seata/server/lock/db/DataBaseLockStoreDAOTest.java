@@ -21,8 +21,13 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import io.seata.common.util.IOUtil;
+import io.seata.core.lock.LockEscalation;
 import io.seata.core.store.LockDO;
 import io.seata.server.storage.db.lock.LockStoreDataBaseDAO;
 import org.apache.commons.dbcp2.BasicDataSource;
@@ -48,7 +53,7 @@ public class DataBaseLockStoreDAOTest {
     public static void start(ApplicationContext context){
         dataSource =  new BasicDataSource();
         dataSource.setDriverClassName("org.h2.Driver");
-        dataSource.setUrl("jdbc:h2:./db_store/lock");
+        dataSource.setUrl("jdbc:h2:./db_store/lock;LOCK_TIMEOUT=10000");
         dataSource.setUsername("sa");
         dataSource.setPassword("");
 
@@ -274,6 +279,81 @@ public class DataBaseLockStoreDAOTest {
 
     }
 
+    @Test
+    public void test_rowAndTableLocksConcurrently() throws Exception {
+        // the first table lock of the table creates its guard row
+        LockDO firstTableLock = newLock("first-table-xid", LockEscalation.TABLE_LOCK_PK);
+        Assertions.assertTrue(dataBaseLockStoreDAO.acquireLock(firstTableLock));
+        dataBaseLockStoreDAO.unLock(firstTableLock.getXid());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 50; i++) {
+                LockDO rowLock = newLock("row-xid:" + i, "1");
+                LockDO tableLock = newLock("table-xid:" + i, LockEscalation.TABLE_LOCK_PK);
+                CyclicBarrier barrier = new CyclicBarrier(2);
+                Future<Boolean> rowAcquired = executor.submit(() -> {
+                    barrier.await();
+                    return dataBaseLockStoreDAO.acquireLock(rowLock);
+                });
+                Future<Boolean> tableAcquired = executor.submit(() -> {
+                    barrier.await();
+                    return dataBaseLockStoreDAO.acquireLock(tableLock);
+                });
+                boolean row = rowAcquired.get();
+                boolean table = tableAcquired.get();
+                Assertions.assertTrue(row || table);
+                Assertions.assertFalse(row && table, "the row lock and the table lock are both granted");
+                dataBaseLockStoreDAO.unLock(rowLock.getXid());
+                dataBaseLockStoreDAO.unLock(tableLock.getXid());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_rowLocksWithoutGuard() throws SQLException {
+        LockDO rowLock = newLock("plain", "plain-xid:1", "1");
+        Assertions.assertTrue(dataBaseLockStoreDAO.acquireLock(rowLock));
+        Assertions.assertEquals(0, countGuardRows("plain"));
+        Assertions.assertFalse(dataBaseLockStoreDAO.acquireLock(newLock("plain", "plain-xid:2", LockEscalation.TABLE_LOCK_PK)));
+        Assertions.assertEquals(1, countGuardRows("plain"));
+        dataBaseLockStoreDAO.unLock(rowLock.getXid());
+
+        // the table escalated before, its row locks take the guard row and still see the table locks
+        LockDO tableLock = newLock("plain", "plain-xid:3", LockEscalation.TABLE_LOCK_PK);
+        Assertions.assertTrue(dataBaseLockStoreDAO.acquireLock(tableLock));
+        Assertions.assertFalse(dataBaseLockStoreDAO.acquireLock(newLock("plain", "plain-xid:4", "2")));
+        dataBaseLockStoreDAO.unLock(tableLock.getXid());
+        Assertions.assertTrue(dataBaseLockStoreDAO.acquireLock(newLock("plain", "plain-xid:4", "2")));
+        dataBaseLockStoreDAO.unLock("plain-xid:4");
+    }
+
+    private static int countGuardRows(String resourceId) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement s = conn.createStatement();
+             ResultSet rs = s.executeQuery("select count(1) from lock_table where resource_id = '" + resourceId
+                 + "' and pk = '" + LockStoreDataBaseDAO.TABLE_GUARD_PK + "'")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static LockDO newLock(String xid, String pk) {
+        return newLock("concurrent", xid, pk);
+    }
+
+    private static LockDO newLock(String resourceId, String xid, String pk) {
+        LockDO lock = new LockDO();
+        lock.setResourceId(resourceId);
+        lock.setXid(xid);
+        lock.setTransactionId(1L);
+        lock.setBranchId(1L);
+        lock.setTableName("t");
+        lock.setPk(pk);
+        lock.setRowKey(resourceId + "^^^t^^^" + pk);
+        return lock;
+    }
+
     @AfterAll
     public static void clearStoreDB(){
         FileUtils.deleteRecursive("db_store", true);
@@ -18,6 +18,7 @@ package io.seata.server.lock.file;
 import java.util.stream.Stream;
 
 import io.seata.common.XID;
+import io.seata.core.lock.LockKeyPayload;
 import io.seata.core.model.BranchType;
 import io.seata.server.UUIDGenerator;
 import io.seata.server.lock.LockManager;
@@ -70,6 +71,37 @@ public class FileLockManagerImplTest {
         branchSession.unlock();
     }
 
+    /**
+     * Acquire lock with the structured lock keys test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void acquireLockWithPayloadTest() throws Exception {
+        LockKeyPayload lockKeyPayload = new LockKeyPayload();
+        int table = lockKeyPayload.addTable("tb_2", 2);
+        lockKeyPayload.addRow(table, "1", "a");
+        lockKeyPayload.addRow(table, "2", "b");
+        BranchSession owner = branchSessionProvider().findFirst().get();
+        owner.setLockKey(null);
+        owner.setLockKeyPayload(lockKeyPayload);
+        Assertions.assertTrue(lockManager.acquireLock(owner));
+        Assertions.assertEquals("tb_2:1_a,2_b", owner.getLockKey());
+
+        long otherTransactionId = UUIDGenerator.generateUUID();
+        BranchSession other = branchSessionProvider().findFirst().get();
+        other.setXid(XID.generateXID(otherTransactionId));
+        other.setTransactionId(otherTransactionId);
+        other.setBranchId(2L);
+        other.setLockKey("tb_2:2_b");
+        Assertions.assertFalse(lockManager.acquireLock(other));
+        Assertions.assertFalse(lockManager.isLockable(other.getXid(), resourceId, "tb_2:2_b"));
+
+        Assertions.assertTrue(lockManager.releaseLock(owner));
+        Assertions.assertTrue(lockManager.acquireLock(other));
+        Assertions.assertTrue(lockManager.releaseLock(other));
+    }
+
     /**
      * Is lockable test.
      *
@@ -0,0 +1,179 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.session;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.XID;
+import io.seata.core.model.BranchStatus;
+import io.seata.core.model.BranchType;
+import io.seata.core.model.GlobalStatus;
+import io.seata.server.storage.file.lock.FileLocker;
+import io.seata.server.storage.file.session.FileSessionManager;
+import io.seata.server.storage.file.session.SessionSpillStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static io.seata.common.DefaultValues.DEFAULT_TX_GROUP;
+
+/**
+ * The test of spilling the idle sessions out of the heap in file mode.
+ *
+ * @author hongyan
+ */
+@SpringBootTest
+public class FileSessionManagerSpillTest {
+
+    private static final int SPILL_READ_SIZE = 10;
+
+    @TempDir
+    File sessionStoreDir;
+
+    private FileSessionManager sessionManager;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        sessionManager = new FileSessionManager("spill.data", sessionStoreDir.getAbsolutePath(), true, 0,
+            SPILL_READ_SIZE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sessionManager.destroy();
+    }
+
+    @Test
+    public void testSpillAndReadBack() throws Exception {
+        List<GlobalSession> globalSessions = addGlobalSessions(100, GlobalStatus.CommitRetrying);
+        long spilled = SessionSpillStatistics.getSpilledCount();
+
+        List<GlobalSession> found = sessionManager.findGlobalSessions(
+            new SessionCondition(GlobalStatus.CommitRetrying));
+        Assertions.assertEquals(SPILL_READ_SIZE, found.size());
+        Assertions.assertEquals(SPILL_READ_SIZE, sessionManager.allSessions().size());
+        Assertions.assertEquals(spilled + globalSessions.size() - SPILL_READ_SIZE,
+            SessionSpillStatistics.getSpilledCount());
+
+        Set<String> readBack = new HashSet<>();
+        found.forEach(globalSession -> readBack.add(globalSession.getXid()));
+        GlobalSession expected = globalSessions.stream().filter(
+            globalSession -> !readBack.contains(globalSession.getXid())).findFirst().get();
+        GlobalSession actual = sessionManager.findGlobalSession(expected.getXid());
+        Assertions.assertNotSame(expected, actual);
+        Assertions.assertEquals(expected.getTransactionId(), actual.getTransactionId());
+        Assertions.assertEquals(expected.getApplicationData(), actual.getApplicationData());
+        Assertions.assertEquals(GlobalStatus.CommitRetrying, actual.getStatus());
+        Assertions.assertFalse(actual.isActive());
+        Assertions.assertEquals(1, actual.getBranchSessions().size());
+        BranchSession branchSession = actual.getBranchSessions().get(0);
+        Assertions.assertEquals(expected.getBranchSessions().get(0).getBranchId(), branchSession.getBranchId());
+        Assertions.assertEquals(BranchStatus.PhaseTwo_CommitFailed_Retryable, branchSession.getStatus());
+        Assertions.assertEquals(SPILL_READ_SIZE + 1, sessionManager.allSessions().size());
+
+        GlobalSession removed = globalSessions.stream().filter(globalSession -> sessionManager.allSessions()
+            .stream().noneMatch(resident -> resident.getXid().equals(globalSession.getXid()))).findFirst().get();
+        sessionManager.removeGlobalSession(removed);
+        Assertions.assertNull(sessionManager.findGlobalSession(removed.getXid()));
+
+        Set<String> visited = new HashSet<>();
+        Assertions.assertTrue(sessionManager.forEachGlobalSession(new SessionCondition(GlobalStatus.CommitRetrying),
+            globalSession -> visited.add(globalSession.getXid())));
+        Assertions.assertEquals(globalSessions.size() - 1, visited.size());
+        Assertions.assertFalse(visited.contains(removed.getXid()));
+
+        // the console scans every session, spilled or not, while the spilled ones are still read back
+        visited.clear();
+        String spilledXid = globalSessions.stream().map(GlobalSession::getXid).filter(xid -> sessionManager.allSessions()
+            .stream().noneMatch(resident -> resident.getXid().equals(xid)) && !xid.equals(removed.getXid()))
+            .findFirst().get();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assertions.assertTrue(sessionManager.scanGlobalSessions(globalSession -> {
+                if (visited.isEmpty()) {
+                    Assertions.assertDoesNotThrow(() -> Assertions.assertNotNull(
+                        executor.submit(() -> sessionManager.findGlobalSession(spilledXid)).get(5, TimeUnit.SECONDS)));
+                }
+                return visited.add(globalSession.getXid());
+            }));
+        } finally {
+            executor.shutdownNow();
+        }
+        // the session read back during the scan may be missed
+        Assertions.assertTrue(visited.size() >= globalSessions.size() - 2);
+    }
+
+    @Test
+    public void testSessionsNotSpilled() throws Exception {
+        GlobalSession begin = addGlobalSessions(1, GlobalStatus.Begin).get(0);
+        GlobalSession locked = addGlobalSessions(1, GlobalStatus.RollbackRetrying).get(0);
+        locked.getBranchSessions().get(0).getLockHolder().put(new FileLocker.BucketLockMap(), new HashSet<>());
+
+        Assertions.assertEquals(1, sessionManager.findGlobalSessions(new SessionCondition(GlobalStatus.Begin)).size());
+        Assertions.assertEquals(1,
+            sessionManager.findGlobalSessions(new SessionCondition(GlobalStatus.RollbackRetrying)).size());
+        Assertions.assertSame(begin, sessionManager.findGlobalSession(begin.getXid()));
+        Assertions.assertSame(locked, sessionManager.findGlobalSession(locked.getXid()));
+    }
+
+    @Test
+    public void testResidentSessionsBounded() throws Exception {
+        int count = 20000;
+        addGlobalSessions(count, GlobalStatus.RollbackRetrying);
+        Set<String> visited = new HashSet<>();
+        for (int round = 0; round < count / SPILL_READ_SIZE; round++) {
+            List<GlobalSession> found = sessionManager.findGlobalSessions(
+                new SessionCondition(GlobalStatus.RollbackRetrying));
+            Assertions.assertEquals(SPILL_READ_SIZE, found.size());
+            Assertions.assertTrue(sessionManager.allSessions().size() <= SPILL_READ_SIZE);
+            found.forEach(globalSession -> visited.add(globalSession.getXid()));
+        }
+        // every session is driven once as the spilled sessions are read back in turn
+        Assertions.assertEquals(count, visited.size());
+    }
+
+    private List<GlobalSession> addGlobalSessions(int count, GlobalStatus status) throws Exception {
+        List<GlobalSession> globalSessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            GlobalSession globalSession = new GlobalSession("demo-app", DEFAULT_TX_GROUP, "test", 6000);
+            globalSession.setXid(XID.generateXID(globalSession.getTransactionId()));
+            globalSession.setApplicationData("{\"data\":\"" + i + "\"}");
+            globalSession.setStatus(status);
+            BranchSession branchSession = new BranchSession();
+            branchSession.setXid(globalSession.getXid());
+            branchSession.setTransactionId(globalSession.getTransactionId());
+            branchSession.setBranchId(globalSession.getTransactionId() + 1);
+            branchSession.setResourceGroupId(DEFAULT_TX_GROUP);
+            branchSession.setResourceId("tcc_action");
+            branchSession.setBranchType(BranchType.TCC);
+            branchSession.setStatus(BranchStatus.PhaseTwo_CommitFailed_Retryable);
+            globalSession.add(branchSession);
+            sessionManager.addGlobalSession(globalSession);
+            globalSessions.add(globalSession);
+        }
+        return globalSessions;
+    }
+}
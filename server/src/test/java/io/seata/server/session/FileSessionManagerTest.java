@@ -268,6 +268,15 @@ public class FileSessionManagerTest {
             Assertions.assertNotNull(expectedGlobalSessions);
             Assertions.assertEquals(1, expectedGlobalSessions.size());
 
+            long beginTime = globalSessions.get(1).getBeginTime();
+            globalSessions.get(1).setBeginTime(System.currentTimeMillis());
+            SessionCondition timeoutCondition = new SessionCondition(globalSessions.get(0).getStatus());
+            timeoutCondition.setTimeoutOnly(true);
+            expectedGlobalSessions = sessionManager.findGlobalSessions(timeoutCondition);
+            Assertions.assertEquals(1, expectedGlobalSessions.size());
+            Assertions.assertSame(globalSessions.get(0), expectedGlobalSessions.iterator().next());
+            globalSessions.get(1).setBeginTime(beginTime);
+
             for (GlobalSession globalSession : globalSessions) {
                 sessionManager.removeGlobalSession(globalSession);
             }
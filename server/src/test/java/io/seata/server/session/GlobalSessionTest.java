@@ -16,8 +16,16 @@
 package io.seata.server.session;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
+import io.seata.core.exception.GlobalTransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.GlobalStatus;
@@ -147,6 +155,110 @@ public class GlobalSessionTest {
         globalSession.removeBranch(branchSession);
     }
 
+    /**
+     * Branch snapshot test.
+     *
+     * @param globalSession the global session
+     * @param branchSession the branch session
+     */
+    @ParameterizedTest
+    @MethodSource("branchSessionProvider")
+    public void branchSnapshotTest(GlobalSession globalSession, BranchSession branchSession) {
+        BranchSession tccBranchSession = new BranchSession();
+        tccBranchSession.setTransactionId(globalSession.getTransactionId());
+        tccBranchSession.setBranchId(2L);
+        tccBranchSession.setBranchType(BranchType.TCC);
+        globalSession.add(tccBranchSession);
+
+        List<BranchSession> sortedBranches = globalSession.getSortedBranches();
+        Assertions.assertEquals(Arrays.asList(branchSession, tccBranchSession), sortedBranches);
+        Assertions.assertEquals(Arrays.asList(tccBranchSession, branchSession),
+            globalSession.getReverseSortedBranches());
+        Assertions.assertSame(tccBranchSession, globalSession.getBranch(2L));
+        Assertions.assertNull(globalSession.getBranch(3L));
+        Assertions.assertTrue(globalSession.hasATBranch());
+        Assertions.assertFalse(globalSession.canBeCommittedAsync());
+
+        // the snapshot is not affected by removing branches while iterating it
+        for (BranchSession sortedBranch : sortedBranches) {
+            globalSession.remove(sortedBranch);
+        }
+        Assertions.assertEquals(2, sortedBranches.size());
+        Assertions.assertTrue(globalSession.getBranchSessions().isEmpty());
+        Assertions.assertNull(globalSession.getBranch(1L));
+        Assertions.assertFalse(globalSession.hasATBranch());
+        Assertions.assertFalse(globalSession.remove(branchSession));
+
+        globalSession.add(branchSession);
+        Assertions.assertTrue(globalSession.canBeCommittedAsync());
+        Assertions.assertThrows(UnsupportedOperationException.class,
+            () -> globalSession.getBranchSessions().add(tccBranchSession));
+    }
+
+    /**
+     * Lock shared test.
+     *
+     * @param globalSession the global session
+     * @throws Exception the exception
+     */
+    @ParameterizedTest
+    @MethodSource("globalSessionProvider")
+    public void lockSharedTest(GlobalSession globalSession) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            globalSession.lockShared();
+            // the shared holder may lock shared again, but fails at once to upgrade instead of waiting for itself
+            globalSession.lockShared();
+            globalSession.unlockShared();
+            long start = System.nanoTime();
+            Assertions.assertThrows(GlobalTransactionException.class, globalSession::lock);
+            Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+            // the shared holders do not exclude each other
+            executor.submit(() -> {
+                globalSession.lockShared();
+                globalSession.unlockShared();
+                return null;
+            }).get(1, TimeUnit.SECONDS);
+
+            // the exclusive holder waits for the shared holders to leave
+            long contended = SessionLockStatistics.getContendedCount();
+            Future<?> exclusive = executor.submit(() -> {
+                globalSession.lock();
+                globalSession.unlock();
+                return null;
+            });
+            Thread.sleep(100);
+            Assertions.assertFalse(exclusive.isDone());
+            globalSession.unlockShared();
+            exclusive.get(1, TimeUnit.SECONDS);
+            Assertions.assertTrue(SessionLockStatistics.getContendedCount() > contended);
+
+            // the exclusive holder may lock again, the others time out
+            globalSession.lock();
+            globalSession.lockShared();
+            globalSession.unlockShared();
+            long timeouts = SessionLockStatistics.getTimeoutCount();
+            ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                () -> executor.submit(() -> {
+                    globalSession.lockShared();
+                    globalSession.unlockShared();
+                    return null;
+                }).get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(exception.getCause() instanceof GlobalTransactionException);
+            Assertions.assertEquals(timeouts + 1, SessionLockStatistics.getTimeoutCount());
+            globalSession.unlock();
+
+            executor.submit(() -> {
+                globalSession.lock();
+                globalSession.unlock();
+                return null;
+            }).get(1, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Codec test.
      *
@@ -0,0 +1,154 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.session.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.holder.ObjectHolder;
+import io.seata.core.model.BranchType;
+import io.seata.server.session.BranchSession;
+import io.seata.server.session.GlobalSession;
+import io.seata.spring.boot.autoconfigure.SeataCoreEnvironmentPostProcessor;
+import io.seata.spring.boot.autoconfigure.SeataServerEnvironmentPostProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.StandardEnvironment;
+
+import static io.seata.common.Constants.OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT;
+
+/**
+ * The branch accesses of one phase two round of a global session: the async commit and AT checks, the commit
+ * loop and the rollback loop, each looking the branch up by id as the branch reports do.
+ * <p>
+ * The {@code copy} benchmark accesses the branches the way they were accessed before the branch snapshot: a
+ * copy of the branch list per loop and a scan per check and lookup.
+ *
+ * @author hongyan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhaseTwoLoopBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int branches;
+
+    private GlobalSession globalSession;
+
+    @Setup
+    public void setup() {
+        // the configuration is read from the property beans, without starting the server
+        ObjectHolder.INSTANCE.setObject(OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT, new StandardEnvironment());
+        SeataCoreEnvironmentPostProcessor.init();
+        SeataServerEnvironmentPostProcessor.init();
+        globalSession = new GlobalSession("demo-app", "default_tx_group", "test", 60000);
+        for (int i = 0; i < branches; i++) {
+            BranchSession branchSession = new BranchSession();
+            branchSession.setXid(globalSession.getXid());
+            branchSession.setTransactionId(globalSession.getTransactionId());
+            branchSession.setBranchId(i + 1);
+            branchSession.setBranchType(BranchType.AT);
+            branchSession.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+            globalSession.add(branchSession);
+        }
+    }
+
+    @Benchmark
+    public void snapshot(Blackhole blackhole) {
+        blackhole.consume(globalSession.canBeCommittedAsync());
+        blackhole.consume(globalSession.hasATBranch());
+        // indexed as SessionHelper.forEach does
+        List<BranchSession> sortedBranches = globalSession.getSortedBranches();
+        for (int i = 0, size = sortedBranches.size(); i < size; i++) {
+            blackhole.consume(globalSession.getBranch(sortedBranches.get(i).getBranchId()));
+        }
+        List<BranchSession> reverseSortedBranches = globalSession.getReverseSortedBranches();
+        for (int i = 0, size = reverseSortedBranches.size(); i < size; i++) {
+            blackhole.consume(globalSession.getBranch(reverseSortedBranches.get(i).getBranchId()));
+        }
+    }
+
+    @Benchmark
+    public void copy(Blackhole blackhole) {
+        List<BranchSession> branchSessions = globalSession.getBranchSessions();
+        blackhole.consume(canBeCommittedAsync(branchSessions));
+        blackhole.consume(hasATBranch(branchSessions));
+        for (BranchSession branchSession : new ArrayList<>(branchSessions)) {
+            blackhole.consume(getBranch(branchSessions, branchSession.getBranchId()));
+        }
+        List<BranchSession> reversed = new ArrayList<>(branchSessions);
+        Collections.reverse(reversed);
+        for (BranchSession branchSession : reversed) {
+            blackhole.consume(getBranch(branchSessions, branchSession.getBranchId()));
+        }
+    }
+
+    private static boolean canBeCommittedAsync(List<BranchSession> branchSessions) {
+        for (BranchSession branchSession : branchSessions) {
+            if (!branchSession.canBeCommittedAsync()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasATBranch(List<BranchSession> branchSessions) {
+        for (BranchSession branchSession : branchSessions) {
+            if (branchSession.getBranchType() == BranchType.AT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BranchSession getBranch(List<BranchSession> branchSessions, long branchId) {
+        synchronized (globalSession) {
+            for (BranchSession branchSession : branchSessions) {
+                if (branchSession.getBranchId() == branchId) {
+                    return branchSession;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(PhaseTwoLoopBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
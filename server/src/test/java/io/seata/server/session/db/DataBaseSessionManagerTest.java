@@ -21,6 +21,8 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 import io.seata.common.XID;
 import io.seata.common.util.IOUtil;
@@ -562,6 +564,82 @@ public class DataBaseSessionManagerTest {
         }
     }
 
+    @Test
+    public void test_findGlobalSessionsPageByPage() throws Exception {
+        Set<String> xids = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            GlobalSession globalSession = GlobalSession.createGlobalSession("test",
+                "test", "test123", 100);
+            String xid = XID.generateXID(globalSession.getTransactionId());
+            globalSession.setXid(xid);
+            globalSession.setBeginTime(System.currentTimeMillis());
+            globalSession.setStatus(GlobalStatus.RollbackRetrying);
+            sessionManager.addGlobalSession(globalSession);
+            xids.add(xid);
+        }
+
+        DataBaseTransactionStoreManager.getInstance().setLogQueryLimit(2);
+        try {
+            SessionCondition sessionCondition = new SessionCondition(GlobalStatus.RollbackRetrying);
+            sessionCondition.setLazyLoadBranch(true);
+            Set<String> found = new HashSet<>();
+            for (int expectSize : new int[] {2, 2, 1}) {
+                Collection<GlobalSession> page = sessionManager.findGlobalSessions(sessionCondition);
+                Assertions.assertEquals(expectSize, page.size());
+                page.forEach(globalSession -> Assertions.assertTrue(found.add(globalSession.getXid())));
+            }
+            Assertions.assertEquals(xids, found);
+
+            // the end of the backlog starts over from the oldest
+            Assertions.assertEquals(2, sessionManager.findGlobalSessions(sessionCondition).size());
+        } finally {
+            DataBaseTransactionStoreManager.getInstance().setLogQueryLimit(100);
+            Connection conn = null;
+            try {
+                conn = dataSource.getConnection();
+                conn.createStatement().execute("delete from global_table where status = "
+                    + GlobalStatus.RollbackRetrying.getCode());
+            } finally {
+                IOUtil.close(conn);
+            }
+        }
+    }
+
+    @Test
+    public void test_findTimeoutGlobalSessions() throws Exception {
+        GlobalSession expired = GlobalSession.createGlobalSession("test", "test", "test123", 100);
+        expired.setXid(XID.generateXID(expired.getTransactionId()));
+        expired.setBeginTime(System.currentTimeMillis() - 10000);
+        expired.setStatus(GlobalStatus.Begin);
+        sessionManager.addGlobalSession(expired);
+
+        GlobalSession running = GlobalSession.createGlobalSession("test", "test", "test123", 60000);
+        running.setXid(XID.generateXID(running.getTransactionId()));
+        running.setBeginTime(System.currentTimeMillis());
+        running.setStatus(GlobalStatus.Begin);
+        sessionManager.addGlobalSession(running);
+
+        try {
+            SessionCondition sessionCondition = new SessionCondition(GlobalStatus.Begin);
+            sessionCondition.setLazyLoadBranch(true);
+            sessionCondition.setTimeoutOnly(true);
+            Collection<GlobalSession> rets = sessionManager.findGlobalSessions(sessionCondition);
+            Assertions.assertEquals(1, rets.size());
+            GlobalSession globalSession_db = rets.iterator().next();
+            Assertions.assertEquals(expired.getXid(), globalSession_db.getXid());
+            Assertions.assertTrue(globalSession_db.isTimeout());
+        } finally {
+            Connection conn = null;
+            try {
+                conn = dataSource.getConnection();
+                conn.createStatement().execute("delete from global_table where xid in ('" + expired.getXid() + "', '"
+                    + running.getXid() + "')");
+            } finally {
+                IOUtil.close(conn);
+            }
+        }
+    }
+
     @Test
     public void test_transactionNameGreaterDbSize() throws Exception {
 
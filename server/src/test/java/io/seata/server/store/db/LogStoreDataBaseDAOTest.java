@@ -19,7 +19,9 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.IOUtil;
@@ -312,6 +314,44 @@ public class LogStoreDataBaseDAOTest {
 
     }
 
+    @Test
+    public void queryGlobalTransactionDO_by_statuses_after() throws SQLException {
+        for (int i = 0; i < 3; i++) {
+            GlobalTransactionDO globalTransactionDO = new GlobalTransactionDO();
+            globalTransactionDO.setXid("abc-123:after" + i);
+            globalTransactionDO.setApplicationData("abc=5454");
+            globalTransactionDO.setTransactionServiceGroup("abc");
+            globalTransactionDO.setTransactionName("test");
+            globalTransactionDO.setTransactionId(5000 + i);
+            globalTransactionDO.setTimeout(20);
+            globalTransactionDO.setBeginTime(System.currentTimeMillis());
+            globalTransactionDO.setApplicationId("test");
+            globalTransactionDO.setStatus(15);
+
+            Assertions.assertTrue(logStoreDataBaseDAO.insertGlobalTransactionDO(globalTransactionDO));
+        }
+
+        List<GlobalTransactionDO> firstPage = logStoreDataBaseDAO.queryGlobalTransactionDO(new int[]{15}, 2);
+        Assertions.assertEquals(2, firstPage.size());
+        List<GlobalTransactionDO> secondPage = logStoreDataBaseDAO.queryGlobalTransactionDO(new int[]{15}, firstPage.get(1), 2);
+        Assertions.assertEquals(1, secondPage.size());
+
+        Set<String> xids = new HashSet<>();
+        firstPage.forEach(globalTransactionDO -> xids.add(globalTransactionDO.getXid()));
+        secondPage.forEach(globalTransactionDO -> xids.add(globalTransactionDO.getXid()));
+        Assertions.assertEquals(3, xids.size());
+        Assertions.assertTrue(logStoreDataBaseDAO.queryGlobalTransactionDO(new int[]{15}, secondPage.get(0), 2).isEmpty());
+
+        String delSql = "delete from global_table where xid in ('abc-123:after0', 'abc-123:after1', 'abc-123:after2')";
+        Connection conn = null;
+        try{
+            conn = dataSource.getConnection();
+            conn.createStatement().execute(delSql);
+        }finally {
+            IOUtil.close(conn);
+        }
+    }
+
     @Test
     public void insertGlobalTransactionDO() throws SQLException {
         GlobalTransactionDO globalTransactionDO = new GlobalTransactionDO();
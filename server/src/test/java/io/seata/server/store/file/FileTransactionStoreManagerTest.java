@@ -21,6 +21,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import io.seata.core.model.BranchType;
 import io.seata.server.UUIDGenerator;
 import io.seata.server.session.BranchSession;
 import io.seata.server.session.GlobalSession;
@@ -49,13 +50,11 @@ public class FileTransactionStoreManagerTest {
             fileTransactionStoreManager = new FileTransactionStoreManager(seataFile.getAbsolutePath(), null);
             BranchSession branchSessionA = Mockito.mock(BranchSession.class);
             GlobalSession global = new GlobalSession();
-            Mockito.when(branchSessionA.encode())
-                    .thenReturn(createBigBranchSessionData(global, (byte) 'A'));
+            mockEncode(branchSessionA, createBigBranchSessionData(global, (byte) 'A'));
             Mockito.when(branchSessionA.getApplicationData())
                     .thenReturn(new String(createBigApplicationData((byte) 'A')));
             BranchSession branchSessionB = Mockito.mock(BranchSession.class);
-            Mockito.when(branchSessionB.encode())
-                    .thenReturn(createBigBranchSessionData(global, (byte) 'B'));
+            mockEncode(branchSessionB, createBigBranchSessionData(global, (byte) 'B'));
             Mockito.when(branchSessionB.getApplicationData())
                     .thenReturn(new String(createBigApplicationData((byte) 'B')));
             Assertions.assertTrue(fileTransactionStoreManager.writeSession(TransactionStoreManager.LogOperation.BRANCH_ADD, branchSessionA));
@@ -87,14 +86,12 @@ public class FileTransactionStoreManagerTest {
             for (int i = 0; i < 100; i++) {
                 GlobalSession globalSession = new GlobalSession("", "", "", 60000);
                 BranchSession branchSessionA = Mockito.mock(BranchSession.class);
-                Mockito.when(branchSessionA.encode())
-                        .thenReturn(createBigBranchSessionData(globalSession, (byte) 'A'));
+                mockEncode(branchSessionA, createBigBranchSessionData(globalSession, (byte) 'A'));
                 Mockito.when(branchSessionA.getApplicationData())
                         .thenReturn(new String(createBigApplicationData((byte) 'A')));
                 globalSession.addBranch(branchSessionA);
                 BranchSession branchSessionB = Mockito.mock(BranchSession.class);
-                Mockito.when(branchSessionB.encode())
-                        .thenReturn(createBigBranchSessionData(globalSession, (byte) 'B'));
+                mockEncode(branchSessionB, createBigBranchSessionData(globalSession, (byte) 'B'));
                 Mockito.when(branchSessionB.getApplicationData())
                         .thenReturn(new String(createBigApplicationData((byte) 'B')));
                 globalSession.addBranch(branchSessionB);
@@ -130,6 +127,57 @@ public class FileTransactionStoreManagerTest {
         }
     }
 
+    @Test
+    public void testSessionWriteAndRead() throws Exception {
+        File seataFile = Files.newTemporaryFile();
+        FileTransactionStoreManager fileTransactionStoreManager = null;
+        try {
+            fileTransactionStoreManager = new FileTransactionStoreManager(seataFile.getAbsolutePath(), null);
+            GlobalSession globalSession = new GlobalSession("demo-app", "my_test_tx_group", "test", 60000);
+            globalSession.setApplicationData("{\"data\":\"test\"}");
+            BranchSession branchSession = new BranchSession();
+            branchSession.setXid(globalSession.getXid());
+            branchSession.setTransactionId(globalSession.getTransactionId());
+            branchSession.setBranchId(1L);
+            branchSession.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+            branchSession.setLockKey("t_1:1,2");
+            branchSession.setClientId("demo-app:127.0.0.1:12345");
+            branchSession.setBranchType(BranchType.AT);
+            Assertions.assertTrue(fileTransactionStoreManager.writeSession(TransactionStoreManager.LogOperation.GLOBAL_ADD, globalSession));
+            Assertions.assertTrue(fileTransactionStoreManager.writeSession(TransactionStoreManager.LogOperation.BRANCH_ADD, branchSession));
+            List<TransactionWriteStore> list = fileTransactionStoreManager.readWriteStore(2000, false);
+            Assertions.assertNotNull(list);
+            Assertions.assertEquals(2, list.size());
+            Assertions.assertEquals(TransactionStoreManager.LogOperation.GLOBAL_ADD, list.get(0).getOperate());
+            GlobalSession loadedGlobalSession = (GlobalSession) list.get(0).getSessionRequest();
+            Assertions.assertArrayEquals(globalSession.encode(), loadedGlobalSession.encode());
+            Assertions.assertEquals(globalSession.getXid(), loadedGlobalSession.getXid());
+            Assertions.assertEquals(globalSession.getApplicationId(), loadedGlobalSession.getApplicationId());
+            Assertions.assertEquals(globalSession.getTransactionServiceGroup(), loadedGlobalSession.getTransactionServiceGroup());
+            Assertions.assertEquals(globalSession.getTransactionName(), loadedGlobalSession.getTransactionName());
+            Assertions.assertEquals(globalSession.getApplicationData(), loadedGlobalSession.getApplicationData());
+            Assertions.assertEquals(TransactionStoreManager.LogOperation.BRANCH_ADD, list.get(1).getOperate());
+            BranchSession loadedBranchSession = (BranchSession) list.get(1).getSessionRequest();
+            Assertions.assertArrayEquals(branchSession.encode(), loadedBranchSession.encode());
+            Assertions.assertEquals(branchSession.getXid(), loadedBranchSession.getXid());
+            Assertions.assertEquals(branchSession.getResourceId(), loadedBranchSession.getResourceId());
+            Assertions.assertEquals(branchSession.getLockKey(), loadedBranchSession.getLockKey());
+            Assertions.assertEquals(branchSession.getClientId(), loadedBranchSession.getClientId());
+            Assertions.assertEquals(BranchType.AT, loadedBranchSession.getBranchType());
+        } finally {
+            if (fileTransactionStoreManager != null) {
+                fileTransactionStoreManager.shutdown();
+            }
+            Assertions.assertTrue(seataFile.delete());
+        }
+    }
+
+    private void mockEncode(BranchSession branchSession, byte[] data) {
+        Mockito.when(branchSession.encode()).thenReturn(data);
+        Mockito.doAnswer(invocation -> ((ByteBuffer) invocation.getArgument(0)).put(data))
+                .when(branchSession).encode(Mockito.any(ByteBuffer.class));
+    }
+
     private byte[] createBigBranchSessionData(GlobalSession global, byte c) {
         int bufferSize = StoreConfig.getFileWriteBufferCacheSize() // applicationDataBytes
                 + 8 // trascationId
@@ -20,11 +20,14 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.sql.DataSource;
 
 import io.seata.common.exception.FrameworkErrorCode;
@@ -65,12 +68,45 @@ public class TCCFenceHandler {
 
     private static final int MAX_QUEUE_SIZE = 500;
 
+    /**
+     * max size of the queue holding the fence logs of finished phase two, waiting for delete
+     */
+    private static final int MAX_COMPLETED_QUEUE_SIZE = 10000;
+
     /**
      * limit of delete record by date (per sql)
      */
     private static final int LIMIT_DELETE = 1000;
 
-    private static final LinkedBlockingQueue<FenceLogIdentity> LOG_QUEUE = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
+    /**
+     * limit of delete record by xid and branch id (per jdbc batch)
+     */
+    private static final int LIMIT_BATCH_DELETE = 200;
+
+    /**
+     * the max wait time of the clean thread, the completed queue is checked at least once per interval
+     */
+    private static final long CLEAN_POLL_INTERVAL_MILLS = 1000L;
+
+    private static final LinkedBlockingQueue<TCCFenceDO> LOG_QUEUE = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
+
+    /**
+     * fence logs of finished phase two in completion order, the gmtModified is the completion time
+     */
+    private static final LinkedBlockingQueue<TCCFenceDO> COMPLETED_LOG_QUEUE = new LinkedBlockingQueue<>(MAX_COMPLETED_QUEUE_SIZE);
+
+    /**
+     * delay before the fence log of finished phase two is deleted, negative means disabled.
+     * the record is still needed for idempotent and suspend checks when TC retries phase two,
+     * so the delay should be longer than the retry window of the global transaction.
+     */
+    private static volatile long logDeleteDelayMills = -1L;
+
+    private static final AtomicLong DELETED_COUNT = new AtomicLong();
+
+    private static final AtomicLong DROPPED_COUNT = new AtomicLong();
+
+    private static final AtomicLong FAILED_COUNT = new AtomicLong();
 
     private static FenceLogCleanRunnable fenceLogCleanRunnable;
 
@@ -96,6 +132,56 @@ public class TCCFenceHandler {
         TCCFenceHandler.transactionTemplate = transactionTemplate;
     }
 
+    public static void setLogDeleteDelayMills(long logDeleteDelayMills) {
+        TCCFenceHandler.logDeleteDelayMills = logDeleteDelayMills;
+    }
+
+    /**
+     * Gets the count of fence logs waiting for async delete.
+     *
+     * @return the pending count
+     */
+    public static int getPendingDeleteCount() {
+        return LOG_QUEUE.size() + COMPLETED_LOG_QUEUE.size();
+    }
+
+    /**
+     * Gets the age of the oldest fence log of finished phase two waiting for async delete.
+     *
+     * @return the age in milliseconds, 0 if nothing is pending
+     */
+    public static long getOldestPendingDeleteAge() {
+        TCCFenceDO head = COMPLETED_LOG_QUEUE.peek();
+        return head == null ? 0L : Math.max(0L, System.currentTimeMillis() - head.getGmtModified().getTime());
+    }
+
+    /**
+     * Gets the count of fence logs deleted by the async clean thread.
+     *
+     * @return the deleted count
+     */
+    public static long getDeletedCount() {
+        return DELETED_COUNT.get();
+    }
+
+    /**
+     * Gets the count of fence logs not queued because the queue is full, they are left to the clean task by date.
+     *
+     * @return the dropped count
+     */
+    public static long getDroppedCount() {
+        return DROPPED_COUNT.get();
+    }
+
+    /**
+     * Gets the count of fence logs failed to delete by the async clean thread.
+     *
+     * @return the failed count
+     */
+    public static long getFailedCount() {
+        return FAILED_COUNT.get();
+    }
+
     /**
      * tcc prepare method enhanced
      *
@@ -143,9 +229,27 @@ public class TCCFenceHandler {
      */
     public static boolean commitFence(Method commitMethod, Object targetTCCBean,
                                       String xid, Long branchId, Object[] args) {
-        return transactionTemplate.execute(status -> {
+        return commitFence(() -> commitMethod.invoke(targetTCCBean, args), xid, branchId);
+    }
+
+    /**
+     * tcc commit method enhanced
+     *
+     * @param targetCallback        the callback to invoke the commit method
+     * @param xid                   the global transaction id
+     * @param branchId              the branch transaction id
+     * @return the boolean
+     */
+    public static boolean commitFence(Callback<Object> targetCallback, String xid, Long branchId) {
+        AtomicBoolean completed = new AtomicBoolean(false);
+        boolean ret = transactionTemplate.execute(status -> {
             try {
                 Connection conn = DataSourceUtils.getConnection(dataSource);
+                // most of the time the record is tried, update it directly and only query when it's not
+                if (TCC_FENCE_DAO.updateTCCFenceDO(conn, xid, branchId, TCCFenceConstant.STATUS_COMMITTED, TCCFenceConstant.STATUS_TRIED)) {
+                    completed.set(invokeTargetMethod(targetCallback, status));
+                    return completed.get();
+                }
                 TCCFenceDO tccFenceDO = TCC_FENCE_DAO.queryTCCFenceDO(conn, xid, branchId);
                 if (tccFenceDO == null) {
                     throw new TCCFenceException(String.format("TCC fence record not exists, commit fence method failed. xid= %s, branchId= %s", xid, branchId),
@@ -161,12 +265,17 @@ public class TCCFenceHandler {
                     }
                     return false;
                 }
-                return updateStatusAndInvokeTargetMethod(conn, commitMethod, targetTCCBean, xid, branchId, TCCFenceConstant.STATUS_COMMITTED, status, args);
+                completed.set(updateStatusAndInvokeTargetMethod(conn, targetCallback, xid, branchId, TCCFenceConstant.STATUS_COMMITTED, status));
+                return completed.get();
             } catch (Throwable t) {
                 status.setRollbackOnly();
                 throw new SkipCallbackWrapperException(t);
             }
         });
+        if (completed.get()) {
+            addToCompletedLogQueue(xid, branchId);
+        }
+        return ret;
     }
 
     /**
@@ -182,9 +291,28 @@ public class TCCFenceHandler {
      */
     public static boolean rollbackFence(Method rollbackMethod, Object targetTCCBean,
                                         String xid, Long branchId, Object[] args, String actionName) {
-        return transactionTemplate.execute(status -> {
+        return rollbackFence(() -> rollbackMethod.invoke(targetTCCBean, args), xid, branchId, actionName);
+    }
+
+    /**
+     * tcc rollback method enhanced
+     *
+     * @param targetCallback        the callback to invoke the rollback method
+     * @param xid                   the global transaction id
+     * @param branchId              the branch transaction id
+     * @param actionName            the action name
+     * @return the boolean
+     */
+    public static boolean rollbackFence(Callback<Object> targetCallback, String xid, Long branchId, String actionName) {
+        AtomicBoolean completed = new AtomicBoolean(false);
+        boolean ret = transactionTemplate.execute(status -> {
             try {
                 Connection conn = DataSourceUtils.getConnection(dataSource);
+                // most of the time the record is tried, update it directly and only query when it's not
+                if (TCC_FENCE_DAO.updateTCCFenceDO(conn, xid, branchId, TCCFenceConstant.STATUS_ROLLBACKED, TCCFenceConstant.STATUS_TRIED)) {
+                    completed.set(invokeTargetMethod(targetCallback, status));
+                    return completed.get();
+                }
                 TCCFenceDO tccFenceDO = TCC_FENCE_DAO.queryTCCFenceDO(conn, xid, branchId);
                 // non_rollback
                 if (tccFenceDO == null) {
@@ -207,12 +335,17 @@ public class TCCFenceHandler {
                         return false;
                     }
                 }
-                return updateStatusAndInvokeTargetMethod(conn, rollbackMethod, targetTCCBean, xid, branchId, TCCFenceConstant.STATUS_ROLLBACKED, status, args);
+                completed.set(updateStatusAndInvokeTargetMethod(conn, targetCallback, xid, branchId, TCCFenceConstant.STATUS_ROLLBACKED, status));
+                return completed.get();
             } catch (Throwable t) {
                 status.setRollbackOnly();
                 throw new SkipCallbackWrapperException(t);
             }
         });
+        if (completed.get()) {
+            addToCompletedLogQueue(xid, branchId);
+        }
+        return ret;
     }
 
     /**
@@ -236,31 +369,43 @@ public class TCCFenceHandler {
     /**
      * Update TCC Fence status and invoke target method
      *
-     * @param method                target method
-     * @param targetTCCBean         target bean
+     * @param targetCallback        the callback to invoke the target method
      * @param xid                   the global transaction id
      * @param branchId              the branch transaction id
      * @param status                the tcc fence status
      * @return the boolean
      */
-    private static boolean updateStatusAndInvokeTargetMethod(Connection conn, Method method, Object targetTCCBean,
+    private static boolean updateStatusAndInvokeTargetMethod(Connection conn, Callback<Object> targetCallback,
                                                              String xid, Long branchId, int status,
-                                                             TransactionStatus transactionStatus,
-                                                             Object[] args) throws Exception {
+                                                             TransactionStatus transactionStatus) throws Throwable {
         boolean result = TCC_FENCE_DAO.updateTCCFenceDO(conn, xid, branchId, status, TCCFenceConstant.STATUS_TRIED);
         if (result) {
-            // invoke two phase method
-            Object ret = method.invoke(targetTCCBean, args);
-            if (null != ret) {
-                if (ret instanceof TwoPhaseResult) {
-                    result = ((TwoPhaseResult) ret).isSuccess();
-                } else {
-                    result = (boolean) ret;
-                }
-                // If the business execution result is false, the transaction will be rolled back
-                if (!result) {
-                    transactionStatus.setRollbackOnly();
-                }
+            result = invokeTargetMethod(targetCallback, transactionStatus);
+        }
+        return result;
+    }
+
+    /**
+     * Invoke the two phase method, the status of TCC Fence must have been updated
+     *
+     * @param targetCallback        the callback to invoke the target method
+     * @param transactionStatus     the local transaction status
+     * @return the boolean
+     */
+    private static boolean invokeTargetMethod(Callback<Object> targetCallback,
+                                              TransactionStatus transactionStatus) throws Throwable {
+        boolean result = true;
+        // invoke two phase method
+        Object ret = targetCallback.execute();
+        if (null != ret) {
+            if (ret instanceof TwoPhaseResult) {
+                result = ((TwoPhaseResult) ret).isSuccess();
+            } else {
+                result = (boolean) ret;
+            }
+            // If the business execution result is false, the transaction will be rolled back
+            if (!result) {
+                transactionStatus.setRollbackOnly();
             }
         }
         return result;
@@ -287,6 +432,27 @@ public class TCCFenceHandler {
         });
     }
 
+    /**
+     * Delete TCC Fence in one jdbc batch
+     *
+     * @param tccFenceDOs the fence logs to delete
+     * @return the deleted row count
+     */
+    public static int deleteFenceBatch(List<TCCFenceDO> tccFenceDOs) {
+        return transactionTemplate.execute(status -> {
+            int ret = 0;
+            try {
+                Connection conn = DataSourceUtils.getConnection(dataSource);
+                ret = TCC_FENCE_DAO.deleteTCCFenceDOBatch(conn, tccFenceDOs);
+            } catch (RuntimeException e) {
+                status.setRollbackOnly();
+                LOGGER.error("batch delete fence log failed, size: {}", tccFenceDOs.size(), e);
+                ret = -1;
+            }
+            return ret;
+        });
+    }
+
 
 
     public static int deleteFenceByDate(Date datetime) {
@@ -339,7 +505,7 @@ public class TCCFenceHandler {
     }
 
     private static void addToLogCleanQueue(final String xid, final long branchId) {
-        FenceLogIdentity logIdentity = new FenceLogIdentity();
+        TCCFenceDO logIdentity = new TCCFenceDO();
         logIdentity.setXid(xid);
         logIdentity.setBranchId(branchId);
         try {
@@ -349,56 +515,74 @@ public class TCCFenceHandler {
         }
     }
 
+    private static void addToCompletedLogQueue(final String xid, final long branchId) {
+        if (logDeleteDelayMills < 0) {
+            return;
+        }
+        TCCFenceDO logIdentity = new TCCFenceDO();
+        logIdentity.setXid(xid);
+        logIdentity.setBranchId(branchId);
+        logIdentity.setGmtModified(new Date());
+        if (!COMPLETED_LOG_QUEUE.offer(logIdentity)) {
+            // left to the clean task by date
+            DROPPED_COUNT.incrementAndGet();
+        }
+    }
+
     /**
      * clean fence log that has the final status runnable.
+     * the logs are deleted in batch, the logs of finished phase two are deleted after the delay.
      *
      * @see TCCFenceConstant
      */
     private static class FenceLogCleanRunnable implements Runnable {
+
+        private final List<TCCFenceDO> batch = new ArrayList<>(LIMIT_BATCH_DELETE);
+
         @Override
         public void run() {
             while (true) {
 
                 try {
-                    FenceLogIdentity logIdentity = LOG_QUEUE.take();
-                    boolean ret = TCCFenceHandler.deleteFence(logIdentity.getXid(), logIdentity.getBranchId());
-                    if (!ret) {
-                        LOGGER.error("delete fence log failed, xid: {}, branchId: {}", logIdentity.getXid(), logIdentity.getBranchId());
+                    TCCFenceDO logIdentity = LOG_QUEUE.poll(CLEAN_POLL_INTERVAL_MILLS, TimeUnit.MILLISECONDS);
+                    if (logIdentity != null) {
+                        batch.add(logIdentity);
+                        LOG_QUEUE.drainTo(batch, LIMIT_BATCH_DELETE - 1);
+                    }
+                    drainExpiredCompletedLogs();
+                    if (!batch.isEmpty()) {
+                        int ret = TCCFenceHandler.deleteFenceBatch(batch);
+                        if (ret < 0) {
+                            FAILED_COUNT.addAndGet(batch.size());
+                        } else {
+                            DELETED_COUNT.addAndGet(ret);
+                        }
                     }
                 } catch (InterruptedException e) {
                     LOGGER.error("take fence log from queue for clean be interrupted", e);
                 } catch (Exception e) {
+                    FAILED_COUNT.addAndGet(batch.size());
                     LOGGER.error("exception occur when clean fence log", e);
+                } finally {
+                    batch.clear();
                 }
             }
         }
-    }
-
-    private static class FenceLogIdentity {
-        /**
-         * the global transaction id
-         */
-        private String xid;
-
-        /**
-         * the branch transaction id
-         */
-        private Long branchId;
-
-        public String getXid() {
-            return xid;
-        }
-
-        public Long getBranchId() {
-            return branchId;
-        }
-
-        public void setXid(String xid) {
-            this.xid = xid;
-        }
 
-        public void setBranchId(Long branchId) {
-            this.branchId = branchId;
+        private void drainExpiredCompletedLogs() {
+            long delay = logDeleteDelayMills;
+            if (delay < 0) {
+                return;
+            }
+            long deadline = System.currentTimeMillis() - delay;
+            // the queue is in completion order and this thread is the only consumer
+            while (batch.size() < LIMIT_BATCH_DELETE) {
+                TCCFenceDO head = COMPLETED_LOG_QUEUE.peek();
+                if (head == null || head.getGmtModified().getTime() > deadline) {
+                    break;
+                }
+                batch.add(COMPLETED_LOG_QUEUE.poll());
+            }
         }
     }
 }
@@ -54,6 +54,10 @@ public class TCCResource implements Resource {
 
     private String[] phaseTwoRollbackKeys;
 
+    private volatile TwoPhaseInvoker commitInvoker;
+
+    private volatile TwoPhaseInvoker rollbackInvoker;
+
     @Override
     public String getResourceGroupId() {
         return resourceGroupId;
@@ -286,6 +290,34 @@ public class TCCResource implements Resource {
         this.phaseTwoRollbackKeys = phaseTwoRollbackKeys;
     }
 
+    /**
+     * create the invokers of the phase two methods, called once when the resource is registered
+     */
+    public void initTwoPhaseInvokers() {
+        if (targetBean != null && commitMethod != null) {
+            commitInvoker = new TwoPhaseInvoker(targetBean, commitMethod, phaseTwoCommitKeys, commitArgsClasses);
+        }
+        if (targetBean != null && rollbackMethod != null) {
+            rollbackInvoker = new TwoPhaseInvoker(targetBean, rollbackMethod, phaseTwoRollbackKeys, rollbackArgsClasses);
+        }
+    }
+
+    /**
+     * get the invoker of the commit method
+     * @return the commit invoker, null if the commit method is not available
+     */
+    public TwoPhaseInvoker getCommitInvoker() {
+        return commitInvoker;
+    }
+
+    /**
+     * get the invoker of the rollback method
+     * @return the rollback invoker, null if the rollback method is not available
+     */
+    public TwoPhaseInvoker getRollbackInvoker() {
+        return rollbackInvoker;
+    }
+
     @Override
     public int hashCode() {
         return actionName.hashCode();
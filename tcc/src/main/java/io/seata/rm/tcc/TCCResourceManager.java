@@ -15,23 +15,21 @@
  */
 package io.seata.rm.tcc;
 
-import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import com.alibaba.fastjson.JSON;
 import io.seata.common.Constants;
 import io.seata.common.exception.ShouldNeverHappenException;
 import io.seata.common.exception.SkipCallbackWrapperException;
-import io.seata.common.util.StringUtils;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.Resource;
 import io.seata.rm.AbstractResourceManager;
 import io.seata.rm.tcc.api.BusinessActionContext;
+import io.seata.rm.tcc.codec.ActionContextCodecFactory;
 
 /**
  * TCC resource manager
@@ -61,6 +59,8 @@ public class TCCResourceManager extends AbstractResourceManager {
     @Override
     public void registerResource(Resource resource) {
         TCCResource tccResource = (TCCResource)resource;
+        // resolve the phase two invokers once, before the resource is visible to phase two
+        tccResource.initTwoPhaseInvokers();
         tccResourceCache.put(tccResource.getResourceId(), tccResource);
         super.registerResource(tccResource);
     }
@@ -88,27 +88,26 @@ public class TCCResourceManager extends AbstractResourceManager {
         if (tccResource == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not exist, resourceId: %s", resourceId));
         }
-        Object targetTCCBean = tccResource.getTargetBean();
-        Method commitMethod = tccResource.getCommitMethod();
-        if (targetTCCBean == null || commitMethod == null) {
+        TwoPhaseInvoker commitInvoker = tccResource.getCommitInvoker();
+        if (commitInvoker == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not available, resourceId: %s", resourceId));
         }
         try {
             //BusinessActionContext
             BusinessActionContext businessActionContext = getBusinessActionContext(xid, branchId, resourceId,
                 applicationData);
-            Object[] args = this.getTwoPhaseCommitArgs(tccResource, businessActionContext);
+            Object[] args = commitInvoker.getArgs(businessActionContext);
             Object ret;
             boolean result;
             // add idempotent and anti hanging
             if (Boolean.TRUE.equals(businessActionContext.getActionContext(Constants.USE_TCC_FENCE))) {
                 try {
-                    result = TCCFenceHandler.commitFence(commitMethod, targetTCCBean, xid, branchId, args);
+                    result = TCCFenceHandler.commitFence(() -> commitInvoker.invoke(args), xid, branchId);
                 } catch (SkipCallbackWrapperException | UndeclaredThrowableException e) {
                     throw e.getCause();
                 }
             } else {
-                ret = commitMethod.invoke(targetTCCBean, args);
+                ret = commitInvoker.invoke(args);
                 if (ret != null) {
                     if (ret instanceof TwoPhaseResult) {
                         result = ((TwoPhaseResult)ret).isSuccess();
@@ -146,28 +145,27 @@ public class TCCResourceManager extends AbstractResourceManager {
         if (tccResource == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not exist, resourceId: %s", resourceId));
         }
-        Object targetTCCBean = tccResource.getTargetBean();
-        Method rollbackMethod = tccResource.getRollbackMethod();
-        if (targetTCCBean == null || rollbackMethod == null) {
+        TwoPhaseInvoker rollbackInvoker = tccResource.getRollbackInvoker();
+        if (rollbackInvoker == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not available, resourceId: %s", resourceId));
         }
         try {
             //BusinessActionContext
             BusinessActionContext businessActionContext = getBusinessActionContext(xid, branchId, resourceId,
                 applicationData);
-            Object[] args = this.getTwoPhaseRollbackArgs(tccResource, businessActionContext);
+            Object[] args = rollbackInvoker.getArgs(businessActionContext);
             Object ret;
             boolean result;
             // add idempotent and anti hanging
             if (Boolean.TRUE.equals(businessActionContext.getActionContext(Constants.USE_TCC_FENCE))) {
                 try {
-                    result = TCCFenceHandler.rollbackFence(rollbackMethod, targetTCCBean, xid, branchId,
-                            args, tccResource.getActionName());
+                    result = TCCFenceHandler.rollbackFence(() -> rollbackInvoker.invoke(args), xid, branchId,
+                            tccResource.getActionName());
                 } catch (SkipCallbackWrapperException | UndeclaredThrowableException e) {
                     throw e.getCause();
                 }
             } else {
-                ret = rollbackMethod.invoke(targetTCCBean, args);
+                ret = rollbackInvoker.invoke(args);
                 if (ret != null) {
                     if (ret instanceof TwoPhaseResult) {
                         result = ((TwoPhaseResult)ret).isSuccess();
@@ -198,11 +196,7 @@ public class TCCResourceManager extends AbstractResourceManager {
      */
     protected BusinessActionContext getBusinessActionContext(String xid, long branchId, String resourceId,
                                                              String applicationData) {
-        Map actionContextMap = null;
-        if (StringUtils.isNotBlank(applicationData)) {
-            Map tccContext = JSON.parseObject(applicationData, Map.class);
-            actionContextMap = (Map)tccContext.get(Constants.TCC_ACTION_CONTEXT);
-        }
+        Map<String, Object> actionContextMap = ActionContextCodecFactory.decode(applicationData);
         if (actionContextMap == null) {
             actionContextMap = new HashMap<>(2);
         }
@@ -214,42 +208,6 @@ public class TCCResourceManager extends AbstractResourceManager {
         return businessActionContext;
     }
 
-    /**
-     * get phase two commit method's args
-     * @param tccResource tccResource
-     * @param businessActionContext businessActionContext
-     * @return args
-     */
-    private Object[] getTwoPhaseCommitArgs(TCCResource tccResource, BusinessActionContext businessActionContext) {
-        String[] keys = tccResource.getPhaseTwoCommitKeys();
-        Class<?>[] argsCommitClasses = tccResource.getCommitArgsClasses();
-        return this.getTwoPhaseMethodParams(keys, argsCommitClasses, businessActionContext);
-    }
-
-    /**
-     * get phase two rollback method's args
-     * @param tccResource tccResource
-     * @param businessActionContext businessActionContext
-     * @return args
-     */
-    private Object[] getTwoPhaseRollbackArgs(TCCResource tccResource, BusinessActionContext businessActionContext) {
-        String[] keys = tccResource.getPhaseTwoRollbackKeys();
-        Class<?>[] argsRollbackClasses = tccResource.getRollbackArgsClasses();
-        return this.getTwoPhaseMethodParams(keys, argsRollbackClasses, businessActionContext);
-    }
-
-    private Object[] getTwoPhaseMethodParams(String[] keys, Class<?>[] argsClasses, BusinessActionContext businessActionContext) {
-        Object[] args = new Object[argsClasses.length];
-        for (int i = 0; i < argsClasses.length; i++) {
-            if (argsClasses[i].equals(BusinessActionContext.class)) {
-                args[i] = businessActionContext;
-            } else {
-                args[i] = businessActionContext.getActionContext(keys[i], argsClasses[i]);
-            }
-        }
-        return args;
-    }
-
     @Override
     public BranchType getBranchType() {
         return BranchType.TCC;
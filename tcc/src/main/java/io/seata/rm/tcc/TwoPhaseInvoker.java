@@ -0,0 +1,163 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import io.seata.rm.tcc.api.BusinessActionContext;
+import io.seata.rm.tcc.interceptor.ActionContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The invoker of the TCC phase two (commit or rollback) method.
+ * <p>
+ * The method handle bound to the target bean and an accessor per argument are resolved once when the resource is
+ * registered, so phase two does no reflection lookup and no argument type resolution, only the context value is
+ * read and, when its type does not match the argument, converted.
+ *
+ * @author hongyan
+ */
+public class TwoPhaseInvoker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwoPhaseInvoker.class);
+
+    private final Object targetBean;
+
+    private final Method method;
+
+    /**
+     * the handle of type (Object[])Object bound to the target bean, null if the method is not accessible
+     */
+    private final MethodHandle methodHandle;
+
+    /**
+     * the accessor of each arg, bound to its action context key and type
+     */
+    private final ArgAccessor[] argAccessors;
+
+    /**
+     * Instantiates a new two phase invoker.
+     *
+     * @param targetBean  the target bean
+     * @param method      the commit or rollback method
+     * @param keys        the action context keys of the args
+     * @param argsClasses the classes of the args
+     */
+    public TwoPhaseInvoker(Object targetBean, Method method, String[] keys, Class<?>[] argsClasses) {
+        this.targetBean = targetBean;
+        this.method = method;
+        this.argAccessors = new ArgAccessor[argsClasses.length];
+        for (int i = 0; i < argsClasses.length; i++) {
+            argAccessors[i] = createArgAccessor(keys[i], argsClasses[i]);
+        }
+        this.methodHandle = createMethodHandle(targetBean, method);
+    }
+
+    private static ArgAccessor createArgAccessor(String key, Class<?> argClass) {
+        if (BusinessActionContext.class.equals(argClass)) {
+            return context -> context;
+        }
+        if (Object.class.equals(argClass)) {
+            return context -> context.getActionContext(key);
+        }
+        if (String.class.equals(argClass)) {
+            return context -> {
+                Object value = context.getActionContext(key);
+                return value == null ? null : value.toString();
+            };
+        }
+        if (argClass.isPrimitive()) {
+            // rejected by the conversion, the value may be null
+            return context -> context.getActionContext(key, argClass);
+        }
+        return context -> {
+            Object value = context.getActionContext(key);
+            if (value == null || argClass.isInstance(value)) {
+                return value;
+            }
+            return ActionContextUtil.convertActionContext(key, value, argClass);
+        };
+    }
+
+    private static MethodHandle createMethodHandle(Object targetBean, Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            try {
+                // the method of a non-public class
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                LOGGER.warn("Create method handle of TCC method '{}' failed, use reflection instead: {}",
+                    method, ex.getMessage());
+                return null;
+            }
+        }
+        return handle.bindTo(targetBean)
+            .asSpreader(Object[].class, method.getParameterCount())
+            .asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    /**
+     * Gets the args of the method from the business action context
+     *
+     * @param businessActionContext the business action context
+     * @return the args
+     */
+    public Object[] getArgs(BusinessActionContext businessActionContext) {
+        Object[] args = new Object[argAccessors.length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = argAccessors[i].get(businessActionContext);
+        }
+        return args;
+    }
+
+    /**
+     * Invoke the method on the target bean
+     *
+     * @param args the args
+     * @return the result of the method
+     * @throws Throwable the exception thrown by the method
+     */
+    public Object invoke(Object[] args) throws Throwable {
+        if (methodHandle != null) {
+            return (Object)methodHandle.invokeExact(args);
+        }
+        return method.invoke(targetBean, args);
+    }
+
+    public Object getTargetBean() {
+        return targetBean;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Reads one arg of the method from the business action context
+     */
+    @FunctionalInterface
+    private interface ArgAccessor {
+
+        Object get(BusinessActionContext businessActionContext);
+    }
+}
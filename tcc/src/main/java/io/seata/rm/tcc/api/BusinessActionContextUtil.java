@@ -18,14 +18,13 @@ package io.seata.rm.tcc.api;
 import java.util.Collections;
 import java.util.Map;
 
-import com.alibaba.fastjson.JSON;
-import io.seata.common.Constants;
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.util.CollectionUtils;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.rm.DefaultResourceManager;
+import io.seata.rm.tcc.codec.ActionContextCodecFactory;
 import io.seata.rm.tcc.interceptor.ActionContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -109,7 +108,7 @@ public final class BusinessActionContextUtil {
                     actionContext.getXid(),
                     actionContext.getBranchId(),
                     BranchStatus.Registered,
-                    JSON.toJSONString(Collections.singletonMap(Constants.TCC_ACTION_CONTEXT, actionContext.getActionContext()))
+                    ActionContextCodecFactory.encode(actionContext.getActionContext())
             );
 
             // reset to un_updated
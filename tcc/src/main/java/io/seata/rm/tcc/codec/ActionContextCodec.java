@@ -0,0 +1,43 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.codec;
+
+import java.util.Map;
+
+/**
+ * The codec of the TCC action context, which is stored as the branch application data.
+ *
+ * @author hongyan
+ * @see ActionContextCodecFactory
+ */
+public interface ActionContextCodec {
+
+    /**
+     * Encode the action context to the application data
+     *
+     * @param actionContext the action context
+     * @return the application data
+     */
+    String encode(Map<String, Object> actionContext);
+
+    /**
+     * Decode the action context from the application data
+     *
+     * @param applicationData the application data encoded by this codec
+     * @return the action context
+     */
+    Map<String, Object> decode(String applicationData);
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.codec;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.seata.common.ConfigurationKeys;
+import io.seata.common.DefaultValues;
+import io.seata.common.loader.EnhancedServiceLoader;
+import io.seata.common.util.CollectionUtils;
+import io.seata.common.util.StringUtils;
+import io.seata.config.ConfigurationFactory;
+
+/**
+ * The factory of the TCC action context codec.
+ * <p>
+ * The application data encoded by a codec other than json starts with the header {@code #<codec name>:},
+ * so the codec is selected by the data itself and the data encoded by any codec, including the json data
+ * without header written by the older versions, can always be decoded.
+ *
+ * @author hongyan
+ */
+public final class ActionContextCodecFactory {
+
+    /**
+     * the json codec, whose data has no header
+     */
+    public static final String JSON_CODEC = "json";
+
+    /**
+     * the binary codec
+     */
+    public static final String BINARY_CODEC = "binary";
+
+    public static final char HEADER_PREFIX = '#';
+
+    public static final char HEADER_SUFFIX = ':';
+
+    private static final Map<String, ActionContextCodec> CODEC_MAP = new ConcurrentHashMap<>();
+
+    private static volatile ActionContextCodec defaultCodec;
+
+    private ActionContextCodecFactory() {
+    }
+
+    /**
+     * Gets the codec by name
+     *
+     * @param name the codec name
+     * @return the codec
+     */
+    public static ActionContextCodec getCodec(String name) {
+        return CollectionUtils.computeIfAbsent(CODEC_MAP, name,
+            key -> EnhancedServiceLoader.load(ActionContextCodec.class, key));
+    }
+
+    /**
+     * Gets the configured codec used to encode
+     *
+     * @return the codec
+     */
+    public static ActionContextCodec getDefaultCodec() {
+        if (defaultCodec == null) {
+            synchronized (ActionContextCodecFactory.class) {
+                if (defaultCodec == null) {
+                    String name = ConfigurationFactory.getInstance().getConfig(
+                        ConfigurationKeys.TCC_ACTION_CONTEXT_CODEC, DefaultValues.DEFAULT_TCC_ACTION_CONTEXT_CODEC);
+                    defaultCodec = getCodec(name);
+                }
+            }
+        }
+        return defaultCodec;
+    }
+
+    /**
+     * Encode the action context by the configured codec
+     *
+     * @param actionContext the action context
+     * @return the application data
+     */
+    public static String encode(Map<String, Object> actionContext) {
+        return getDefaultCodec().encode(actionContext);
+    }
+
+    /**
+     * Decode the action context by the codec in the header of the application data
+     *
+     * @param applicationData the application data
+     * @return the action context, or null if the application data is blank
+     */
+    public static Map<String, Object> decode(String applicationData) {
+        if (StringUtils.isBlank(applicationData)) {
+            return null;
+        }
+        return getCodec(getCodecName(applicationData)).decode(applicationData);
+    }
+
+    /**
+     * Gets the codec name from the header of the application data
+     *
+     * @param applicationData the application data
+     * @return the codec name
+     */
+    public static String getCodecName(String applicationData) {
+        if (applicationData.charAt(0) == HEADER_PREFIX) {
+            int end = applicationData.indexOf(HEADER_SUFFIX);
+            if (end > 1) {
+                return applicationData.substring(1, end);
+            }
+        }
+        return JSON_CODEC;
+    }
+
+    /**
+     * Gets the header of the codec
+     *
+     * @param name the codec name
+     * @return the header
+     */
+    public static String getHeader(String name) {
+        return HEADER_PREFIX + name + HEADER_SUFFIX;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.codec.impl;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import io.seata.common.Constants;
+import io.seata.common.loader.LoadLevel;
+import io.seata.rm.tcc.codec.ActionContextCodec;
+import io.seata.rm.tcc.codec.ActionContextCodecFactory;
+
+/**
+ * The compact binary codec of the TCC action context.
+ * <p>
+ * Layout: {@code #binary:} + base64 of [version][entry count][entry]..., each entry is a key and a tagged value.
+ * The framework keys are written as one byte, the numbers as var ints. The values other than string, boolean,
+ * integer, long, big decimal, list and map are written as json text, so the decoded values are the same as
+ * the json codec, e.g. the list is decoded as {@link JSONArray} and the map as {@link JSONObject}.
+ *
+ * @author hongyan
+ */
+@LoadLevel(name = ActionContextCodecFactory.BINARY_CODEC)
+public class BinaryActionContextCodec implements ActionContextCodec {
+
+    private static final String HEADER = ActionContextCodecFactory.getHeader(ActionContextCodecFactory.BINARY_CODEC);
+
+    private static final byte VERSION = 1;
+
+    /**
+     * the keys put by the framework, only append to the end, the index is written to the data
+     */
+    private static final String[] KNOWN_KEYS = {
+        Constants.ACTION_START_TIME,
+        Constants.HOST_NAME,
+        Constants.PREPARE_METHOD,
+        Constants.COMMIT_METHOD,
+        Constants.ROLLBACK_METHOD,
+        Constants.ACTION_NAME,
+        Constants.USE_TCC_FENCE
+    };
+
+    private static final Map<String, Integer> KNOWN_KEY_INDEX = new HashMap<>(KNOWN_KEYS.length * 2);
+
+    private static final byte LITERAL_KEY = 0;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_TRUE = 2;
+    private static final byte TYPE_FALSE = 3;
+    private static final byte TYPE_INT = 4;
+    private static final byte TYPE_LONG = 5;
+    private static final byte TYPE_DECIMAL = 6;
+    private static final byte TYPE_JSON = 7;
+    private static final byte TYPE_LIST = 8;
+    private static final byte TYPE_MAP = 9;
+
+    static {
+        for (int i = 0; i < KNOWN_KEYS.length; i++) {
+            KNOWN_KEY_INDEX.put(KNOWN_KEYS[i], i + 1);
+        }
+    }
+
+    @Override
+    public String encode(Map<String, Object> actionContext) {
+        Writer writer = new Writer();
+        writer.writeByte(VERSION);
+        writer.writeVarInt(countNonNullValues(actionContext));
+        for (Map.Entry<String, Object> entry : actionContext.entrySet()) {
+            Object value = entry.getValue();
+            // the null value is skipped, same as the json codec
+            if (value == null) {
+                continue;
+            }
+            Integer keyIndex = KNOWN_KEY_INDEX.get(entry.getKey());
+            if (keyIndex != null) {
+                writer.writeByte(keyIndex.byteValue());
+            } else {
+                writer.writeByte(LITERAL_KEY);
+                writer.writeString(entry.getKey());
+            }
+            writeValue(writer, value);
+        }
+        return HEADER + Base64.getEncoder().encodeToString(writer.toByteArray());
+    }
+
+    private void writeValue(Writer writer, Object value) {
+        if (value instanceof String || value instanceof Character) {
+            writer.writeByte(TYPE_STRING);
+            writer.writeString(value.toString());
+        } else if (value instanceof Boolean) {
+            writer.writeByte((Boolean)value ? TYPE_TRUE : TYPE_FALSE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writer.writeByte(TYPE_INT);
+            writer.writeVarLong(((Number)value).intValue());
+        } else if (value instanceof Long) {
+            long longValue = (Long)value;
+            // the json parser reads the long in the int range as integer
+            writer.writeByte(longValue == (int)longValue ? TYPE_INT : TYPE_LONG);
+            writer.writeVarLong(longValue);
+        } else if (value instanceof BigDecimal) {
+            writer.writeByte(TYPE_DECIMAL);
+            writer.writeString(value.toString());
+        } else if (value instanceof List) {
+            List<?> list = (List<?>)value;
+            writer.writeByte(TYPE_LIST);
+            writer.writeVarInt(list.size());
+            for (Object element : list) {
+                writeNullableValue(writer, element);
+            }
+        } else if (value instanceof Map && isStringKeyMap((Map<?, ?>)value)) {
+            Map<?, ?> map = (Map<?, ?>)value;
+            writer.writeByte(TYPE_MAP);
+            writer.writeVarInt(countNonNullValues(map));
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                // the null value is skipped, same as the json codec
+                if (entry.getValue() != null) {
+                    writer.writeString((String)entry.getKey());
+                    writeValue(writer, entry.getValue());
+                }
+            }
+        } else {
+            writer.writeByte(TYPE_JSON);
+            writer.writeString(JSON.toJSONString(value));
+        }
+    }
+
+    private void writeNullableValue(Writer writer, Object value) {
+        if (value == null) {
+            writer.writeByte(TYPE_NULL);
+        } else {
+            writeValue(writer, value);
+        }
+    }
+
+    private static int countNonNullValues(Map<?, ?> map) {
+        int count = 0;
+        for (Object value : map.values()) {
+            if (value != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isStringKeyMap(Map<?, ?> map) {
+        for (Object key : map.keySet()) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> decode(String applicationData) {
+        if (!applicationData.startsWith(HEADER)) {
+            throw new IllegalArgumentException("Not the binary action context: " + applicationData);
+        }
+        Reader reader = new Reader(Base64.getDecoder().decode(applicationData.substring(HEADER.length())));
+        byte version = reader.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary action context version: " + version);
+        }
+        int size = (int)reader.readVarLong();
+        Map<String, Object> actionContext = new HashMap<>(Math.max(size * 4 / 3 + 1, 16));
+        for (int i = 0; i < size; i++) {
+            int keyIndex = reader.readByte();
+            String key = keyIndex == LITERAL_KEY ? reader.readString() : KNOWN_KEYS[keyIndex - 1];
+            actionContext.put(key, readValue(reader));
+        }
+        return actionContext;
+    }
+
+    private Object readValue(Reader reader) {
+        byte type = reader.readByte();
+        switch (type) {
+            case TYPE_STRING:
+                return reader.readString();
+            case TYPE_TRUE:
+                return Boolean.TRUE;
+            case TYPE_FALSE:
+                return Boolean.FALSE;
+            case TYPE_INT:
+                return (int)reader.readVarLong();
+            case TYPE_LONG:
+                return reader.readVarLong();
+            case TYPE_DECIMAL:
+                return new BigDecimal(reader.readString());
+            case TYPE_JSON:
+                return JSON.parse(reader.readString());
+            case TYPE_LIST:
+                int size = (int)reader.readVarLong();
+                JSONArray list = new JSONArray(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(reader));
+                }
+                return list;
+            case TYPE_MAP:
+                int mapSize = (int)reader.readVarLong();
+                JSONObject map = new JSONObject(Math.max(mapSize * 4 / 3 + 1, 16));
+                for (int i = 0; i < mapSize; i++) {
+                    String key = reader.readString();
+                    map.put(key, readValue(reader));
+                }
+                return map;
+            case TYPE_NULL:
+                return null;
+            default:
+                throw new IllegalArgumentException("Unknown value type of binary action context: " + type);
+        }
+    }
+
+    private static final class Writer {
+
+        private byte[] buf = new byte[256];
+
+        private int pos;
+
+        void writeByte(byte b) {
+            ensureCapacity(1);
+            buf[pos++] = b;
+        }
+
+        /**
+         * zigzag var long
+         */
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            long v = (value << 1) ^ (value >> 63);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte)((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte)v;
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        private void ensureCapacity(int length) {
+            if (pos + length > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + length));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buf;
+
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        byte readByte() {
+            return buf[pos++];
+        }
+
+        long readVarLong() {
+            long v = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf[pos++];
+                v |= (long)(b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        String readString() {
+            int length = (int)readVarLong();
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.codec.impl;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.alibaba.fastjson.JSON;
+import io.seata.common.Constants;
+import io.seata.common.loader.LoadLevel;
+import io.seata.rm.tcc.codec.ActionContextCodec;
+import io.seata.rm.tcc.codec.ActionContextCodecFactory;
+
+/**
+ * The json codec of the TCC action context, compatible with the data written by the older versions.
+ *
+ * @author hongyan
+ */
+@LoadLevel(name = ActionContextCodecFactory.JSON_CODEC)
+public class JsonActionContextCodec implements ActionContextCodec {
+
+    @Override
+    public String encode(Map<String, Object> actionContext) {
+        return JSON.toJSONString(Collections.singletonMap(Constants.TCC_ACTION_CONTEXT, actionContext));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> decode(String applicationData) {
+        Map<String, Object> tccContext = JSON.parseObject(applicationData, Map.class);
+        return (Map<String, Object>)tccContext.get(Constants.TCC_ACTION_CONTEXT);
+    }
+}
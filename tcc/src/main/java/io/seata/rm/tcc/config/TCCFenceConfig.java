@@ -23,9 +23,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.sql.DataSource;
 
+import io.seata.common.ConfigurationKeys;
 import io.seata.common.DefaultValues;
 import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.thread.NamedThreadFactory;
+import io.seata.config.ConfigurationFactory;
 import io.seata.core.rpc.Disposable;
 import io.seata.rm.tcc.TCCFenceHandler;
 import io.seata.rm.tcc.exception.TCCFenceException;
@@ -63,6 +65,12 @@ public class TCCFenceConfig implements InitializingBean, Disposable {
      */
     private String logTableName = DefaultValues.DEFAULT_TCC_FENCE_LOG_TABLE_NAME;
 
+    /**
+     * TCC fence log delete delay after phase two finished, null means the log is only deleted by the clean task.
+     * it should be longer than the phase two retry window, the log is needed for idempotent and suspend checks.
+     */
+    private Duration logDeleteDelay;
+
     /**
      * TCC fence datasource
      */
@@ -104,6 +112,10 @@ public class TCCFenceConfig implements InitializingBean, Disposable {
         this.logTableName = logTableName;
     }
 
+    public void setLogDeleteDelay(Duration logDeleteDelay) {
+        this.logDeleteDelay = logDeleteDelay;
+    }
+
     /**
      * init tcc fence clean task
      */
@@ -121,6 +133,11 @@ public class TCCFenceConfig implements InitializingBean, Disposable {
                         LOGGER.info("TCC fence clean task executed success, timeBefore: {}, deleted row count: {}",
                                 timeBefore, deletedRowCount);
                     }
+                    if (TCCFenceHandler.getPendingDeleteCount() > 0 || TCCFenceHandler.getDroppedCount() > 0) {
+                        LOGGER.info("TCC fence async delete lag, pending: {}, oldest pending age: {}ms, deleted: {}, dropped: {}, failed: {}",
+                                TCCFenceHandler.getPendingDeleteCount(), TCCFenceHandler.getOldestPendingDeleteAge(),
+                                TCCFenceHandler.getDeletedCount(), TCCFenceHandler.getDroppedCount(), TCCFenceHandler.getFailedCount());
+                    }
                 } catch (RuntimeException e) {
                     LOGGER.error("Delete tcc fence log failed, timeBefore: {}", timeBefore, e);
                 }
@@ -155,6 +172,14 @@ public class TCCFenceConfig implements InitializingBean, Disposable {
         } else {
             throw new TCCFenceException(FrameworkErrorCode.TransactionManagerNeedInjected);
         }
+        if (logDeleteDelay == null) {
+            // not set on the bean, fall back to the seata configuration
+            logDeleteDelay = ConfigurationFactory.getInstance().getDuration(ConfigurationKeys.TCC_FENCE_LOG_DELETE_DELAY, null);
+        }
+        if (logDeleteDelay != null && !logDeleteDelay.isNegative()) {
+            // delete the fence log asynchronously after phase two finished
+            TCCFenceHandler.setLogDeleteDelayMills(logDeleteDelay.toMillis());
+        }
     }
 }
 
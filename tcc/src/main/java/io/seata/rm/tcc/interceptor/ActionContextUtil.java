@@ -15,11 +15,15 @@
  */
 package io.seata.rm.tcc.interceptor;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -47,6 +51,16 @@ public final class ActionContextUtil {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ActionContextUtil.class);
 
+    /**
+     * the params with {@link BusinessActionContextParameter} of the method
+     */
+    private static final Map<Method, ContextParameter[]> METHOD_PARAMS_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * the fields with {@link BusinessActionContextParameter} of the class, accessible already
+     */
+    private static final Map<Class<?>, ContextParameter[]> CLASS_FIELDS_CACHE = new ConcurrentHashMap<>();
+
     /**
      * Extracting context data from parameters
      *
@@ -67,20 +81,13 @@ public final class ActionContextUtil {
 
             // fetch context from the fields
             Map<String, Object> context = new HashMap<>(8);
-            for (Field f : fields) {
-                // get annotation
-                BusinessActionContextParameter annotation = f.getAnnotation(BusinessActionContextParameter.class);
-                if (annotation == null) {
-                    continue;
-                }
-
+            for (ContextParameter contextField : getContextFields(targetParam.getClass(), fields)) {
                 // get the field value
-                f.setAccessible(true);
-                Object fieldValue = f.get(targetParam);
+                Object fieldValue = contextField.getField().get(targetParam);
 
                 // load param by the config of annotation, and then put into the context
-                String fieldName = f.getName();
-                loadParamByAnnotationAndPutToContext(ParamType.FIELD, fieldName, fieldValue, annotation, context);
+                loadParamByAnnotationAndPutToContext(ParamType.FIELD, contextField.getName(), fieldValue,
+                        contextField.getAnnotation(), context);
             }
             return context;
         } catch (Exception e) {
@@ -88,6 +95,41 @@ public final class ActionContextUtil {
         }
     }
 
+    /**
+     * Gets the params with {@link BusinessActionContextParameter} of the method, resolved once per method
+     *
+     * @param method the method
+     * @return the params
+     */
+    static ContextParameter[] getContextParams(@Nonnull Method method) {
+        return CollectionUtils.computeIfAbsent(METHOD_PARAMS_CACHE, method, m -> {
+            List<ContextParameter> params = new ArrayList<>();
+            Annotation[][] parameterAnnotations = m.getParameterAnnotations();
+            for (int i = 0; i < parameterAnnotations.length; i++) {
+                for (Annotation annotation : parameterAnnotations[i]) {
+                    if (annotation instanceof BusinessActionContextParameter) {
+                        params.add(new ContextParameter(i, null, "", (BusinessActionContextParameter)annotation));
+                    }
+                }
+            }
+            return params.toArray(new ContextParameter[0]);
+        });
+    }
+
+    private static ContextParameter[] getContextFields(@Nonnull Class<?> clazz, @Nonnull Field[] allFields) {
+        return CollectionUtils.computeIfAbsent(CLASS_FIELDS_CACHE, clazz, c -> {
+            List<ContextParameter> contextFields = new ArrayList<>();
+            for (Field f : allFields) {
+                BusinessActionContextParameter annotation = f.getAnnotation(BusinessActionContextParameter.class);
+                if (annotation != null) {
+                    f.setAccessible(true);
+                    contextFields.add(new ContextParameter(-1, f, f.getName(), annotation));
+                }
+            }
+            return contextFields.toArray(new ContextParameter[0]);
+        });
+    }
+
     /**
      * load param by the config of annotation, and then put into the action context
      *
@@ -293,4 +335,44 @@ public final class ActionContextUtil {
             throw new FrameworkException(e, errorMsg);
         }
     }
+
+    /**
+     * The param or field with {@link BusinessActionContextParameter}
+     */
+    static final class ContextParameter {
+
+        /**
+         * the index of the param, -1 for field
+         */
+        private final int index;
+
+        private final Field field;
+
+        private final String name;
+
+        private final BusinessActionContextParameter annotation;
+
+        ContextParameter(int index, Field field, String name, BusinessActionContextParameter annotation) {
+            this.index = index;
+            this.field = field;
+            this.name = name;
+            this.annotation = annotation;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        BusinessActionContextParameter getAnnotation() {
+            return annotation;
+        }
+    }
 }
@@ -15,15 +15,12 @@
  */
 package io.seata.rm.tcc.interceptor;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nonnull;
 
-import com.alibaba.fastjson.JSON;
 import io.seata.common.Constants;
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.exception.SkipCallbackWrapperException;
@@ -35,10 +32,10 @@ import io.seata.core.model.BranchType;
 import io.seata.rm.DefaultResourceManager;
 import io.seata.rm.tcc.TCCFenceHandler;
 import io.seata.rm.tcc.api.BusinessActionContext;
-import io.seata.rm.tcc.api.BusinessActionContextParameter;
 import io.seata.rm.tcc.api.BusinessActionContextUtil;
 import io.seata.rm.tcc.api.ParamType;
 import io.seata.rm.tcc.api.TwoPhaseBusinessAction;
+import io.seata.rm.tcc.codec.ActionContextCodecFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -193,8 +190,7 @@ public class ActionInterceptorHandler {
         //endregion
 
         //Init applicationData
-        Map<String, Object> applicationContext = Collections.singletonMap(Constants.TCC_ACTION_CONTEXT, context);
-        String applicationContextStr = JSON.toJSONString(applicationContext);
+        String applicationContextStr = ActionContextCodecFactory.encode(context);
         try {
             //registry branch record
             Long branchId = DefaultResourceManager.get().branchRegister(BranchType.TCC, actionName, null, xid,
@@ -252,26 +248,17 @@ public class ActionInterceptorHandler {
     protected Map<String, Object> fetchActionRequestContext(Method method, Object[] arguments) {
         Map<String, Object> context = new HashMap<>(8);
 
-        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
-        for (int i = 0; i < parameterAnnotations.length; i++) {
-            for (int j = 0; j < parameterAnnotations[i].length; j++) {
-                if (parameterAnnotations[i][j] instanceof BusinessActionContextParameter) {
-                    // get annotation
-                    BusinessActionContextParameter annotation = (BusinessActionContextParameter)parameterAnnotations[i][j];
-                    if (arguments[i] == null) {
-                        throw new IllegalArgumentException("@BusinessActionContextParameter 's params can not null");
-                    }
-
-                    // get param
-                    Object paramObject = arguments[i];
-                    if (paramObject == null) {
-                        continue;
-                    }
-
-                    // load param by the config of annotation, and then put into the context
-                    ActionContextUtil.loadParamByAnnotationAndPutToContext(ParamType.PARAM, "", paramObject, annotation, context);
-                }
+        // the annotated params are resolved once per method
+        for (ActionContextUtil.ContextParameter param : ActionContextUtil.getContextParams(method)) {
+            // get param
+            Object paramObject = arguments[param.getIndex()];
+            if (paramObject == null) {
+                throw new IllegalArgumentException("@BusinessActionContextParameter 's params can not null");
             }
+
+            // load param by the config of annotation, and then put into the context
+            ActionContextUtil.loadParamByAnnotationAndPutToContext(ParamType.PARAM, param.getName(), paramObject,
+                    param.getAnnotation(), context);
         }
         return context;
     }
@@ -81,6 +81,14 @@ public interface TCCFenceStore {
      */
     int deleteTCCFenceDO(Connection conn, List<String> xids);
 
+    /**
+     * Delete tcc fence do in one jdbc batch.
+     * @param conn the connection
+     * @param tccFenceDOs the tcc fence dos, only xid and branch id are used
+     * @return the deleted row count
+     */
+    int deleteTCCFenceDOBatch(Connection conn, List<TCCFenceDO> tccFenceDOs);
+
     /**
      * Delete tcc fence by datetime.
      * @param conn the connection
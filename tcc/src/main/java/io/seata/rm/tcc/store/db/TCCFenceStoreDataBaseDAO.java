@@ -29,6 +29,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.Date;
@@ -48,9 +49,21 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
      */
     private String logTableName = DefaultValues.DEFAULT_TCC_FENCE_LOG_TABLE_NAME;
 
+    /**
+     * The sqls resolved for the current log table name, the hot path statements are built once instead of per call
+     */
+    private volatile String insertSQL;
+    private volatile String queryByBranchIdAndXidSQL;
+    private volatile String queryEndStatusByDateSQL;
+    private volatile String updateStatusSQL;
+    private volatile String deleteByBranchIdAndXidSQL;
+    private volatile String deleteByDateAndStatusSQL;
+
     private static volatile TCCFenceStoreDataBaseDAO instance = null;
 
-    private TCCFenceStoreDataBaseDAO() {}
+    private TCCFenceStoreDataBaseDAO() {
+        resolveSqls(logTableName);
+    }
 
     public static TCCFenceStore getInstance() {
         if (instance == null) {
@@ -68,8 +81,7 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
         PreparedStatement ps = null;
         ResultSet rs = null;
         try {
-            String sql = TCCFenceStoreSqls.getQuerySQLByBranchIdAndXid(logTableName);
-            ps = conn.prepareStatement(sql);
+            ps = conn.prepareStatement(queryByBranchIdAndXidSQL);
             ps.setString(1, xid);
             ps.setLong(2, branchId);
             rs = ps.executeQuery();
@@ -94,8 +106,7 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
         PreparedStatement ps = null;
         ResultSet rs = null;
         try {
-            String sql = TCCFenceStoreSqls.getQueryEndStatusSQLByDate(logTableName);
-            ps = conn.prepareStatement(sql);
+            ps = conn.prepareStatement(queryEndStatusByDateSQL);
             ps.setTimestamp(1, new Timestamp(datetime.getTime()));
             ps.setInt(2, limit);
             rs = ps.executeQuery();
@@ -117,8 +128,7 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
         try {
             Timestamp now = new Timestamp(System.currentTimeMillis());
 
-            String sql = TCCFenceStoreSqls.getInsertLocalTCCLogSQL(logTableName);
-            ps = conn.prepareStatement(sql);
+            ps = conn.prepareStatement(insertSQL);
             ps.setString(1, tccFenceDO.getXid());
             ps.setLong(2, tccFenceDO.getBranchId());
             ps.setString(3, tccFenceDO.getActionName());
@@ -140,8 +150,7 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
     public boolean updateTCCFenceDO(Connection conn, String xid, Long branchId, int newStatus, int oldStatus) {
         PreparedStatement ps = null;
         try {
-            String sql = TCCFenceStoreSqls.getUpdateStatusSQLByBranchIdAndXid(logTableName);
-            ps = conn.prepareStatement(sql);
+            ps = conn.prepareStatement(updateStatusSQL);
             ps.setInt(1, newStatus);
             // gmt_modified
             ps.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
@@ -160,8 +169,7 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
     public boolean deleteTCCFenceDO(Connection conn, String xid, Long branchId) {
         PreparedStatement ps = null;
         try {
-            String sql = TCCFenceStoreSqls.getDeleteSQLByBranchIdAndXid(logTableName);
-            ps = conn.prepareStatement(sql);
+            ps = conn.prepareStatement(deleteByBranchIdAndXidSQL);
             ps.setString(1, xid);
             ps.setLong(2, branchId);
             ps.executeUpdate();
@@ -191,12 +199,37 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
         }
     }
 
+    @Override
+    public int deleteTCCFenceDOBatch(Connection conn, List<TCCFenceDO> tccFenceDOs) {
+        if (tccFenceDOs.isEmpty()) {
+            return 0;
+        }
+        PreparedStatement ps = null;
+        try {
+            ps = conn.prepareStatement(deleteByBranchIdAndXidSQL);
+            for (TCCFenceDO tccFenceDO : tccFenceDOs) {
+                ps.setString(1, tccFenceDO.getXid());
+                ps.setLong(2, tccFenceDO.getBranchId());
+                ps.addBatch();
+            }
+            int total = 0;
+            for (int count : ps.executeBatch()) {
+                // SUCCESS_NO_INFO(-2) means the row count is unknown
+                total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+            return total;
+        } catch (SQLException e) {
+            throw new StoreException(e);
+        } finally {
+            IOUtil.close(ps);
+        }
+    }
+
     @Override
     public int deleteTCCFenceDOByDate(Connection conn, Date datetime) {
         PreparedStatement ps = null;
         try {
-            String sql = TCCFenceStoreSqls.getDeleteSQLByDateAndStatus(logTableName);
-            ps = conn.prepareStatement(sql);
+            ps = conn.prepareStatement(deleteByDateAndStatusSQL);
             ps.setTimestamp(1, new Timestamp(datetime.getTime()));
             return ps.executeUpdate();
         } catch (SQLException e) {
@@ -209,5 +242,15 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
     @Override
     public void setLogTableName(String logTableName) {
         this.logTableName = logTableName;
+        resolveSqls(logTableName);
+    }
+
+    private void resolveSqls(String logTableName) {
+        insertSQL = TCCFenceStoreSqls.getInsertLocalTCCLogSQL(logTableName);
+        queryByBranchIdAndXidSQL = TCCFenceStoreSqls.getQuerySQLByBranchIdAndXid(logTableName);
+        queryEndStatusByDateSQL = TCCFenceStoreSqls.getQueryEndStatusSQLByDate(logTableName);
+        updateStatusSQL = TCCFenceStoreSqls.getUpdateStatusSQLByBranchIdAndXid(logTableName);
+        deleteByBranchIdAndXidSQL = TCCFenceStoreSqls.getDeleteSQLByBranchIdAndXid(logTableName);
+        deleteByDateAndStatusSQL = TCCFenceStoreSqls.getDeleteSQLByDateAndStatus(logTableName);
     }
 }
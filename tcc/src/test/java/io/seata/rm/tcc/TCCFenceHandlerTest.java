@@ -0,0 +1,165 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.seata.rm.tcc.constant.TCCFenceConstant;
+import io.seata.rm.tcc.store.TCCFenceDO;
+import io.seata.rm.tcc.store.db.TCCFenceStoreDataBaseDAO;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The type TCC fence handler test, against an in-memory h2 database.
+ *
+ * @author hongyan
+ */
+public class TCCFenceHandlerTest {
+
+    private static JdbcDataSource dataSource;
+
+    private final AtomicInteger commitTimes = new AtomicInteger();
+
+    @BeforeAll
+    public static void init() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:tcc_fence;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("create table if not exists tcc_fence_log (xid varchar(128) not null, branch_id bigint not null, "
+                + "action_name varchar(64) not null, status tinyint not null, gmt_create timestamp not null, "
+                + "gmt_modified timestamp not null, primary key (xid, branch_id))");
+        }
+        TCCFenceHandler.setDataSource(dataSource);
+        TCCFenceHandler.setTransactionTemplate(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    @BeforeEach
+    public void clean() throws SQLException {
+        TCCFenceHandler.setLogDeleteDelayMills(-1L);
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("delete from tcc_fence_log");
+        }
+    }
+
+    @AfterEach
+    public void reset() {
+        TCCFenceHandler.setLogDeleteDelayMills(-1L);
+    }
+
+    @Test
+    public void testDeleteFenceBatch() throws SQLException {
+        List<TCCFenceDO> toDelete = new ArrayList<>();
+        for (long branchId = 1; branchId <= 3; branchId++) {
+            insert("xid-batch", branchId, TCCFenceConstant.STATUS_COMMITTED);
+            if (branchId < 3) {
+                TCCFenceDO tccFenceDO = new TCCFenceDO();
+                tccFenceDO.setXid("xid-batch");
+                tccFenceDO.setBranchId(branchId);
+                toDelete.add(tccFenceDO);
+            }
+        }
+        // a record that does not exist is not counted
+        TCCFenceDO missing = new TCCFenceDO();
+        missing.setXid("xid-missing");
+        missing.setBranchId(1L);
+        toDelete.add(missing);
+
+        Assertions.assertEquals(2, TCCFenceHandler.deleteFenceBatch(toDelete));
+        Assertions.assertEquals(1, count("xid-batch"));
+        Assertions.assertNotNull(query("xid-batch", 3L));
+    }
+
+    @Test
+    public void testCommitUpdateFirst() throws Exception {
+        TCCFenceHandler.prepareFence("xid-commit", 1L, "action", () -> true);
+        Assertions.assertEquals(TCCFenceConstant.STATUS_TRIED, query("xid-commit", 1L).getStatus());
+
+        Method commit = TCCFenceHandlerTest.class.getMethod("commit");
+        Assertions.assertTrue(TCCFenceHandler.commitFence(commit, this, "xid-commit", 1L, new Object[0]));
+        Assertions.assertEquals(TCCFenceConstant.STATUS_COMMITTED, query("xid-commit", 1L).getStatus());
+        Assertions.assertEquals(1, commitTimes.get());
+
+        // the retried commit falls back to the query and is idempotent
+        Assertions.assertTrue(TCCFenceHandler.commitFence(commit, this, "xid-commit", 1L, new Object[0]));
+        Assertions.assertEquals(1, commitTimes.get());
+        // the log is kept when the delete delay is disabled
+        Thread.sleep(200);
+        Assertions.assertEquals(1, count("xid-commit"));
+    }
+
+    @Test
+    public void testDelayedDelete() throws Exception {
+        TCCFenceHandler.setLogDeleteDelayMills(100L);
+        TCCFenceHandler.prepareFence("xid-delay", 1L, "action", () -> true);
+        Method commit = TCCFenceHandlerTest.class.getMethod("commit");
+        long start = System.currentTimeMillis();
+        Assertions.assertTrue(TCCFenceHandler.commitFence(commit, this, "xid-delay", 1L, new Object[0]));
+
+        while (count("xid-delay") > 0 && System.currentTimeMillis() - start < 10000) {
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(0, count("xid-delay"));
+        Assertions.assertTrue(System.currentTimeMillis() - start >= 100);
+        Assertions.assertEquals(0, TCCFenceHandler.getPendingDeleteCount());
+    }
+
+    public boolean commit() {
+        commitTimes.incrementAndGet();
+        return true;
+    }
+
+    private static void insert(String xid, long branchId, int status) throws SQLException {
+        TCCFenceDO tccFenceDO = new TCCFenceDO();
+        tccFenceDO.setXid(xid);
+        tccFenceDO.setBranchId(branchId);
+        tccFenceDO.setActionName("action");
+        tccFenceDO.setStatus(status);
+        tccFenceDO.setGmtCreate(new Date());
+        tccFenceDO.setGmtModified(new Date());
+        try (Connection conn = dataSource.getConnection()) {
+            TCCFenceStoreDataBaseDAO.getInstance().insertTCCFenceDO(conn, tccFenceDO);
+        }
+    }
+
+    private static TCCFenceDO query(String xid, long branchId) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            return TCCFenceStoreDataBaseDAO.getInstance().queryTCCFenceDO(conn, xid, branchId);
+        }
+    }
+
+    private static int count(String xid) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("select count(1) from tcc_fence_log where xid = '" + xid + "'")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.seata.rm.tcc.api.BusinessActionContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Two phase invoker test.
+ *
+ * @author hongyan
+ */
+public class TwoPhaseInvokerTest {
+
+    @Test
+    public void testInvoke() throws Throwable {
+        TwoPhaseInvoker invoker = newCommitInvoker(new TccActionImpl());
+        BusinessActionContext actionContext = newActionContext();
+
+        Object[] args = invoker.getArgs(actionContext);
+        Assertions.assertSame(actionContext, args[0]);
+        Assertions.assertNull(args[1]);
+        Assertions.assertEquals(5, args[2]);
+        Assertions.assertEquals(true, invoker.invoke(args));
+    }
+
+    @Test
+    public void testInvokeNonPublicClass() throws Throwable {
+        Method method = FailedAction.class.getDeclaredMethod("rollback", BusinessActionContext.class);
+        TwoPhaseInvoker invoker = new TwoPhaseInvoker(new FailedAction(), method, new String[] {null},
+            new Class<?>[] {BusinessActionContext.class});
+
+        // the exception of the method is thrown directly, not wrapped
+        Object[] args = invoker.getArgs(newActionContext());
+        Assertions.assertThrows(IllegalStateException.class, () -> invoker.invoke(args));
+    }
+
+    @Test
+    public void testGetArgsConvert() throws Throwable {
+        TwoPhaseInvoker invoker = newCommitInvoker(new TccActionImpl());
+        Map<String, Object> tccParam = new HashMap<>();
+        tccParam.put("num", 2);
+        tccParam.put("email", "abc@ali.com");
+        BusinessActionContext actionContext = newActionContext();
+        actionContext.getActionContext().put("tccParam", tccParam);
+
+        // the decoded map is converted to the arg type
+        Object[] args = invoker.getArgs(actionContext);
+        Assertions.assertEquals(2, ((TccParam)args[1]).getNum());
+
+        // the value of the arg type is passed as is
+        TccParam param = new TccParam(3, "def@ali.com");
+        actionContext.getActionContext().put("tccParam", param);
+        Assertions.assertSame(param, invoker.getArgs(actionContext)[1]);
+
+        // only the args are read here, the declared types decide the conversion
+        TwoPhaseInvoker looseInvoker = new TwoPhaseInvoker(new TccActionImpl(), invoker.getMethod(),
+            new String[] {null, "tccParam", "a"}, new Class<?>[] {BusinessActionContext.class, Object.class, String.class});
+        args = looseInvoker.getArgs(actionContext);
+        Assertions.assertSame(param, args[1]);
+        Assertions.assertEquals("5", args[2]);
+    }
+
+    private TwoPhaseInvoker newCommitInvoker(Object target) throws NoSuchMethodException {
+        Method method = TccAction.class.getMethod("commit", BusinessActionContext.class, TccParam.class, Integer.class);
+        return new TwoPhaseInvoker(target, method, new String[] {null, "tccParam", "a"}, method.getParameterTypes());
+    }
+
+    private BusinessActionContext newActionContext() {
+        Map<String, Object> context = new HashMap<>();
+        context.put("a", 5);
+        return new BusinessActionContext("xid", "1", context);
+    }
+
+    private static class FailedAction {
+
+        private boolean rollback(BusinessActionContext actionContext) {
+            throw new IllegalStateException("rollback failed");
+        }
+    }
+}
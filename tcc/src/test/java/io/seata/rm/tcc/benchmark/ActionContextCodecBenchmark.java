@@ -0,0 +1,113 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.Constants;
+import io.seata.rm.tcc.TccParam;
+import io.seata.rm.tcc.api.BusinessActionContext;
+import io.seata.rm.tcc.codec.ActionContextCodec;
+import io.seata.rm.tcc.codec.ActionContextCodecFactory;
+import io.seata.rm.tcc.codec.ActionContextCodecTest;
+import io.seata.rm.tcc.interceptor.ActionContextUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The action context codecs on the prepare (encode) and phase two (decode and read) paths.
+ * <p>
+ * Run {@link #main(String[])} from the test classpath.
+ *
+ * @author hongyan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActionContextCodecBenchmark {
+
+    @Param({ActionContextCodecFactory.JSON_CODEC, ActionContextCodecFactory.BINARY_CODEC})
+    private String codecName;
+
+    private ActionContextCodec codec;
+
+    private Object[] arguments;
+
+    private String applicationData;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add("item-" + i);
+        }
+        arguments = new Object[] {10, list, new TccParam(1, "abc@ali.com"), new ActionContextCodecTest.Order(2, "order@ali.com")};
+        codec = ActionContextCodecFactory.getCodec(codecName);
+        applicationData = prepare();
+    }
+
+    @Benchmark
+    public String prepare() {
+        Map<String, Object> context = ActionContextUtil.fetchContextFromObject(arguments[2]);
+        context.put("a", arguments[0]);
+        context.put("list", arguments[1]);
+        context.put("order", arguments[3]);
+        context.put(Constants.ACTION_START_TIME, System.currentTimeMillis());
+        context.put(Constants.HOST_NAME, "192.168.1.10");
+        context.put(Constants.PREPARE_METHOD, "prepare");
+        context.put(Constants.COMMIT_METHOD, "commit");
+        context.put(Constants.ROLLBACK_METHOD, "rollback");
+        context.put(Constants.ACTION_NAME, "tccActionForTest");
+        context.put(Constants.USE_TCC_FENCE, true);
+        return codec.encode(context);
+    }
+
+    @Benchmark
+    public String phaseTwo() {
+        BusinessActionContext actionContext = new BusinessActionContext("xid", "1",
+            ActionContextCodecFactory.decode(applicationData));
+        actionContext.getActionContext("a", Integer.class);
+        actionContext.getActionContext("email", String.class);
+        return actionContext.getActionContext("order", ActionContextCodecTest.Order.class).getEmail();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(ActionContextCodecBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
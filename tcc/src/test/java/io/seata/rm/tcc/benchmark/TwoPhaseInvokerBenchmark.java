@@ -0,0 +1,107 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.rm.tcc.TccAction;
+import io.seata.rm.tcc.TccActionImpl;
+import io.seata.rm.tcc.TccParam;
+import io.seata.rm.tcc.TwoPhaseInvoker;
+import io.seata.rm.tcc.api.BusinessActionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The phase two invoke, resolving the args and invoking by reflection against the {@link TwoPhaseInvoker}.
+ * <p>
+ * Run {@link #main(String[])} from the test classpath.
+ *
+ * @author hongyan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TwoPhaseInvokerBenchmark {
+
+    private static final String[] KEYS = {null, "tccParam", "a"};
+
+    private TccActionImpl target;
+
+    private Method method;
+
+    private Class<?>[] argsClasses;
+
+    private TwoPhaseInvoker invoker;
+
+    private BusinessActionContext actionContext;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchMethodException {
+        target = new TccActionImpl();
+        method = TccAction.class.getMethod("commit", BusinessActionContext.class, TccParam.class, Integer.class);
+        argsClasses = method.getParameterTypes();
+        invoker = new TwoPhaseInvoker(target, method, KEYS, argsClasses);
+        Map<String, Object> context = new HashMap<>();
+        context.put("a", 5);
+        context.put("tccParam", new TccParam(1, "abc@ali.com"));
+        actionContext = new BusinessActionContext("xid", "1", context);
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        Object[] args = new Object[argsClasses.length];
+        for (int i = 0; i < argsClasses.length; i++) {
+            if (argsClasses[i].equals(BusinessActionContext.class)) {
+                args[i] = actionContext;
+            } else {
+                args[i] = actionContext.getActionContext(KEYS[i], argsClasses[i]);
+            }
+        }
+        return method.invoke(target, args);
+    }
+
+    @Benchmark
+    public Object invoker() throws Throwable {
+        return invoker.invoke(invoker.getArgs(actionContext));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(TwoPhaseInvokerBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
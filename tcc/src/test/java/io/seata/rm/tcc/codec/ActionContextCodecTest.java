@@ -0,0 +1,127 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.codec;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.alibaba.fastjson.JSON;
+import io.seata.common.Constants;
+import io.seata.rm.tcc.api.BusinessActionContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Action context codec test.
+ *
+ * @author hongyan
+ */
+public class ActionContextCodecTest {
+
+    @Test
+    public void testBinaryDecodeSameAsJson() {
+        Map<String, Object> context = newContext();
+        String binary = ActionContextCodecFactory.getCodec(ActionContextCodecFactory.BINARY_CODEC).encode(context);
+        String json = ActionContextCodecFactory.getCodec(ActionContextCodecFactory.JSON_CODEC).encode(context);
+
+        Assertions.assertTrue(binary.startsWith("#binary:"));
+        Assertions.assertTrue(binary.length() < json.length());
+        Assertions.assertEquals(ActionContextCodecFactory.decode(json), ActionContextCodecFactory.decode(binary));
+    }
+
+    @Test
+    public void testDecodeLegacyJson() {
+        Map<String, Object> context = newContext();
+        String legacy = JSON.toJSONString(Collections.singletonMap(Constants.TCC_ACTION_CONTEXT, context));
+        Assertions.assertEquals(ActionContextCodecFactory.JSON_CODEC, ActionContextCodecFactory.getCodecName(legacy));
+
+        BusinessActionContext actionContext = new BusinessActionContext("xid", "1", ActionContextCodecFactory.decode(legacy));
+        Assertions.assertEquals("abc@ali.com", actionContext.getActionContext("order", Order.class).getEmail());
+        Assertions.assertEquals(Boolean.TRUE, actionContext.getActionContext(Constants.USE_TCC_FENCE));
+        Assertions.assertNull(ActionContextCodecFactory.decode(""));
+    }
+
+    @Test
+    public void testBinaryValueTypes() {
+        Map<String, Object> context = newContext();
+        String binary = ActionContextCodecFactory.getCodec(ActionContextCodecFactory.BINARY_CODEC).encode(context);
+        BusinessActionContext actionContext = new BusinessActionContext("xid", "1", ActionContextCodecFactory.decode(binary));
+
+        Assertions.assertEquals(10, actionContext.getActionContext("a"));
+        Assertions.assertEquals(Long.MAX_VALUE, actionContext.getActionContext("long"));
+        Assertions.assertEquals(new BigDecimal("1.25"), actionContext.getActionContext("decimal"));
+        Assertions.assertEquals(Arrays.asList("b", "c"), actionContext.getActionContext("list"));
+        Assertions.assertEquals(1, actionContext.getActionContext("order", Order.class).getNum());
+        Assertions.assertEquals("prepare", actionContext.getActionContext(Constants.PREPARE_METHOD));
+    }
+
+    private Map<String, Object> newContext() {
+        Map<String, Object> context = new HashMap<>();
+        context.put(Constants.ACTION_START_TIME, System.currentTimeMillis());
+        context.put(Constants.HOST_NAME, "192.168.1.10");
+        context.put(Constants.PREPARE_METHOD, "prepare");
+        context.put(Constants.COMMIT_METHOD, "commit");
+        context.put(Constants.ROLLBACK_METHOD, "rollback");
+        context.put(Constants.ACTION_NAME, "tccActionForTest");
+        context.put(Constants.USE_TCC_FENCE, true);
+        context.put("a", 10);
+        context.put("long", Long.MAX_VALUE);
+        context.put("decimal", new BigDecimal("1.25"));
+        context.put("list", Arrays.asList("b", "c"));
+        context.put("order", new Order(1, "abc@ali.com"));
+        context.put("nullValue", null);
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("id", 3L);
+        nested.put("tags", Arrays.asList("x", null));
+        nested.put("nullValue", null);
+        context.put("nested", nested);
+        return context;
+    }
+
+    public static class Order {
+
+        private int num;
+
+        private String email;
+
+        public Order() {
+        }
+
+        public Order(int num, String email) {
+            this.num = num;
+            this.email = email;
+        }
+
+        public int getNum() {
+            return num;
+        }
+
+        public void setNum(int num) {
+            this.num = num;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+    }
+}
@@ -17,6 +17,7 @@ package io.seata.core.rpc.netty.v1;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.seata.core.protocol.ProtocolConstants;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -93,4 +94,46 @@ class HeadMapSerializerTest {
 
         byteBuf.release();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDictionary() {
+        HeadMapSerializer mapSerializer = HeadMapSerializer.getInstance();
+        HeadMapDictionary outbound = new HeadMapDictionary();
+        HeadMapDictionary inbound = new HeadMapDictionary();
+        Map<String, String> map = new HashMap<String, String>();
+        map.put("version", "1.6.1");
+        map.put("empty", "");
+        map.put("null", null);
+        ByteBuf byteBuf = ByteBufAllocator.DEFAULT.heapBuffer();
+
+        // the peer has not answered with the dictionary version yet
+        int plain = mapSerializer.encode(map, byteBuf);
+        byteBuf.clear();
+        Assertions.assertEquals(plain, mapSerializer.encode(map, byteBuf, outbound));
+        Assertions.assertEquals(map, mapSerializer.decode(byteBuf, plain, inbound));
+
+        outbound.onPeerVersion(ProtocolConstants.VERSION);
+        Assertions.assertFalse(outbound.isPeerSupported());
+        outbound.onPeerVersion(ProtocolConstants.VERSION_HEAD_DICTIONARY);
+        Assertions.assertTrue(outbound.isPeerSupported());
+
+        // keys are defined first, the value once it is sent again
+        int previous = Integer.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            byteBuf.clear();
+            int bs = mapSerializer.encode(map, byteBuf, outbound);
+            Assertions.assertEquals(map, mapSerializer.decode(byteBuf, bs, inbound));
+            Assertions.assertTrue(bs <= previous);
+            previous = bs;
+        }
+        // four references and the literal empty and null values
+        Assertions.assertEquals(4 * 4 + 2 + 2, previous);
+
+        // a reference can't be decoded without the dictionary
+        byteBuf.clear();
+        int bs = mapSerializer.encode(map, byteBuf, outbound);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mapSerializer.decode(byteBuf, bs));
+
+        byteBuf.release();
+    }
+}
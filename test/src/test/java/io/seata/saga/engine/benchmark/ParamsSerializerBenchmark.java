@@ -0,0 +1,128 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.saga.engine.mock.DemoService.People;
+import io.seata.saga.engine.serializer.Serializer;
+import io.seata.saga.engine.serializer.impl.BinaryParamsSerializer;
+import io.seata.saga.engine.serializer.impl.KryoParamsCodec;
+import io.seata.saga.engine.serializer.impl.ParamsSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the json and the kryo params serializer with a large DTO.
+ * <p>
+ * Run {@link #main(String[])} from the test classpath.
+ *
+ * @author hongyan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParamsSerializerBenchmark {
+
+    private Map<String, Object> params;
+
+    private Serializer<Object, String> jsonSerializer;
+
+    private Serializer<Object, String> kryoSerializer;
+
+    private String json;
+
+    private String kryo;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        params = createParams();
+        jsonSerializer = new ParamsSerializer();
+        kryoSerializer = new BinaryParamsSerializer(KryoParamsCodec.NAME);
+        json = jsonSerializer.serialize(params);
+        kryo = kryoSerializer.serialize(params);
+    }
+
+    @Benchmark
+    public String jsonSerialize() {
+        return jsonSerializer.serialize(params);
+    }
+
+    @Benchmark
+    public String kryoSerialize() {
+        return kryoSerializer.serialize(params);
+    }
+
+    @Benchmark
+    public Object jsonDeserialize() {
+        return jsonSerializer.deserialize(json);
+    }
+
+    @Benchmark
+    public Object kryoDeserialize() {
+        return kryoSerializer.deserialize(kryo);
+    }
+
+    private static Map<String, Object> createParams() {
+        List<People> childrenList = new ArrayList<>();
+        Map<String, People> childrenMap = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            People child = new People();
+            child.setName("child-" + i);
+            child.setAge(i);
+            childrenList.add(child);
+            childrenMap.put(child.getName(), child);
+        }
+        People people = new People();
+        people.setName("lilei");
+        people.setAge(18);
+        people.setChildrenList(childrenList);
+        people.setChildrenMap(childrenMap);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("people", people);
+        params.put("amount", 100L);
+        return params;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(ParamsSerializerBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
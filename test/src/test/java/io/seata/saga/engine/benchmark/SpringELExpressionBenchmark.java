@@ -0,0 +1,187 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.saga.engine.evaluation.Evaluator;
+import io.seata.saga.engine.evaluation.expression.ExpressionEvaluator;
+import io.seata.saga.engine.evaluation.expression.ExpressionEvaluatorFactory;
+import io.seata.saga.engine.expression.ExpressionFactoryManager;
+import io.seata.saga.engine.expression.spel.SpringELExpression;
+import io.seata.saga.engine.expression.spel.SpringELExpressionFactory;
+import io.seata.saga.engine.pcext.utils.ParameterUtils;
+import io.seata.saga.statelang.domain.impl.ServiceTaskStateImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * A typical choice state and parameter mapping, comparing parse per evaluation, cached interpreted and cached
+ * compiled (MIXED) SpEL expressions.
+ * <p>
+ * Run {@link #main(String[])} from the test classpath. The parameter mapping always goes through the cached
+ * expressions of the state, so only the compiler mode differs there.
+ *
+ * @author hongyan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpringELExpressionBenchmark {
+
+    private static final String CHOICE_EXPRESSION = "[a] == 1 and [b] > 10";
+
+    private final SpelExpressionParser uncachedParser = new SpelExpressionParser();
+
+    private Map<String, Object> variables;
+
+    private ExpressionEvaluator uncachedEvaluator;
+
+    private Evaluator interpretedEvaluator;
+
+    private Evaluator compiledEvaluator;
+
+    private ExpressionFactoryManager interpretedManager;
+
+    private ExpressionFactoryManager compiledManager;
+
+    private ServiceTaskStateImpl interpretedState;
+
+    private ServiceTaskStateImpl compiledState;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        variables = createVariables();
+        uncachedEvaluator = new ExpressionEvaluator();
+        uncachedEvaluator.setRootObjectName(null);
+        interpretedEvaluator = createEvaluator(SpelCompilerMode.OFF);
+        compiledEvaluator = createEvaluator(SpelCompilerMode.MIXED);
+        interpretedManager = createExpressionFactoryManager(SpelCompilerMode.OFF);
+        compiledManager = createExpressionFactoryManager(SpelCompilerMode.MIXED);
+        interpretedState = createServiceTaskState();
+        compiledState = createServiceTaskState();
+    }
+
+    @Benchmark
+    public boolean choiceParsePerEvaluation() {
+        uncachedEvaluator.setExpression(new SpringELExpression(uncachedParser.parseExpression(CHOICE_EXPRESSION)));
+        return uncachedEvaluator.evaluate(variables);
+    }
+
+    @Benchmark
+    public boolean choiceInterpreted() {
+        return interpretedEvaluator.evaluate(variables);
+    }
+
+    @Benchmark
+    public boolean choiceCompiled() {
+        return compiledEvaluator.evaluate(variables);
+    }
+
+    @Benchmark
+    public Object mappingInterpreted() {
+        ParameterUtils.createInputParams(interpretedManager, null, interpretedState, variables);
+        return ParameterUtils.createOutputParams(interpretedManager, interpretedState, variables);
+    }
+
+    @Benchmark
+    public Object mappingCompiled() {
+        ParameterUtils.createInputParams(compiledManager, null, compiledState, variables);
+        return ParameterUtils.createOutputParams(compiledManager, compiledState, variables);
+    }
+
+    private static Evaluator createEvaluator(SpelCompilerMode compilerMode) {
+        SpringELExpressionFactory expressionFactory = new SpringELExpressionFactory();
+        expressionFactory.setCompilerMode(compilerMode);
+        ExpressionEvaluatorFactory evaluatorFactory = new ExpressionEvaluatorFactory();
+        evaluatorFactory.setExpressionFactory(expressionFactory);
+        ExpressionEvaluator evaluator = (ExpressionEvaluator)evaluatorFactory.createEvaluator(CHOICE_EXPRESSION);
+        evaluator.setRootObjectName(null);
+        return evaluator;
+    }
+
+    private static ExpressionFactoryManager createExpressionFactoryManager(SpelCompilerMode compilerMode) {
+        SpringELExpressionFactory expressionFactory = new SpringELExpressionFactory();
+        expressionFactory.setCompilerMode(compilerMode);
+        ExpressionFactoryManager expressionFactoryManager = new ExpressionFactoryManager();
+        expressionFactoryManager.putExpressionFactory(ExpressionFactoryManager.DEFAULT_EXPRESSION_TYPE,
+            expressionFactory);
+        return expressionFactoryManager;
+    }
+
+    private static ServiceTaskStateImpl createServiceTaskState() {
+        Map<String, Object> inputParam = new LinkedHashMap<>();
+        inputParam.put("a", "$.[a]");
+        inputParam.put("b", "$.[b]");
+        inputParam.put("name", "$.[order][name]");
+        inputParam.put("amount", "$.[order][amount] * 2");
+        List<Object> input = new ArrayList<>();
+        input.add(inputParam);
+        input.add("$.[a]");
+
+        Map<String, Object> output = new LinkedHashMap<>();
+        output.put("fooResult", "$.[order]");
+        output.put("fooName", "$.[order][name]");
+
+        ServiceTaskStateImpl state = new ServiceTaskStateImpl();
+        state.setName("FirstState");
+        state.setInput(input);
+        state.setOutput(output);
+        return state;
+    }
+
+    private static Map<String, Object> createVariables() {
+        Map<String, Object> order = new HashMap<>();
+        order.put("name", "order-1");
+        order.put("amount", 100);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("a", 1);
+        variables.put("b", 20);
+        variables.put("order", order);
+        return variables;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(SpringELExpressionBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.expression;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.seata.saga.engine.evaluation.Evaluator;
+import io.seata.saga.engine.evaluation.expression.ExpressionEvaluator;
+import io.seata.saga.engine.evaluation.expression.ExpressionEvaluatorFactory;
+import io.seata.saga.engine.expression.spel.SpringELExpressionFactory;
+import io.seata.saga.engine.pcext.utils.ParameterUtils;
+import io.seata.saga.statelang.domain.impl.ServiceTaskStateImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.SpelCompilerMode;
+
+/**
+ * The cached and compiled SpEL expressions.
+ *
+ * @author hongyan
+ */
+public class SpringELExpressionFactoryTests {
+
+    private static final String CHOICE_EXPRESSION = "[a] == 1 and [b] > 10";
+
+    @Test
+    public void testCompiledMatchesInterpreted() {
+        Map<String, Object> variables = createVariables();
+        Evaluator interpreted = createEvaluator(SpelCompilerMode.OFF);
+        Evaluator compiled = createEvaluator(SpelCompilerMode.MIXED);
+        // MIXED compiles after some interpretations, evaluate enough times to run the compiled form
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertTrue(interpreted.evaluate(variables));
+            Assertions.assertTrue(compiled.evaluate(variables));
+        }
+
+        ExpressionFactoryManager interpretedManager = createExpressionFactoryManager(SpelCompilerMode.OFF);
+        ExpressionFactoryManager compiledManager = createExpressionFactoryManager(SpelCompilerMode.MIXED);
+        ServiceTaskStateImpl interpretedState = createServiceTaskState();
+        ServiceTaskStateImpl compiledState = createServiceTaskState();
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(
+                ParameterUtils.createInputParams(interpretedManager, null, interpretedState, variables),
+                ParameterUtils.createInputParams(compiledManager, null, compiledState, variables));
+            Assertions.assertEquals(ParameterUtils.createOutputParams(interpretedManager, interpretedState, variables),
+                ParameterUtils.createOutputParams(compiledManager, compiledState, variables));
+        }
+    }
+
+    @Test
+    public void testCacheBounded() {
+        SpringELExpressionFactory expressionFactory = new SpringELExpressionFactory();
+        Assertions.assertSame(expressionFactory.createExpression(CHOICE_EXPRESSION),
+            expressionFactory.createExpression(CHOICE_EXPRESSION));
+
+        for (int i = 0; i < SpringELExpressionFactory.MAX_CACHED_EXPRESSIONS; i++) {
+            expressionFactory.createExpression("[a] == " + i);
+        }
+        String notCached = "[b] > 10";
+        Assertions.assertNotSame(expressionFactory.createExpression(notCached),
+            expressionFactory.createExpression(notCached));
+        // the expressions cached before the cache is full are still shared
+        Assertions.assertSame(expressionFactory.createExpression(CHOICE_EXPRESSION),
+            expressionFactory.createExpression(CHOICE_EXPRESSION));
+    }
+
+    private static Evaluator createEvaluator(SpelCompilerMode compilerMode) {
+        SpringELExpressionFactory expressionFactory = new SpringELExpressionFactory();
+        expressionFactory.setCompilerMode(compilerMode);
+        ExpressionEvaluatorFactory evaluatorFactory = new ExpressionEvaluatorFactory();
+        evaluatorFactory.setExpressionFactory(expressionFactory);
+        ExpressionEvaluator evaluator = (ExpressionEvaluator)evaluatorFactory.createEvaluator(CHOICE_EXPRESSION);
+        evaluator.setRootObjectName(null);
+        return evaluator;
+    }
+
+    private static ExpressionFactoryManager createExpressionFactoryManager(SpelCompilerMode compilerMode) {
+        SpringELExpressionFactory expressionFactory = new SpringELExpressionFactory();
+        expressionFactory.setCompilerMode(compilerMode);
+        ExpressionFactoryManager expressionFactoryManager = new ExpressionFactoryManager();
+        expressionFactoryManager.putExpressionFactory(ExpressionFactoryManager.DEFAULT_EXPRESSION_TYPE,
+            expressionFactory);
+        return expressionFactoryManager;
+    }
+
+    private static ServiceTaskStateImpl createServiceTaskState() {
+        Map<String, Object> inputParam = new LinkedHashMap<>();
+        inputParam.put("a", "$.[a]");
+        inputParam.put("b", "$.[b]");
+        inputParam.put("name", "$.[order][name]");
+        inputParam.put("amount", "$.[order][amount] * 2");
+        List<Object> input = new ArrayList<>();
+        input.add(inputParam);
+        input.add("$.[a]");
+
+        Map<String, Object> output = new LinkedHashMap<>();
+        output.put("fooResult", "$.[order]");
+        output.put("fooName", "$.[order][name]");
+
+        ServiceTaskStateImpl state = new ServiceTaskStateImpl();
+        state.setName("FirstState");
+        state.setInput(input);
+        state.setOutput(output);
+        return state;
+    }
+
+    private static Map<String, Object> createVariables() {
+        Map<String, Object> order = new HashMap<>();
+        order.put("name", "order-1");
+        order.put("amount", 100);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("a", 1);
+        variables.put("b", 20);
+        variables.put("order", order);
+        return variables;
+    }
+}
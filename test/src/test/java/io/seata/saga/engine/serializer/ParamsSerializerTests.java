@@ -0,0 +1,108 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.serializer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.seata.saga.engine.mock.DemoService.People;
+import io.seata.saga.engine.serializer.impl.BinaryParamsSerializer;
+import io.seata.saga.engine.serializer.impl.KryoParamsCodec;
+import io.seata.saga.engine.serializer.impl.ParamsSerializer;
+import io.seata.saga.statelang.domain.impl.StateInstanceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trip of the json and the kryo params serializer with a large DTO, and lazy params deserialization
+ *
+ * @author hongyan
+ */
+public class ParamsSerializerTests {
+
+    @Test
+    public void testSerializeRoundTrip() {
+        Map<String, Object> params = createParams();
+
+        Serializer<Object, String> jsonSerializer = new ParamsSerializer();
+        Serializer<Object, String> kryoSerializer = new BinaryParamsSerializer(KryoParamsCodec.NAME);
+
+        String json = jsonSerializer.serialize(params);
+        String kryo = kryoSerializer.serialize(params);
+
+        Assertions.assertNull(BinaryParamsSerializer.getCodecName(json));
+        Assertions.assertEquals(KryoParamsCodec.NAME, BinaryParamsSerializer.getCodecName(kryo));
+        assertPeopleEquals(params, (Map<String, Object>)jsonSerializer.deserialize(json));
+        assertPeopleEquals(params, (Map<String, Object>)kryoSerializer.deserialize(kryo));
+    }
+
+    @Test
+    public void testLazyDeserializeParams() {
+        Serializer<Object, String> kryoSerializer = new BinaryParamsSerializer(KryoParamsCodec.NAME);
+        int[] deserializeTimes = new int[1];
+
+        StateInstanceImpl stateInstance = new StateInstanceImpl();
+        stateInstance.setSerializedInputParams(kryoSerializer.serialize(createParams()));
+        stateInstance.lazyDeserializeParams(serialized -> {
+            deserializeTimes[0]++;
+            return kryoSerializer.deserialize((String)serialized);
+        });
+        Assertions.assertEquals(0, deserializeTimes[0]);
+
+        Assertions.assertNull(stateInstance.getOutputParams());
+        assertPeopleEquals(createParams(), (Map<String, Object>)stateInstance.getInputParams());
+        stateInstance.getInputParams();
+        Assertions.assertEquals(1, deserializeTimes[0]);
+
+        stateInstance.setInputParams(null);
+        Assertions.assertNull(stateInstance.getInputParams());
+        Assertions.assertEquals(1, deserializeTimes[0]);
+    }
+
+    private static void assertPeopleEquals(Map<String, Object> expected, Map<String, Object> actual) {
+        People expectedPeople = (People)expected.get("people");
+        People actualPeople = (People)actual.get("people");
+        Assertions.assertEquals(expectedPeople.getName(), actualPeople.getName());
+        Assertions.assertEquals(expectedPeople.getChildrenList().size(), actualPeople.getChildrenList().size());
+        Assertions.assertEquals(expectedPeople.getChildrenMap().keySet(), actualPeople.getChildrenMap().keySet());
+        Assertions.assertEquals(expected.get("amount"), actual.get("amount"));
+    }
+
+    private static Map<String, Object> createParams() {
+        List<People> childrenList = new ArrayList<>();
+        Map<String, People> childrenMap = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            People child = new People();
+            child.setName("child-" + i);
+            child.setAge(i);
+            childrenList.add(child);
+            childrenMap.put(child.getName(), child);
+        }
+        People people = new People();
+        people.setName("lilei");
+        people.setAge(18);
+        people.setChildrenList(childrenList);
+        people.setChildrenMap(childrenMap);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("people", people);
+        params.put("amount", 100L);
+        return params;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.tm.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.seata.common.exception.ShouldNeverHappenException;
+import io.seata.common.util.FutureUtils;
+import io.seata.core.exception.TransactionException;
+import io.seata.core.model.GlobalStatus;
+import io.seata.tm.api.transaction.TransactionHook;
+import io.seata.tm.api.transaction.TransactionHookManager;
+import io.seata.tm.api.transaction.TransactionInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Template of executing non-blocking business logic with a global transaction.
+ * <p>
+ * Unlike {@link TransactionalTemplate} no thread is parked while waiting for the TC, every step is chained on the
+ * futures returned by the async transaction manager api. Since the business may hop threads, the xid is not bound
+ * to {@code RootContext} but handed to the business function, which is expected to propagate it explicitly.
+ * As a consequence there is never an ambient transaction to join: propagation is resolved as if none existed.
+ * The hooks registered on the calling thread are captured when the execution starts.
+ *
+ * @author hongyan
+ */
+public class AsyncTransactionalTemplate {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncTransactionalTemplate.class);
+
+    /**
+     * Execute the business with a new global transaction.
+     *
+     * @param txInfo   the transaction info
+     * @param business the business, receives the xid (null when executed without transaction)
+     * @param <T>      the result type
+     * @return future of the business result, completed exceptionally with
+     * {@link TransactionalExecutor.ExecutionException} when the transaction fails
+     */
+    public <T> CompletableFuture<T> execute(TransactionInfo txInfo, Function<String, CompletableFuture<T>> business) {
+        if (txInfo == null) {
+            return FutureUtils.failedFuture(new ShouldNeverHappenException("transactionInfo does not exist"));
+        }
+        List<TransactionHook> hooks = new ArrayList<>(TransactionHookManager.getHooks());
+        TransactionHookManager.clear();
+
+        switch (txInfo.getPropagation()) {
+            case NOT_SUPPORTED:
+            case SUPPORTS:
+            case NEVER:
+                // Execute without transaction.
+                return applyBusiness(business, null);
+            case MANDATORY:
+                return FutureUtils.failedFuture(new TransactionException(
+                    "No existing transaction found for transaction marked with propagation 'mandatory'"));
+            case REQUIRED:
+            case REQUIRES_NEW:
+                break;
+            default:
+                return FutureUtils.failedFuture(
+                    new TransactionException("Not Supported Propagation:" + txInfo.getPropagation()));
+        }
+
+        DefaultGlobalTransaction tx = new DefaultGlobalTransaction();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        triggerHooks(hooks, TransactionHook::beforeBegin, "beforeBegin");
+        tx.beginAsync(txInfo.getTimeOut(), txInfo.getName()).whenComplete((xid, beginEx) -> {
+            if (beginEx != null) {
+                complete(result, hooks, null, new TransactionalExecutor.ExecutionException(tx,
+                    FutureUtils.unwrap(beginEx), TransactionalExecutor.Code.BeginFailure));
+                return;
+            }
+            triggerHooks(hooks, TransactionHook::afterBegin, "afterBegin");
+            applyBusiness(business, xid).whenComplete((rs, bizEx) -> {
+                if (bizEx == null) {
+                    commitTransaction(tx, txInfo, hooks)
+                        .whenComplete((v, ex) -> complete(result, hooks, rs, ex));
+                    return;
+                }
+                Throwable originalException = FutureUtils.unwrap(bizEx);
+                if (txInfo.rollbackOn(originalException)) {
+                    rollbackTransaction(tx, hooks, originalException)
+                        .whenComplete((v, ex) -> complete(result, hooks, null, ex));
+                } else {
+                    // not roll back on this exception, so commit and rethrow
+                    commitTransaction(tx, txInfo, hooks)
+                        .whenComplete((v, ex) -> complete(result, hooks, null, ex != null ? ex : originalException));
+                }
+            });
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> applyBusiness(Function<String, CompletableFuture<T>> business, String xid) {
+        try {
+            CompletableFuture<T> future = business.apply(xid);
+            return future != null ? future : CompletableFuture.completedFuture(null);
+        } catch (Throwable t) {
+            return FutureUtils.failedFuture(t);
+        }
+    }
+
+    private CompletableFuture<Void> commitTransaction(DefaultGlobalTransaction tx, TransactionInfo txInfo,
+                                                      List<TransactionHook> hooks) {
+        if (System.currentTimeMillis() - tx.getCreateTime() > txInfo.getTimeOut()) {
+            // business execution timeout
+            LOGGER.info("TM detected timeout, xid = {}", tx.getXid());
+            return tx.rollbackAsync().thenApply(status -> null);
+        }
+        triggerHooks(hooks, TransactionHook::beforeCommit, "beforeCommit");
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        tx.commitAsync().whenComplete((status, ex) -> {
+            if (ex != null) {
+                future.completeExceptionally(new TransactionalExecutor.ExecutionException(tx, FutureUtils.unwrap(ex),
+                    TransactionalExecutor.Code.CommitFailure));
+            } else if (Arrays.asList(GlobalStatus.TimeoutRollbacking, GlobalStatus.TimeoutRollbacked).contains(status)) {
+                future.completeExceptionally(new TransactionalExecutor.ExecutionException(tx,
+                    new TimeoutException(String.format("Global transaction[%s] is timeout and will be rollback[TC].", tx.getXid())),
+                    TransactionalExecutor.Code.TimeoutRollback));
+            } else {
+                triggerHooks(hooks, TransactionHook::afterCommit, "afterCommit");
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<Void> rollbackTransaction(DefaultGlobalTransaction tx, List<TransactionHook> hooks,
+                                                        Throwable originalException) {
+        triggerHooks(hooks, TransactionHook::beforeRollback, "beforeRollback");
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        tx.rollbackAsync().whenComplete((status, ex) -> {
+            if (ex != null) {
+                future.completeExceptionally(new TransactionalExecutor.ExecutionException(tx, FutureUtils.unwrap(ex),
+                    TransactionalExecutor.Code.RollbackFailure, originalException));
+                return;
+            }
+            triggerHooks(hooks, TransactionHook::afterRollback, "afterRollback");
+            future.completeExceptionally(new TransactionalExecutor.ExecutionException(tx,
+                GlobalStatus.RollbackRetrying.equals(status) ? TransactionalExecutor.Code.RollbackRetrying
+                    : TransactionalExecutor.Code.RollbackDone, originalException));
+        });
+        return future;
+    }
+
+    private <T> void complete(CompletableFuture<T> result, List<TransactionHook> hooks, T value, Throwable ex) {
+        triggerHooks(hooks, TransactionHook::afterCompletion, "afterCompletion");
+        if (ex != null) {
+            result.completeExceptionally(FutureUtils.unwrap(ex));
+        } else {
+            result.complete(value);
+        }
+    }
+
+    private void triggerHooks(List<TransactionHook> hooks, Consumer<TransactionHook> action, String phase) {
+        for (TransactionHook hook : hooks) {
+            try {
+                action.accept(hook);
+            } catch (Exception e) {
+                LOGGER.error("Failed execute {} in hook {}", phase, e.getMessage(), e);
+            }
+        }
+    }
+}
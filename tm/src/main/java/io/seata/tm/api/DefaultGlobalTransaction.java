@@ -15,6 +15,10 @@
  */
 package io.seata.tm.api;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import io.seata.common.util.FutureUtils;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.context.RootContext;
@@ -45,9 +49,9 @@ public class DefaultGlobalTransaction implements GlobalTransaction {
 
     private TransactionManager transactionManager;
 
-    private String xid;
+    private volatile String xid;
 
-    private GlobalStatus status;
+    private volatile GlobalStatus status;
 
     private GlobalTransactionRole role;
 
@@ -190,6 +194,88 @@ public class DefaultGlobalTransaction implements GlobalTransaction {
         }
     }
 
+    /**
+     * Begin the global transaction without blocking the caller.
+     * The xid is not bound to {@link RootContext}, the business continues on other threads and passes it on explicitly.
+     *
+     * @param timeout the timeout
+     * @param name    the name
+     * @return future of the xid
+     */
+    public CompletableFuture<String> beginAsync(int timeout, String name) {
+        if (role != GlobalTransactionRole.Launcher || xid != null) {
+            return FutureUtils.failedFuture(new IllegalStateException());
+        }
+        this.createTime = System.currentTimeMillis();
+        return transactionManager.beginAsync(null, null, name, timeout).thenApply(newXid -> {
+            xid = newXid;
+            status = GlobalStatus.Begin;
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Begin new global transaction [{}]", newXid);
+            }
+            return newXid;
+        });
+    }
+
+    /**
+     * Commit the global transaction without blocking the caller, retried like {@link #commit()}.
+     *
+     * @return future of the status after committing
+     */
+    public CompletableFuture<GlobalStatus> commitAsync() {
+        if (role == GlobalTransactionRole.Participant) {
+            return CompletableFuture.completedFuture(status);
+        }
+        if (xid == null) {
+            return FutureUtils.failedFuture(new IllegalStateException());
+        }
+        CompletableFuture<GlobalStatus> result = new CompletableFuture<>();
+        retryAsync("commit", () -> transactionManager.commitAsync(xid),
+            COMMIT_RETRY_COUNT <= 0 ? DEFAULT_TM_COMMIT_RETRY_COUNT : COMMIT_RETRY_COUNT, result);
+        return result;
+    }
+
+    /**
+     * Rollback the global transaction without blocking the caller, retried like {@link #rollback()}.
+     *
+     * @return future of the status after rollbacking
+     */
+    public CompletableFuture<GlobalStatus> rollbackAsync() {
+        if (role == GlobalTransactionRole.Participant) {
+            return CompletableFuture.completedFuture(status);
+        }
+        if (xid == null) {
+            return FutureUtils.failedFuture(new IllegalStateException());
+        }
+        CompletableFuture<GlobalStatus> result = new CompletableFuture<>();
+        retryAsync("rollback", () -> transactionManager.rollbackAsync(xid),
+            ROLLBACK_RETRY_COUNT <= 0 ? DEFAULT_TM_ROLLBACK_RETRY_COUNT : ROLLBACK_RETRY_COUNT, result);
+        return result;
+    }
+
+    private void retryAsync(String action, Supplier<CompletableFuture<GlobalStatus>> call, int retry,
+                            CompletableFuture<GlobalStatus> result) {
+        call.get().whenComplete((newStatus, ex) -> {
+            if (ex == null) {
+                status = newStatus;
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("[{}] {} status: {}", xid, action, newStatus);
+                }
+                result.complete(newStatus);
+                return;
+            }
+            int left = retry - 1;
+            LOGGER.error("Failed to report global {} [{}],Retry Countdown: {}, reason: {}", action, xid, left,
+                ex.getMessage());
+            if (left <= 0) {
+                result.completeExceptionally(
+                    new TransactionException("Failed to report global " + action, FutureUtils.unwrap(ex)));
+            } else {
+                retryAsync(action, call, left, result);
+            }
+        });
+    }
+
     @Override
     public SuspendedResourcesHolder suspend() throws TransactionException {
         // In order to associate the following logs with XID, first get and then unbind.
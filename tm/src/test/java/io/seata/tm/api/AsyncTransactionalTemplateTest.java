@@ -0,0 +1,166 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.tm.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.util.FutureUtils;
+import io.seata.core.exception.TmTransactionException;
+import io.seata.core.exception.TransactionExceptionCode;
+import io.seata.core.model.GlobalStatus;
+import io.seata.core.model.TransactionManager;
+import io.seata.tm.TransactionManagerHolder;
+import io.seata.tm.api.transaction.TransactionHook;
+import io.seata.tm.api.transaction.TransactionHookManager;
+import io.seata.tm.api.transaction.TransactionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author hongyan
+ */
+public class AsyncTransactionalTemplateTest {
+
+    private static final String DEFAULT_XID = "123456789";
+    private static final String DEFAULT_NAME = "test";
+    private static final int DEFAULT_TIME_OUT = 30000;
+
+    private TransactionManager transactionManager;
+
+    private TransactionInfo txInfo;
+
+    @BeforeEach
+    public void init() {
+        transactionManager = mock(TransactionManager.class);
+        when(transactionManager.beginAsync(null, null, DEFAULT_NAME, DEFAULT_TIME_OUT))
+            .thenReturn(CompletableFuture.completedFuture(DEFAULT_XID));
+        when(transactionManager.commitAsync(DEFAULT_XID))
+            .thenReturn(CompletableFuture.completedFuture(GlobalStatus.Committed));
+        when(transactionManager.rollbackAsync(DEFAULT_XID))
+            .thenReturn(CompletableFuture.completedFuture(GlobalStatus.Rollbacked));
+        TransactionManagerHolder.set(transactionManager);
+
+        txInfo = new TransactionInfo();
+        txInfo.setTimeOut(DEFAULT_TIME_OUT);
+        txInfo.setName(DEFAULT_NAME);
+    }
+
+    @AfterEach
+    public void assertHooks() {
+        assertThat(TransactionHookManager.getHooks()).isEmpty();
+    }
+
+    @Test
+    public void testCommit() throws Exception {
+        TransactionHook transactionHook = Mockito.mock(TransactionHook.class);
+        TransactionHookManager.registerHook(transactionHook);
+
+        CompletableFuture<String> business = new CompletableFuture<>();
+        CompletableFuture<String> result = new AsyncTransactionalTemplate().execute(txInfo, xid -> business);
+        assertThat(result.isDone()).isFalse();
+        verify(transactionManager, never()).commitAsync(anyString());
+
+        business.complete("ok");
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("ok");
+        verify(transactionManager).commitAsync(DEFAULT_XID);
+        verify(transactionHook).beforeBegin();
+        verify(transactionHook).afterBegin();
+        verify(transactionHook).beforeCommit();
+        verify(transactionHook).afterCommit();
+        verify(transactionHook).afterCompletion();
+    }
+
+    @Test
+    public void testBusinessReceivesXid() throws Exception {
+        CompletableFuture<String> result = new AsyncTransactionalTemplate().execute(txInfo,
+            CompletableFuture::completedFuture);
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo(DEFAULT_XID);
+    }
+
+    @Test
+    public void testRollback() {
+        TransactionHook transactionHook = Mockito.mock(TransactionHook.class);
+        TransactionHookManager.registerHook(transactionHook);
+
+        RuntimeException bizEx = new RuntimeException("biz");
+        CompletableFuture<Object> result = new AsyncTransactionalTemplate().execute(txInfo,
+            xid -> FutureUtils.failedFuture(bizEx));
+
+        TransactionalExecutor.ExecutionException ex = executionException(result);
+        assertThat(ex.getCode()).isEqualTo(TransactionalExecutor.Code.RollbackDone);
+        assertThat(ex.getOriginalException()).isSameAs(bizEx);
+        verify(transactionManager).rollbackAsync(DEFAULT_XID);
+        verify(transactionHook).beforeRollback();
+        verify(transactionHook).afterRollback();
+        verify(transactionHook).afterCompletion();
+    }
+
+    @Test
+    public void testBeginFailure() {
+        when(transactionManager.beginAsync(null, null, DEFAULT_NAME, DEFAULT_TIME_OUT)).thenReturn(
+            FutureUtils.failedFuture(new TmTransactionException(TransactionExceptionCode.BeginFailed, "failed")));
+
+        CompletableFuture<Object> result = new AsyncTransactionalTemplate().execute(txInfo,
+            xid -> CompletableFuture.completedFuture(null));
+
+        TransactionalExecutor.ExecutionException ex = executionException(result);
+        assertThat(ex.getCode()).isEqualTo(TransactionalExecutor.Code.BeginFailure);
+    }
+
+    @Test
+    public void testCommitRetryThenFailure() {
+        when(transactionManager.commitAsync(DEFAULT_XID)).thenReturn(
+            FutureUtils.failedFuture(new TmTransactionException(TransactionExceptionCode.IO, "RPC timeout")));
+
+        CompletableFuture<Object> result = new AsyncTransactionalTemplate().execute(txInfo,
+            xid -> CompletableFuture.completedFuture(null));
+
+        TransactionalExecutor.ExecutionException ex = executionException(result);
+        assertThat(ex.getCode()).isEqualTo(TransactionalExecutor.Code.CommitFailure);
+        verify(transactionManager, times(5)).commitAsync(DEFAULT_XID);
+    }
+
+    @Test
+    public void testTimeoutRollbackByTC() {
+        when(transactionManager.commitAsync(DEFAULT_XID))
+            .thenReturn(CompletableFuture.completedFuture(GlobalStatus.TimeoutRollbacked));
+
+        CompletableFuture<Object> result = new AsyncTransactionalTemplate().execute(txInfo,
+            xid -> CompletableFuture.completedFuture(null));
+
+        TransactionalExecutor.ExecutionException ex = executionException(result);
+        assertThat(ex.getCode()).isEqualTo(TransactionalExecutor.Code.TimeoutRollback);
+    }
+
+    private TransactionalExecutor.ExecutionException executionException(CompletableFuture<?> result) {
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertThat(ex.getCause()).isInstanceOf(TransactionalExecutor.ExecutionException.class);
+        return (TransactionalExecutor.ExecutionException) ex.getCause();
+    }
+}